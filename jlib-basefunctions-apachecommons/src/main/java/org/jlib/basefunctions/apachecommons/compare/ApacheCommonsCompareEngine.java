@@ -0,0 +1,108 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.compare;
+
+import org.apache.commons.lang3.builder.CompareToBuilder;
+
+import org.jlib.basefunctions.CompareEngine;
+
+/**
+ * {@link CompareEngine} using a {@link CompareToBuilder}. Primitive values are compared without boxing.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class ApacheCommonsCompareEngine<Obj>
+    implements CompareEngine<Obj> {
+
+    private final CompareToBuilder builder = new CompareToBuilder();
+
+    @Override
+    public <Value> ApacheCommonsCompareEngine<Obj> add(final Value thisValue, final Value otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final char thisValue, final char otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final short thisValue, final short otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final int thisValue, final int otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final long thisValue, final long otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final float thisValue, final float otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsCompareEngine<Obj> add(final double thisValue, final double otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public int toComparison() {
+        return builder.toComparison();
+    }
+}
@@ -21,12 +21,22 @@
 
 package org.jlib.basefunctions.apachecommons.equals;
 
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 
 import org.jlib.basefunctions.EqualsEngine;
 
+/**
+ * {@link EqualsEngine} backed by an {@link EqualsBuilder}. Primitive arrays are compared by the bulk functions of
+ * {@link Arrays}, which the JVM may compile to vectorized intrinsics, instead of element by element by the builder.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
 public class ApacheCommonsEqualsEngine<Obj>
     implements EqualsEngine<Obj> {
 
@@ -45,6 +55,126 @@ public class ApacheCommonsEqualsEngine<Obj>
         return this;
     }
 
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final char thisValue, final char otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final short thisValue, final short otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final int thisValue, final int otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final long thisValue, final long otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final float thisValue, final float otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final double thisValue, final double otherValue) {
+        builder.append(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final boolean[] thisValues, final boolean[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final byte[] thisValues, final byte[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final char[] thisValues, final char[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final short[] thisValues, final short[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final int[] thisValues, final int[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final long[] thisValues, final long[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final float[] thisValues, final float[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsEqualsEngine<Obj> add(final double[] thisValues, final double[] otherValues) {
+        if (builder.isEquals())
+            builder.append(Arrays.equals(thisValues, otherValues), true);
+
+        return this;
+    }
+
     @Override
     public EqualsEngine<Obj> add(final Predicate<Object> superEquals) {
         builder.appendSuper(superEquals.test(other));
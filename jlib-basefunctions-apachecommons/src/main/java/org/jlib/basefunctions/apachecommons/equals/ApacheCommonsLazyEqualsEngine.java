@@ -0,0 +1,56 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.equals;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.AbstractLazyEqualsEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link AbstractLazyEqualsEngine} comparing the {@link Object} values by an {@link EqualsBuilder}. Primitive arrays
+ * are compared by the bulk functions of {@link java.util.Arrays} using {@link FieldHandles}.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class ApacheCommonsLazyEqualsEngine<Obj>
+    extends AbstractLazyEqualsEngine<Obj> {
+
+    private final EqualsBuilder builder = new EqualsBuilder();
+
+    public ApacheCommonsLazyEqualsEngine(final Obj thiz, @Nullable final Object other) {
+        super(thiz, other);
+    }
+
+    @Override
+    protected boolean areEqual(@Nullable final Object thisValue, @Nullable final Object otherValue) {
+        if (thisValue != null && thisValue.getClass().isArray() && thisValue.getClass().getComponentType().isPrimitive())
+            return FieldHandles.equal(thisValue, otherValue);
+
+        return builder.append(thisValue, otherValue)
+                      .isEquals();
+    }
+}
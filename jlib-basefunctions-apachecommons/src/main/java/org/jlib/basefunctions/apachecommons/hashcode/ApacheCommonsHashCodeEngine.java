@@ -25,6 +25,16 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import org.jlib.basefunctions.HashCodeEngine;
 
+/**
+ * {@link HashCodeEngine} using a {@link HashCodeBuilder}. Primitive values are hashed without boxing, yielding the
+ * same hash codes as their boxed counterparts: {@code long}, {@code double} and {@code boolean} values are appended as
+ * the hash codes of their wrapper classes, since the builder hashes these types differently.
+ *
+ * @param <Obj>
+ *        type of the hashed object
+ *
+ * @author Igor Akkerman
+ */
 public class ApacheCommonsHashCodeEngine<Obj>
     implements HashCodeEngine<Obj> {
 
@@ -37,6 +47,118 @@ public class ApacheCommonsHashCodeEngine<Obj>
         return this;
     }
 
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final boolean value) {
+        builder.append(Boolean.hashCode(value));
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final byte value) {
+        builder.append(value);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final char value) {
+        builder.append(value);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final short value) {
+        builder.append(value);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final int value) {
+        builder.append(value);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final long value) {
+        builder.append(Long.hashCode(value));
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final float value) {
+        builder.append(value);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final double value) {
+        builder.append(Double.hashCode(value));
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final boolean[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final byte[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final char[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final short[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final int[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final long[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final float[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
+    @Override
+    public ApacheCommonsHashCodeEngine<Obj> add(final double[] values) {
+        builder.append(values);
+
+        return this;
+    }
+
     @Override
     public int toHashCode() {
         return builder.toHashCode();
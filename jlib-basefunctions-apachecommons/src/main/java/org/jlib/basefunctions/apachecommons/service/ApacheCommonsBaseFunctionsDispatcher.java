@@ -22,57 +22,199 @@
 package org.jlib.basefunctions.apachecommons.service;
 
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
+import org.apache.commons.lang3.builder.CompareToBuilder;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.BaseFunctionsPriority;
+import static org.jlib.basefunctions.BaseFunctionsPriority.DEFAULT_PRIORITY;
+import org.jlib.basefunctions.Compare;
+import org.jlib.basefunctions.CompareEngine;
 import org.jlib.basefunctions.Equals;
 import org.jlib.basefunctions.EqualsEngine;
 import org.jlib.basefunctions.HashCode;
 import org.jlib.basefunctions.HashCodeEngine;
+import org.jlib.basefunctions.LazyEqualsEngine;
+import org.jlib.basefunctions.LongHashCode;
+import org.jlib.basefunctions.LongHashCodeEngine;
 import org.jlib.basefunctions.ToString;
 import org.jlib.basefunctions.ToStringEngine;
+import org.jlib.basefunctions.apachecommons.compare.ApacheCommonsCompareEngine;
 import org.jlib.basefunctions.apachecommons.equals.ApacheCommonsEqualsEngine;
+import org.jlib.basefunctions.apachecommons.equals.ApacheCommonsLazyEqualsEngine;
 import org.jlib.basefunctions.apachecommons.hashcode.ApacheCommonsHashCodeEngine;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.COMPILED;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.DEFAULT_GENERIC_STRATEGY_MODE;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.GENERIC_STRATEGY_MODE_PROPERTY_NAME;
+import org.jlib.basefunctions.apachecommons.tostring.ApacheCommonsToString;
 import org.jlib.basefunctions.apachecommons.tostring.ApacheCommonsToStringEngine;
 import org.jlib.basefunctions.apachecommons.tostring.DefaultToStringStylesConfiguration;
 import static org.jlib.basefunctions.apachecommons.tostring.DefaultToStringStylesConfiguration.TO_STRING_STYLE_NAME_PROPERTY_NAME;
-import org.jlib.basefunctions.apachecommons.tostring.IdentifierOrClassNameToStringStyleSupplier;
+import org.jlib.basefunctions.apachecommons.tostring.NestedRenderingToStringStyle;
+import org.jlib.basefunctions.apachecommons.tostring.ToStringLimits;
+import org.jlib.basefunctions.apachecommons.tostring.ToStringStyleNotFoundException;
+import org.jlib.basefunctions.apachecommons.tostring.ToStringStyleRegistry;
+import org.jlib.basefunctions.compiled.CompiledCompare;
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.CompiledHashCode;
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.jlib.basefunctions.compiled.ParallelEquals;
+import org.jlib.basefunctions.graph.GraphEquals;
+import org.jlib.basefunctions.graph.GraphHashCode;
+import org.jlib.basefunctions.hash.FieldsLongHashCode;
+import org.jlib.basefunctions.hash.HashMixer;
+import static org.jlib.basefunctions.hash.HashMixer.DEFAULT_HASH_MIXER;
+import org.jlib.basefunctions.hash.MixingHashCode;
+import org.jlib.basefunctions.hash.MixingLongHashCodeEngine;
 import org.jlib.systemproperty.SystemPropertyUtility;
 
+@BaseFunctionsPriority(DEFAULT_PRIORITY)
 public class ApacheCommonsBaseFunctionsDispatcher
     implements BaseFunctionsDispatcher {
 
+    /**
+     * Name of the system property specifying the minimum number of elements of a {@link java.util.List},
+     * {@link java.util.Map} or array field compared in parallel by the generic {@link Equals} strategies, at least
+     * {@value ParallelEquals#MINIMUM_THRESHOLD}. If the property is not set, all fields are compared sequentially.
+     */
+    public static final String PARALLEL_EQUALS_THRESHOLD_PROPERTY_NAME =
+        "org.jlib.basefunctions.apachecommons.parallelEqualsThreshold";
+
+    public static final int PARALLEL_EQUALS_DISABLED = 0;
+
+    /**
+     * Name of the system property specifying whether the generic {@link Equals} and {@link HashCode} strategies
+     * compare and hash object graphs by {@link GraphEquals} and {@link GraphHashCode}, terminating on cycles and
+     * processing shared sub-objects once. Defaults to {@code false}.
+     */
+    public static final String GRAPH_AWARE_PROPERTY_NAME = "org.jlib.basefunctions.apachecommons.graphAware";
+
+    /**
+     * Name of the system property specifying the name of the {@link HashMixer} mixing the bits of the hash codes
+     * computed by the generic {@link HashCode} strategies. If the property is not set, the hash codes are not mixed.
+     */
+    public static final String HASH_CODE_MIXER_PROPERTY_NAME = "org.jlib.basefunctions.apachecommons.hashCodeMixer";
+
+    /**
+     * Name of the system property specifying the name of the {@link HashMixer} used by the generic
+     * {@link LongHashCode} strategies and {@link LongHashCodeEngine}s. Defaults to
+     * {@link HashMixer#DEFAULT_HASH_MIXER}.
+     */
+    public static final String LONG_HASH_CODE_MIXER_PROPERTY_NAME =
+        "org.jlib.basefunctions.apachecommons.longHashCodeMixer";
+
+    private ToStringStyleRegistry toStringStyleRegistry = DefaultToStringStylesConfiguration.TO_STRING_STYLE_REGISTRY;
+    private ToStringStyle configuredToStringStyle;
+    private ToStringLimits toStringLimits;
     private ToStringStyle toStringStyle;
+    private GenericStrategyMode genericStrategyMode;
+    private int parallelEqualsThreshold;
+    private ForkJoinPool parallelEqualsPool = ForkJoinPool.commonPool();
+    private boolean graphAware;
+    @Nullable
+    private HashMixer hashCodeMixer;
+    private HashMixer longHashCodeMixer;
 
     public ApacheCommonsBaseFunctionsDispatcher() {
+        hashCodeMixer = SystemPropertyUtility.getOptionalProperty(HASH_CODE_MIXER_PROPERTY_NAME)
+                                             .map(HashMixer::valueOf)
+                                             .orElse(null);
+
+        longHashCodeMixer = SystemPropertyUtility.getOptionalProperty(LONG_HASH_CODE_MIXER_PROPERTY_NAME)
+                                                 .map(HashMixer::valueOf)
+                                                 .orElse(DEFAULT_HASH_MIXER);
+
+        graphAware = SystemPropertyUtility.getOptionalProperty(GRAPH_AWARE_PROPERTY_NAME)
+                                          .map(Boolean::valueOf)
+                                          .orElse(false);
+
+        parallelEqualsThreshold = SystemPropertyUtility.getOptionalProperty(PARALLEL_EQUALS_THRESHOLD_PROPERTY_NAME)
+                                                       .map(Integer::valueOf)
+                                                       .map(ApacheCommonsBaseFunctionsDispatcher::validated)
+                                                       .orElse(PARALLEL_EQUALS_DISABLED);
+
+        toStringLimits = ToStringLimits.fromSystemProperties();
+
+        genericStrategyMode = SystemPropertyUtility.getOptionalProperty(GENERIC_STRATEGY_MODE_PROPERTY_NAME)
+                                                   .map(GenericStrategyMode::valueOf)
+                                                   .orElse(DEFAULT_GENERIC_STRATEGY_MODE);
+
         final Optional<String> optionalIdentifierOrClassName =
             SystemPropertyUtility.getOptionalProperty(TO_STRING_STYLE_NAME_PROPERTY_NAME);
 
         if (! optionalIdentifierOrClassName.isPresent()) {
-            toStringStyle = DefaultToStringStylesConfiguration.DEFAULT_TO_STRING_STYLE;
+            setToStringStyle(DefaultToStringStylesConfiguration.DEFAULT_TO_STRING_STYLE);
             return;
         }
 
-        final IdentifierOrClassNameToStringStyleSupplier toStringStyleSupplier = new IdentifierOrClassNameToStringStyleSupplier();
-        toStringStyleSupplier.setNamedStyleSupplier(DefaultToStringStylesConfiguration.NAMED_STYLE_SUPPLIER);
-        toStringStyleSupplier.setClassNameToStringStyleSupplier(DefaultToStringStylesConfiguration.CLASS_NAME_STYLE_SUPPLIER);
-        toStringStyleSupplier.setIdentifierOrClassName(optionalIdentifierOrClassName.get());
-
-        toStringStyle = toStringStyleSupplier.get();
+        setToStringStyleName(optionalIdentifierOrClassName.get());
     }
 
     @Override
     public <Obj> Equals<Obj> genericEquals() {
-        return EqualsBuilder::reflectionEquals;
+        if (genericStrategyMode == COMPILED)
+            return decoratedEquals(new CompiledEquals<>());
+
+        return decoratedEquals(EqualsBuilder::reflectionEquals);
     }
 
     @Override
     public <Obj> Equals<Obj> genericEquals(final String... excludedFields) {
-        return (object1, object2) -> EqualsBuilder.reflectionEquals(object1, object2, excludedFields);
+        if (genericStrategyMode == COMPILED)
+            return decoratedEquals(new CompiledEquals<>(excludedFields), excludedFields);
+
+        return decoratedEquals((object1, object2) -> EqualsBuilder.reflectionEquals(object1, object2, excludedFields),
+                               excludedFields);
+    }
+
+    /**
+     * Returns the generic {@link Equals} for objects of the specified {@link Class}. In the
+     * {@link GenericStrategyMode#REFLECTIVE} mode, classes excluding annotated fields are compared by a
+     * {@link CompiledEquals} as well, so no excluded field name is matched per invocation.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link Equals} for {@code type}
+     */
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        if (genericStrategyMode == COMPILED || FieldPlan.hasExcludedFieldAnnotations(type))
+            return decoratedEquals(new CompiledEquals<>(type, excludedFields), excludedFields);
+
+        return genericEquals(excludedFields);
+    }
+
+    private <Obj> Equals<Obj> decoratedEquals(final Equals<Obj> sequentialEquals, final String... excludedFields) {
+        final Equals<Obj> equals = parallelEqualsThreshold == PARALLEL_EQUALS_DISABLED ?
+                                   sequentialEquals :
+                                   new ParallelEquals<>(sequentialEquals, parallelEqualsThreshold, parallelEqualsPool,
+                                                        excludedFields);
+
+        return graphAware ?
+               new GraphEquals<>(equals) :
+               equals;
+    }
+
+    private <Obj> HashCode<Obj> decoratedHashCode(final HashCode<Obj> hashCode) {
+        final HashCode<Obj> graphHashCode = graphAware ?
+                                            new GraphHashCode<>(hashCode) :
+                                            hashCode;
+
+        return hashCodeMixer != null ?
+               new MixingHashCode<>(graphHashCode, hashCodeMixer) :
+               graphHashCode;
     }
 
     @Override
@@ -80,14 +222,49 @@ public class ApacheCommonsBaseFunctionsDispatcher
         return new ApacheCommonsEqualsEngine<>(other);
     }
 
+    @Override
+    public <Obj> LazyEqualsEngine<Obj> lazyEqualsEngine(final Obj thiz, final Object other) {
+        return new ApacheCommonsLazyEqualsEngine<>(thiz, other);
+    }
+
     @Override
     public <Obj> HashCode<Obj> genericHashCode() {
-        return HashCodeBuilder::reflectionHashCode;
+        if (genericStrategyMode == COMPILED)
+            return decoratedHashCode(new CompiledHashCode<>());
+
+        return decoratedHashCode(HashCodeBuilder::reflectionHashCode);
     }
 
     @Override
     public <Obj> HashCode<Obj> genericHashCode(final String... excludedFields) {
-        return object -> HashCodeBuilder.reflectionHashCode(object, excludedFields);
+        if (genericStrategyMode == COMPILED)
+            return decoratedHashCode(new CompiledHashCode<>(excludedFields));
+
+        return decoratedHashCode(object -> HashCodeBuilder.reflectionHashCode(object, excludedFields));
+    }
+
+    /**
+     * Returns the generic {@link HashCode} for objects of the specified {@link Class}. In the
+     * {@link GenericStrategyMode#REFLECTIVE} mode, classes excluding annotated fields are hashed by a
+     * {@link CompiledHashCode} as well, so no excluded field name is matched per invocation.
+     *
+     * @param <Obj>
+     *        type of the hashed objects
+     *
+     * @param type
+     *        {@link Class} of the hashed objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link HashCode} for {@code type}
+     */
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        if (genericStrategyMode == COMPILED || FieldPlan.hasExcludedFieldAnnotations(type))
+            return decoratedHashCode(new CompiledHashCode<>(type, excludedFields));
+
+        return genericHashCode(excludedFields);
     }
 
     @Override
@@ -95,9 +272,82 @@ public class ApacheCommonsBaseFunctionsDispatcher
         return new ApacheCommonsHashCodeEngine<>();
     }
 
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode(final String... excludedFields) {
+        return new FieldsLongHashCode<>(longHashCodeMixer, excludedFields);
+    }
+
+    @Override
+    public <Obj> LongHashCodeEngine<Obj> longHashCodeEngine(final Obj object) {
+        return new MixingLongHashCodeEngine<>(longHashCodeMixer);
+    }
+
+    /**
+     * Returns the generic {@link Compare}. In the {@link GenericStrategyMode#REFLECTIVE} mode, objects are compared by
+     * {@link CompareToBuilder#reflectionCompare(Object, Object)} if no field order is specified. Since the builder
+     * compares the fields in declaration order, a specified field order is always compiled by a
+     * {@link CompiledCompare}.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param fieldOrder
+     *        comma separated sequence of {@link String}s specifying the names of the compared fields in the order of
+     *        comparison; none for all fields
+     *
+     * @return generic {@link Compare}
+     */
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final String... fieldOrder) {
+        if (genericStrategyMode == COMPILED || fieldOrder.length > 0)
+            return new CompiledCompare<>(fieldOrder);
+
+        return CompareToBuilder::reflectionCompare;
+    }
+
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final Class<? extends Obj> type, final String... fieldOrder) {
+        if (genericStrategyMode == COMPILED || fieldOrder.length > 0)
+            return new CompiledCompare<>(type, fieldOrder);
+
+        return genericCompare();
+    }
+
+    @Override
+    public <Obj> CompareEngine<Obj> compareEngine(final Obj thiz, final Obj other) {
+        return new ApacheCommonsCompareEngine<>();
+    }
+
     @Override
     public <Obj> ToString<Obj> genericToString() {
-        return object -> ToStringBuilder.reflectionToString(object, toStringStyle);
+        return new ApacheCommonsToString<>(toStringStyle);
+    }
+
+    /**
+     * Returns the generic {@link ToString} for objects of the specified {@link Class}, using the {@link ToStringStyle}
+     * registered for {@code type} in the {@link ToStringStyleRegistry}, if any, and the registered
+     * {@link ToStringStyle} of this dispatcher otherwise. Since the {@link ToString} is resolved once per class, the
+     * style of a class must be registered before its instances are rendered.
+     *
+     * @param <Obj>
+     *        type of the rendered objects
+     *
+     * @param type
+     *        {@link Class} of the rendered objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link ToString} for {@code type}
+     */
+    @Override
+    public <Obj> ToString<Obj> genericToString(final Class<? extends Obj> type, final String... excludedFields) {
+        final ToStringStyle typeToStringStyle =
+            toStringStyleRegistry.get(type)
+                                 .map(style -> NestedRenderingToStringStyle.of(style, toStringLimits))
+                                 .orElse(toStringStyle);
+
+        return new ApacheCommonsToString<>(typeToStringStyle, excludedFields);
     }
 
     @Override
@@ -105,7 +355,110 @@ public class ApacheCommonsBaseFunctionsDispatcher
         return new ApacheCommonsToStringEngine<>(object, toStringStyle);
     }
 
+    /**
+     * Registers the {@link ToStringStyle} used by the {@link ToString} strategies and {@link ToStringEngine}s. Standard
+     * styles are replaced by their {@link NestedRenderingToStringStyle} equivalents, rendering nested
+     * {@link org.jlib.basefunctions.ApplicationObject}s into the same buffer within the {@link ToStringLimits}.
+     *
+     * @param toStringStyle
+     *        {@link ToStringStyle} to use
+     */
     public void setToStringStyle(final ToStringStyle toStringStyle) {
-        this.toStringStyle = toStringStyle;
+        configuredToStringStyle = toStringStyle;
+        this.toStringStyle = NestedRenderingToStringStyle.of(toStringStyle, toStringLimits);
+    }
+
+    /**
+     * Registers the {@link ToStringStyle} resolved by the specified identifier or class name in the
+     * {@link ToStringStyleRegistry}. After the first resolution, a style is looked up without reflection.
+     *
+     * @param identifierOrClassName
+     *        {@link String} specifying the identifier or class name of the style
+     *
+     * @throws ToStringStyleNotFoundException
+     *         if no style is registered by {@code identifierOrClassName} and no style class of this name can be
+     *         instantiated
+     */
+    public void setToStringStyleName(final String identifierOrClassName)
+        throws ToStringStyleNotFoundException {
+        setToStringStyle(toStringStyleRegistry.resolve(identifierOrClassName));
+    }
+
+    /**
+     * Registers the {@link ToStringStyleRegistry} resolving style identifiers and class names and providing the
+     * styles of classes. Initially, {@link DefaultToStringStylesConfiguration#TO_STRING_STYLE_REGISTRY} is used.
+     *
+     * @param toStringStyleRegistry
+     *        {@link ToStringStyleRegistry} to use
+     */
+    public void setToStringStyleRegistry(final ToStringStyleRegistry toStringStyleRegistry) {
+        this.toStringStyleRegistry = toStringStyleRegistry;
+    }
+
+    /**
+     * Registers the {@link ToStringLimits} bounding the rendering of the standard {@link ToStringStyle}s. Initially,
+     * the limits are read by {@link ToStringLimits#fromSystemProperties()}.
+     *
+     * @param toStringLimits
+     *        {@link ToStringLimits} to use
+     */
+    public void setToStringLimits(final ToStringLimits toStringLimits) {
+        this.toStringLimits = toStringLimits;
+        setToStringStyle(configuredToStringStyle);
+    }
+
+    public void setGenericStrategyMode(final GenericStrategyMode genericStrategyMode) {
+        this.genericStrategyMode = genericStrategyMode;
+    }
+
+    /**
+     * Registers the minimum number of elements of a {@link java.util.List}, {@link java.util.Map} or array field
+     * compared in parallel by the generic {@link Equals} strategies. Initially, the threshold is read from the system
+     * property {@value #PARALLEL_EQUALS_THRESHOLD_PROPERTY_NAME}. In the {@link GenericStrategyMode#REFLECTIVE} mode,
+     * instances of the same class holding such fields are then compared by a {@link ParallelEquals} instead of an
+     * {@link EqualsBuilder}, without its registry detecting cyclic object graphs.
+     *
+     * @param parallelEqualsThreshold
+     *        integer specifying the threshold, at least {@value ParallelEquals#MINIMUM_THRESHOLD};
+     *        {@link #PARALLEL_EQUALS_DISABLED} to compare all fields sequentially
+     *
+     * @throws IllegalArgumentException
+     *         if {@code parallelEqualsThreshold} is neither {@link #PARALLEL_EQUALS_DISABLED} nor at least
+     *         {@value ParallelEquals#MINIMUM_THRESHOLD}
+     */
+    public void setParallelEqualsThreshold(final int parallelEqualsThreshold) {
+        this.parallelEqualsThreshold = validated(parallelEqualsThreshold);
+    }
+
+    private static int validated(final int parallelEqualsThreshold) {
+        if (parallelEqualsThreshold != PARALLEL_EQUALS_DISABLED &&
+            parallelEqualsThreshold < ParallelEquals.MINIMUM_THRESHOLD)
+            throw new IllegalArgumentException("parallelEqualsThreshold " + parallelEqualsThreshold + " is less than " +
+                                               ParallelEquals.MINIMUM_THRESHOLD);
+
+        return parallelEqualsThreshold;
+    }
+
+    public void setParallelEqualsPool(final ForkJoinPool parallelEqualsPool) {
+        this.parallelEqualsPool = parallelEqualsPool;
+    }
+
+    public void setGraphAware(final boolean graphAware) {
+        this.graphAware = graphAware;
+    }
+
+    /**
+     * Registers the {@link HashMixer} mixing the bits of the hash codes computed by the generic {@link HashCode}
+     * strategies. Initially, the mixer is read from the system property {@value #HASH_CODE_MIXER_PROPERTY_NAME}.
+     *
+     * @param hashCodeMixer
+     *        {@link HashMixer} to use; {@code null} to keep the hash codes unmixed
+     */
+    public void setHashCodeMixer(@Nullable final HashMixer hashCodeMixer) {
+        this.hashCodeMixer = hashCodeMixer;
+    }
+
+    public void setLongHashCodeMixer(final HashMixer longHashCodeMixer) {
+        this.longHashCodeMixer = longHashCodeMixer;
     }
 }
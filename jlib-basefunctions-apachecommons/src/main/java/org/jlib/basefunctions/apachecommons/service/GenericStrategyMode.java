@@ -0,0 +1,51 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.service;
+
+/**
+ * Implementation of the generic equals, hash code and compare strategies of the {@link ApacheCommonsBaseFunctionsDispatcher}.
+ *
+ * @author Igor Akkerman
+ */
+public enum GenericStrategyMode {
+
+    /**
+     * Fields are read and compared reflectively on every invocation by the Apache Commons builders. Each invocation
+     * allocates a builder and the reflected fields. Classes declaring fields annotated by
+     * {@link org.jlib.basefunctions.ExcludeFromEquals} or {@link org.jlib.basefunctions.ExcludeFromHashCode} are
+     * compared and hashed like in the {@link #COMPILED} mode, so their excluded field names are not matched per
+     * invocation.
+     */
+    REFLECTIVE,
+
+    /**
+     * Fields are read and compared by a {@link org.jlib.basefunctions.compiled.FieldPlan} created once per class,
+     * yielding the same results as {@link #REFLECTIVE} for acyclic object graphs. Once the plan of a class is created,
+     * the strategies returned for that class allocate nothing per invocation.
+     */
+    COMPILED;
+
+    public static final String GENERIC_STRATEGY_MODE_PROPERTY_NAME =
+        "org.jlib.basefunctions.apachecommons.genericStrategyMode";
+
+    public static final GenericStrategyMode DEFAULT_GENERIC_STRATEGY_MODE = REFLECTIVE;
+}
@@ -0,0 +1,129 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.io.IOException;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import org.jlib.basefunctions.ToString;
+
+/**
+ * <p>
+ * {@link ToString} formatting the fields of the object by a {@link ReflectionToStringBuilder}.
+ * </p>
+ * <p>
+ * The builder renders into a {@link StringBuffer}. An {@link Appendable} {@link StringBuffer} passed to
+ * {@link #appendTo(Appendable, Object)}, such as the buffer of an enclosing object rendered by a
+ * {@link NestedRenderingToStringStyle}, is rendered into directly. Other targets receive the contents of a temporary
+ * {@link StringBuffer} without creating an intermediate {@link String}.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
+public class ApacheCommonsToString<Obj>
+    implements ToString<Obj> {
+
+    private final ToStringStyle toStringStyle;
+    private final String[] excludedFieldNames;
+
+    public ApacheCommonsToString(final ToStringStyle toStringStyle, final String... excludedFieldNames) {
+        this.toStringStyle = toStringStyle;
+        this.excludedFieldNames = excludedFieldNames;
+    }
+
+    @Override
+    public String toString(final Obj object) {
+        final int renderingCount = NestedRenderingToStringStyle.renderingCount();
+
+        try {
+            return new ReflectionToStringBuilder(object, toStringStyle).setExcludeFieldNames(excludedFieldNames)
+                                                                       .toString();
+        }
+        finally {
+            NestedRenderingToStringStyle.discardRenderings(renderingCount);
+        }
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder, final Obj object) {
+        return builder.append(render(new StringBuffer(), object));
+    }
+
+    @Override
+    public Appendable appendTo(final Appendable appendable, final Obj object)
+        throws IOException {
+        if (appendable instanceof StringBuffer) {
+            render((StringBuffer) appendable, object);
+            return appendable;
+        }
+
+        return appendable.append(render(new StringBuffer(), object));
+    }
+
+    private StringBuffer render(final StringBuffer buffer, final Obj object) {
+        if (object == null)
+            return buffer.append(toString(null));
+
+        final int renderingCount = NestedRenderingToStringStyle.renderingCount();
+
+        try {
+            final BufferReflectionToStringBuilder builder =
+                new BufferReflectionToStringBuilder(object, toStringStyle, buffer);
+            builder.setExcludeFieldNames(excludedFieldNames);
+            builder.appendFieldsAndEnd();
+        }
+        finally {
+            NestedRenderingToStringStyle.discardRenderings(renderingCount);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * {@link ReflectionToStringBuilder} completing the representation in its {@link StringBuffer} without converting
+     * the buffer to a {@link String}.
+     */
+    private static class BufferReflectionToStringBuilder
+        extends ReflectionToStringBuilder {
+
+        BufferReflectionToStringBuilder(final Object object, final ToStringStyle style, final StringBuffer buffer) {
+            super(object, style, buffer);
+        }
+
+        void appendFieldsAndEnd() {
+            Class<?> currentClass = getObject().getClass();
+            appendFieldsIn(currentClass);
+
+            while (currentClass.getSuperclass() != null && currentClass != getUpToClass()) {
+                currentClass = currentClass.getSuperclass();
+                appendFieldsIn(currentClass);
+            }
+
+            getStyle().appendEnd(getStringBuffer(), getObject());
+        }
+    }
+}
@@ -21,33 +21,98 @@
 
 package org.jlib.basefunctions.apachecommons.tostring;
 
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
 import org.jlib.basefunctions.ToStringEngine;
 
+/**
+ * <p>
+ * {@link ToStringEngine} formatting the added values by a {@link ToStringBuilder}.
+ * </p>
+ * <p>
+ * The values are rendered when the representation is requested, so a {@link NestedRenderingToStringStyle} keeps the
+ * state of a bounded rendering only while rendering, even if the engine is not completed or a rendering fails.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
 public class ApacheCommonsToStringEngine<Obj>
     implements ToStringEngine<Obj> {
 
-    private final ToStringBuilder builder;
+    private final Obj object;
+    private final ToStringStyle toStringStyle;
+    private final List<Object> valueNamesAndValues = new ArrayList<>();
+    private StringBuffer buffer;
 
     public ApacheCommonsToStringEngine(final Obj object) {
-        builder = new ToStringBuilder(object);
+        this(object, null);
     }
 
     public ApacheCommonsToStringEngine(final Obj object, final ToStringStyle toStringStyle) {
-        builder = new ToStringBuilder(object, toStringStyle);
+        this.object = object;
+        this.toStringStyle = toStringStyle;
     }
 
     @Override
     public ApacheCommonsToStringEngine<Obj> add(final String valueName, final Object value) {
-        builder.append(valueName, value);
+        valueNamesAndValues.add(valueName);
+        valueNamesAndValues.add(value);
 
         return this;
     }
 
     @Override
     public String toString() {
-        return builder.toString();
+        return completedBuffer().toString();
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder target) {
+        return target.append(completedBuffer());
+    }
+
+    @Override
+    public Appendable appendTo(final Appendable appendable)
+        throws IOException {
+        return appendable.append(completedBuffer());
+    }
+
+    private StringBuffer completedBuffer() {
+        if (buffer == null)
+            buffer = render();
+
+        return buffer;
+    }
+
+    private StringBuffer render() {
+        final int renderingCount = NestedRenderingToStringStyle.renderingCount();
+
+        try {
+            // a null style selects the default style of ToStringBuilder
+            final ToStringBuilder builder = new ToStringBuilder(object, toStringStyle);
+
+            for (int index = 0; index < valueNamesAndValues.size(); index += 2)
+                builder.append((String) valueNamesAndValues.get(index), valueNamesAndValues.get(index + 1));
+
+            // ToStringBuilder appends the null text of its style, which is not accessible outside its package
+            if (object == null)
+                builder.toString();
+            else
+                builder.getStyle().appendEnd(builder.getStringBuffer(), object);
+
+            return builder.getStringBuffer();
+        }
+        finally {
+            NestedRenderingToStringStyle.discardRenderings(renderingCount);
+        }
     }
 }
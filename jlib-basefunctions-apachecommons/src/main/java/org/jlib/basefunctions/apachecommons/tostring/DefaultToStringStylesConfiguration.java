@@ -21,6 +21,7 @@
 
 package org.jlib.basefunctions.apachecommons.tostring;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,12 +41,13 @@ public final class DefaultToStringStylesConfiguration {
     public static final Map<String, ToStringStyle> TO_STRING_STYLES;
 
     static {
-        TO_STRING_STYLES = new HashMap<>();
-        TO_STRING_STYLES.put("DEFAULT_STYLE", DEFAULT_STYLE);
-        TO_STRING_STYLES.put("MULTI_LINE_STYLE", MULTI_LINE_STYLE);
-        TO_STRING_STYLES.put("NO_FIELD_NAMES_STYLE", NO_FIELD_NAMES_STYLE);
-        TO_STRING_STYLES.put("SHORT_PREFIX_STYLE", SHORT_PREFIX_STYLE);
-        TO_STRING_STYLES.put("SIMPLE_STYLE", SIMPLE_STYLE);
+        final Map<String, ToStringStyle> toStringStyles = new HashMap<>();
+        toStringStyles.put("DEFAULT_STYLE", DEFAULT_STYLE);
+        toStringStyles.put("MULTI_LINE_STYLE", MULTI_LINE_STYLE);
+        toStringStyles.put("NO_FIELD_NAMES_STYLE", NO_FIELD_NAMES_STYLE);
+        toStringStyles.put("SHORT_PREFIX_STYLE", SHORT_PREFIX_STYLE);
+        toStringStyles.put("SIMPLE_STYLE", SIMPLE_STYLE);
+        TO_STRING_STYLES = Collections.unmodifiableMap(toStringStyles);
     }
 
     public static final ToStringStyle DEFAULT_TO_STRING_STYLE = DEFAULT_STYLE;
@@ -56,5 +58,8 @@ public final class DefaultToStringStylesConfiguration {
     public static final ClassNameToStringStyleSupplier CLASS_NAME_STYLE_SUPPLIER
         = new ReflectorClassNameToStringStyleSupplier().setReflectorService(Reflectors.SERVICE);
 
+    public static final ToStringStyleRegistry TO_STRING_STYLE_REGISTRY =
+        new ToStringStyleRegistry(TO_STRING_STYLES, CLASS_NAME_STYLE_SUPPLIER);
+
     private DefaultToStringStylesConfiguration() {}
 }
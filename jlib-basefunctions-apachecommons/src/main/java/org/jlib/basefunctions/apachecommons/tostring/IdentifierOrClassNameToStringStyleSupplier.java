@@ -22,36 +22,87 @@
 package org.jlib.basefunctions.apachecommons.tostring;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * <p>
+ * {@link ConfigurableToStringStyleSupplier} returning the {@link ToStringStyle} registered by an identifier or, if
+ * none is registered, an instance of the {@link ToStringStyle} class of this name. The resolved style is memoized
+ * until the configuration changes.
+ * </p>
+ * <p>
+ * The configuration and the style resolved for it are kept in one immutable {@link State}. A resolved style is only
+ * memoized if the configuration has not changed while resolving it, so a style resolved for a replaced configuration
+ * is never returned after the replacement.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
 public class IdentifierOrClassNameToStringStyleSupplier
     implements ConfigurableToStringStyleSupplier {
 
-    private String identifierOrClassName;
-    private NamedToStringStyleSupplier namedStyleSupplier;
-    private ClassNameToStringStyleSupplier classNameToStringStyleSupplier;
+    private final AtomicReference<State> state = new AtomicReference<>(new State(null, null, null, null));
 
     @Override
-    @SuppressWarnings("unchecked")
     public ToStringStyle get()
         throws ToStringStyleNotFoundException {
-        final Optional<ToStringStyle> toStringStyle = namedStyleSupplier.get(identifierOrClassName);
+        final State currentState = state.get();
+        if (currentState.resolvedToStringStyle != null)
+            return currentState.resolvedToStringStyle;
+
+        final Optional<ToStringStyle> toStringStyle =
+            currentState.namedStyleSupplier.get(currentState.identifierOrClassName);
+
+        final ToStringStyle newToStringStyle =
+            toStringStyle.isPresent() ?
+            toStringStyle.get() :
+            currentState.classNameToStringStyleSupplier.get(currentState.identifierOrClassName);
 
-        return toStringStyle.isPresent() ?
-               toStringStyle.get() :
-               classNameToStringStyleSupplier.get(identifierOrClassName);
+        state.compareAndSet(currentState, new State(currentState.identifierOrClassName,
+                                                    currentState.namedStyleSupplier,
+                                                    currentState.classNameToStringStyleSupplier, newToStringStyle));
+
+        return newToStringStyle;
     }
 
     public void setNamedStyleSupplier(final NamedToStringStyleSupplier namedStyleSupplier) {
-        this.namedStyleSupplier = namedStyleSupplier;
+        state.updateAndGet(currentState -> new State(currentState.identifierOrClassName, namedStyleSupplier,
+                                                     currentState.classNameToStringStyleSupplier, null));
     }
 
     public void setIdentifierOrClassName(final String identifierOrClassName) {
-        this.identifierOrClassName = identifierOrClassName;
+        state.updateAndGet(currentState -> new State(identifierOrClassName, currentState.namedStyleSupplier,
+                                                     currentState.classNameToStringStyleSupplier, null));
     }
 
     public void setClassNameToStringStyleSupplier(final ClassNameToStringStyleSupplier classNameToStringStyleSupplier) {
-        this.classNameToStringStyleSupplier = classNameToStringStyleSupplier;
+        state.updateAndGet(currentState -> new State(currentState.identifierOrClassName,
+                                                     currentState.namedStyleSupplier, classNameToStringStyleSupplier,
+                                                     null));
+    }
+
+    /**
+     * Configuration and the {@link ToStringStyle} resolved for it.
+     */
+    private static final class State {
+
+        private final String identifierOrClassName;
+        private final NamedToStringStyleSupplier namedStyleSupplier;
+        private final ClassNameToStringStyleSupplier classNameToStringStyleSupplier;
+        @Nullable
+        private final ToStringStyle resolvedToStringStyle;
+
+        private State(final String identifierOrClassName, final NamedToStringStyleSupplier namedStyleSupplier,
+                      final ClassNameToStringStyleSupplier classNameToStringStyleSupplier,
+                      @Nullable final ToStringStyle resolvedToStringStyle) {
+            this.identifierOrClassName = identifierOrClassName;
+            this.namedStyleSupplier = namedStyleSupplier;
+            this.classNameToStringStyleSupplier = classNameToStringStyleSupplier;
+            this.resolvedToStringStyle = resolvedToStringStyle;
+        }
     }
 }
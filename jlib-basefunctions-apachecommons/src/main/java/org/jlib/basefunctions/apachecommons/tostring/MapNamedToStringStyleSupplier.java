@@ -26,8 +26,6 @@ import java.util.Optional;
 
 import org.apache.commons.lang3.builder.ToStringStyle;
 
-import static org.jlib.shared.OptionalUtility.optionalOf;
-
 class MapNamedToStringStyleSupplier
     implements NamedToStringStyleSupplier {
 
@@ -39,6 +37,6 @@ class MapNamedToStringStyleSupplier
 
     @Override
     public Optional<ToStringStyle> get(final String identifier) {
-        return optionalOf(() -> toStringStyles.get(identifier), toStringStyles.containsKey(identifier));
+        return Optional.ofNullable(toStringStyles.get(identifier));
     }
 }
@@ -0,0 +1,397 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.builder.StandardToStringStyle;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.DEFAULT_STYLE;
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+import static org.apache.commons.lang3.builder.ToStringStyle.NO_FIELD_NAMES_STYLE;
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+import static org.apache.commons.lang3.builder.ToStringStyle.SIMPLE_STYLE;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.ApplicationObject;
+import static org.jlib.basefunctions.apachecommons.tostring.ToStringLimits.TRUNCATION_MARKER;
+
+/**
+ * <p>
+ * {@link ToStringStyle} rendering nested {@link ApplicationObject}s into the {@link StringBuffer} of the enclosing
+ * object by {@link ApplicationObject#appendTo(Appendable)}, instead of appending the {@link String} returned by their
+ * {@link ApplicationObject#toString()} methods.
+ * </p>
+ * <p>
+ * The rendering may be bounded by {@link ToStringLimits}. The limits are enforced while rendering: once the maximum
+ * length is reached, no further field is appended; collections, maps and arrays exceeding the maximum element count
+ * are iterated up to the limit only; nested {@link ApplicationObject}s beyond the maximum depth are rendered as
+ * summaries. Elements of collections and maps are rendered by this style as well, so the limits also apply to
+ * nested collections, maps, arrays and {@link ApplicationObject}s contained in them. The state of a bounded rendering
+ * is kept per thread and {@link StringBuffer}, on a stack, so renderings into other buffers started while rendering,
+ * for instance, by the {@link Object#toString()} method of a field value, neither share nor remove the state of the
+ * enclosing rendering. The state is removed by {@link #appendEnd(StringBuffer, Object)}; {@link ApacheCommonsToString}
+ * and {@link ApacheCommonsToStringEngine} also remove the states of renderings failing before.
+ * </p>
+ * <p>
+ * The standard styles of {@link ToStringStyle} cannot be extended, hence, {@link #of(ToStringStyle, ToStringLimits)}
+ * maps each of them to an equally configured {@link NestedRenderingToStringStyle}. Other styles are used unchanged,
+ * render nested {@link ApplicationObject}s by their {@link ApplicationObject#toString()} methods and are not bounded.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public class NestedRenderingToStringStyle
+    extends StandardToStringStyle {
+
+    private static final long serialVersionUID = - 6003469281467712361L;
+
+    private static final Map<ToStringStyle, Consumer<NestedRenderingToStringStyle>> STANDARD_STYLE_CONFIGURATIONS =
+        new IdentityHashMap<>();
+
+    static {
+        STANDARD_STYLE_CONFIGURATIONS.put(DEFAULT_STYLE, style -> {});
+
+        STANDARD_STYLE_CONFIGURATIONS.put(MULTI_LINE_STYLE, style -> {
+            style.setContentStart("[");
+            style.setFieldSeparator(SystemUtils.LINE_SEPARATOR + "  ");
+            style.setFieldSeparatorAtStart(true);
+            style.setContentEnd(SystemUtils.LINE_SEPARATOR + "]");
+        });
+
+        STANDARD_STYLE_CONFIGURATIONS.put(NO_FIELD_NAMES_STYLE, style -> style.setUseFieldNames(false));
+
+        STANDARD_STYLE_CONFIGURATIONS.put(SHORT_PREFIX_STYLE, style -> {
+            style.setUseShortClassName(true);
+            style.setUseIdentityHashCode(false);
+        });
+
+        STANDARD_STYLE_CONFIGURATIONS.put(SIMPLE_STYLE, style -> {
+            style.setUseClassName(false);
+            style.setUseIdentityHashCode(false);
+            style.setUseFieldNames(false);
+            style.setContentStart("");
+            style.setContentEnd("");
+        });
+    }
+
+    private static final ThreadLocal<Deque<RenderingState>> RENDERING_STATES =
+        ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final ToStringLimits limits;
+
+    public NestedRenderingToStringStyle() {
+        this(ToStringLimits.UNLIMITED);
+    }
+
+    public NestedRenderingToStringStyle(final ToStringLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Returns an unbounded {@link NestedRenderingToStringStyle} configured like the specified standard
+     * {@link ToStringStyle}, or the specified {@link ToStringStyle} itself if it is no standard style.
+     *
+     * @param style
+     *        {@link ToStringStyle} to map
+     *
+     * @return {@link ToStringStyle} producing the same output as {@code style}
+     */
+    public static ToStringStyle of(final ToStringStyle style) {
+        return of(style, ToStringLimits.UNLIMITED);
+    }
+
+    /**
+     * Returns a {@link NestedRenderingToStringStyle} bounded by the specified {@link ToStringLimits} and configured
+     * like the specified standard {@link ToStringStyle}, or the specified {@link ToStringStyle} itself if it is no
+     * standard style.
+     *
+     * @param style
+     *        {@link ToStringStyle} to map
+     *
+     * @param limits
+     *        {@link ToStringLimits} of the rendering
+     *
+     * @return {@link ToStringStyle} producing the same output as {@code style} within {@code limits}
+     */
+    public static ToStringStyle of(final ToStringStyle style, final ToStringLimits limits) {
+        final Consumer<NestedRenderingToStringStyle> configuration = STANDARD_STYLE_CONFIGURATIONS.get(style);
+        if (configuration == null)
+            return style;
+
+        final NestedRenderingToStringStyle nestedRenderingStyle = new NestedRenderingToStringStyle(limits);
+        configuration.accept(nestedRenderingStyle);
+
+        return nestedRenderingStyle;
+    }
+
+    @Override
+    public void appendStart(final StringBuffer buffer, final Object object) {
+        if (isBounded() && renderingState(buffer) == null)
+            RENDERING_STATES.get().push(new RenderingState(buffer));
+
+        super.appendStart(buffer, object);
+    }
+
+    @Override
+    public void appendEnd(final StringBuffer buffer, final Object object) {
+        super.appendEnd(buffer, object);
+
+        final RenderingState state = renderingState(buffer);
+        if (state != null && state.depth == 0)
+            RENDERING_STATES.get().pop();
+    }
+
+    @Override
+    public void append(final StringBuffer buffer, final String fieldName, final Object value,
+                       final Boolean fullDetail) {
+        if (remainingLength(buffer) > 0)
+            super.append(buffer, fieldName, value, fullDetail);
+        else
+            appendTruncationMarkerOnce(buffer);
+    }
+
+    @Override
+    protected void appendInternal(final StringBuffer buffer, final String fieldName, final Object value,
+                                  final boolean detail) {
+        if (detail && limits.isElementCountLimited() && value != null && value.getClass().isArray() &&
+            Array.getLength(value) > limits.getMaxElements())
+            appendBoundedArray(buffer, fieldName, value);
+        else
+            super.appendInternal(buffer, fieldName, value, detail);
+    }
+
+    @Override
+    protected void appendDetail(final StringBuffer buffer, final String fieldName, final Object value) {
+        if (value instanceof ApplicationObject)
+            appendApplicationObject(buffer, fieldName, (ApplicationObject) value);
+        else if (value instanceof CharSequence)
+            appendCharSequence(buffer, (CharSequence) value);
+        else
+            super.appendDetail(buffer, fieldName, value);
+    }
+
+    @Override
+    protected void appendDetail(final StringBuffer buffer, final String fieldName, final Collection<?> collection) {
+        buffer.append('[');
+        appendBoundedElements(buffer, collection.iterator(), collection.size(),
+                              element -> appendElement(buffer, element == collection ?
+                                                               "(this Collection)" :
+                                                               element));
+        buffer.append(']');
+    }
+
+    @Override
+    protected void appendDetail(final StringBuffer buffer, final String fieldName, final Map<?, ?> map) {
+        buffer.append('{');
+        appendBoundedElements(buffer, map.entrySet().iterator(), map.size(), entry -> {
+            appendElement(buffer, entry.getKey() == map ?
+                                  "(this Map)" :
+                                  entry.getKey());
+            buffer.append('=');
+            appendElement(buffer, entry.getValue() == map ?
+                                  "(this Map)" :
+                                  entry.getValue());
+        });
+        buffer.append('}');
+    }
+
+    private <Element> void appendBoundedElements(final StringBuffer buffer, final Iterator<Element> elements,
+                                                 final int size, final Consumer<Element> elementAppender) {
+        final int maxElements = limits.getMaxElements();
+
+        for (int index = 0; index < maxElements && elements.hasNext(); index++) {
+            if (index > 0)
+                buffer.append(", ");
+
+            if (remainingLength(buffer) <= 0) {
+                buffer.append(TRUNCATION_MARKER);
+                return;
+            }
+
+            elementAppender.accept(elements.next());
+        }
+
+        if (! elements.hasNext())
+            return;
+
+        buffer.append(", ").append(TRUNCATION_MARKER);
+
+        // the size may be outdated if the elements have been modified concurrently
+        if (size > maxElements)
+            buffer.append('(').append(size - maxElements).append(" more)");
+    }
+
+    private void appendElement(final StringBuffer buffer, @Nullable final Object element) {
+        if (element == null)
+            buffer.append((Object) null);
+        else
+            appendInternal(buffer, null, element, true);
+    }
+
+    private void appendBoundedArray(final StringBuffer buffer, final String fieldName, final Object array) {
+        final int length = Array.getLength(array);
+        final int maxElements = limits.getMaxElements();
+
+        buffer.append(getArrayStart());
+
+        for (int index = 0; index < maxElements; index++) {
+            if (index > 0)
+                buffer.append(getArraySeparator());
+
+            if (remainingLength(buffer) <= 0) {
+                buffer.append(TRUNCATION_MARKER).append(getArrayEnd());
+                return;
+            }
+
+            final Object item = Array.get(array, index);
+            if (item == null)
+                appendNullText(buffer, fieldName);
+            else
+                appendInternal(buffer, fieldName, item, isArrayContentDetail());
+        }
+
+        buffer.append(getArraySeparator())
+              .append(TRUNCATION_MARKER).append('(').append(length - maxElements).append(" more)")
+              .append(getArrayEnd());
+    }
+
+    private void appendApplicationObject(final StringBuffer buffer, @Nullable final String fieldName,
+                                         final ApplicationObject applicationObject) {
+        final RenderingState state = renderingState(buffer);
+
+        if (state != null && state.depth >= limits.getMaxDepth()) {
+            appendSummary(buffer, fieldName, applicationObject);
+            return;
+        }
+
+        if (state != null)
+            state.depth++;
+
+        try {
+            applicationObject.appendTo(buffer);
+        }
+        catch (final IOException exception) {
+            // a StringBuffer never throws an IOException
+            throw new UncheckedIOException(exception);
+        }
+        finally {
+            if (state != null)
+                state.depth--;
+        }
+    }
+
+    private void appendCharSequence(final StringBuffer buffer, final CharSequence charSequence) {
+        final int remainingLength = remainingLength(buffer);
+
+        if (charSequence.length() <= remainingLength) {
+            buffer.append(charSequence);
+            return;
+        }
+
+        buffer.append(charSequence, 0, Math.max(remainingLength, 0)).append(TRUNCATION_MARKER);
+        markTruncated(buffer);
+    }
+
+    private void appendTruncationMarkerOnce(final StringBuffer buffer) {
+        final RenderingState state = renderingState(buffer);
+
+        if (state != null && ! state.truncated)
+            buffer.append(TRUNCATION_MARKER);
+
+        markTruncated(buffer);
+    }
+
+    private void markTruncated(final StringBuffer buffer) {
+        final RenderingState state = renderingState(buffer);
+        if (state != null)
+            state.truncated = true;
+    }
+
+    private int remainingLength(final StringBuffer buffer) {
+        if (! limits.isLengthLimited())
+            return Integer.MAX_VALUE;
+
+        final RenderingState state = renderingState(buffer);
+
+        return state != null ?
+               limits.getMaxLength() - (buffer.length() - state.startLength) :
+               Integer.MAX_VALUE;
+    }
+
+    private boolean isBounded() {
+        return limits.isLengthLimited() || limits.isDepthLimited();
+    }
+
+    // number of bounded renderings in progress on the current thread, to be passed to discardRenderings
+    static int renderingCount() {
+        return RENDERING_STATES.get().size();
+    }
+
+    // removes the states of the renderings started after renderingCount() returned the specified count
+    static void discardRenderings(final int renderingCount) {
+        final Deque<RenderingState> renderingStates = RENDERING_STATES.get();
+
+        while (renderingStates.size() > renderingCount)
+            renderingStates.pop();
+    }
+
+    @Nullable
+    private static RenderingState renderingState(final StringBuffer buffer) {
+        final RenderingState state = RENDERING_STATES.get().peek();
+
+        return state != null && state.buffer == buffer ?
+               state :
+               null;
+    }
+
+    public ToStringLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * State of the bounded rendering into a {@link StringBuffer}.
+     */
+    private static final class RenderingState {
+
+        private final StringBuffer buffer;
+        private final int startLength;
+        private int depth;
+        private boolean truncated;
+
+        private RenderingState(final StringBuffer buffer) {
+            this.buffer = buffer;
+            startLength = buffer.length();
+        }
+    }
+}
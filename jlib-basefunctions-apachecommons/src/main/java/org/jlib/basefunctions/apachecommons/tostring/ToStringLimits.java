@@ -0,0 +1,130 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import org.jlib.systemproperty.SystemPropertyUtility;
+
+/**
+ * <p>
+ * Limits of the {@link String} representations rendered by a {@link NestedRenderingToStringStyle}:
+ * </p>
+ * <ul>
+ * <li>the maximum number of characters of a representation, including nested objects; further fields are omitted and
+ * character sequences are cut;</li>
+ * <li>the maximum number of elements rendered per collection, map or array;</li>
+ * <li>the maximum nesting depth of {@link org.jlib.basefunctions.ApplicationObject}s rendered in full; deeper objects
+ * are rendered as summaries.</li>
+ * </ul>
+ * <p>
+ * Omitted content is indicated by the {@link #TRUNCATION_MARKER}. The limits are approximate: the class names,
+ * content ends and truncation markers are appended beyond the maximum length.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class ToStringLimits {
+
+    public static final String MAX_LENGTH_PROPERTY_NAME = "org.jlib.basefunctions.apachecommons.toStringMaxLength";
+
+    public static final String MAX_ELEMENTS_PROPERTY_NAME = "org.jlib.basefunctions.apachecommons.toStringMaxElements";
+
+    public static final String MAX_DEPTH_PROPERTY_NAME = "org.jlib.basefunctions.apachecommons.toStringMaxDepth";
+
+    public static final String TRUNCATION_MARKER = "...";
+
+    public static final int UNLIMITED_VALUE = Integer.MAX_VALUE;
+
+    public static final ToStringLimits UNLIMITED = new ToStringLimits(UNLIMITED_VALUE, UNLIMITED_VALUE, UNLIMITED_VALUE);
+
+    private final int maxLength;
+    private final int maxElements;
+    private final int maxDepth;
+
+    /**
+     * Creates new {@link ToStringLimits}.
+     *
+     * @param maxLength
+     *        integer specifying the maximum number of characters; {@link #UNLIMITED_VALUE} for no limit
+     *
+     * @param maxElements
+     *        integer specifying the maximum number of elements per collection, map or array; {@link #UNLIMITED_VALUE}
+     *        for no limit
+     *
+     * @param maxDepth
+     *        integer specifying the maximum nesting depth; {@code 0} renders all nested
+     *        {@link org.jlib.basefunctions.ApplicationObject}s as summaries; {@link #UNLIMITED_VALUE} for no limit
+     */
+    public ToStringLimits(final int maxLength, final int maxElements, final int maxDepth) {
+        this.maxLength = maxLength;
+        this.maxElements = maxElements;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Returns the {@link ToStringLimits} specified by the system properties {@value #MAX_LENGTH_PROPERTY_NAME},
+     * {@value #MAX_ELEMENTS_PROPERTY_NAME} and {@value #MAX_DEPTH_PROPERTY_NAME}. Missing properties specify no limit.
+     *
+     * @return {@link ToStringLimits} specified by the system properties
+     *
+     * @throws NumberFormatException
+     *         if a property value is no integer
+     */
+    public static ToStringLimits fromSystemProperties() {
+        final int maxLength = limitProperty(MAX_LENGTH_PROPERTY_NAME);
+        final int maxElements = limitProperty(MAX_ELEMENTS_PROPERTY_NAME);
+        final int maxDepth = limitProperty(MAX_DEPTH_PROPERTY_NAME);
+
+        return maxLength == UNLIMITED_VALUE && maxElements == UNLIMITED_VALUE && maxDepth == UNLIMITED_VALUE ?
+               UNLIMITED :
+               new ToStringLimits(maxLength, maxElements, maxDepth);
+    }
+
+    private static int limitProperty(final String propertyName) {
+        return SystemPropertyUtility.getOptionalProperty(propertyName)
+                                    .map(Integer::valueOf)
+                                    .orElse(UNLIMITED_VALUE);
+    }
+
+    public boolean isLengthLimited() {
+        return maxLength != UNLIMITED_VALUE;
+    }
+
+    public boolean isElementCountLimited() {
+        return maxElements != UNLIMITED_VALUE;
+    }
+
+    public boolean isDepthLimited() {
+        return maxDepth != UNLIMITED_VALUE;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getMaxElements() {
+        return maxElements;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+}
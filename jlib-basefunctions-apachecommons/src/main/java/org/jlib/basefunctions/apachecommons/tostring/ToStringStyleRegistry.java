@@ -0,0 +1,116 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * <p>
+ * Thread safe registry of {@link ToStringStyle}s, registered by identifier or for a {@link Class}.
+ * </p>
+ * <p>
+ * Styles specified by the name of their class are instantiated once by a {@link ClassNameToStringStyleSupplier} and
+ * memoized, so resolving a style costs a hash lookup after the first resolution. Styles may be registered at any
+ * time; a registered style replaces a memoized style of the same name.
+ * </p>
+ * <p>
+ * The styles registered for a {@link Class} apply to the instances of exactly this class. They are looked up in a
+ * {@link ClassValue}.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class ToStringStyleRegistry
+    implements NamedToStringStyleSupplier {
+
+    private final ConcurrentMap<String, ToStringStyle> styles = new ConcurrentHashMap<>();
+    private final ClassNameToStringStyleSupplier classNameStyleSupplier;
+
+    private final ClassValue<AtomicReference<ToStringStyle>> classStyles =
+        new ClassValue<AtomicReference<ToStringStyle>>() {
+
+            @Override
+            protected AtomicReference<ToStringStyle> computeValue(final Class<?> type) {
+                return new AtomicReference<>();
+            }
+        };
+
+    /**
+     * Creates a new {@link ToStringStyleRegistry}.
+     *
+     * @param initialStyles
+     *        {@link Map} of the initially registered {@link ToStringStyle}s by identifier
+     *
+     * @param classNameStyleSupplier
+     *        {@link ClassNameToStringStyleSupplier} instantiating the styles specified by class name
+     */
+    public ToStringStyleRegistry(final Map<String, ToStringStyle> initialStyles,
+                                 final ClassNameToStringStyleSupplier classNameStyleSupplier) {
+        styles.putAll(initialStyles);
+        this.classNameStyleSupplier = classNameStyleSupplier;
+    }
+
+    public void register(final String identifier, final ToStringStyle style) {
+        styles.put(identifier, style);
+    }
+
+    public void register(final Class<?> type, final ToStringStyle style) {
+        classStyles.get(type).set(style);
+    }
+
+    public void unregister(final Class<?> type) {
+        classStyles.get(type).set(null);
+    }
+
+    @Override
+    public Optional<ToStringStyle> get(final String identifier) {
+        return Optional.ofNullable(styles.get(identifier));
+    }
+
+    public Optional<ToStringStyle> get(final Class<?> type) {
+        return Optional.ofNullable(classStyles.get(type).get());
+    }
+
+    /**
+     * Returns the {@link ToStringStyle} registered by the specified identifier or, if none is registered, the
+     * memoized instance of the {@link ToStringStyle} class of the specified name.
+     *
+     * @param identifierOrClassName
+     *        {@link String} specifying the identifier or class name of the style
+     *
+     * @return resolved {@link ToStringStyle}
+     *
+     * @throws ToStringStyleNotFoundException
+     *         if no style is registered by {@code identifierOrClassName} and no style class of this name can be
+     *         instantiated
+     */
+    public ToStringStyle resolve(final String identifierOrClassName)
+        throws ToStringStyleNotFoundException {
+        return styles.computeIfAbsent(identifierOrClassName, classNameStyleSupplier::get);
+    }
+}
@@ -70,6 +70,50 @@ public class ApacheCommonsEqualsEngineTest {
         assertThat(C1).isNotEqualTo(C2);
     }
 
+    @Test
+    public void primitiveValuesShouldCompareLikeBoxedValues() {
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(Double.NaN, Double.NaN)
+                                                        .add(1L, 1L)
+                                                        .add('c', 'c')
+                                                        .equal()).isTrue();
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(0.0, - 0.0)
+                                                        .equal()).isFalse();
+    }
+
+    @Test
+    public void primitiveArraysShouldBeComparedElementByElement() {
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(new int[] { 1, 2 }, new int[] { 1, 2 })
+                                                        .add(new double[] { Double.NaN }, new double[] { Double.NaN })
+                                                        .equal()).isTrue();
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(new long[] { 1L }, new long[] { 2L })
+                                                        .equal()).isFalse();
+    }
+
+    @Test
+    public void differentPrimitiveTypesShouldBeComparedAfterWidening() {
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(1, 1L)
+                                                        .add((short) 2, 2)
+                                                        .add(3, 3.0)
+                                                        .equal()).isTrue();
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(Integer.valueOf(1), Long.valueOf(1L))
+                                                        .equal()).isFalse();
+    }
+
+    @Test
+    public void nullReferencesShouldBeComparedByTheirDeclaredType() {
+        final String nullString = null;
+        final int[] nullInts = null;
+
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add((Object) null, (Object) null)
+                                                        .add(nullString, nullString)
+                                                        .add(nullInts, nullInts)
+                                                        .equal()).isTrue();
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(nullInts, new int[0])
+                                                        .equal()).isFalse();
+        assertThat(new ApacheCommonsEqualsEngine<>(null).add(nullString, "")
+                                                        .equal()).isFalse();
+    }
+
     // root level of inheritance
     private static class O {}
 
@@ -0,0 +1,124 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.equals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class ApacheCommonsLazyEqualsEngineTest {
+
+    private final AtomicInteger readCount = new AtomicInteger();
+
+    @Test
+    public void equalValuesShouldBeEqual() {
+        final Point point = new Point(1, 2L, 3.0, new int[] { 4 });
+
+        assertThat(engine(point, new Point(1, 2L, 3.0, new int[] { 4 })).equal()).isTrue();
+        assertThat(readCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void firstDifferenceShouldStopEvaluation() {
+        final Point point = new Point(1, 2L, 3.0, new int[] { 4 });
+
+        assertThat(engine(point, new Point(9, 2L, 3.0, new int[] { 4 })).equal()).isFalse();
+        assertThat(readCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void identicalObjectShouldBeEqualWithoutReadingValues() {
+        final Point point = new Point(1, 2L, 3.0, new int[] { 4 });
+
+        assertThat(engine(point, point).equal()).isTrue();
+        assertThat(readCount.get()).isZero();
+    }
+
+    @Test
+    public void nullOrOtherClassShouldNotBeEqualWithoutReadingValues() {
+        final Point point = new Point(1, 2L, 3.0, new int[] { 4 });
+
+        assertThat(engine(point, null).equal()).isFalse();
+        assertThat(engine(point, new Point(1, 2L, 3.0, new int[] { 4 }) {}).equal()).isFalse();
+        assertThat(readCount.get()).isZero();
+    }
+
+    @Test
+    public void superEqualsShouldOnlyBeEvaluatedWhileEqual() {
+        final Point point = new Point(1, 2L, 3.0, new int[] { 4 });
+
+        assertThat(new ApacheCommonsLazyEqualsEngine<>(point, new Point(9, 2L, 3.0, new int[] { 4 }))
+                       .addInt(Point::getX)
+                       .addSuper(other -> {
+                           throw new AssertionError("super equals evaluated");
+                       })
+                       .equal()).isFalse();
+    }
+
+    private ApacheCommonsLazyEqualsEngine<Point> engine(final Point point, final Object other) {
+        final ToIntFunction<Point> countingX = currentPoint -> {
+            readCount.incrementAndGet();
+            return currentPoint.getX();
+        };
+
+        final ApacheCommonsLazyEqualsEngine<Point> engine = new ApacheCommonsLazyEqualsEngine<>(point, other);
+        engine.addInt(countingX)
+              .addLong(Point::getY)
+              .addDouble(Point::getZ)
+              .add(Point::getValues);
+
+        return engine;
+    }
+
+    private static class Point {
+
+        private final int x;
+        private final long y;
+        private final double z;
+        private final int[] values;
+
+        Point(final int x, final long y, final double z, final int[] values) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.values = values;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        long getY() {
+            return y;
+        }
+
+        double getZ() {
+            return z;
+        }
+
+        int[] getValues() {
+            return values;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.hashcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class ApacheCommonsHashCodeEngineTest {
+
+    @Test
+    public void primitiveValuesShouldHashLikeBoxedValues() {
+        final int primitiveHashCode = new ApacheCommonsHashCodeEngine<>().add(true)
+                                                                        .add((byte) - 3)
+                                                                        .add('c')
+                                                                        .add((short) 7)
+                                                                        .add(- 11)
+                                                                        .add(- 13L)
+                                                                        .add(17.5f)
+                                                                        .add(- 19.25)
+                                                                        .toHashCode();
+
+        final int boxedHashCode = new ApacheCommonsHashCodeEngine<>().add((Object) true)
+                                                                    .add((Object) (byte) - 3)
+                                                                    .add((Object) 'c')
+                                                                    .add((Object) (short) 7)
+                                                                    .add((Object) (- 11))
+                                                                    .add((Object) (- 13L))
+                                                                    .add((Object) 17.5f)
+                                                                    .add((Object) (- 19.25))
+                                                                    .toHashCode();
+
+        assertThat(primitiveHashCode).isEqualTo(boxedHashCode);
+    }
+
+    @Test
+    public void primitiveArraysShouldHashLikeArraysPassedAsObjects() {
+        final long[] longs = { - 1L, Long.MAX_VALUE };
+        final double[] doubles = { - 0.0, Double.NaN };
+        final boolean[] booleans = { true, false };
+
+        final int primitiveHashCode = new ApacheCommonsHashCodeEngine<>().add(longs)
+                                                                        .add(doubles)
+                                                                        .add(booleans)
+                                                                        .toHashCode();
+
+        final int objectHashCode = new ApacheCommonsHashCodeEngine<>().add((Object) longs)
+                                                                     .add((Object) doubles)
+                                                                     .add((Object) booleans)
+                                                                     .toHashCode();
+
+        assertThat(primitiveHashCode).isEqualTo(objectHashCode);
+    }
+
+    @Test
+    public void nullReferencesShouldHashLikeNullObjects() {
+        final String nullString = null;
+        final int[] nullInts = null;
+
+        final int typedHashCode = new ApacheCommonsHashCodeEngine<>().add(nullString)
+                                                                    .add(nullInts)
+                                                                    .toHashCode();
+
+        final int objectHashCode = new ApacheCommonsHashCodeEngine<>().add((Object) null)
+                                                                     .add((Object) null)
+                                                                     .toHashCode();
+
+        assertThat(typedHashCode).isEqualTo(objectHashCode);
+    }
+}
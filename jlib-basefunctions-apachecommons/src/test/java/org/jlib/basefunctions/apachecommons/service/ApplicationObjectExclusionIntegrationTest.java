@@ -0,0 +1,120 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ApplicationObject;
+import org.jlib.basefunctions.ExcludeFromEquals;
+import org.jlib.basefunctions.ExcludeFromHashCode;
+import org.jlib.basefunctions.ExcludeFromToString;
+import static org.jlib.basefunctions.apachecommons.service.ApacheCommonsBaseFunctionsDispatcher.PARALLEL_EQUALS_DISABLED;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.REFLECTIVE;
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.CompiledHashCode;
+import org.junit.Test;
+
+public class ApplicationObjectExclusionIntegrationTest {
+
+    @Test
+    public void fieldExcludedFromEqualsShouldBeIgnoredByEqualsAndHashCode() {
+        final A a1 = new A(1, 2, 3, 4, 5);
+        final A a2 = new A(1, 20, 3, 4, 5);
+
+        assertThat(a1).isEqualTo(a2);
+        assertThat(a1.hashCode()).isEqualTo(a2.hashCode());
+    }
+
+    @Test
+    public void fieldExcludedFromHashCodeShouldBeComparedByEquals() {
+        final A a1 = new A(1, 2, 3, 4, 5);
+        final A a2 = new A(1, 2, 30, 4, 5);
+
+        assertThat(a1).isNotEqualTo(a2);
+        assertThat(a1.hashCode()).isEqualTo(a2.hashCode());
+    }
+
+    @Test
+    public void fieldExcludedByNameShouldBeIgnoredByEqualsAndHashCode() {
+        final A a1 = new A(1, 2, 3, 4, 5);
+        final A a2 = new A(1, 2, 3, 40, 5);
+
+        assertThat(a1).isEqualTo(a2);
+        assertThat(a1.hashCode()).isEqualTo(a2.hashCode());
+    }
+
+    @Test
+    public void fieldExcludedFromToStringShouldNotBeRendered() {
+        assertThat(new A(1, 2, 3, 4, 5).toString()).contains("compared")
+                                                   .contains("notEqualsRelevant")
+                                                   .doesNotContain("hidden");
+    }
+
+    @Test
+    public void classExcludingAnnotatedFieldsShouldBeCompiledInReflectiveMode() {
+        final ApacheCommonsBaseFunctionsDispatcher dispatcher = new ApacheCommonsBaseFunctionsDispatcher();
+        dispatcher.setGenericStrategyMode(REFLECTIVE);
+        dispatcher.setParallelEqualsThreshold(PARALLEL_EQUALS_DISABLED);
+        dispatcher.setGraphAware(false);
+
+        assertThat(dispatcher.<A>genericEquals(A.class, "notEqualsRelevant")).isInstanceOf(CompiledEquals.class);
+        assertThat(dispatcher.<A>genericHashCode(A.class, "notEqualsRelevant")).isInstanceOf(CompiledHashCode.class);
+        assertThat(dispatcher.<Unannotated>genericEquals(Unannotated.class)).isNotInstanceOf(CompiledEquals.class);
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Unannotated {
+
+        private final int compared = 1;
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class A
+        extends ApplicationObject {
+
+        private final int compared;
+
+        @ExcludeFromEquals
+        private final int notEqualsRelevant;
+
+        @ExcludeFromHashCode
+        private final int notHashCodeRelevant;
+
+        private final int excludedByName;
+
+        @ExcludeFromToString
+        private final int hidden;
+
+        A(final int compared, final int notEqualsRelevant, final int notHashCodeRelevant, final int excludedByName,
+          final int hidden) {
+            this.compared = compared;
+            this.notEqualsRelevant = notEqualsRelevant;
+            this.notHashCodeRelevant = notHashCodeRelevant;
+            this.excludedByName = excludedByName;
+            this.hidden = hidden;
+        }
+
+        @Override
+        protected String[] getExcludedFieldNames() {
+            return new String[] { "excludedByName" };
+        }
+    }
+}
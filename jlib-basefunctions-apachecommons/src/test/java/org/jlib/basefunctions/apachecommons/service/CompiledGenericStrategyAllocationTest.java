@@ -0,0 +1,135 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.service;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.COMPILED;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies that the generic strategies of the {@link ApacheCommonsBaseFunctionsDispatcher} resolved for a class in the
+ * {@link GenericStrategyMode#COMPILED} mode do not allocate in steady state. The {@link GenericStrategyMode#REFLECTIVE}
+ * strategies allocate a builder per invocation.
+ */
+public class CompiledGenericStrategyAllocationTest {
+
+    private static final int WARM_UP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Value value1 = new Value(1, 2L, 3.0, "four", true);
+    private final Value value2 = new Value(1, 2L, 3.0, "four", true);
+    private final Value value3 = new Value(1, 2L, 3.0, "five", true);
+
+    private Equals<Value> classEquals;
+    private HashCode<Value> classHashCode;
+    private Equals<Value> genericEquals;
+    private HashCode<Value> genericHashCode;
+
+    private int sink;
+
+    @Before
+    public void resolveStrategies() {
+        final ApacheCommonsBaseFunctionsDispatcher dispatcher = new ApacheCommonsBaseFunctionsDispatcher();
+        dispatcher.setGenericStrategyMode(COMPILED);
+
+        classEquals = dispatcher.genericEquals(Value.class);
+        classHashCode = dispatcher.genericHashCode(Value.class);
+        genericEquals = dispatcher.genericEquals();
+        genericHashCode = dispatcher.genericHashCode();
+    }
+
+    @Test
+    public void steadyStateClassEqualsAndHashCodeShouldNotAllocate() {
+        assertNoSteadyStateAllocation(classEquals, classHashCode);
+    }
+
+    @Test
+    public void steadyStateGenericEqualsAndHashCodeShouldNotAllocate() {
+        assertNoSteadyStateAllocation(genericEquals, genericHashCode);
+    }
+
+    @Test
+    public void resolvedStrategiesShouldCompareAndHashFields() {
+        assertThat(classEquals.areEqual(value1, value2)).isTrue();
+        assertThat(classEquals.areEqual(value1, value3)).isFalse();
+        assertThat(classHashCode.hashCode(value1)).isEqualTo(classHashCode.hashCode(value2));
+        assertThat(genericEquals.areEqual(value1, value2)).isTrue();
+        assertThat(genericEquals.areEqual(value1, value3)).isFalse();
+        assertThat(genericHashCode.hashCode(value1)).isEqualTo(classHashCode.hashCode(value1));
+    }
+
+    private void assertNoSteadyStateAllocation(final Equals<Value> equals, final HashCode<Value> hashCode) {
+        exerciseEqualsAndHashCode(equals, hashCode, WARM_UP_ITERATIONS);
+
+        final long baselineBytes = allocatedBytes(equals, hashCode, 0);
+        final long measuredBytes = allocatedBytes(equals, hashCode, MEASURED_ITERATIONS);
+
+        assertThat(measuredBytes).isLessThanOrEqualTo(baselineBytes);
+    }
+
+    private long allocatedBytes(final Equals<Value> equals, final HashCode<Value> hashCode, final int iterations) {
+        final long threadId = Thread.currentThread().getId();
+
+        final long bytesBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        exerciseEqualsAndHashCode(equals, hashCode, iterations);
+        final long bytesAfter = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        return bytesAfter - bytesBefore;
+    }
+
+    private void exerciseEqualsAndHashCode(final Equals<Value> equals, final HashCode<Value> hashCode,
+                                           final int iterations) {
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (equals.areEqual(value1, value2))
+                sink += hashCode.hashCode(value1);
+            if (equals.areEqual(value1, value3))
+                sink -= hashCode.hashCode(value3);
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Value {
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final String string;
+        private final boolean booleanValue;
+
+        Value(final int intValue, final long longValue, final double doubleValue, final String string,
+              final boolean booleanValue) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.string = string;
+            this.booleanValue = booleanValue;
+        }
+    }
+}
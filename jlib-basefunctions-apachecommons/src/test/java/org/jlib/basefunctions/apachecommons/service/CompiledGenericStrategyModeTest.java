@@ -0,0 +1,224 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.service;
+
+import org.apache.commons.lang3.builder.CompareToBuilder;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.Compare;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.COMPILED;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.REFLECTIVE;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledGenericStrategyModeTest {
+
+    private static final Object[] OBJECTS = {
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 9 }, null),
+        new Fields(- 1, - 2L, - 0.0, Float.NaN, false, 'd', (short) - 5, (byte) - 6, null, null, asList(1, 2)),
+        new Fields(- 1, - 2L, 0.0, Float.NaN, false, 'd', (short) - 5, (byte) - 6, null, null, asList(1, 2)),
+        new Fields(Integer.MIN_VALUE, Long.MIN_VALUE, Double.NaN, 0.0f, true, 'c', (short) 5, (byte) 6, "", null,
+                   new Object[] { new long[] { - 1L, Long.MAX_VALUE }, new double[] { - 1.5 }, null, "x" }),
+        new Fields(Integer.MIN_VALUE, Long.MIN_VALUE, Double.NaN, 0.0f, true, 'c', (short) 5, (byte) 6, "", null,
+                   new Object[] { new long[] { - 1L, Long.MAX_VALUE }, new double[] { - 1.5 }, null, "x" }),
+        new Fields(0, 0L, 0.0, 0.0f, false, 'a', (short) 0, (byte) 0, null, null,
+                   new Object[] { new boolean[] { true, false }, new char[] { 'z' }, new float[] { 1.0f } }),
+        new FieldlessSubclass(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new ExtendedSubclass(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null, 10),
+        new Unrelated(1),
+        new PrimitiveArrays(new byte[] { 1, - 2 }, new double[] { 0.0, Double.NaN }, new boolean[] { true }),
+        new PrimitiveArrays(new byte[] { 1, - 2 }, new double[] { 0.0, Double.NaN }, new boolean[] { true }),
+        new PrimitiveArrays(new byte[] { 1, - 2 }, new double[] { - 0.0, Double.NaN }, new boolean[] { true }),
+        new PrimitiveArrays(new byte[0], null, new boolean[] { false, false }),
+        "seven"
+    };
+
+    private ApacheCommonsBaseFunctionsDispatcher reflectiveDispatcher;
+    private ApacheCommonsBaseFunctionsDispatcher compiledDispatcher;
+
+    @Before
+    public void initializeDispatchers() {
+        reflectiveDispatcher = new ApacheCommonsBaseFunctionsDispatcher();
+        reflectiveDispatcher.setGenericStrategyMode(REFLECTIVE);
+
+        compiledDispatcher = new ApacheCommonsBaseFunctionsDispatcher();
+        compiledDispatcher.setGenericStrategyMode(COMPILED);
+    }
+
+    @Test
+    public void compiledEqualsShouldEqualReflectiveEquals() {
+        assertSameEqualsResults(reflectiveDispatcher.genericEquals(), compiledDispatcher.genericEquals());
+    }
+
+    @Test
+    public void compiledEqualsExcludingFieldsShouldEqualReflectiveEquals() {
+        assertSameEqualsResults(reflectiveDispatcher.genericEquals("intArray", "doubleValue"),
+                                compiledDispatcher.genericEquals("intArray", "doubleValue"));
+    }
+
+    @Test
+    public void compiledHashCodeShouldEqualReflectiveHashCode() {
+        assertSameHashCodeResults(reflectiveDispatcher.genericHashCode(), compiledDispatcher.genericHashCode());
+    }
+
+    @Test
+    public void compiledHashCodeExcludingFieldsShouldEqualReflectiveHashCode() {
+        assertSameHashCodeResults(reflectiveDispatcher.genericHashCode("intArray", "doubleValue"),
+                                  compiledDispatcher.genericHashCode("intArray", "doubleValue"));
+    }
+
+    @Test
+    public void compiledEqualsShouldHandleNull() {
+        final Equals<Object> compiledEquals = compiledDispatcher.genericEquals();
+
+        assertThat(compiledEquals.areEqual(OBJECTS[0], null)).isFalse();
+        assertThat(compiledEquals.areEqual(null, null)).isTrue();
+    }
+
+    @Test
+    public void compiledCompareOfArraysShouldEqualReflectiveCompare() {
+        final Compare<Object> compiledCompare = compiledDispatcher.genericCompare();
+        final Compare<Object> orderedCompare = reflectiveDispatcher.genericCompare("bytes", "doubles", "booleans");
+
+        for (final Object object1 : OBJECTS)
+            for (final Object object2 : OBJECTS)
+                if (object1 instanceof PrimitiveArrays && object2 instanceof PrimitiveArrays) {
+                    final int reflectiveComparison = Integer.signum(CompareToBuilder.reflectionCompare(object1,
+                                                                                                      object2));
+
+                    assertThat(Integer.signum(compiledCompare.compare(object1, object2)))
+                        .as("%s compared to %s", object1, object2)
+                        .isEqualTo(reflectiveComparison);
+                    assertThat(Integer.signum(orderedCompare.compare(object1, object2)))
+                        .as("%s compared to %s", object1, object2)
+                        .isEqualTo(reflectiveComparison);
+                }
+    }
+
+    private static void assertSameEqualsResults(final Equals<Object> reflectiveEquals,
+                                                final Equals<Object> compiledEquals) {
+        for (final Object object1 : OBJECTS)
+            for (final Object object2 : OBJECTS)
+                assertThat(compiledEquals.areEqual(object1, object2))
+                    .as("%s equals %s", object1, object2)
+                    .isEqualTo(reflectiveEquals.areEqual(object1, object2));
+    }
+
+    private static void assertSameHashCodeResults(final HashCode<Object> reflectiveHashCode,
+                                                  final HashCode<Object> compiledHashCode) {
+        for (final Object object : OBJECTS)
+            assertThat(compiledHashCode.hashCode(object)).as("hash code of %s", object)
+                                                         .isEqualTo(reflectiveHashCode.hashCode(object));
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Fields {
+
+        private static int staticValue = 42;
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final float floatValue;
+        private final boolean booleanValue;
+        private final char charValue;
+        private final short shortValue;
+        private final byte byteValue;
+        private final String string;
+        private final int[] intArray;
+        private final Object object;
+        private final transient int transientValue;
+
+        Fields(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+               final boolean booleanValue, final char charValue, final short shortValue, final byte byteValue,
+               final String string, final int[] intArray, final Object object) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.floatValue = floatValue;
+            this.booleanValue = booleanValue;
+            this.charValue = charValue;
+            this.shortValue = shortValue;
+            this.byteValue = byteValue;
+            this.string = string;
+            this.intArray = intArray;
+            this.object = object;
+            transientValue = System.identityHashCode(this);
+        }
+    }
+
+    private static class FieldlessSubclass
+        extends Fields {
+
+        FieldlessSubclass(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+                          final boolean booleanValue, final char charValue, final short shortValue,
+                          final byte byteValue, final String string, final int[] intArray, final Object object) {
+            super(intValue, longValue, doubleValue, floatValue, booleanValue, charValue, shortValue, byteValue, string,
+                  intArray, object);
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class ExtendedSubclass
+        extends Fields {
+
+        private final int extension;
+
+        ExtendedSubclass(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+                         final boolean booleanValue, final char charValue, final short shortValue,
+                         final byte byteValue, final String string, final int[] intArray, final Object object,
+                         final int extension) {
+            super(intValue, longValue, doubleValue, floatValue, booleanValue, charValue, shortValue, byteValue, string,
+                  intArray, object);
+            this.extension = extension;
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class PrimitiveArrays {
+
+        private final byte[] bytes;
+        private final double[] doubles;
+        private final boolean[] booleans;
+
+        PrimitiveArrays(final byte[] bytes, final double[] doubles, final boolean[] booleans) {
+            this.bytes = bytes;
+            this.doubles = doubles;
+            this.booleans = booleans;
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Unrelated {
+
+        private final int intValue;
+
+        Unrelated(final int intValue) {
+            this.intValue = intValue;
+        }
+    }
+}
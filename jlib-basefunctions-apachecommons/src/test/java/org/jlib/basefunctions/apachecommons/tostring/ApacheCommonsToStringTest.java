@@ -0,0 +1,118 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.io.StringWriter;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ApplicationObject;
+import org.jlib.basefunctions.apachecommons.service.ApacheCommonsBaseFunctionsDispatcher;
+import org.junit.Test;
+
+public class ApacheCommonsToStringTest {
+
+    private final ApacheCommonsToString<Object> toString =
+        new ApacheCommonsToString<>(NestedRenderingToStringStyle.of(SHORT_PREFIX_STYLE));
+
+    @Test
+    public void appendToStringBuilderShouldAppendToString()
+        throws Exception {
+        final Outer outer = new Outer();
+
+        assertThat(toString.appendTo(new StringBuilder(">"), outer).toString()).isEqualTo(">" +
+                                                                                          toString.toString(outer));
+    }
+
+    @Test
+    public void appendToAppendableShouldAppendToString()
+        throws Exception {
+        final Outer outer = new Outer();
+
+        assertThat(toString.appendTo(new StringWriter(), outer).toString()).isEqualTo(toString.toString(outer));
+    }
+
+    @Test
+    public void nestedApplicationObjectShouldBeRenderedInPlace()
+        throws Exception {
+        final Outer outer = new Outer();
+
+        assertThat(toString.toString(outer)).isEqualTo("ApacheCommonsToStringTest.Outer[inner=" + outer.inner +
+                                                       ",overriding=custom]");
+    }
+
+    @Test
+    public void nestedRenderingStyleShouldFormatLikeStandardStyle()
+        throws Exception {
+        final Inner inner = new Inner();
+
+        assertThat(toString.toString(inner)).isEqualTo(
+            new ApacheCommonsToString<>(SHORT_PREFIX_STYLE).toString(inner));
+    }
+
+    @Test
+    public void engineShouldAppendCompletedRepresentationOnce()
+        throws Exception {
+        final ApacheCommonsToStringEngine<Inner> engine =
+            new ApacheCommonsToStringEngine<>(new Inner(), NestedRenderingToStringStyle.of(SHORT_PREFIX_STYLE));
+        engine.add("value", 42);
+
+        assertThat(engine.appendTo(new StringBuilder()).toString()).isEqualTo(engine.toString())
+                                                                  .isEqualTo("ApacheCommonsToStringTest.Inner[value=42]");
+    }
+
+    @Test
+    public void engineOfNullShouldRenderNullText()
+        throws Exception {
+        final ApacheCommonsToStringEngine<Object> engine =
+            new ApacheCommonsToStringEngine<>(null, NestedRenderingToStringStyle.of(SHORT_PREFIX_STYLE));
+
+        assertThat(engine.toString()).isEqualTo("<null>");
+        assertThat(engine.appendTo(new StringBuilder()).toString()).isEqualTo("<null>");
+        assertThat(new ApacheCommonsBaseFunctionsDispatcher().toStringEngine(null).toString()).isEqualTo("<null>");
+    }
+
+    private static class Inner
+        extends ApplicationObject {
+
+        @SuppressWarnings("UnusedDeclaration")
+        private final int value = 42;
+    }
+
+    private static class Overriding
+        extends ApplicationObject {
+
+        @Override
+        public String toString() {
+            return "custom";
+        }
+    }
+
+    private static class Outer
+        extends ApplicationObject {
+
+        private final Inner inner = new Inner();
+
+        @SuppressWarnings("UnusedDeclaration")
+        private final Overriding overriding = new Overriding();
+    }
+}
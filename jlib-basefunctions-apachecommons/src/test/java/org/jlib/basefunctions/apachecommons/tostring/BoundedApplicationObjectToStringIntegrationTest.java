@@ -0,0 +1,127 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ApplicationObject;
+import org.jlib.basefunctions.BaseFunctionsService;
+import org.jlib.basefunctions.apachecommons.service.ApacheCommonsBaseFunctionsDispatcher;
+import static org.jlib.basefunctions.apachecommons.tostring.ToStringLimits.UNLIMITED_VALUE;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Renders {@link ApplicationObject}s nested in collections and maps by the registered dispatcher. The limits are
+ * configured before the test classes are rendered for the first time, since their strategies are resolved once.
+ */
+public class BoundedApplicationObjectToStringIntegrationTest {
+
+    private static final int MAX_LENGTH = 600;
+
+    // closing brackets and truncation markers appended after the limit has been reached
+    private static final int TRUNCATION_SUFFIX_LENGTH = 20;
+    private static final int MAX_DEPTH = 1;
+
+    @BeforeClass
+    public static void configureLimits() {
+        dispatcher().setToStringLimits(new ToStringLimits(MAX_LENGTH, UNLIMITED_VALUE, MAX_DEPTH));
+    }
+
+    @AfterClass
+    public static void restoreLimits() {
+        dispatcher().setToStringLimits(ToStringLimits.fromSystemProperties());
+    }
+
+    private static ApacheCommonsBaseFunctionsDispatcher dispatcher() {
+        return (ApacheCommonsBaseFunctionsDispatcher) BaseFunctionsService.getInstance().getBaseFunctionsDispatcher();
+    }
+
+    @Test
+    public void depthShouldBeLimitedThroughCollections() {
+        final String rendered = new ListNode("m1", new ListNode("m2", new ListNode("m3", new ListNode("m4")))).toString();
+
+        assertThat(rendered).contains("m1").contains("m2").doesNotContain("m3").doesNotContain("m4")
+                            .contains("<BoundedApplicationObjectToStringIntegrationTest.ListNode>");
+    }
+
+    @Test
+    public void depthShouldBeLimitedThroughMaps() {
+        final String rendered = new MapNode("m1", new MapNode("m2", new MapNode("m3", new MapNode("m4")))).toString();
+
+        assertThat(rendered).contains("m1").contains("m2").doesNotContain("m3").doesNotContain("m4")
+                            .contains("<BoundedApplicationObjectToStringIntegrationTest.MapNode>");
+    }
+
+    @Test
+    public void lengthShouldBeLimitedThroughCollections() {
+        final String rendered = new ListNode("m1", new ListNode(StringUtils.repeat('x', 5000))).toString();
+
+        assertThat(rendered.length()).isLessThanOrEqualTo(MAX_LENGTH + TRUNCATION_SUFFIX_LENGTH);
+        assertThat(rendered).doesNotContain("trailer");
+    }
+
+    @Test
+    public void lengthShouldBeLimitedThroughMaps() {
+        final String rendered = new MapNode("m1", new MapNode(StringUtils.repeat('x', 5000))).toString();
+
+        assertThat(rendered.length()).isLessThanOrEqualTo(MAX_LENGTH + TRUNCATION_SUFFIX_LENGTH);
+        assertThat(rendered).doesNotContain("trailer");
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection" })
+    private static class ListNode
+        extends ApplicationObject {
+
+        private final String name;
+        private final List<ListNode> kids = new ArrayList<>();
+        private final String trailer = "trailer";
+
+        ListNode(final String name, final ListNode... kids) {
+            this.name = name;
+            for (final ListNode kid : kids)
+                this.kids.add(kid);
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection" })
+    private static class MapNode
+        extends ApplicationObject {
+
+        private final String name;
+        private final Map<String, MapNode> kids = new LinkedHashMap<>();
+        private final String trailer = "trailer";
+
+        MapNode(final String name, final MapNode... kids) {
+            this.name = name;
+            for (final MapNode kid : kids)
+                this.kids.put("kid", kid);
+        }
+    }
+}
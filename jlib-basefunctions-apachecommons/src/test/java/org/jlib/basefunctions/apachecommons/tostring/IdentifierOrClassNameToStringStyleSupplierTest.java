@@ -130,6 +130,30 @@ public class IdentifierOrClassNameToStringStyleSupplierTest {
         }
     }
 
+    @Test
+    public void styleResolvedForReplacedIdentifierShouldNotBeMemoized() {
+
+        // given
+        final ToStringStyle otherStyle = new TestStyle();
+        when(namedStyleSupplier.get(STYLE_ID)).thenAnswer(invocation -> {
+            // the identifier is replaced while the style is being resolved
+            configurableSupplier.setIdentifierOrClassName(CLASS_NAME);
+            return of(STYLE);
+        });
+        when(namedStyleSupplier.get(CLASS_NAME)).thenReturn(of(otherStyle));
+
+        // when
+        configurableSupplier.setIdentifierOrClassName(STYLE_ID);
+        final ToStringStyle style = configurableSupplier.get();
+        final ToStringStyle styleAfterReplacement = configurableSupplier.get();
+
+        // then
+        assertThat(style).isSameAs(STYLE);
+        assertThat(styleAfterReplacement).isSameAs(otherStyle);
+        assertThat(configurableSupplier.get()).isSameAs(otherStyle);
+        verify(namedStyleSupplier).get(CLASS_NAME);
+    }
+
     @SuppressWarnings("serial")
     private static class TestStyle
         extends ToStringStyle {}
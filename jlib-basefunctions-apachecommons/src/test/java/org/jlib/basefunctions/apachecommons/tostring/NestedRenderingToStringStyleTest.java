@@ -0,0 +1,168 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.jlib.basefunctions.ApplicationObject;
+import static org.jlib.basefunctions.apachecommons.tostring.ToStringLimits.TRUNCATION_MARKER;
+import static org.jlib.basefunctions.apachecommons.tostring.ToStringLimits.UNLIMITED_VALUE;
+import org.junit.Test;
+
+public class NestedRenderingToStringStyleTest {
+
+    @Test
+    public void unboundedStyleShouldRenderEverything() {
+        final Sample sample = new Sample(5, 3);
+
+        assertThat(render(ToStringLimits.UNLIMITED, sample)).isEqualTo(
+            "NestedRenderingToStringStyleTest.Sample[numbers=[0, 1, 2, 3, 4],array={0,1,2,3,4},text=xxx,nested=" +
+            sample.nested + "]");
+    }
+
+    @Test
+    public void elementsShouldBeLimited() {
+        assertThat(render(new ToStringLimits(UNLIMITED_VALUE, 2, UNLIMITED_VALUE), new Sample(5, 0)))
+            .startsWith("NestedRenderingToStringStyleTest.Sample[numbers=[0, 1, ...(3 more)],array={0,1,...(3 more)}");
+    }
+
+    @Test
+    public void lengthShouldBeLimitedWhileRendering() {
+        final String rendered = render(new ToStringLimits(80, UNLIMITED_VALUE, UNLIMITED_VALUE), new Sample(0, 1000));
+
+        assertThat(rendered).startsWith("NestedRenderingToStringStyleTest.Sample[numbers=[],array={},text=xxx")
+                            .endsWith("...]")
+                            .hasSize(80 + "...]".length())
+                            .doesNotContain("nested");
+    }
+
+    @Test
+    public void depthShouldBeLimited() {
+        assertThat(render(new ToStringLimits(UNLIMITED_VALUE, UNLIMITED_VALUE, 0), new Sample(0, 0)))
+            .endsWith(",nested=<NestedRenderingToStringStyleTest.Sample>]");
+    }
+
+    @Test
+    public void truncationMarkerShouldOnlyBeAppendedIfElementsRemain() {
+        assertThat(render(new ToStringLimits(UNLIMITED_VALUE, 5, UNLIMITED_VALUE), new Sample(5, 0)))
+            .startsWith("NestedRenderingToStringStyleTest.Sample[numbers=[0, 1, 2, 3, 4],array={0,1,2,3,4}");
+    }
+
+    @Test
+    public void nestedContainersShouldBeLimited() {
+        final String rendered = render(new ToStringLimits(UNLIMITED_VALUE, 5, UNLIMITED_VALUE), new Containers());
+
+        assertThat(rendered).isEqualTo("NestedRenderingToStringStyleTest.Containers[" +
+                                       "lists=[[0, 1, 2, 3, 4, ...(995 more)]]," +
+                                       "map={numbers=[0, 1, 2, 3, 4, ...(995 more)]}," +
+                                       "arrays={{0,1,2,3,4,...(995 more)}}]");
+    }
+
+    @Test
+    public void lengthOfNestedContainersShouldBeLimited() {
+        final String rendered = render(new ToStringLimits(200, 1000, UNLIMITED_VALUE), new Containers());
+
+        assertThat(rendered.length()).isLessThan(250);
+        assertThat(rendered).contains(TRUNCATION_MARKER);
+    }
+
+    @Test
+    public void failedRenderingShouldNotKeepItsState() {
+        final ToStringLimits limits = new ToStringLimits(200, 5, 2);
+
+        assertThatThrownBy(() -> render(limits, new Failing())).isInstanceOf(IllegalStateException.class);
+        assertThat(NestedRenderingToStringStyle.renderingCount()).isZero();
+
+        final ApacheCommonsToStringEngine<Object> engine =
+            new ApacheCommonsToStringEngine<>(new Object(), NestedRenderingToStringStyle.of(SHORT_PREFIX_STYLE, limits));
+        engine.add("failing", new Failing.Value());
+
+        assertThat(NestedRenderingToStringStyle.renderingCount()).isZero();
+        assertThatThrownBy(engine::toString).isInstanceOf(IllegalStateException.class);
+        assertThat(NestedRenderingToStringStyle.renderingCount()).isZero();
+    }
+
+    private static String render(final ToStringLimits limits, final Object object) {
+        return new ApacheCommonsToString<>(NestedRenderingToStringStyle.of(SHORT_PREFIX_STYLE, limits)).toString(object);
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Containers {
+
+        private final List<List<Integer>> lists = Collections.singletonList(numbers());
+        private final Map<String, List<Integer>> map = Collections.singletonMap("numbers", numbers());
+        private final Object[] arrays = { IntStream.range(0, 1000).toArray() };
+
+        private static List<Integer> numbers() {
+            return IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Failing {
+
+        private final Value value = new Value();
+
+        private static class Value {
+
+            @Override
+            public String toString() {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Sample
+        extends ApplicationObject {
+
+        private final List<Integer> numbers = new ArrayList<>();
+        private final int[] array;
+        private final String text;
+        private final Sample nested;
+
+        Sample(final int elementCount, final int textLength) {
+            for (int number = 0; number < elementCount; number++)
+                numbers.add(number);
+
+            array = numbers.stream().mapToInt(Integer::intValue).toArray();
+            text = StringUtils.repeat('x', textLength);
+            nested = new Sample();
+        }
+
+        private Sample() {
+            array = new int[0];
+            text = "";
+            nested = null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.apachecommons.tostring;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
+import static org.apache.commons.lang3.builder.ToStringStyle.SIMPLE_STYLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Test;
+
+public class ToStringStyleRegistryTest {
+
+    private static final String CLASS_NAME = "org.jlib.TestStyle";
+
+    private final AtomicInteger instantiationCount = new AtomicInteger();
+
+    private final ToStringStyleRegistry registry =
+        new ToStringStyleRegistry(DefaultToStringStylesConfiguration.TO_STRING_STYLES, className -> {
+            if (! className.equals(CLASS_NAME))
+                throw new ToStringStyleNotFoundException(new ClassNotFoundException(className));
+
+            instantiationCount.incrementAndGet();
+            return new TestStyle();
+        });
+
+    @Test
+    public void initialStyleShouldBeResolvedByIdentifier() {
+        assertThat(registry.resolve("SIMPLE_STYLE")).isSameAs(SIMPLE_STYLE);
+    }
+
+    @Test
+    public void styleOfClassNameShouldBeInstantiatedOnce() {
+        final ToStringStyle style = registry.resolve(CLASS_NAME);
+
+        assertThat(registry.resolve(CLASS_NAME)).isSameAs(style).isInstanceOf(TestStyle.class);
+        assertThat(instantiationCount).hasValue(1);
+    }
+
+    @Test
+    public void registeredStyleShouldReplaceResolvedStyle() {
+        registry.resolve(CLASS_NAME);
+        registry.register(CLASS_NAME, MULTI_LINE_STYLE);
+
+        assertThat(registry.resolve(CLASS_NAME)).isSameAs(MULTI_LINE_STYLE);
+    }
+
+    @Test
+    public void unknownStyleShouldNotBeFound() {
+        assertThatThrownBy(() -> registry.resolve("UNKNOWN_STYLE")).isInstanceOf(ToStringStyleNotFoundException.class);
+        assertThat(registry.get("UNKNOWN_STYLE")).isEmpty();
+    }
+
+    @Test
+    public void styleShouldBeRegisteredForExactClass() {
+        registry.register(Number.class, SIMPLE_STYLE);
+
+        assertThat(registry.get(Number.class)).contains(SIMPLE_STYLE);
+        assertThat(registry.get(Integer.class)).isEmpty();
+
+        registry.unregister(Number.class);
+
+        assertThat(registry.get(Number.class)).isEmpty();
+    }
+
+    @SuppressWarnings("serial")
+    private static class TestStyle
+        extends ToStringStyle {}
+}
@@ -0,0 +1,116 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.equals;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.bytecode.generator.FieldFunctions;
+import org.jlib.basefunctions.bytecode.generator.GeneratedFieldFunctions;
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.FieldPlan;
+
+/**
+ * <p>
+ * {@link Equals} executing the generated {@link FieldFunctions} of the compared objects.
+ * </p>
+ * <p>
+ * Generated code is used for two instances of exactly the same class. Arrays and instances of different classes are
+ * compared by a {@link CompiledEquals}, so the results equal those of the reflective equals builders.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeEquals<Obj>
+    implements Equals<Obj> {
+
+    private final String[] excludedFieldNames;
+    private final Equals<Obj> mixedClassesEquals;
+    @Nullable
+    private final Class<?> type;
+    @Nullable
+    private final FieldFunctions typeFunctions;
+
+    private final ClassValue<FieldFunctions> functions = new ClassValue<FieldFunctions>() {
+
+        @Override
+        protected FieldFunctions computeValue(final Class<?> objectClass) {
+            return GeneratedFieldFunctions.of(FieldPlan.of(objectClass, excludedFieldNames));
+        }
+    };
+
+    public BytecodeEquals(final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        mixedClassesEquals = new CompiledEquals<>(excludedFieldNames);
+        type = null;
+        typeFunctions = null;
+    }
+
+    /**
+     * Creates a new {@link BytecodeEquals} generating the {@link FieldFunctions} of the specified {@link Class} in
+     * advance. Comparing two instances of exactly this class requires no lookup.
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     */
+    public BytecodeEquals(final Class<?> type, final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        mixedClassesEquals = new CompiledEquals<>(type, excludedFieldNames);
+
+        if (type.isArray()) {
+            this.type = null;
+            typeFunctions = null;
+            return;
+        }
+
+        this.type = type;
+        typeFunctions = GeneratedFieldFunctions.of(FieldPlan.of(type, excludedFieldNames));
+    }
+
+    @Override
+    public boolean areEqual(final Obj object1, @Nullable final Object object2) {
+        if (object1 == object2)
+            return true;
+
+        if (object1 == null || object2 == null)
+            return false;
+
+        final Class<?> objectClass = object1.getClass();
+
+        if (objectClass != object2.getClass() || objectClass.isArray())
+            return mixedClassesEquals.areEqual(object1, object2);
+
+        return functions(objectClass).fieldsEqual(object1, object2);
+    }
+
+    private FieldFunctions functions(final Class<?> objectClass) {
+        if (objectClass == type)
+            return typeFunctions;
+
+        return functions.get(objectClass);
+    }
+}
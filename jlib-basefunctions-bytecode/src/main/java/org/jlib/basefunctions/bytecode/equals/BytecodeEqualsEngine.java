@@ -0,0 +1,196 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.equals;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import org.jlib.basefunctions.EqualsEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link EqualsEngine} comparing the values like the generated code. No value is compared after the first difference.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeEqualsEngine<Obj>
+    implements EqualsEngine<Obj> {
+
+    private final Object other;
+    private boolean equal = true;
+
+    public BytecodeEqualsEngine(final Object other) {
+        this.other = other;
+    }
+
+    @Override
+    public <Value> BytecodeEqualsEngine<Obj> add(final Value thisValue, final Value otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final char thisValue, final char otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final short thisValue, final short otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final int thisValue, final int otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final long thisValue, final long otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final float thisValue, final float otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final double thisValue, final double otherValue) {
+        if (equal)
+            equal = FieldHandles.equal(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final boolean[] thisValues, final boolean[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final byte[] thisValues, final byte[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final char[] thisValues, final char[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final short[] thisValues, final short[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final int[] thisValues, final int[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final long[] thisValues, final long[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final float[] thisValues, final float[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final double[] thisValues, final double[] otherValues) {
+        if (equal)
+            equal = Arrays.equals(thisValues, otherValues);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeEqualsEngine<Obj> add(final Predicate<Object> superEquals) {
+        if (equal)
+            equal = superEquals.test(other);
+
+        return this;
+    }
+
+    @Override
+    public boolean equal() {
+        return equal;
+    }
+}
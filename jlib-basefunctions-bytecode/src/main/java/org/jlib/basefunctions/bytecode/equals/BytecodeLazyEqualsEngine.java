@@ -0,0 +1,47 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.equals;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.AbstractLazyEqualsEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link AbstractLazyEqualsEngine} comparing the {@link Object} values like the generated code.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeLazyEqualsEngine<Obj>
+    extends AbstractLazyEqualsEngine<Obj> {
+
+    public BytecodeLazyEqualsEngine(final Obj thiz, @Nullable final Object other) {
+        super(thiz, other);
+    }
+
+    @Override
+    protected boolean areEqual(@Nullable final Object thisValue, @Nullable final Object otherValue) {
+        return FieldHandles.equal(thisValue, otherValue);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import org.jlib.basefunctions.compiled.FieldPlan;
+
+/**
+ * Field functions of a {@link FieldPlan}, executed on instances of exactly the {@link FieldPlan#getType() type} of the
+ * plan. Instances are usually generated classes containing straight-line code for each field.
+ *
+ * @author Igor Akkerman
+ */
+public interface FieldFunctions {
+
+    /**
+     * Verifies whether all {@link FieldPlan#getEqualsFields() equals fields} of the specified objects are equal.
+     *
+     * @param object1
+     *        first {@link Object}
+     *
+     * @param object2
+     *        second {@link Object}
+     *
+     * @return {@code true} if all fields are equal; {@code false} otherwise
+     */
+    boolean fieldsEqual(Object object1, Object object2);
+
+    /**
+     * Computes the hash code of the {@link FieldPlan#getHashCodeFields() hash code fields} of the specified
+     * {@link Object}.
+     *
+     * @param object
+     *        {@link Object} of which the hash code should be computed
+     *
+     * @return integer specifying the hash code
+     */
+    int fieldsHashCode(Object object);
+
+    /**
+     * Appends the {@link FieldPlan#getToStringFields() toString fields} of the specified {@link Object} to the
+     * specified {@link StringBuilder}, formatted as comma separated {@code name=value} pairs.
+     *
+     * @param builder
+     *        {@link StringBuilder} to which the fields are appended
+     *
+     * @param object
+     *        {@link Object} of which the fields are appended
+     */
+    void appendFields(StringBuilder builder, Object object);
+}
@@ -0,0 +1,40 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+/**
+ * {@link ClassLoader} defining exactly one generated {@link FieldFunctions} class. The generated class is cached by
+ * {@link GeneratedFieldFunctions} for the class it was generated for and retained as long as that class is loaded.
+ *
+ * @author Igor Akkerman
+ */
+final class FieldFunctionsClassLoader
+    extends ClassLoader {
+
+    FieldFunctionsClassLoader(final ClassLoader parent) {
+        super(parent);
+    }
+
+    Class<?> defineClass(final String binaryClassName, final byte[] bytecode) {
+        return defineClass(binaryClassName, bytecode, 0, bytecode.length);
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.invoke.MethodType.methodType;
+import org.jlib.basefunctions.compiled.FieldHandles;
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTSTATIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+/**
+ * <p>
+ * Generator of the {@link FieldFunctions} class of a {@link FieldPlan}. The generated methods contain straight-line
+ * code for each field: the field is read, then compared, hashed or appended by a primitive specific function. Field
+ * values are never boxed.
+ * </p>
+ * <p>
+ * Since the generated class is defined by its own {@link ClassLoader}, private fields cannot be read by field access
+ * instructions. Each field is read by a getter {@link MethodHandle} stored in a {@code static final} field of the
+ * generated class. The JIT compiler treats these handles as constants and inlines them, resulting in a plain field
+ * read.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+final class FieldFunctionsGenerator {
+
+    private static final String GENERATED_PACKAGE_PATH = "org/jlib/basefunctions/bytecode/generated/";
+    private static final String GETTER_FIELD_NAME_PREFIX = "getter";
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String STRING_BUILDER = Type.getInternalName(StringBuilder.class);
+    private static final String METHOD_HANDLE = Type.getInternalName(MethodHandle.class);
+    private static final String METHOD_HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+    private static final String FIELD_HANDLES = Type.getInternalName(FieldHandles.class);
+    private static final String SUPPORT = Type.getInternalName(GeneratedCodeSupport.class);
+
+    private static final AtomicLong CLASS_COUNTER = new AtomicLong();
+
+    private final FieldPlan plan;
+    private final List<Field> fields;
+    private final String className;
+
+    FieldFunctionsGenerator(final FieldPlan plan) {
+        this.plan = plan;
+
+        final Set<Field> allFields = new LinkedHashSet<>(plan.getEqualsFields());
+        allFields.addAll(plan.getToStringFields());
+        fields = new ArrayList<>(allFields);
+
+        className = GENERATED_PACKAGE_PATH + "FieldFunctions$" + CLASS_COUNTER.incrementAndGet() + '$' +
+                    plan.getType().getName().replace('.', '_').replace('/', '_');
+    }
+
+    /**
+     * Generates, loads and instantiates the {@link FieldFunctions} class.
+     *
+     * @return generated {@link FieldFunctions}
+     *
+     * @throws ReflectiveOperationException
+     *         if the generated class cannot be instantiated
+     *
+     * @throws LinkageError
+     *         if the generated class cannot be defined or linked
+     */
+    FieldFunctions generate()
+        throws ReflectiveOperationException {
+
+        final byte[] bytecode = generateBytecode();
+        final FieldFunctionsClassLoader classLoader =
+            new FieldFunctionsClassLoader(FieldFunctionsGenerator.class.getClassLoader());
+
+        GeneratedCodeSupport.registerGetters(className, getters());
+        try {
+            final Class<?> generatedClass = classLoader.defineClass(className.replace('/', '.'), bytecode);
+
+            return (FieldFunctions) generatedClass.getConstructor().newInstance();
+        }
+        finally {
+            GeneratedCodeSupport.discardGetters(className);
+        }
+    }
+
+    private MethodHandle[] getters()
+        throws IllegalAccessException {
+
+        final MethodHandle[] getters = new MethodHandle[fields.size()];
+        for (int index = 0; index < getters.length; index++) {
+            final Field field = fields.get(index);
+            getters[index] = MethodHandles.lookup().unreflectGetter(field)
+                                          .asType(methodType(valueType(field), Object.class));
+        }
+
+        return getters;
+    }
+
+    private byte[] generateBytecode() {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+
+            @Override
+            protected String getCommonSuperClass(final String type1, final String type2) {
+                return OBJECT;
+            }
+        };
+
+        writer.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, OBJECT,
+                     new String[] { Type.getInternalName(FieldFunctions.class) });
+
+        for (int index = 0; index < fields.size(); index++)
+            writer.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, getterFieldName(index), METHOD_HANDLE_DESCRIPTOR,
+                              null, null)
+                  .visitEnd();
+
+        generateStaticInitializer(writer);
+        generateConstructor(writer);
+        generateFieldsEqual(writer);
+        generateFieldsHashCode(writer);
+        generateAppendFields(writer);
+
+        writer.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    private void generateStaticInitializer(final ClassWriter writer) {
+        final MethodVisitor method = writer.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        method.visitCode();
+
+        method.visitLdcInsn(className);
+        method.visitMethodInsn(INVOKESTATIC, SUPPORT, "takeGetters", "(Ljava/lang/String;)[" + METHOD_HANDLE_DESCRIPTOR,
+                               false);
+
+        for (int index = 0; index < fields.size(); index++) {
+            method.visitInsn(DUP);
+            pushInt(method, index);
+            method.visitInsn(AALOAD);
+            method.visitFieldInsn(PUTSTATIC, className, getterFieldName(index), METHOD_HANDLE_DESCRIPTOR);
+        }
+
+        method.visitInsn(POP);
+        method.visitInsn(RETURN);
+        endMethod(method);
+    }
+
+    private void generateConstructor(final ClassWriter writer) {
+        final MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        method.visitCode();
+
+        method.visitVarInsn(ALOAD, 0);
+        method.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        method.visitInsn(RETURN);
+        endMethod(method);
+    }
+
+    // if (! FieldHandles.equal(getter.invokeExact(object1), getter.invokeExact(object2))) return false; ...
+    private void generateFieldsEqual(final ClassWriter writer) {
+        final MethodVisitor method =
+            writer.visitMethod(ACC_PUBLIC, "fieldsEqual", "(Ljava/lang/Object;Ljava/lang/Object;)Z", null, null);
+        method.visitCode();
+
+        for (final Field field : plan.getEqualsFields()) {
+            final String valueDescriptor = valueDescriptor(field);
+            final Label nextField = new Label();
+
+            readField(method, field, 1);
+            readField(method, field, 2);
+            method.visitMethodInsn(INVOKESTATIC, FIELD_HANDLES, "equal",
+                                   "(" + valueDescriptor + valueDescriptor + ")Z", false);
+            method.visitJumpInsn(IFNE, nextField);
+            method.visitInsn(ICONST_0);
+            method.visitInsn(IRETURN);
+            method.visitLabel(nextField);
+        }
+
+        method.visitInsn(ICONST_1);
+        method.visitInsn(IRETURN);
+        endMethod(method);
+    }
+
+    // total = FieldHandles.appendHashCode(total, getter.invokeExact(object)); ..., keeping the total on the stack
+    private void generateFieldsHashCode(final ClassWriter writer) {
+        final MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "fieldsHashCode", "(Ljava/lang/Object;)I", null,
+                                                        null);
+        method.visitCode();
+
+        pushInt(method, FieldHandles.INITIAL_HASH_CODE);
+
+        for (final Field field : plan.getHashCodeFields()) {
+            readField(method, field, 1);
+            method.visitMethodInsn(INVOKESTATIC, FIELD_HANDLES, "appendHashCode",
+                                   "(I" + valueDescriptor(field) + ")I", false);
+        }
+
+        method.visitInsn(IRETURN);
+        endMethod(method);
+    }
+
+    // builder.append(',').append("name=").append(getter.invokeExact(object)); ...
+    private void generateAppendFields(final ClassWriter writer) {
+        final MethodVisitor method = writer.visitMethod(ACC_PUBLIC, "appendFields",
+                                                        "(Ljava/lang/StringBuilder;Ljava/lang/Object;)V", null, null);
+        method.visitCode();
+
+        boolean first = true;
+        for (final Field field : plan.getToStringFields()) {
+            method.visitVarInsn(ALOAD, 1);
+
+            method.visitLdcInsn(first ?
+                                field.getName() + '=' :
+                                ',' + field.getName() + '=');
+            method.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append",
+                                   "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+
+            readField(method, field, 2);
+            appendValue(method, field.getType());
+
+            method.visitInsn(POP);
+            first = false;
+        }
+
+        method.visitInsn(RETURN);
+        endMethod(method);
+    }
+
+    private void appendValue(final MethodVisitor method, final Class<?> fieldType) {
+        if (! fieldType.isPrimitive()) {
+            method.visitMethodInsn(INVOKESTATIC, SUPPORT, "appendValue",
+                                   "(Ljava/lang/StringBuilder;Ljava/lang/Object;)Ljava/lang/StringBuilder;", false);
+            return;
+        }
+
+        final String appendedDescriptor = fieldType == byte.class || fieldType == short.class ?
+                                          "I" :
+                                          Type.getDescriptor(fieldType);
+
+        method.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append",
+                               "(" + appendedDescriptor + ")Ljava/lang/StringBuilder;", false);
+    }
+
+    // getter.invokeExact(object), leaving the value of the field on the stack
+    private void readField(final MethodVisitor method, final Field field, final int objectVariableIndex) {
+        method.visitFieldInsn(GETSTATIC, className, getterFieldName(fields.indexOf(field)), METHOD_HANDLE_DESCRIPTOR);
+        method.visitVarInsn(ALOAD, objectVariableIndex);
+        method.visitMethodInsn(INVOKEVIRTUAL, METHOD_HANDLE, "invokeExact",
+                               "(Ljava/lang/Object;)" + valueDescriptor(field), false);
+    }
+
+    private static void pushInt(final MethodVisitor method, final int value) {
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE)
+            method.visitIntInsn(BIPUSH, value);
+        else
+            method.visitLdcInsn(value);
+    }
+
+    private static void endMethod(final MethodVisitor method) {
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private static String getterFieldName(final int index) {
+        return GETTER_FIELD_NAME_PREFIX + index;
+    }
+
+    // primitive and primitive array fields are passed to the typed FieldHandles functions
+    private static Class<?> valueType(final Field field) {
+        final Class<?> fieldType = field.getType();
+
+        return fieldType.isPrimitive() || fieldType.isArray() && fieldType.getComponentType().isPrimitive() ?
+               fieldType :
+               Object.class;
+    }
+
+    private static String valueDescriptor(final Field field) {
+        return Type.getDescriptor(valueType(field));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.ApplicationObject;
+
+/**
+ * Static functions called by the generated {@link FieldFunctions} classes. Not intended to be used by client code.
+ *
+ * @author Igor Akkerman
+ */
+public final class GeneratedCodeSupport {
+
+    public static final String NULL_TEXT = "<null>";
+
+    private static final ConcurrentMap<String, MethodHandle[]> PENDING_GETTERS = new ConcurrentHashMap<>();
+
+    private GeneratedCodeSupport() {
+        // no visible constructor
+    }
+
+    static void registerGetters(final String className, final MethodHandle[] getters) {
+        PENDING_GETTERS.put(className, getters);
+    }
+
+    static void discardGetters(final String className) {
+        PENDING_GETTERS.remove(className);
+    }
+
+    /**
+     * Returns and forgets the field getters registered for the specified generated class. Called once by the static
+     * initializer of the generated class.
+     *
+     * @param className
+     *        {@link String} specifying the internal name of the generated class
+     *
+     * @return array of getter {@link MethodHandle}s
+     */
+    public static MethodHandle[] takeGetters(final String className) {
+        return PENDING_GETTERS.remove(className);
+    }
+
+    /**
+     * Appends the specified value to the specified {@link StringBuilder}. Arrays are appended element by element,
+     * enclosed in braces, {@code null} values as {@value #NULL_TEXT}. {@link ApplicationObject}s are rendered into
+     * {@code builder} by {@link ApplicationObject#appendTo(StringBuilder)}.
+     *
+     * @param builder
+     *        {@link StringBuilder} to which the value is appended
+     *
+     * @param value
+     *        {@link Object} to append; {@code null} is allowed
+     *
+     * @return {@code builder}
+     */
+    public static StringBuilder appendValue(final StringBuilder builder, @Nullable final Object value) {
+        if (value == null)
+            return builder.append(NULL_TEXT);
+
+        if (value instanceof ApplicationObject)
+            return ((ApplicationObject) value).appendTo(builder);
+
+        if (! value.getClass().isArray())
+            return builder.append(value);
+
+        builder.append('{');
+
+        final int length = Array.getLength(value);
+        for (int index = 0; index < length; index++) {
+            if (index > 0)
+                builder.append(',');
+
+            appendValue(builder, Array.get(value, index));
+        }
+
+        return builder.append('}');
+    }
+}
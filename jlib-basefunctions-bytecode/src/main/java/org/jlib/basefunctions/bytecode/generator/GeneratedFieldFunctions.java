@@ -0,0 +1,117 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import java.lang.reflect.Field;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jlib.basefunctions.compiled.FieldPlan;
+
+/**
+ * <p>
+ * Registry of the {@link FieldFunctions} of each {@link FieldPlan}. The {@link FieldFunctions} class of a plan is
+ * generated on the first request and cached for all subsequent requests.
+ * </p>
+ * <p>
+ * Classes for which no code can be generated, for instance because they contain synthetic fields or because the
+ * generated class cannot be defined, fall back to {@link FieldFunctions} executing the plan reflectively.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class GeneratedFieldFunctions {
+
+    private static final ClassValue<ConcurrentMap<FieldPlan, FieldFunctions>> FIELD_FUNCTIONS =
+        new ClassValue<ConcurrentMap<FieldPlan, FieldFunctions>>() {
+
+            @Override
+            protected ConcurrentMap<FieldPlan, FieldFunctions> computeValue(final Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private GeneratedFieldFunctions() {
+        // no visible constructor
+    }
+
+    /**
+     * Returns the {@link FieldFunctions} of the specified {@link FieldPlan}.
+     *
+     * @param plan
+     *        {@link FieldPlan} of the {@link FieldFunctions}
+     *
+     * @return {@link FieldFunctions} of {@code plan}
+     */
+    public static FieldFunctions of(final FieldPlan plan) {
+        final ConcurrentMap<FieldPlan, FieldFunctions> planFunctions = FIELD_FUNCTIONS.get(plan.getType());
+
+        final FieldFunctions functions = planFunctions.get(plan);
+        if (functions != null)
+            return functions;
+
+        final FieldFunctions newFunctions = create(plan);
+        final FieldFunctions concurrentFunctions = planFunctions.putIfAbsent(plan, newFunctions);
+
+        return concurrentFunctions != null ?
+               concurrentFunctions :
+               newFunctions;
+    }
+
+    /**
+     * Verifies whether the specified {@link FieldFunctions} have been generated.
+     *
+     * @param functions
+     *        {@link FieldFunctions} to verify
+     *
+     * @return {@code true} if {@code functions} is an instance of a generated class; {@code false} if {@code functions}
+     *         fall back to executing the plan reflectively
+     */
+    public static boolean isGenerated(final FieldFunctions functions) {
+        return ! (functions instanceof ReflectiveFieldFunctions);
+    }
+
+    private static FieldFunctions create(final FieldPlan plan) {
+        if (! isGeneratable(plan))
+            return new ReflectiveFieldFunctions(plan);
+
+        try {
+            return new FieldFunctionsGenerator(plan).generate();
+        }
+        catch (final ReflectiveOperationException | RuntimeException | LinkageError exception) {
+            return new ReflectiveFieldFunctions(plan);
+        }
+    }
+
+    private static boolean isGeneratable(final FieldPlan plan) {
+        for (final Field field : plan.getEqualsFields())
+            if (field.isSynthetic())
+                return false;
+
+        for (final Field field : plan.getToStringFields())
+            if (field.isSynthetic())
+                return false;
+
+        return true;
+    }
+}
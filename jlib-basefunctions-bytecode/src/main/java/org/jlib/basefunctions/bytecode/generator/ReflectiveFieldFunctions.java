@@ -0,0 +1,77 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import java.lang.reflect.Field;
+
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.jlib.basefunctions.compiled.FieldPlanException;
+
+/**
+ * {@link FieldFunctions} executing a {@link FieldPlan} without generated code. Used for the classes for which no code
+ * can be generated.
+ *
+ * @author Igor Akkerman
+ */
+final class ReflectiveFieldFunctions
+    implements FieldFunctions {
+
+    private final FieldPlan plan;
+
+    ReflectiveFieldFunctions(final FieldPlan plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public boolean fieldsEqual(final Object object1, final Object object2) {
+        return plan.areEqual(object1, object2);
+    }
+
+    @Override
+    public int fieldsHashCode(final Object object) {
+        return plan.hashCode(object);
+    }
+
+    @Override
+    public void appendFields(final StringBuilder builder, final Object object) {
+        boolean first = true;
+
+        for (final Field field : plan.getToStringFields()) {
+            if (! first)
+                builder.append(',');
+
+            builder.append(field.getName()).append('=');
+            GeneratedCodeSupport.appendValue(builder, get(field, object));
+
+            first = false;
+        }
+    }
+
+    private static Object get(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        }
+        catch (final IllegalAccessException exception) {
+            throw new FieldPlanException(exception);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.hashcode;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.bytecode.generator.FieldFunctions;
+import org.jlib.basefunctions.bytecode.generator.GeneratedFieldFunctions;
+import org.jlib.basefunctions.compiled.FieldPlan;
+
+/**
+ * {@link HashCode} executing the generated {@link FieldFunctions} of the hashed object. The results equal those of the
+ * reflective hash code builders using the initial value 17 and the multiplier 37.
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeHashCode<Obj>
+    implements HashCode<Obj> {
+
+    private final String[] excludedFieldNames;
+    @Nullable
+    private final Class<?> type;
+    @Nullable
+    private final FieldFunctions typeFunctions;
+
+    private final ClassValue<FieldFunctions> functions = new ClassValue<FieldFunctions>() {
+
+        @Override
+        protected FieldFunctions computeValue(final Class<?> objectClass) {
+            return GeneratedFieldFunctions.of(FieldPlan.of(objectClass, excludedFieldNames));
+        }
+    };
+
+    public BytecodeHashCode(final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        type = null;
+        typeFunctions = null;
+    }
+
+    /**
+     * Creates a new {@link BytecodeHashCode} generating the {@link FieldFunctions} of the specified {@link Class} in
+     * advance. Hashing an instance of exactly this class requires no lookup.
+     *
+     * @param type
+     *        {@link Class} of the hashed objects
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     */
+    public BytecodeHashCode(final Class<?> type, final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        this.type = type;
+        typeFunctions = GeneratedFieldFunctions.of(FieldPlan.of(type, excludedFieldNames));
+    }
+
+    @Override
+    public int hashCode(final Obj object) {
+        final Class<?> objectClass = object.getClass();
+
+        if (objectClass == type)
+            return typeFunctions.fieldsHashCode(object);
+
+        return functions.get(objectClass).fieldsHashCode(object);
+    }
+}
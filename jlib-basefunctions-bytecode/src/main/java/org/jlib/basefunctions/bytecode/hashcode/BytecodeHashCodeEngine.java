@@ -0,0 +1,163 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.hashcode;
+
+import org.jlib.basefunctions.HashCodeEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link HashCodeEngine} hashing the values like the generated code.
+ *
+ * @param <Obj>
+ *        type of the hashed object
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeHashCodeEngine<Obj>
+    implements HashCodeEngine<Obj> {
+
+    private int hashCode = FieldHandles.INITIAL_HASH_CODE;
+
+    @Override
+    public <Value> BytecodeHashCodeEngine<Obj> add(final Value value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final boolean value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final byte value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final char value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final short value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final int value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final long value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final float value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final double value) {
+        hashCode = FieldHandles.appendHashCode(hashCode, value);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final boolean[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final byte[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final char[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final short[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final int[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final long[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final float[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public BytecodeHashCodeEngine<Obj> add(final double[] values) {
+        hashCode = FieldHandles.appendHashCode(hashCode, values);
+
+        return this;
+    }
+
+    @Override
+    public int toHashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.service;
+
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.BaseFunctionsPriority;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.EqualsEngine;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.HashCodeEngine;
+import org.jlib.basefunctions.LazyEqualsEngine;
+import org.jlib.basefunctions.ToString;
+import org.jlib.basefunctions.ToStringEngine;
+import org.jlib.basefunctions.bytecode.equals.BytecodeEquals;
+import org.jlib.basefunctions.bytecode.equals.BytecodeEqualsEngine;
+import org.jlib.basefunctions.bytecode.equals.BytecodeLazyEqualsEngine;
+import org.jlib.basefunctions.bytecode.hashcode.BytecodeHashCode;
+import org.jlib.basefunctions.bytecode.hashcode.BytecodeHashCodeEngine;
+import org.jlib.basefunctions.bytecode.tostring.BytecodeToString;
+import org.jlib.basefunctions.bytecode.tostring.BytecodeToStringEngine;
+
+/**
+ * <p>
+ * {@link BaseFunctionsDispatcher} generating a class with straight-line equals, hash code and toString code for each
+ * compared, hashed or formatted class. Classes for which no code can be generated are processed reflectively.
+ * </p>
+ * <p>
+ * The implementation is opt-in: its {@link #PRIORITY} is below the default priority, so it is only selected
+ * automatically if no other implementation is registered. To prefer it, set the system property
+ * {@value org.jlib.basefunctions.BaseFunctionsService#DISPATCHER_PROPERTY_NAME} to its class name.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+@BaseFunctionsPriority(BytecodeBaseFunctionsDispatcher.PRIORITY)
+public class BytecodeBaseFunctionsDispatcher
+    implements BaseFunctionsDispatcher {
+
+    /**
+     * {@link BaseFunctionsPriority} of this implementation, yielding to the implementations of the default priority
+     * registered in the same class path.
+     */
+    public static final int PRIORITY = BaseFunctionsPriority.DEFAULT_PRIORITY - 1;
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals() {
+        return new BytecodeEquals<>();
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final String... excludedFields) {
+        return new BytecodeEquals<>(excludedFields);
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        return new BytecodeEquals<>(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> EqualsEngine<Obj> equalsEngine(final Obj thiz, final Object other) {
+        return new BytecodeEqualsEngine<>(other);
+    }
+
+    @Override
+    public <Obj> LazyEqualsEngine<Obj> lazyEqualsEngine(final Obj thiz, final Object other) {
+        return new BytecodeLazyEqualsEngine<>(thiz, other);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode() {
+        return new BytecodeHashCode<>();
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final String... excludedFields) {
+        return new BytecodeHashCode<>(excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        return new BytecodeHashCode<>(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCodeEngine<Obj> hashCodeEngine(final Obj object) {
+        return new BytecodeHashCodeEngine<>();
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString() {
+        return new BytecodeToString<>();
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString(final Class<? extends Obj> type, final String... excludedFields) {
+        return new BytecodeToString<>(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> ToStringEngine<Obj> toStringEngine(final Obj object) {
+        return new BytecodeToStringEngine<>(object);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.tostring;
+
+import java.io.IOException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.ToString;
+import org.jlib.basefunctions.bytecode.generator.FieldFunctions;
+import org.jlib.basefunctions.bytecode.generator.GeneratedFieldFunctions;
+import org.jlib.basefunctions.compiled.FieldPlan;
+
+/**
+ * {@link ToString} executing the generated {@link FieldFunctions} of the object. The format equals the default style
+ * of the reflective toString builder: {@code className@identityHashCode[name=value,name=value]}. The generated code
+ * renders directly into the {@link StringBuilder} passed to {@link #appendTo(StringBuilder, Object)}.
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeToString<Obj>
+    implements ToString<Obj> {
+
+    private final String[] excludedFieldNames;
+    @Nullable
+    private final Class<?> type;
+    @Nullable
+    private final FieldFunctions typeFunctions;
+
+    private final ClassValue<FieldFunctions> functions = new ClassValue<FieldFunctions>() {
+
+        @Override
+        protected FieldFunctions computeValue(final Class<?> objectClass) {
+            return GeneratedFieldFunctions.of(FieldPlan.of(objectClass, excludedFieldNames));
+        }
+    };
+
+    public BytecodeToString(final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        type = null;
+        typeFunctions = null;
+    }
+
+    /**
+     * Creates a new {@link BytecodeToString} generating the {@link FieldFunctions} of the specified {@link Class} in
+     * advance.
+     *
+     * @param type
+     *        {@link Class} of the objects
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     */
+    public BytecodeToString(final Class<?> type, final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        this.type = type;
+        typeFunctions = GeneratedFieldFunctions.of(FieldPlan.of(type, excludedFieldNames));
+    }
+
+    @Override
+    public String toString(final Obj object) {
+        return appendTo(new StringBuilder(), object).toString();
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder, final Obj object) {
+        final Class<?> objectClass = object.getClass();
+        final FieldFunctions objectFunctions = objectClass == type ?
+                                               typeFunctions :
+                                               functions.get(objectClass);
+
+        appendIdentity(builder, object).append('[');
+        objectFunctions.appendFields(builder, object);
+
+        return builder.append(']');
+    }
+
+    @Override
+    public Appendable appendTo(final Appendable appendable, final Obj object)
+        throws IOException {
+        if (appendable instanceof StringBuilder)
+            return appendTo((StringBuilder) appendable, object);
+
+        return appendable.append(appendTo(new StringBuilder(), object));
+    }
+
+    static StringBuilder appendIdentity(final StringBuilder builder, final Object object) {
+        return builder.append(object.getClass().getName())
+                      .append('@')
+                      .append(Integer.toHexString(System.identityHashCode(object)));
+    }
+}
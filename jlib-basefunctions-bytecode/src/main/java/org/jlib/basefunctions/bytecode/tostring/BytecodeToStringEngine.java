@@ -0,0 +1,75 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.tostring;
+
+import java.io.IOException;
+
+import org.jlib.basefunctions.ToStringEngine;
+import org.jlib.basefunctions.bytecode.generator.GeneratedCodeSupport;
+
+/**
+ * {@link ToStringEngine} formatting the values like the generated code.
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
+public class BytecodeToStringEngine<Obj>
+    implements ToStringEngine<Obj> {
+
+    private final StringBuilder builder;
+    private boolean empty = true;
+
+    public BytecodeToStringEngine(final Obj object) {
+        builder = BytecodeToString.appendIdentity(new StringBuilder(), object).append('[');
+    }
+
+    @Override
+    public BytecodeToStringEngine<Obj> add(final String valueName, final Object value) {
+        if (! empty)
+            builder.append(',');
+
+        GeneratedCodeSupport.appendValue(builder.append(valueName).append('='), value);
+        empty = false;
+
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(builder.length() + 1).append(builder)
+                                                      .append(']')
+                                                      .toString();
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder target) {
+        return target.append(builder).append(']');
+    }
+
+    @Override
+    public Appendable appendTo(final Appendable appendable)
+        throws IOException {
+        return appendable.append(builder).append(']');
+    }
+}
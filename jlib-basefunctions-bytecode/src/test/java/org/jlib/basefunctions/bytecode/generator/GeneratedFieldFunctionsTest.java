@@ -0,0 +1,84 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ExcludeFromHashCode;
+import org.jlib.basefunctions.ExcludeFromToString;
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.junit.Test;
+
+public class GeneratedFieldFunctionsTest {
+
+    @Test
+    public void functionsShouldBeGeneratedOnce() {
+        final FieldPlan plan = FieldPlan.of(Point.class);
+
+        final FieldFunctions functions = GeneratedFieldFunctions.of(plan);
+
+        assertThat(GeneratedFieldFunctions.isGenerated(functions)).isTrue();
+        assertThat(GeneratedFieldFunctions.of(plan)).isSameAs(functions);
+    }
+
+    @Test
+    public void generatedFunctionsShouldEqualPlan() {
+        final FieldPlan plan = FieldPlan.of(Point.class);
+        final FieldFunctions functions = GeneratedFieldFunctions.of(plan);
+
+        final Point point = new Point(1, 2L, "label");
+
+        assertThat(functions.fieldsEqual(point, new Point(1, 2L, "label"))).isTrue();
+        assertThat(functions.fieldsEqual(point, new Point(1, 2L, "other"))).isFalse();
+        assertThat(functions.fieldsEqual(point, new Point(1, 3L, "label"))).isFalse();
+        assertThat(functions.fieldsHashCode(point)).isEqualTo(plan.hashCode(point));
+    }
+
+    @Test
+    public void generatedFunctionsShouldRespectAnnotations() {
+        final FieldFunctions functions = GeneratedFieldFunctions.of(FieldPlan.of(Point.class));
+
+        final Point point = new Point(1, 2L, "label");
+        final StringBuilder builder = new StringBuilder();
+        functions.appendFields(builder, point);
+
+        assertThat(builder.toString()).isEqualTo("x=1,label=label");
+        assertThat(functions.fieldsHashCode(point)).isEqualTo(functions.fieldsHashCode(new Point(1, 2L, "other")));
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Point {
+
+        private final int x;
+
+        @ExcludeFromToString
+        private final long y;
+
+        @ExcludeFromHashCode
+        private final String label;
+
+        Point(final int x, final long y, final String label) {
+            this.x = x;
+            this.y = y;
+            this.label = label;
+        }
+    }
+}
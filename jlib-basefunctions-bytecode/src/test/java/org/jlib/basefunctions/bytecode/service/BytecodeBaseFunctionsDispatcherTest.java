@@ -0,0 +1,220 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.bytecode.service;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.BaseFunctionsPriority;
+import static org.jlib.basefunctions.BaseFunctionsPriority.DEFAULT_PRIORITY;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.ToString;
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.CompiledHashCode;
+import org.junit.Test;
+
+public class BytecodeBaseFunctionsDispatcherTest {
+
+    private static final Object[] OBJECTS = {
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new Fields(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 9 }, null),
+        new Fields(- 1, - 2L, - 0.0, Float.NaN, false, 'd', (short) - 5, (byte) - 6, null, null, asList(1, 2)),
+        new Fields(- 1, - 2L, 0.0, Float.NaN, false, 'd', (short) - 5, (byte) - 6, null, null, asList(1, 2)),
+        new Fields(Integer.MIN_VALUE, Long.MIN_VALUE, Double.NaN, 0.0f, true, 'c', (short) 5, (byte) 6, "", null,
+                   new Object[] { new long[] { - 1L, Long.MAX_VALUE }, new double[] { - 1.5 }, null, "x" }),
+        new Fields(Integer.MIN_VALUE, Long.MIN_VALUE, Double.NaN, 0.0f, true, 'c', (short) 5, (byte) 6, "", null,
+                   new Object[] { new long[] { - 1L, Long.MAX_VALUE }, new double[] { - 1.5 }, null, "x" }),
+        new FieldlessSubclass(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null),
+        new ExtendedSubclass(1, 2L, 3.0, 4.0f, true, 'c', (short) 5, (byte) 6, "seven", new int[] { 8 }, null, 10),
+        new int[] { 1, 2 },
+        new int[] { 1, 2 },
+        "seven"
+    };
+
+    private final BytecodeBaseFunctionsDispatcher dispatcher = new BytecodeBaseFunctionsDispatcher();
+
+    @Test
+    public void dispatcherShouldYieldToImplementationsOfDefaultPriority() {
+        assertThat(BytecodeBaseFunctionsDispatcher.class.getAnnotation(BaseFunctionsPriority.class).value())
+            .isLessThan(DEFAULT_PRIORITY);
+    }
+
+    @Test
+    public void equalsShouldEqualCompiledEquals() {
+        assertSameEqualsResults(new CompiledEquals<>(), dispatcher.genericEquals());
+    }
+
+    @Test
+    public void classAwareEqualsExcludingFieldsShouldEqualCompiledEquals() {
+        assertSameEqualsResults(new CompiledEquals<>("intArray", "doubleValue"),
+                                dispatcher.genericEquals(Fields.class, "intArray", "doubleValue"));
+    }
+
+    @Test
+    public void hashCodeShouldEqualCompiledHashCode() {
+        assertSameHashCodeResults(new CompiledHashCode<>(), dispatcher.genericHashCode());
+    }
+
+    @Test
+    public void classAwareHashCodeExcludingFieldsShouldEqualCompiledHashCode() {
+        assertSameHashCodeResults(new CompiledHashCode<>("intArray", "doubleValue"),
+                                  dispatcher.genericHashCode(Fields.class, "intArray", "doubleValue"));
+    }
+
+    @Test
+    public void engineHashCodeShouldEqualGeneratedHashCode() {
+        final Fields fields = (Fields) OBJECTS[0];
+
+        final int engineHashCode = dispatcher.hashCodeEngine(fields)
+                                             .add(fields.intValue)
+                                             .add(fields.longValue)
+                                             .add(fields.doubleValue)
+                                             .add(fields.floatValue)
+                                             .add(fields.booleanValue)
+                                             .add(fields.charValue)
+                                             .add(fields.shortValue)
+                                             .add(fields.byteValue)
+                                             .add(fields.string)
+                                             .add(fields.intArray)
+                                             .add(fields.object)
+                                             .toHashCode();
+
+        assertThat(engineHashCode).isEqualTo(dispatcher.genericHashCode().hashCode(fields));
+    }
+
+    @Test
+    public void toStringShouldContainAllFields() {
+        final ToString<Object> toString = dispatcher.genericToString();
+        final Object object = OBJECTS[5];
+
+        assertThat(toString.toString(object)).isEqualTo(
+            Fields.class.getName() + '@' + Integer.toHexString(System.identityHashCode(object)) +
+            "[intValue=-2147483648,longValue=-9223372036854775808,doubleValue=NaN,floatValue=0.0," +
+            "booleanValue=true,charValue=c,shortValue=5,byteValue=6,string=,intArray=<null>," +
+            "object={{-1,9223372036854775807},{-1.5},<null>,x}]");
+    }
+
+    @Test
+    public void toStringExcludingFieldsShouldOmitFields() {
+        final ToString<Object> toString =
+            dispatcher.genericToString(Fields.class, "intValue", "longValue", "doubleValue", "floatValue",
+                                       "booleanValue", "charValue", "shortValue", "byteValue", "object");
+        final Object object = OBJECTS[0];
+
+        assertThat(toString.toString(object)).endsWith("[string=seven,intArray={8}]");
+    }
+
+    @Test
+    public void toStringEngineShouldFormatLikeGeneratedToString() {
+        final Fields fields = (Fields) OBJECTS[0];
+
+        final String engineToString = dispatcher.toStringEngine(fields)
+                                                .add("string", fields.string)
+                                                .add("intArray", fields.intArray)
+                                                .toString();
+
+        assertThat(engineToString).isEqualTo(
+            dispatcher.genericToString(Fields.class, "intValue", "longValue", "doubleValue", "floatValue",
+                                       "booleanValue", "charValue", "shortValue", "byteValue", "object")
+                      .toString(fields));
+    }
+
+    private static void assertSameEqualsResults(final Equals<Object> expectedEquals,
+                                                final Equals<Object> bytecodeEquals) {
+        for (final Object object1 : OBJECTS)
+            for (final Object object2 : OBJECTS)
+                assertThat(bytecodeEquals.areEqual(object1, object2))
+                    .as("%s equals %s", object1, object2)
+                    .isEqualTo(expectedEquals.areEqual(object1, object2));
+    }
+
+    private static void assertSameHashCodeResults(final HashCode<Object> expectedHashCode,
+                                                  final HashCode<Object> bytecodeHashCode) {
+        for (final Object object : OBJECTS)
+            assertThat(bytecodeHashCode.hashCode(object)).as("hash code of %s", object)
+                                                         .isEqualTo(expectedHashCode.hashCode(object));
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Fields {
+
+        private static int staticValue = 42;
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final float floatValue;
+        private final boolean booleanValue;
+        private final char charValue;
+        private final short shortValue;
+        private final byte byteValue;
+        private final String string;
+        private final int[] intArray;
+        private final Object object;
+        private final transient int transientValue;
+
+        Fields(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+               final boolean booleanValue, final char charValue, final short shortValue, final byte byteValue,
+               final String string, final int[] intArray, final Object object) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.floatValue = floatValue;
+            this.booleanValue = booleanValue;
+            this.charValue = charValue;
+            this.shortValue = shortValue;
+            this.byteValue = byteValue;
+            this.string = string;
+            this.intArray = intArray;
+            this.object = object;
+            transientValue = System.identityHashCode(this);
+        }
+    }
+
+    private static class FieldlessSubclass
+        extends Fields {
+
+        FieldlessSubclass(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+                          final boolean booleanValue, final char charValue, final short shortValue,
+                          final byte byteValue, final String string, final int[] intArray, final Object object) {
+            super(intValue, longValue, doubleValue, floatValue, booleanValue, charValue, shortValue, byteValue, string,
+                  intArray, object);
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class ExtendedSubclass
+        extends Fields {
+
+        private final int extension;
+
+        ExtendedSubclass(final int intValue, final long longValue, final double doubleValue, final float floatValue,
+                         final boolean booleanValue, final char charValue, final short shortValue,
+                         final byte byteValue, final String string, final int[] intArray, final Object object,
+                         final int extension) {
+            super(intValue, longValue, doubleValue, floatValue, booleanValue, charValue, shortValue, byteValue, string,
+                  intArray, object);
+            this.extension = extension;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.ExcludeFromEquals;
+import org.jlib.basefunctions.ExcludeFromHashCode;
+import org.jlib.basefunctions.ExcludeFromToString;
+import org.jlib.basefunctions.GenerateBaseFunctions;
+import org.jlib.basefunctions.GeneratedBaseFunctions;
+
+/**
+ * <p>
+ * Annotation processor generating the {@link GeneratedBaseFunctions} companion class of each class annotated by
+ * {@link GenerateBaseFunctions}.
+ * </p>
+ * <p>
+ * The companion processes the fields processed by the generic strategies, in the same order: the non-static,
+ * non-transient fields of the class and all of its superclasses, except the fields containing a {@code $} in their
+ * names and the fields annotated by {@link ExcludeFromEquals}, {@link ExcludeFromHashCode} or
+ * {@link ExcludeFromToString}.
+ * </p>
+ * <p>
+ * The companion is located in the package of the class and reads each field directly or, if the field is not
+ * accessible from the package, by its getter. If a field can be read neither way, or the class itself cannot be
+ * accessed, no companion is generated and a warning is reported. The class then uses the generic strategies.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+@SupportedAnnotationTypes("org.jlib.basefunctions.GenerateBaseFunctions")
+public class BaseFunctionsProcessor
+    extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        for (final TypeElement type : ElementFilter.typesIn(
+            roundEnvironment.getElementsAnnotatedWith(GenerateBaseFunctions.class)))
+            if (type.getKind() == ElementKind.CLASS)
+                generateCompanion(type);
+
+        return true;
+    }
+
+    private void generateCompanion(final TypeElement type) {
+        if (! isAccessibleType(type)) {
+            warn(type, "type must be a non-private top level or static member class");
+            return;
+        }
+
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        final List<CompanionField> fields = new ArrayList<>();
+
+        for (TypeElement currentType = type; currentType != null; currentType = superclass(currentType))
+            for (final VariableElement field : ElementFilter.fieldsIn(currentType.getEnclosedElements())) {
+                if (! isProcessed(field))
+                    continue;
+
+                final String accessorPattern = accessorPattern(type, currentType, field, packageElement);
+                if (accessorPattern == null) {
+                    warn(field, "field is neither accessible from package " + packageElement.getQualifiedName() +
+                                " nor has an accessible getter");
+                    return;
+                }
+
+                final boolean inEquals = field.getAnnotation(ExcludeFromEquals.class) == null;
+                fields.add(new CompanionField(field.getSimpleName().toString(), accessorPattern, inEquals,
+                                              inEquals && field.getAnnotation(ExcludeFromHashCode.class) == null,
+                                              field.getAnnotation(ExcludeFromToString.class) == null));
+            }
+
+        final String companionClassName = GeneratedBaseFunctions.getCompanionClassName(
+            processingEnv.getElementUtils().getBinaryName(type).toString());
+        final String companionSimpleName = companionClassName.substring(companionClassName.lastIndexOf('.') + 1);
+
+        final String source = new CompanionWriter(packageElement.getQualifiedName().toString(), companionSimpleName,
+                                                  typeName(type), fields).write();
+
+        try (final Writer writer = processingEnv.getFiler().createSourceFile(companionClassName, type).openWriter()) {
+            writer.write(source);
+        }
+        catch (final IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                     "cannot write " + companionClassName + ": " + exception, type);
+        }
+    }
+
+    private static boolean isAccessibleType(final TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            final TypeElement currentType = (TypeElement) element;
+
+            if (currentType.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+
+            if (currentType.getNestingKind() == NestingKind.MEMBER &&
+                ! currentType.getModifiers().contains(Modifier.STATIC) &&
+                currentType.getEnclosingElement().getKind() != ElementKind.INTERFACE)
+                return false;
+
+            if (currentType.getNestingKind() == NestingKind.LOCAL ||
+                currentType.getNestingKind() == NestingKind.ANONYMOUS)
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isProcessed(final VariableElement field) {
+        final Set<Modifier> modifiers = field.getModifiers();
+
+        return ! modifiers.contains(Modifier.STATIC) &&
+               ! modifiers.contains(Modifier.TRANSIENT) &&
+               field.getSimpleName().toString().indexOf('$') == - 1;
+    }
+
+    @Nullable
+    private static TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED)
+            return null;
+
+        final TypeElement superclassElement = (TypeElement) ((DeclaredType) superclass).asElement();
+
+        return superclassElement.getQualifiedName().contentEquals(Object.class.getName()) ?
+               null :
+               superclassElement;
+    }
+
+    // Java expression reading the field, %s standing for the object; null if the field cannot be read
+    @Nullable
+    private String accessorPattern(final TypeElement type, final TypeElement declaringType, final VariableElement field,
+                                   final PackageElement packageElement) {
+        final String object = declaringType.equals(type) ?
+                              "%s" :
+                              "((" + erasedTypeName(declaringType) + ") %s)";
+
+        if (! isAccessibleType(declaringType) || ! isAccessible(declaringType, packageElement))
+            return null;
+
+        if (isAccessible(field, packageElement))
+            return object + '.' + field.getSimpleName();
+
+        final ExecutableElement getter = getter(declaringType, field, packageElement);
+        if (getter == null)
+            return null;
+
+        return object + '.' + getter.getSimpleName() + "()";
+    }
+
+    @Nullable
+    private ExecutableElement getter(final TypeElement declaringType, final VariableElement field,
+                                     final PackageElement packageElement) {
+        final String capitalizedName = capitalize(field.getSimpleName().toString());
+
+        for (final ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+            final String methodName = method.getSimpleName().toString();
+
+            if (method.getParameters().isEmpty() &&
+                ! method.getModifiers().contains(Modifier.STATIC) &&
+                isAccessible(method, packageElement) &&
+                processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType()) &&
+                (methodName.equals("get" + capitalizedName) ||
+                 field.asType().getKind() == TypeKind.BOOLEAN && methodName.equals("is" + capitalizedName)))
+                return method;
+        }
+
+        return null;
+    }
+
+    private boolean isAccessible(final Element element, final PackageElement packageElement) {
+        final Set<Modifier> modifiers = element.getModifiers();
+
+        return modifiers.contains(Modifier.PUBLIC) ||
+               ! modifiers.contains(Modifier.PRIVATE) &&
+               processingEnv.getElementUtils().getPackageOf(element).equals(packageElement);
+    }
+
+    private String erasedTypeName(final TypeElement type) {
+        return processingEnv.getTypeUtils().erasure(type.asType()).toString();
+    }
+
+    private String typeName(final TypeElement type) {
+        final String erasedTypeName = erasedTypeName(type);
+        final int typeParameterCount = type.getTypeParameters().size();
+
+        if (typeParameterCount == 0)
+            return erasedTypeName;
+
+        final List<String> wildcards = new ArrayList<>(typeParameterCount);
+        for (int index = 0; index < typeParameterCount; index++)
+            wildcards.add("?");
+
+        return erasedTypeName + '<' + String.join(", ", wildcards) + '>';
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void warn(final Element element, final String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                                                 "no base functions generated, using generic strategies: " + reason,
+                                                 element);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.processor;
+
+/**
+ * Field of a class annotated by {@link org.jlib.basefunctions.GenerateBaseFunctions}, processed by the generated
+ * companion class.
+ *
+ * @author Igor Akkerman
+ */
+final class CompanionField {
+
+    private final String name;
+    private final String accessorPattern;
+    private final boolean inEquals;
+    private final boolean inHashCode;
+    private final boolean inToString;
+
+    /**
+     * Creates a new {@link CompanionField}.
+     *
+     * @param name
+     *        {@link String} specifying the name of the field
+     *
+     * @param accessorPattern
+     *        {@link String} specifying the Java expression reading the field, using {@code %s} for the object
+     *
+     * @param inEquals
+     *        {@code true} if the field is compared
+     *
+     * @param inHashCode
+     *        {@code true} if the field is hashed
+     *
+     * @param inToString
+     *        {@code true} if the field is formatted
+     */
+    CompanionField(final String name, final String accessorPattern, final boolean inEquals, final boolean inHashCode,
+                   final boolean inToString) {
+        this.name = name;
+        this.accessorPattern = accessorPattern;
+        this.inEquals = inEquals;
+        this.inHashCode = inHashCode;
+        this.inToString = inToString;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String read(final String objectVariableName) {
+        return String.format(accessorPattern, objectVariableName);
+    }
+
+    boolean isInEquals() {
+        return inEquals;
+    }
+
+    boolean isInHashCode() {
+        return inHashCode;
+    }
+
+    boolean isInToString() {
+        return inToString;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.processor;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.GeneratedBaseFunctions;
+import org.jlib.basefunctions.ToStringEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * Writer of the source code of a {@link GeneratedBaseFunctions} companion class. The generated code compares and
+ * hashes the fields using {@link FieldHandles}, so the results equal those of the generic strategies, and formats
+ * them using the {@link ToStringEngine} of the {@link BaseFunctionsDispatcher}, which also renders them into the
+ * targets of the {@code appendTo} methods.
+ *
+ * @author Igor Akkerman
+ */
+final class CompanionWriter {
+
+    private static final String INDENTATION = "    ";
+
+    private final StringBuilder source = new StringBuilder();
+
+    private final String packageName;
+    private final String companionSimpleName;
+    private final String typeName;
+    private final List<CompanionField> fields;
+
+    /**
+     * Creates a new {@link CompanionWriter}.
+     *
+     * @param packageName
+     *        {@link String} specifying the package name; empty for the unnamed package
+     *
+     * @param companionSimpleName
+     *        {@link String} specifying the simple name of the companion class
+     *
+     * @param typeName
+     *        {@link String} specifying the name of the annotated type as used in the source code
+     *
+     * @param fields
+     *        {@link List} of the {@link CompanionField}s in the order of processing
+     */
+    CompanionWriter(final String packageName, final String companionSimpleName, final String typeName,
+                    final List<CompanionField> fields) {
+        this.packageName = packageName;
+        this.companionSimpleName = companionSimpleName;
+        this.typeName = typeName;
+        this.fields = fields;
+    }
+
+    String write() {
+        if (! packageName.isEmpty())
+            line(0, "package " + packageName + ";").line();
+
+        line(0, "import " + IOException.class.getName() + ";").line();
+
+        line(0, "import " + BaseFunctionsDispatcher.class.getName() + ";");
+        line(0, "import " + GeneratedBaseFunctions.class.getName() + ";");
+        line(0, "import " + ToStringEngine.class.getName() + ";");
+        line(0, "import " + FieldHandles.class.getName() + ";").line();
+
+        line(0, "/**");
+        line(0, " * Base functions of {@link " + typeName.replaceAll("<.*>", "") + "}.");
+        line(0, " * Generated by the jlib base functions annotation processor. Do not edit.");
+        line(0, " */");
+        line(0, "public final class " + companionSimpleName);
+        line(1, "implements " + GeneratedBaseFunctions.class.getSimpleName() + "<" + typeName + "> {").line();
+
+        line(1, "private final BaseFunctionsDispatcher baseFunctionsDispatcher;").line();
+
+        line(1, "public " + companionSimpleName + "(final BaseFunctionsDispatcher baseFunctionsDispatcher) {");
+        line(2, "this.baseFunctionsDispatcher = baseFunctionsDispatcher;");
+        line(1, "}").line();
+
+        writeAreEqual();
+        writeHashCode();
+        writeToString();
+
+        line(0, "}");
+
+        return source.toString();
+    }
+
+    private void writeAreEqual() {
+        line(1, "@Override");
+        line(1, "public boolean areEqual(final " + typeName + " object1, final Object object2) {");
+        line(2, "if (object1 == object2)");
+        line(3, "return true;").line();
+        line(2, "if (object2 == null || object2.getClass() != object1.getClass())");
+        line(3, "return false;").line();
+        line(2, "final " + typeName + " other = (" + typeName + ") object2;").line();
+
+        final List<String> comparisons = new ArrayList<>();
+        for (final CompanionField field : fields)
+            if (field.isInEquals())
+                comparisons.add("FieldHandles.equal(" + field.read("object1") + ", " + field.read("other") + ")");
+
+        if (comparisons.isEmpty())
+            line(2, "return true;");
+        else
+            line(2, "return " + String.join(" &&\n" + indentation(2) + "       ", comparisons) + ";");
+
+        line(1, "}").line();
+    }
+
+    private void writeHashCode() {
+        line(1, "@Override");
+        line(1, "public int hashCode(final " + typeName + " object) {");
+        line(2, "int hashCode = FieldHandles.INITIAL_HASH_CODE;");
+
+        for (final CompanionField field : fields)
+            if (field.isInHashCode())
+                line(2, "hashCode = FieldHandles.appendHashCode(hashCode, " + field.read("object") + ");");
+
+        line(2, "return hashCode;");
+        line(1, "}").line();
+    }
+
+    private void writeToString() {
+        line(1, "@Override");
+        line(1, "public String toString(final " + typeName + " object) {");
+        line(2, "return toStringEngine(object).toString();");
+        line(1, "}").line();
+
+        line(1, "@Override");
+        line(1, "public StringBuilder appendTo(final StringBuilder builder, final " + typeName + " object) {");
+        line(2, "return toStringEngine(object).appendTo(builder);");
+        line(1, "}").line();
+
+        line(1, "@Override");
+        line(1, "public Appendable appendTo(final Appendable appendable, final " + typeName + " object)");
+        line(2, "throws IOException {");
+        line(2, "return toStringEngine(object).appendTo(appendable);");
+        line(1, "}").line();
+
+        line(1, "private ToStringEngine<" + typeName + "> toStringEngine(final " + typeName + " object) {");
+        final StringBuilder engineExpression = new StringBuilder("baseFunctionsDispatcher.toStringEngine(object)");
+        for (final CompanionField field : fields)
+            if (field.isInToString())
+                engineExpression.append('\n').append(indentation(6))
+                                .append(".add(\"").append(field.getName()).append("\", ")
+                                .append(field.read("object")).append(')');
+
+        line(2, "return " + engineExpression + ";");
+        line(1, "}");
+    }
+
+    private CompanionWriter line(final int indentationLevel, final String text) {
+        source.append(indentation(indentationLevel)).append(text).append('\n');
+
+        return this;
+    }
+
+    private CompanionWriter line() {
+        source.append('\n');
+
+        return this;
+    }
+
+    private static String indentation(final int indentationLevel) {
+        final StringBuilder indentation = new StringBuilder();
+        for (int level = 0; level < indentationLevel; level++)
+            indentation.append(INDENTATION);
+
+        return indentation.toString();
+    }
+}
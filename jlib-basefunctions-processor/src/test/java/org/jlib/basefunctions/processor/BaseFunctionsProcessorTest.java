@@ -0,0 +1,293 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.GeneratedBaseFunctions;
+import org.jlib.basefunctions.ToStringEngine;
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class BaseFunctionsProcessorTest {
+
+    private static final String SUPER_SOURCE =
+        "package sample;\n" +
+        "public class Base {\n" +
+        "    private final String name;\n" +
+        "    protected Base(final String name) { this.name = name; }\n" +
+        "    public String getName() { return name; }\n" +
+        "}\n";
+
+    private static final String SAMPLE_SOURCE =
+        "package sample;\n" +
+        "import org.jlib.basefunctions.*;\n" +
+        "@GenerateBaseFunctions\n" +
+        "public class Sample extends Base {\n" +
+        "    private static int counter;\n" +
+        "    private final int id;\n" +
+        "    private final boolean active;\n" +
+        "    final int[] codes;\n" +
+        "    @ExcludeFromHashCode final long version;\n" +
+        "    @ExcludeFromToString final String secret;\n" +
+        "    @ExcludeFromEquals final double score;\n" +
+        "    transient int cache;\n" +
+        "    public Sample(String name, int id, boolean active, int[] codes, long version, String secret,\n" +
+        "                  double score) {\n" +
+        "        super(name); this.id = id; this.active = active; this.codes = codes; this.version = version;\n" +
+        "        this.secret = secret; this.score = score; cache = counter++;\n" +
+        "    }\n" +
+        "    public int getId() { return id; }\n" +
+        "    public boolean isActive() { return active; }\n" +
+        "}\n";
+
+    private static final String HIDDEN_SOURCE =
+        "package sample;\n" +
+        "@org.jlib.basefunctions.GenerateBaseFunctions\n" +
+        "public class Hidden {\n" +
+        "    private int value;\n" +
+        "}\n";
+
+    private static final String APPLICATION_OBJECT_SOURCE =
+        "package sample;\n" +
+        "@org.jlib.basefunctions.GenerateBaseFunctions\n" +
+        "public class Annotated extends org.jlib.basefunctions.ApplicationObject {\n" +
+        "    final int value;\n" +
+        "    public Annotated(final int value) { this.value = value; }\n" +
+        "}\n";
+
+    private static final String FIELDLESS_SUBCLASS_SOURCE =
+        "package sample;\n" +
+        "public class FieldlessSubclass extends Annotated {\n" +
+        "    public FieldlessSubclass(final int value) { super(value); }\n" +
+        "}\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    private ClassLoader classLoader;
+
+    @Before
+    public void compileSources()
+        throws IOException, URISyntaxException {
+
+        final File sourceDirectory = temporaryFolder.newFolder("sources", "sample");
+        final File classesDirectory = temporaryFolder.newFolder("classes");
+
+        final List<File> sourceFiles = new ArrayList<>();
+        sourceFiles.add(writeSource(sourceDirectory, "Base", SUPER_SOURCE));
+        sourceFiles.add(writeSource(sourceDirectory, "Sample", SAMPLE_SOURCE));
+        sourceFiles.add(writeSource(sourceDirectory, "Hidden", HIDDEN_SOURCE));
+        sourceFiles.add(writeSource(sourceDirectory, "Annotated", APPLICATION_OBJECT_SOURCE));
+        sourceFiles.add(writeSource(sourceDirectory, "FieldlessSubclass", FIELDLESS_SUBCLASS_SOURCE));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+            final List<String> options = asList("-d", classesDirectory.getPath(),
+                                                "-classpath", classpathOf(GeneratedBaseFunctions.class, Nullable.class));
+
+            final JavaCompiler.CompilationTask task =
+                compiler.getTask(null, fileManager, diagnostics, options, null,
+                                 fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+            task.setProcessors(singletonList(new BaseFunctionsProcessor()));
+
+            assertThat(task.call()).as("compilation: %s", diagnostics.getDiagnostics()).isTrue();
+        }
+
+        classLoader = new URLClassLoader(new URL[] { classesDirectory.toURI().toURL() }, getClass().getClassLoader());
+    }
+
+    @Test
+    public void companionShouldBeGenerated()
+        throws ReflectiveOperationException {
+        assertThat(companion("sample.Sample")).isNotNull();
+    }
+
+    @Test
+    public void companionShouldEqualFieldPlan()
+        throws ReflectiveOperationException {
+
+        final GeneratedBaseFunctions<Object> companion = companion("sample.Sample");
+        final Object sample = sample("name", 1, true, new int[] { 2 }, 3L, "secret", 4.0);
+        final FieldPlan plan = FieldPlan.of(sample.getClass());
+
+        for (final Object other : asList(sample("name", 1, true, new int[] { 2 }, 3L, "secret", 5.0),
+                                         sample("other", 1, true, new int[] { 2 }, 3L, "secret", 4.0),
+                                         sample("name", 1, false, new int[] { 2 }, 3L, "secret", 4.0),
+                                         sample("name", 1, true, new int[] { 3 }, 3L, "secret", 4.0),
+                                         sample("name", 1, true, new int[] { 2 }, 7L, "secret", 4.0))) {
+            assertThat(companion.areEqual(sample, other)).isEqualTo(plan.areEqual(sample, other));
+            assertThat(companion.hashCode(other)).isEqualTo(plan.hashCode(other));
+        }
+
+        assertThat(companion.areEqual(sample, "name")).isFalse();
+        assertThat(companion.areEqual(sample, null)).isFalse();
+    }
+
+    @Test
+    public void companionToStringShouldUseToStringEngine()
+        throws ReflectiveOperationException {
+
+        final BaseFunctionsDispatcher dispatcher = mock(BaseFunctionsDispatcher.class);
+        doReturn(new JoiningToStringEngine()).when(dispatcher).toStringEngine(any());
+
+        final Object sample = sample("name", 1, true, new int[] { 2 }, 3L, "secret", 4.0);
+
+        assertThat(companion("sample.Sample", dispatcher).toString(sample))
+            .isEqualTo("id=1,active=true,codes=[2],version=3,score=4.0,name=name");
+    }
+
+    @Test
+    public void inaccessibleFieldShouldPreventGeneration() {
+        assertThat(diagnostics.getDiagnostics()).anySatisfy(
+            diagnostic -> {
+                assertThat(diagnostic.getKind()).isEqualTo(Diagnostic.Kind.WARNING);
+                assertThat(diagnostic.getMessage(null)).contains("no base functions generated");
+            });
+
+        assertThat(classLoader.getResource("sample/Hidden_BaseFunctions.class")).isNull();
+    }
+
+    @Test
+    public void applicationObjectShouldUseGeneratedCompanion()
+        throws ReflectiveOperationException {
+
+        final Object annotated = applicationObject("sample.Annotated", 1);
+
+        assertThat(annotated.hashCode()).isEqualTo(companion("sample.Annotated").hashCode(annotated));
+        assertThat(annotated).isEqualTo(applicationObject("sample.Annotated", 1))
+                             .isNotEqualTo(applicationObject("sample.Annotated", 2));
+    }
+
+    @Test
+    public void equalInstancesOfDifferentClassesShouldHaveEqualHashCodes()
+        throws ReflectiveOperationException {
+
+        final Object annotated = applicationObject("sample.Annotated", 1);
+        final Object fieldlessSubclass = applicationObject("sample.FieldlessSubclass", 1);
+
+        assertThat(annotated).isEqualTo(fieldlessSubclass)
+                             .isNotEqualTo(applicationObject("sample.FieldlessSubclass", 2));
+        assertThat(fieldlessSubclass).isEqualTo(annotated);
+        assertThat(fieldlessSubclass.hashCode()).isEqualTo(annotated.hashCode());
+    }
+
+    private Object applicationObject(final String className, final int value)
+        throws ReflectiveOperationException {
+
+        return classLoader.loadClass(className)
+                          .getConstructor(int.class)
+                          .newInstance(value);
+    }
+
+    private Object sample(final String name, final int id, final boolean active, final int[] codes, final long version,
+                          final String secret, final double score)
+        throws ReflectiveOperationException {
+
+        return classLoader.loadClass("sample.Sample")
+                          .getConstructor(String.class, int.class, boolean.class, int[].class, long.class,
+                                          String.class, double.class)
+                          .newInstance(name, id, active, codes, version, secret, score);
+    }
+
+    private GeneratedBaseFunctions<Object> companion(final String className)
+        throws ReflectiveOperationException {
+        return companion(className, mock(BaseFunctionsDispatcher.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private GeneratedBaseFunctions<Object> companion(final String className,
+                                                     final BaseFunctionsDispatcher dispatcher)
+        throws ReflectiveOperationException {
+
+        return (GeneratedBaseFunctions<Object>) classLoader.loadClass(
+            GeneratedBaseFunctions.getCompanionClassName(className))
+                                                           .getConstructor(BaseFunctionsDispatcher.class)
+                                                           .newInstance(dispatcher);
+    }
+
+    private static File writeSource(final File directory, final String className, final String source)
+        throws IOException {
+
+        final File sourceFile = new File(directory, className + ".java");
+        Files.write(sourceFile.toPath(), source.getBytes(UTF_8));
+
+        return sourceFile;
+    }
+
+    private static String classpathOf(final Class<?>... classes)
+        throws URISyntaxException {
+
+        final List<String> entries = new ArrayList<>();
+        for (final Class<?> currentClass : classes)
+            entries.add(new File(currentClass.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static class JoiningToStringEngine
+        implements ToStringEngine<Object> {
+
+        private final List<String> values = new ArrayList<>();
+
+        @Override
+        public ToStringEngine<Object> add(final String valueName, final Object value) {
+            values.add(valueName + '=' + (value instanceof int[] ?
+                                          java.util.Arrays.toString((int[]) value) :
+                                          value));
+
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(",", values);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Skeletal {@link LazyEqualsEngine} deciding the identity, {@code null} and class checks and stopping at the first
+ * difference. Primitive values are compared like their boxed counterparts. Implementations specify how
+ * {@link Object} values are compared.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public abstract class AbstractLazyEqualsEngine<Obj>
+    implements LazyEqualsEngine<Obj> {
+
+    private final Obj thiz;
+    @Nullable
+    private final Obj other;
+    private boolean decided;
+    private boolean equal;
+
+    @SuppressWarnings("unchecked")
+    protected AbstractLazyEqualsEngine(final Obj thiz, @Nullable final Object other) {
+        this.thiz = thiz;
+
+        if (thiz == other || other == null || other.getClass() != thiz.getClass()) {
+            this.other = null;
+            decided = true;
+            equal = thiz == other;
+            return;
+        }
+
+        this.other = (Obj) other;
+        equal = true;
+    }
+
+    @Override
+    public <Value> LazyEqualsEngine<Obj> add(final Function<? super Obj, Value> getter) {
+        if (! decided)
+            decide(areEqual(getter.apply(thiz), getter.apply(other)));
+
+        return this;
+    }
+
+    @Override
+    public <Value> LazyEqualsEngine<Obj> add(final Supplier<Value> thisValueSupplier,
+                                             final Supplier<Value> otherValueSupplier) {
+        if (! decided)
+            decide(areEqual(thisValueSupplier.get(), otherValueSupplier.get()));
+
+        return this;
+    }
+
+    @Override
+    public LazyEqualsEngine<Obj> addInt(final ToIntFunction<? super Obj> getter) {
+        if (! decided)
+            decide(getter.applyAsInt(thiz) == getter.applyAsInt(other));
+
+        return this;
+    }
+
+    @Override
+    public LazyEqualsEngine<Obj> addLong(final ToLongFunction<? super Obj> getter) {
+        if (! decided)
+            decide(getter.applyAsLong(thiz) == getter.applyAsLong(other));
+
+        return this;
+    }
+
+    @Override
+    public LazyEqualsEngine<Obj> addDouble(final ToDoubleFunction<? super Obj> getter) {
+        if (! decided)
+            decide(Double.doubleToLongBits(getter.applyAsDouble(thiz)) ==
+                   Double.doubleToLongBits(getter.applyAsDouble(other)));
+
+        return this;
+    }
+
+    @Override
+    public LazyEqualsEngine<Obj> addBoolean(final Predicate<? super Obj> getter) {
+        if (! decided)
+            decide(getter.test(thiz) == getter.test(other));
+
+        return this;
+    }
+
+    @Override
+    public LazyEqualsEngine<Obj> addSuper(final Predicate<Object> superEquals) {
+        if (! decided)
+            decide(superEquals.test(other));
+
+        return this;
+    }
+
+    @Override
+    public boolean equal() {
+        return equal;
+    }
+
+    private void decide(final boolean valuesEqual) {
+        if (valuesEqual)
+            return;
+
+        decided = true;
+        equal = false;
+    }
+
+    /**
+     * Verifies whether the specified values are equal. Called at most once per added value, and only as long as all
+     * previously added values are equal.
+     *
+     * @param thisValue
+     *        value of this object; {@code null} is allowed
+     *
+     * @param otherValue
+     *        value of the other object; {@code null} is allowed
+     *
+     * @return {@code true} if the values are equal; {@code false} otherwise
+     */
+    protected abstract boolean areEqual(@Nullable Object thisValue, @Nullable Object otherValue);
+}
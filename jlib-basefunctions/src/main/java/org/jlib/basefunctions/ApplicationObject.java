@@ -21,6 +21,8 @@
 
 package org.jlib.basefunctions;
 
+import java.io.IOException;
+
 /**
  * Abstract {@link Object} implementing {@link #toString()}, {@link #equals(Object)} and {@link #hashCode()} using the
  * correspondent reflective builders provided by a jlib Core Functions SPI implementation.
@@ -29,8 +31,12 @@ package org.jlib.basefunctions;
  */
 public abstract class ApplicationObject {
 
-    private static final BaseFunctionsDispatcher BASE_FUNCTIONS_DISPATCHER =
-        BaseFunctionsService.getInstance().getBaseFunctionsDispatcher();
+    // initialized on first use, keeping the service lookup out of the class initialization of ApplicationObject
+    private static final class BaseFunctionsDispatcherHolder {
+
+        private static final BaseFunctionsDispatcher BASE_FUNCTIONS_DISPATCHER =
+            BaseFunctionsService.getInstance().getBaseFunctionsDispatcher();
+    }
 
     protected ApplicationObject() {}
 
@@ -45,33 +51,155 @@ public abstract class ApplicationObject {
         return hashCodeStrategy().hashCode(this);
     }
 
+    /**
+     * <p>
+     * Returns a 64 bit hash code of this object, using the {@link #longHashCodeStrategy() LongHashCode strategy}. By
+     * default, the hash code covers the fields covered by {@link #hashCode()}.
+     * </p>
+     * <p>
+     * Subclasses overriding {@link #equals(Object)} to compare fewer fields must override this method accordingly,
+     * for instance, using the {@link #longHashCodeEngine() LongHashCodeEngine}.
+     * </p>
+     *
+     * @return long integer specifying the 64 bit hash code
+     */
+    public long longHashCode() {
+        return longHashCodeStrategy().longHashCode(this);
+    }
+
     @Override
     public String toString() {
         return toStringStrategy().toString(this);
     }
 
+    /**
+     * <p>
+     * Appends the {@link String} representation of this object to the specified {@link StringBuilder}, using the
+     * {@link ToString#appendTo(StringBuilder, Object)} method of the {@link #toStringStrategy() ToString strategy}.
+     * Nested {@link ApplicationObject}s are rendered by this method into the same {@link StringBuilder} where the
+     * implementation supports it.
+     * </p>
+     * <p>
+     * If a subclass overrides {@link #toString()} but not this method, the result of {@link #toString()} is appended.
+     * </p>
+     *
+     * @param builder
+     *        {@link StringBuilder} to which the representation is appended
+     *
+     * @return {@code builder}
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        if (metadata().isToStringOverridden())
+            return builder.append(toString());
+
+        return this.<ApplicationObject>toStringStrategy().appendTo(builder, this);
+    }
+
+    /**
+     * Appends the {@link String} representation of this object to the specified {@link Appendable}, using the
+     * {@link ToString#appendTo(Appendable, Object)} method of the {@link #toStringStrategy() ToString strategy}.
+     *
+     * @param appendable
+     *        {@link Appendable} to which the representation is appended
+     *
+     * @return {@code appendable}
+     *
+     * @throws IOException
+     *         if {@code appendable} throws an {@link IOException}
+     *
+     * @see #appendTo(StringBuilder)
+     */
+    public Appendable appendTo(final Appendable appendable)
+        throws IOException {
+        if (metadata().isToStringOverridden())
+            return appendable.append(toString());
+
+        return this.<ApplicationObject>toStringStrategy().appendTo(appendable, this);
+    }
+
+    /**
+     * Returns a {@link LazyToString} rendering this object by {@link #toString()} only when it is consumed, for
+     * instance, by an enabled log statement.
+     *
+     * @return {@link LazyToString} of this object
+     */
+    public LazyToString<ApplicationObject> lazyToString() {
+        return new LazyToString<>(ApplicationObject::toString, this);
+    }
+
+    @SuppressWarnings("unchecked")
     protected <Obj> Equals<Obj> equalsStrategy() {
-        return BASE_FUNCTIONS_DISPATCHER.genericEquals(getExcludedFieldNames());
+        return (Equals<Obj>) metadata().getEqualsStrategy();
     }
 
+    @SuppressWarnings("unchecked")
     protected <Obj> HashCode<Obj> hashCodeStrategy() {
-        return BASE_FUNCTIONS_DISPATCHER.genericHashCode(getExcludedFieldNames());
+        return (HashCode<Obj>) metadata().getHashCodeStrategy();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <Obj> LongHashCode<Obj> longHashCodeStrategy() {
+        return (LongHashCode<Obj>) metadata().getLongHashCodeStrategy();
     }
 
+    @SuppressWarnings("unchecked")
     protected <Obj> ToString<Obj> toStringStrategy() {
-        return BASE_FUNCTIONS_DISPATCHER.genericToString();
+        return (ToString<Obj>) metadata().getToStringStrategy();
     }
 
     protected <Obj extends ApplicationObject> EqualsEngine<ApplicationObject> equalsEngine(final Obj other) {
-        return BASE_FUNCTIONS_DISPATCHER.equalsEngine(this, other);
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.equalsEngine(this, other);
+    }
+
+    /**
+     * Returns a {@link LazyEqualsEngine} comparing this object to the specified {@link Object}. The type of this object
+     * may be specified explicitly to use getter references, for instance,
+     * {@code this.<Point>lazyEqualsEngine(other).addInt(Point::getX)}.
+     *
+     * @param <Obj>
+     *        type of this object
+     *
+     * @param other
+     *        other {@link Object}; {@code null} is allowed
+     *
+     * @return {@link LazyEqualsEngine} of this object
+     */
+    @SuppressWarnings("unchecked")
+    protected <Obj extends ApplicationObject> LazyEqualsEngine<Obj> lazyEqualsEngine(final Object other) {
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.lazyEqualsEngine((Obj) this, other);
+    }
+
+    protected <Obj extends ApplicationObject> CompareEngine<ApplicationObject> compareEngine(final Obj other) {
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.compareEngine(this, other);
     }
 
     protected HashCodeEngine<ApplicationObject> hashCodeEngine() {
-        return BASE_FUNCTIONS_DISPATCHER.hashCodeEngine(this);
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.hashCodeEngine(this);
+    }
+
+    protected LongHashCodeEngine<ApplicationObject> longHashCodeEngine() {
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.longHashCodeEngine(this);
     }
 
     protected ToStringEngine<ApplicationObject> toStringEngine() {
-        return BASE_FUNCTIONS_DISPATCHER.toStringEngine(this);
+        return BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER.toStringEngine(this);
+    }
+
+    /**
+     * Returns the names of the fields excluded by the specified {@link ApplicationObject}, as returned by its
+     * {@link #getExcludedFieldNames()} method once per concrete class. Fields excluded by annotations are not contained.
+     *
+     * @param applicationObject
+     *        {@link ApplicationObject} whose excluded field names are returned
+     *
+     * @return array of {@link String}s specifying the names of the excluded fields
+     */
+    public static String[] excludedFieldNamesOf(final ApplicationObject applicationObject) {
+        return applicationObject.metadata().getExcludedFieldNames().clone();
+    }
+
+    private ApplicationObjectMetadata metadata() {
+        return ApplicationObjectMetadata.of(this, BaseFunctionsDispatcherHolder.BASE_FUNCTIONS_DISPATCHER);
     }
 
     /**
@@ -80,12 +208,21 @@ public abstract class ApplicationObject {
      * </p>
      * <p>
      * The implementation in the class {@link ApplicationObject} returns an empty array. It may be overridden to specify
-     * a set of excluded fields.
+     * a set of excluded fields. The method is called once per concrete class, hence, all instances of a class must
+     * return the same field names.
+     * </p>
+     * <p>
+     * Alternatively, fields may be annotated by {@link ExcludeFromEquals}, {@link ExcludeFromHashCode} or
+     * {@link ExcludeFromToString}.
+     * </p>
+     * <p>
+     * Fields are excluded by name, so excluding a field also excludes any superclass field of the same name. Since the
+     * names of annotated fields are passed to the generic strategies along with the returned names, this applies to
+     * annotated fields as well.
      * </p>
      *
      * @return array of {@link String}s specifying the names of the excluded fields
      */
-    // TODO: implement annotated fields
     @SuppressWarnings("SameReturnValue")
     protected String[] getExcludedFieldNames() {
         return new String[0];
@@ -0,0 +1,244 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * <p>
+ * Base functions metadata of a concrete {@link ApplicationObject} class: the {@link Equals}, {@link HashCode},
+ * {@link LongHashCode} and {@link ToString} strategies resolved for the class and its excluded fields.
+ * </p>
+ * <p>
+ * The fields excluded from each operation are the fields named by {@link ApplicationObject#getExcludedFieldNames()}
+ * and the fields annotated by {@link ExcludeFromEquals}, {@link ExcludeFromHashCode} or {@link ExcludeFromToString}.
+ * </p>
+ * <p>
+ * Classes annotated by {@link GenerateBaseFunctions} and excluding no fields by name use their
+ * {@link GeneratedBaseFunctions} companion, if it is found. Only instances of different classes are compared by the
+ * generic {@link Equals} strategy, so the results stay symmetric with the generic strategies of related classes.
+ * Subclasses of an annotated class declaring no further instance fields use the companion of that class as well. Their
+ * instances may equal instances of the annotated class, hence they must share its hash code.
+ * </p>
+ * <p>
+ * The metadata also records whether the class overrides {@link ApplicationObject#toString()} without overriding
+ * {@link ApplicationObject#appendTo(StringBuilder)}, so the appending methods stay consistent with the overridden
+ * method.
+ * </p>
+ * <p>
+ * The metadata is resolved once per class from its first instance and registered in a {@link ClassValue}. Subsequent
+ * lookups neither allocate nor call {@link ApplicationObject#getExcludedFieldNames()}. Concurrent first lookups may
+ * resolve the metadata more than once, the first registered metadata wins.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+final class ApplicationObjectMetadata {
+
+    private static final ClassValue<AtomicReference<ApplicationObjectMetadata>> REGISTRY =
+        new ClassValue<AtomicReference<ApplicationObjectMetadata>>() {
+
+            @Override
+            protected AtomicReference<ApplicationObjectMetadata> computeValue(final Class<?> type) {
+                return new AtomicReference<>();
+            }
+        };
+
+    private final Equals<Object> equalsStrategy;
+    private final HashCode<Object> hashCodeStrategy;
+    private final LongHashCode<Object> longHashCodeStrategy;
+    private final ToString<Object> toStringStrategy;
+    private final boolean toStringOverridden;
+    private final String[] excludedFieldNames;
+
+    private ApplicationObjectMetadata(final Class<? extends ApplicationObject> type,
+                                      final String[] excludedFieldNames,
+                                      final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        toStringOverridden = isToStringOverridden(type);
+        this.excludedFieldNames = excludedFieldNames;
+
+        final List<String> equalsExcludedFieldNames = new ArrayList<>();
+        Collections.addAll(equalsExcludedFieldNames, excludedFieldNames);
+        equalsExcludedFieldNames.addAll(annotatedFieldNames(type, ExcludeFromEquals.class));
+
+        final List<String> hashCodeExcludedFieldNames = new ArrayList<>(equalsExcludedFieldNames);
+        hashCodeExcludedFieldNames.addAll(annotatedFieldNames(type, ExcludeFromHashCode.class));
+
+        longHashCodeStrategy =
+            baseFunctionsDispatcher.genericLongHashCode(type, toArray(hashCodeExcludedFieldNames));
+
+        final GeneratedBaseFunctions<Object> generatedBaseFunctions =
+            excludedFieldNames.length == 0 ?
+            generatedBaseFunctions(annotatedClass(type), baseFunctionsDispatcher) :
+            null;
+
+        if (generatedBaseFunctions != null) {
+            final Equals<Object> mixedClassesEquals =
+                baseFunctionsDispatcher.genericEquals(toArray(equalsExcludedFieldNames));
+
+            equalsStrategy = (object1, object2) -> object2 == null || object2.getClass() == type ?
+                                                   generatedBaseFunctions.areEqual(object1, object2) :
+                                                   mixedClassesEquals.areEqual(object1, object2);
+            hashCodeStrategy = generatedBaseFunctions;
+            toStringStrategy = generatedBaseFunctions;
+            return;
+        }
+
+        final List<String> toStringExcludedFieldNames = annotatedFieldNames(type, ExcludeFromToString.class);
+
+        equalsStrategy = baseFunctionsDispatcher.genericEquals(type, toArray(equalsExcludedFieldNames));
+        hashCodeStrategy = baseFunctionsDispatcher.genericHashCode(type, toArray(hashCodeExcludedFieldNames));
+        toStringStrategy = baseFunctionsDispatcher.genericToString(type, toArray(toStringExcludedFieldNames));
+    }
+
+    static ApplicationObjectMetadata of(final ApplicationObject applicationObject,
+                                        final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        final Class<? extends ApplicationObject> type = applicationObject.getClass();
+        final AtomicReference<ApplicationObjectMetadata> metadataReference = REGISTRY.get(type);
+
+        final ApplicationObjectMetadata metadata = metadataReference.get();
+        if (metadata != null)
+            return metadata;
+
+        final String[] excludedFieldNames = applicationObject.getExcludedFieldNames().clone();
+        metadataReference.compareAndSet(null,
+                                        new ApplicationObjectMetadata(type, excludedFieldNames, baseFunctionsDispatcher));
+
+        return metadataReference.get();
+    }
+
+    /**
+     * Returns the {@link Class} annotated by {@link GenerateBaseFunctions} whose companion handles the specified
+     * {@link Class}: the {@link Class} itself or its nearest annotated superclass, if no {@link Class} in between
+     * declares an instance field.
+     *
+     * @param type
+     *        {@link Class} of the {@link ApplicationObject}
+     *
+     * @return annotated {@link Class}; {@code null} if no companion handles {@code type}
+     */
+    @Nullable
+    private static Class<?> annotatedClass(final Class<?> type) {
+        for (Class<?> currentClass = type;
+             currentClass != null && currentClass != ApplicationObject.class;
+             currentClass = currentClass.getSuperclass()) {
+
+            if (currentClass.isAnnotationPresent(GenerateBaseFunctions.class))
+                return currentClass;
+
+            if (declaresInstanceFields(currentClass))
+                return null;
+        }
+
+        return null;
+    }
+
+    private static boolean declaresInstanceFields(final Class<?> type) {
+        for (final Field field : type.getDeclaredFields())
+            if (! Modifier.isStatic(field.getModifiers()))
+                return true;
+
+        return false;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static GeneratedBaseFunctions<Object> generatedBaseFunctions(
+        @Nullable final Class<?> type, final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        if (type == null)
+            return null;
+
+        try {
+            final String companionClassName = GeneratedBaseFunctions.getCompanionClassName(type.getName());
+
+            return Class.forName(companionClassName, true, type.getClassLoader())
+                        .asSubclass(GeneratedBaseFunctions.class)
+                        .getConstructor(BaseFunctionsDispatcher.class)
+                        .newInstance(baseFunctionsDispatcher);
+        }
+        catch (final ReflectiveOperationException | ClassCastException exception) {
+            return null;
+        }
+    }
+
+    private static boolean isToStringOverridden(final Class<?> type) {
+        try {
+            final Class<?> toStringClass = type.getMethod("toString").getDeclaringClass();
+            final Class<?> appendToClass = type.getMethod("appendTo", StringBuilder.class).getDeclaringClass();
+
+            return toStringClass != appendToClass && appendToClass.isAssignableFrom(toStringClass);
+        }
+        catch (final NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+    private static List<String> annotatedFieldNames(final Class<?> type,
+                                                    final Class<? extends Annotation> annotationType) {
+        final List<String> fieldNames = new ArrayList<>();
+
+        for (Class<?> currentClass = type; currentClass != null; currentClass = currentClass.getSuperclass())
+            for (final Field field : currentClass.getDeclaredFields())
+                if (field.isAnnotationPresent(annotationType))
+                    fieldNames.add(field.getName());
+
+        return fieldNames;
+    }
+
+    private static String[] toArray(final List<String> fieldNames) {
+        return fieldNames.toArray(new String[fieldNames.size()]);
+    }
+
+    Equals<Object> getEqualsStrategy() {
+        return equalsStrategy;
+    }
+
+    HashCode<Object> getHashCodeStrategy() {
+        return hashCodeStrategy;
+    }
+
+    LongHashCode<Object> getLongHashCodeStrategy() {
+        return longHashCodeStrategy;
+    }
+
+    ToString<Object> getToStringStrategy() {
+        return toStringStrategy;
+    }
+
+    String[] getExcludedFieldNames() {
+        return excludedFieldNames;
+    }
+
+    boolean isToStringOverridden() {
+        return toStringOverridden;
+    }
+}
@@ -21,21 +21,245 @@
 
 package org.jlib.basefunctions;
 
+import static org.jlib.basefunctions.Diff.UNLIMITED;
+import org.jlib.basefunctions.compare.ShortCircuitCompareEngine;
+import org.jlib.basefunctions.compiled.CompiledCompare;
+import org.jlib.basefunctions.compiled.CompiledDiff;
+import org.jlib.basefunctions.diff.LimitedDiffEngine;
+import org.jlib.basefunctions.hash.FieldsLongHashCode;
+import org.jlib.basefunctions.hash.MixingLongHashCodeEngine;
+import static org.jlib.basefunctions.hash.HashMixer.DEFAULT_HASH_MIXER;
+
 public interface BaseFunctionsDispatcher {
 
     <Obj> Equals<Obj> genericEquals();
 
     <Obj> Equals<Obj> genericEquals(String... excludedFields);
 
+    /**
+     * Returns the generic {@link Equals} for objects of the specified {@link Class}, resolved once per class by the
+     * caller. The returned {@link Equals} must handle objects of other classes as well. The default implementation
+     * returns {@link #genericEquals(String...)}.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link Equals} for {@code type}
+     */
+    default <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        return genericEquals(excludedFields);
+    }
+
     <Obj> EqualsEngine<Obj> equalsEngine(Obj thiz, Object other);
 
+    /**
+     * Returns a {@link LazyEqualsEngine} comparing the specified objects. The default implementation returns an
+     * {@link EqualsEngineLazyEqualsEngine} comparing the {@link Object} values by the {@link EqualsEngine} returned by
+     * {@link #equalsEngine(Object, Object)}.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param thiz
+     *        this object
+     *
+     * @param other
+     *        other object; {@code null} is allowed
+     *
+     * @return {@link LazyEqualsEngine} comparing {@code thiz} and {@code other}
+     */
+    default <Obj> LazyEqualsEngine<Obj> lazyEqualsEngine(final Obj thiz, final Object other) {
+        return new EqualsEngineLazyEqualsEngine<>(this, thiz, other);
+    }
+
     <Obj> HashCode<Obj> genericHashCode();
 
     <Obj> HashCode<Obj> genericHashCode(String... excludedFields);
 
+    /**
+     * Returns the generic {@link HashCode} for objects of the specified {@link Class}, resolved once per class by the
+     * caller. The default implementation returns {@link #genericHashCode(String...)}.
+     *
+     * @param <Obj>
+     *        type of the hashed objects
+     *
+     * @param type
+     *        {@link Class} of the hashed objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link HashCode} for {@code type}
+     */
+    default <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        return genericHashCode(excludedFields);
+    }
+
     <Obj> HashCodeEngine<Obj> hashCodeEngine(Obj object);
 
+    default <Obj> LongHashCode<Obj> genericLongHashCode() {
+        return genericLongHashCode(new String[0]);
+    }
+
+    /**
+     * Returns the generic 64 bit {@link LongHashCode}, hashing the same fields as the generic {@link HashCode}. The
+     * default implementation combines the field values by the
+     * {@link org.jlib.basefunctions.hash.HashMixer#DEFAULT_HASH_MIXER default HashMixer}.
+     *
+     * @param <Obj>
+     *        type of the hashed objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return generic {@link LongHashCode}
+     */
+    default <Obj> LongHashCode<Obj> genericLongHashCode(final String... excludedFields) {
+        return new FieldsLongHashCode<>(DEFAULT_HASH_MIXER, excludedFields);
+    }
+
+    /**
+     * Returns the generic {@link LongHashCode} for objects of the specified {@link Class}, resolved once per class by
+     * the caller. The default implementation returns {@link #genericLongHashCode(String...)}.
+     *
+     * @param <Obj>
+     *        type of the hashed objects
+     *
+     * @param type
+     *        {@link Class} of the hashed objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link LongHashCode} for {@code type}
+     */
+    default <Obj> LongHashCode<Obj> genericLongHashCode(final Class<? extends Obj> type,
+                                                        final String... excludedFields) {
+        return genericLongHashCode(excludedFields);
+    }
+
+    default <Obj> LongHashCodeEngine<Obj> longHashCodeEngine(final Obj object) {
+        return new MixingLongHashCodeEngine<>(DEFAULT_HASH_MIXER);
+    }
+
+    /**
+     * Returns the generic {@link Compare} comparing objects by the specified fields in order. The default
+     * implementation returns a {@link CompiledCompare}, compiling the comparison once per class.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param fieldOrder
+     *        comma separated sequence of {@link String}s specifying the names of the compared fields in the order of
+     *        comparison; none for all fields compared by the generic {@link Equals}
+     *
+     * @return generic {@link Compare}
+     */
+    default <Obj> Compare<Obj> genericCompare(final String... fieldOrder) {
+        return new CompiledCompare<>(fieldOrder);
+    }
+
+    /**
+     * Returns the generic {@link Compare} for objects of the specified {@link Class}, resolved once per class by the
+     * caller. The default implementation returns a {@link CompiledCompare} compiling the comparison of {@code type}
+     * in advance.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param fieldOrder
+     *        comma separated sequence of {@link String}s specifying the names of the compared fields in the order of
+     *        comparison; none for all fields compared by the generic {@link Equals}
+     *
+     * @return {@link Compare} for {@code type}
+     */
+    default <Obj> Compare<Obj> genericCompare(final Class<? extends Obj> type, final String... fieldOrder) {
+        return new CompiledCompare<>(type, fieldOrder);
+    }
+
+    default <Obj> CompareEngine<Obj> compareEngine(final Obj thiz, final Obj other) {
+        return new ShortCircuitCompareEngine<>();
+    }
+
+    default <Obj> Diff<Obj> genericDiff(final String... excludedFields) {
+        return genericDiff(UNLIMITED, excludedFields);
+    }
+
+    /**
+     * Returns the generic {@link Diff} reporting the fields differing according to the generic {@link Equals}. The
+     * default implementation returns a {@link CompiledDiff}.
+     *
+     * @param <Obj>
+     *        type of the compared objects
+     *
+     * @param maximumDifferenceCount
+     *        integer specifying the maximum number of reported differences; {@link Diff#UNLIMITED} for all
+     *        differences
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return generic {@link Diff}
+     *
+     * @throws IllegalArgumentException
+     *         if {@code maximumDifferenceCount} is not positive
+     */
+    default <Obj> Diff<Obj> genericDiff(final int maximumDifferenceCount, final String... excludedFields) {
+        return new CompiledDiff<>(maximumDifferenceCount, excludedFields);
+    }
+
+    default <Obj> DiffEngine<Obj> diffEngine(final Obj thiz, final Obj other, final int maximumDifferenceCount) {
+        return new LimitedDiffEngine<>(maximumDifferenceCount);
+    }
+
     <Obj> ToString<Obj> genericToString();
 
+    /**
+     * Returns the generic {@link ToString} for objects of the specified {@link Class}, resolved once per class by the
+     * caller. The default implementation ignores the excluded fields and returns {@link #genericToString()}.
+     *
+     * @param <Obj>
+     *        type of the rendered objects
+     *
+     * @param type
+     *        {@link Class} of the rendered objects
+     *
+     * @param excludedFields
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link ToString} for {@code type}
+     */
+    default <Obj> ToString<Obj> genericToString(final Class<? extends Obj> type, final String... excludedFields) {
+        return genericToString();
+    }
+
     <Obj> ToStringEngine<Obj> toStringEngine(Obj object);
+
+    /**
+     * Returns a {@link LazyToString} rendering the specified {@link Object} only when it is consumed, for instance, by
+     * an enabled log statement. {@link ApplicationObject}s are rendered by their {@link ApplicationObject#toString()}
+     * methods, other objects by the {@link #genericToString() generic ToString}.
+     *
+     * @param <Obj>
+     *        type of the rendered object
+     *
+     * @param object
+     *        {@link Object} to render; {@code null} is allowed
+     *
+     * @return {@link LazyToString} of {@code object}
+     */
+    default <Obj> LazyToString<Obj> lazyToString(final Obj object) {
+        return object instanceof ApplicationObject ?
+               new LazyToString<>(Object::toString, object) :
+               new LazyToString<>(genericToString(), object);
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>
+ * Priority of the annotated {@link BaseFunctionsDispatcher} implementation. If several implementations are registered,
+ * the {@link BaseFunctionsService} selects the one of the highest priority. Implementations not annotated have the
+ * {@link #DEFAULT_PRIORITY}.
+ * </p>
+ * <p>
+ * The annotation is read from the implementing {@link Class} without initializing or instantiating it, so only the
+ * selected implementation is instantiated.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface BaseFunctionsPriority {
+
+    int DEFAULT_PRIORITY = 0;
+
+    /**
+     * Returns the priority of the annotated implementation. Higher values are preferred.
+     *
+     * @return integer specifying the priority
+     */
+    int value();
+}
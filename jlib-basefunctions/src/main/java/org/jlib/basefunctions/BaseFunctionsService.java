@@ -21,46 +21,216 @@
 
 package org.jlib.basefunctions;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ServiceConfigurationError;
-import java.util.ServiceLoader;
+import java.util.Set;
+
+import static org.jlib.basefunctions.BaseFunctionsPriority.DEFAULT_PRIORITY;
+
+/**
+ * <p>
+ * Service providing the {@link BaseFunctionsDispatcher} used by {@link ApplicationObject}. The implementation is
+ * selected lazily, when the {@link #getInstance() instance} is requested for the first time.
+ * </p>
+ * <p>
+ * If the system property {@value #DISPATCHER_PROPERTY_NAME} is set, it specifies the fully qualified name of the
+ * implementing class, which is instantiated without looking up other implementations. Otherwise, the implementations
+ * are looked up in the {@code META-INF/services} provider-configuration files like by the
+ * {@link java.util.ServiceLoader}, and the one of the highest {@link BaseFunctionsPriority} is selected. The
+ * priorities are read without initializing the implementing classes and only the selected implementation is
+ * instantiated. The selection does not depend on the order of the class path.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class BaseFunctionsService {
 
-public class BaseFunctionsService {
+    /**
+     * Name of the system property specifying the fully qualified class name of the {@link BaseFunctionsDispatcher}
+     * implementation. If the property is not set, the registered implementation of the highest
+     * {@link BaseFunctionsPriority} is used.
+     */
+    public static final String DISPATCHER_PROPERTY_NAME = "org.jlib.basefunctions.dispatcher";
+
+    private static final String PROVIDER_CONFIGURATION_FILE_NAME =
+        "META-INF/services/" + BaseFunctionsDispatcher.class.getName();
+
+    private static final char COMMENT_CHARACTER = '#';
+
+    private static final class InstanceHolder {
+
+        private static final BaseFunctionsService INSTANCE =
+            new BaseFunctionsService(defaultClassLoader(), System.getProperty(DISPATCHER_PROPERTY_NAME));
+    }
 
-    private static final BaseFunctionsService INSTANCE = new BaseFunctionsService();
     private final BaseFunctionsDispatcher baseFunctionsDispatcher;
+    private final long bootstrapDurationNanos;
 
-    private BaseFunctionsService()
+    /**
+     * Creates a new {@link BaseFunctionsService} selecting its {@link BaseFunctionsDispatcher} using the specified
+     * {@link ClassLoader}.
+     *
+     * @param classLoader
+     *        {@link ClassLoader} used to look up and load the implementations
+     *
+     * @param dispatcherClassName
+     *        {@link String} specifying the fully qualified class name of the implementation; {@code null} to select
+     *        the registered implementation of the highest priority
+     *
+     * @throws ServiceConfigurationError
+     *         if a provider-configuration file cannot be read or an implementation cannot be loaded or instantiated
+     *
+     * @throws NoBaseFunctionsImplementationFoundException
+     *         if no implementation is registered
+     *
+     * @throws OnlyOneBaseFunctionsImplementationAllowedException
+     *         if several implementations share the highest priority
+     */
+    BaseFunctionsService(final ClassLoader classLoader, final String dispatcherClassName)
         throws ServiceConfigurationError, NoBaseFunctionsImplementationFoundException,
                OnlyOneBaseFunctionsImplementationAllowedException {
 
-        final ServiceLoader<BaseFunctionsDispatcher> loader = ServiceLoader.load(BaseFunctionsDispatcher.class);
+        final long startNanos = System.nanoTime();
 
-        final List<BaseFunctionsDispatcher> baseFunctionsDispatchers = new ArrayList<>();
+        final Class<? extends BaseFunctionsDispatcher> dispatcherClass =
+            dispatcherClassName != null ?
+            loadDispatcherClass(dispatcherClassName.trim(), classLoader) :
+            highestPriorityDispatcherClass(classLoader);
 
-        for (final BaseFunctionsDispatcher baseFunctionsDispatcher : loader)
-            baseFunctionsDispatchers.add(baseFunctionsDispatcher);
+        baseFunctionsDispatcher = instantiate(dispatcherClass);
 
-        assertExactlyOneSpiInClassPath(baseFunctionsDispatchers);
-
-        baseFunctionsDispatcher = baseFunctionsDispatchers.get(0);
+        bootstrapDurationNanos = System.nanoTime() - startNanos;
     }
 
     public static BaseFunctionsService getInstance() {
-        return INSTANCE;
+        return InstanceHolder.INSTANCE;
     }
 
-    private void assertExactlyOneSpiInClassPath(final List<BaseFunctionsDispatcher> baseFunctionsDispatchers)
-        throws OnlyOneBaseFunctionsImplementationAllowedException {
-        if (baseFunctionsDispatchers.isEmpty())
+    private static ClassLoader defaultClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return contextClassLoader != null ?
+               contextClassLoader :
+               BaseFunctionsService.class.getClassLoader();
+    }
+
+    private static Class<? extends BaseFunctionsDispatcher> highestPriorityDispatcherClass(final ClassLoader
+                                                                                                classLoader) {
+        final List<Class<? extends BaseFunctionsDispatcher>> highestPriorityClasses = new ArrayList<>();
+        int highestPriority = Integer.MIN_VALUE;
+
+        for (final String dispatcherClassName : registeredDispatcherClassNames(classLoader)) {
+            final Class<? extends BaseFunctionsDispatcher> dispatcherClass =
+                loadDispatcherClass(dispatcherClassName, classLoader);
+            final int priority = priority(dispatcherClass);
+
+            if (priority > highestPriority) {
+                highestPriority = priority;
+                highestPriorityClasses.clear();
+            }
+
+            if (priority == highestPriority)
+                highestPriorityClasses.add(dispatcherClass);
+        }
+
+        if (highestPriorityClasses.isEmpty())
             throw new NoBaseFunctionsImplementationFoundException();
 
-        if (baseFunctionsDispatchers.size() > 1)
-            throw new OnlyOneBaseFunctionsImplementationAllowedException(baseFunctionsDispatchers);
+        if (highestPriorityClasses.size() > 1)
+            throw new OnlyOneBaseFunctionsImplementationAllowedException(highestPriorityClasses, highestPriority);
+
+        return highestPriorityClasses.get(0);
+    }
+
+    private static Set<String> registeredDispatcherClassNames(final ClassLoader classLoader) {
+        final Set<String> dispatcherClassNames = new LinkedHashSet<>();
+
+        try {
+            final Enumeration<URL> configurationFiles = classLoader.getResources(PROVIDER_CONFIGURATION_FILE_NAME);
+
+            while (configurationFiles.hasMoreElements())
+                readDispatcherClassNames(configurationFiles.nextElement(), dispatcherClassNames);
+        }
+        catch (final IOException exception) {
+            throw new ServiceConfigurationError(PROVIDER_CONFIGURATION_FILE_NAME + ": " + exception, exception);
+        }
+
+        return dispatcherClassNames;
+    }
+
+    private static void readDispatcherClassNames(final URL configurationFile, final Set<String> dispatcherClassNames)
+        throws IOException {
+
+        try (final BufferedReader reader =
+                 new BufferedReader(new InputStreamReader(configurationFile.openStream(), StandardCharsets.UTF_8))) {
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                final int commentIndex = line.indexOf(COMMENT_CHARACTER);
+                final String dispatcherClassName = (commentIndex >= 0 ?
+                                                    line.substring(0, commentIndex) :
+                                                    line).trim();
+
+                if (! dispatcherClassName.isEmpty())
+                    dispatcherClassNames.add(dispatcherClassName);
+            }
+        }
+    }
+
+    // loads the class without initializing it, so its priority can be read without running its static initializer
+    private static Class<? extends BaseFunctionsDispatcher> loadDispatcherClass(final String dispatcherClassName,
+                                                                               final ClassLoader classLoader) {
+        final Class<?> dispatcherClass;
+        try {
+            dispatcherClass = Class.forName(dispatcherClassName, false, classLoader);
+        }
+        catch (final ClassNotFoundException | LinkageError exception) {
+            throw new ServiceConfigurationError(dispatcherClassName + ": not found", exception);
+        }
+
+        if (! BaseFunctionsDispatcher.class.isAssignableFrom(dispatcherClass))
+            throw new ServiceConfigurationError(dispatcherClassName + ": not a " +
+                                                BaseFunctionsDispatcher.class.getName());
+
+        return dispatcherClass.asSubclass(BaseFunctionsDispatcher.class);
+    }
+
+    private static int priority(final Class<? extends BaseFunctionsDispatcher> dispatcherClass) {
+        final BaseFunctionsPriority priority = dispatcherClass.getAnnotation(BaseFunctionsPriority.class);
+
+        return priority != null ?
+               priority.value() :
+               DEFAULT_PRIORITY;
+    }
+
+    private static BaseFunctionsDispatcher instantiate(final Class<? extends BaseFunctionsDispatcher>
+                                                           dispatcherClass) {
+        try {
+            return dispatcherClass.getConstructor().newInstance();
+        }
+        catch (final ReflectiveOperationException | LinkageError exception) {
+            throw new ServiceConfigurationError(dispatcherClass.getName() + ": cannot be instantiated", exception);
+        }
     }
 
     public BaseFunctionsDispatcher getBaseFunctionsDispatcher() {
         return baseFunctionsDispatcher;
     }
+
+    /**
+     * Returns the time spent to select, load and instantiate the {@link BaseFunctionsDispatcher}.
+     *
+     * @return long integer specifying the bootstrap duration in nanoseconds
+     */
+    public long getBootstrapDurationNanos() {
+        return bootstrapDurationNanos;
+    }
 }
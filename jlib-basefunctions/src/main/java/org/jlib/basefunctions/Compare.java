@@ -0,0 +1,47 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.Comparator;
+
+@FunctionalInterface
+public interface Compare<Obj> {
+
+    /**
+     * Compares the specified {@link Obj}s for order.
+     * The algorithm used for the comparison is specified by the concrete implementation.
+     *
+     * @param object1
+     *        first {@link Obj}
+     *
+     * @param object2
+     *        second {@link Obj}
+     *
+     * @return negative integer, zero or positive integer if {@code object1} is less than, equal to or greater than
+     *         {@code object2}
+     */
+    int compare(Obj object1, Obj object2);
+
+    default Comparator<Obj> toComparator() {
+        return this::compare;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+/**
+ * Engine comparing two objects for order by pairs of values added in order of significance. The comparison is the
+ * comparison of the first pair of different values; {@code 0} if all pairs are equal.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public interface CompareEngine<Obj> {
+
+    <Value> CompareEngine<Obj> add(Value thisValue, Value otherValue);
+
+    // primitive specializations, boxing by default, to be overridden by the implementations
+
+    default CompareEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        return add(Boolean.valueOf(thisValue), Boolean.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        return add(Byte.valueOf(thisValue), Byte.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final char thisValue, final char otherValue) {
+        return add(Character.valueOf(thisValue), Character.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final short thisValue, final short otherValue) {
+        return add(Short.valueOf(thisValue), Short.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final int thisValue, final int otherValue) {
+        return add(Integer.valueOf(thisValue), Integer.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final long thisValue, final long otherValue) {
+        return add(Long.valueOf(thisValue), Long.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final float thisValue, final float otherValue) {
+        return add(Float.valueOf(thisValue), Float.valueOf(otherValue));
+    }
+
+    default CompareEngine<Obj> add(final double thisValue, final double otherValue) {
+        return add(Double.valueOf(thisValue), Double.valueOf(otherValue));
+    }
+
+    int toComparison();
+}
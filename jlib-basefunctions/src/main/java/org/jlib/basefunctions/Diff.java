@@ -0,0 +1,45 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface Diff<Obj> {
+
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Determines the differences between the specified {@link Obj}s.
+     * The algorithm used for the determination is specified by the concrete implementation.
+     *
+     * @param object1
+     *        first {@link Obj}; {@code null} is allowed
+     *
+     * @param object2
+     *        second {@link Obj}; {@code null} is allowed
+     *
+     * @return {@link List} of the {@link FieldDifference}s, in the order of the compared fields; empty if the objects
+     *         are equal
+     */
+    List<FieldDifference> diff(Obj object1, Obj object2);
+}
@@ -0,0 +1,73 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.List;
+
+/**
+ * Engine determining the differences between two objects by pairs of field values added in order.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public interface DiffEngine<Obj> {
+
+    <Value> DiffEngine<Obj> add(String path, Value thisValue, Value otherValue);
+
+    // primitive specializations, boxing by default, to be overridden by the implementations
+
+    default DiffEngine<Obj> add(final String path, final boolean thisValue, final boolean otherValue) {
+        return add(path, Boolean.valueOf(thisValue), Boolean.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final byte thisValue, final byte otherValue) {
+        return add(path, Byte.valueOf(thisValue), Byte.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final char thisValue, final char otherValue) {
+        return add(path, Character.valueOf(thisValue), Character.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final short thisValue, final short otherValue) {
+        return add(path, Short.valueOf(thisValue), Short.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final int thisValue, final int otherValue) {
+        return add(path, Integer.valueOf(thisValue), Integer.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final long thisValue, final long otherValue) {
+        return add(path, Long.valueOf(thisValue), Long.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final float thisValue, final float otherValue) {
+        return add(path, Float.valueOf(thisValue), Float.valueOf(otherValue));
+    }
+
+    default DiffEngine<Obj> add(final String path, final double thisValue, final double otherValue) {
+        return add(path, Double.valueOf(thisValue), Double.valueOf(otherValue));
+    }
+
+    List<FieldDifference> differences();
+}
@@ -23,10 +23,97 @@ package org.jlib.basefunctions;
 
 import java.util.function.Predicate;
 
+/**
+ * <p>
+ * Engine comparing the values of two objects added one after the other.
+ * </p>
+ * <p>
+ * Values of primitive types and primitive arrays are added by specialized overloads, avoiding the boxing of the
+ * generic {@link #add(Object, Object)}. Values of different primitive types are compared after widening them to a
+ * common type, like by {@code ==}, so {@code add(1, 1L)} compares equal. Only values passed as objects, such as
+ * {@code add(Integer.valueOf(1), Long.valueOf(1L))}, are compared by {@link Object#equals(Object)}, hence unequal.
+ * </p>
+ * <p>
+ * As the {@code null} literal matches each primitive array overload, it must be cast to the type of the compared
+ * values, for instance, {@code add((Object) null, value)}. References declared by their type, like fields, select
+ * the matching overload even if they are {@code null}.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
 public interface EqualsEngine<Obj> {
 
     <Value> EqualsEngine<Obj> add(Value thisValue, Value otherValue);
 
+    // primitive specializations, boxing by default, to be overridden by the implementations
+
+    default EqualsEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        return add(Boolean.valueOf(thisValue), Boolean.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        return add(Byte.valueOf(thisValue), Byte.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final char thisValue, final char otherValue) {
+        return add(Character.valueOf(thisValue), Character.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final short thisValue, final short otherValue) {
+        return add(Short.valueOf(thisValue), Short.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final int thisValue, final int otherValue) {
+        return add(Integer.valueOf(thisValue), Integer.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final long thisValue, final long otherValue) {
+        return add(Long.valueOf(thisValue), Long.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final float thisValue, final float otherValue) {
+        return add(Float.valueOf(thisValue), Float.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final double thisValue, final double otherValue) {
+        return add(Double.valueOf(thisValue), Double.valueOf(otherValue));
+    }
+
+    default EqualsEngine<Obj> add(final boolean[] thisValues, final boolean[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final byte[] thisValues, final byte[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final char[] thisValues, final char[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final short[] thisValues, final short[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final int[] thisValues, final int[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final long[] thisValues, final long[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final float[] thisValues, final float[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
+    default EqualsEngine<Obj> add(final double[] thisValues, final double[] otherValues) {
+        return add((Object) thisValues, (Object) otherValues);
+    }
+
     EqualsEngine<Obj> add(Predicate<Object> superEquals);
 
     boolean equal();
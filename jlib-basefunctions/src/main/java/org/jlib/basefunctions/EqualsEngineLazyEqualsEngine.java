@@ -0,0 +1,63 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * {@link AbstractLazyEqualsEngine} comparing the {@link Object} values by the {@link EqualsEngine} of a
+ * {@link BaseFunctionsDispatcher}. The {@link EqualsEngine} is only requested when the first value is compared, that
+ * is, not at all if the result is decided by the identity, {@code null} or class checks.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class EqualsEngineLazyEqualsEngine<Obj>
+    extends AbstractLazyEqualsEngine<Obj> {
+
+    private final BaseFunctionsDispatcher baseFunctionsDispatcher;
+    private final Obj thiz;
+    @Nullable
+    private final Object other;
+    @Nullable
+    private EqualsEngine<Obj> equalsEngine;
+
+    public EqualsEngineLazyEqualsEngine(final BaseFunctionsDispatcher baseFunctionsDispatcher, final Obj thiz,
+                                        @Nullable final Object other) {
+        super(thiz, other);
+
+        this.baseFunctionsDispatcher = baseFunctionsDispatcher;
+        this.thiz = thiz;
+        this.other = other;
+    }
+
+    @Override
+    protected boolean areEqual(@Nullable final Object thisValue, @Nullable final Object otherValue) {
+        if (equalsEngine == null)
+            equalsEngine = baseFunctionsDispatcher.equalsEngine(thiz, other);
+
+        return equalsEngine.add(thisValue, otherValue)
+                           .equal();
+    }
+}
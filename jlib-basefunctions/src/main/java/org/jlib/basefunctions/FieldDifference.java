@@ -0,0 +1,89 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.Objects;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Difference between the values of a field in two compared objects. The field is specified by its path, the field
+ * names from the compared objects to the field, separated by dots. The compared objects themselves are specified by
+ * the empty path.
+ *
+ * @author Igor Akkerman
+ */
+public final class FieldDifference {
+
+    public static final String ROOT_PATH = "";
+
+    private final String path;
+    @Nullable
+    private final Object value1;
+    @Nullable
+    private final Object value2;
+
+    public FieldDifference(final String path, @Nullable final Object value1, @Nullable final Object value2) {
+        this.path = path;
+        this.value1 = value1;
+        this.value2 = value2;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Nullable
+    public Object getValue1() {
+        return value1;
+    }
+
+    @Nullable
+    public Object getValue2() {
+        return value2;
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject)
+            return true;
+
+        if (! (otherObject instanceof FieldDifference))
+            return false;
+
+        final FieldDifference other = (FieldDifference) otherObject;
+
+        return path.equals(other.path) &&
+               Objects.deepEquals(value1, other.value1) &&
+               Objects.deepEquals(value2, other.value2);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + value1 + " <> " + value2;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * <p>
+ * Requests the jlib base functions annotation processor to generate the {@link GeneratedBaseFunctions} companion class
+ * of the annotated class at compile time.
+ * </p>
+ * <p>
+ * An {@link ApplicationObject} of an annotated class uses its companion instead of the generic strategies of the
+ * {@link BaseFunctionsDispatcher}, unless it overrides {@link ApplicationObject#getExcludedFieldNames()}. Fields are
+ * excluded by the annotations {@link ExcludeFromEquals}, {@link ExcludeFromHashCode} and {@link ExcludeFromToString}.
+ * If the companion class is not found, the generic strategies are used. Subclasses declaring no further instance
+ * fields use the companion of the annotated class.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+@Documented
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface GenerateBaseFunctions {}
@@ -0,0 +1,60 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+/**
+ * <p>
+ * {@link Equals}, {@link HashCode} and {@link ToString} of a class annotated by {@link GenerateBaseFunctions},
+ * generated at compile time. The fields are compared, hashed and formatted by straight-line code, without reflection.
+ * </p>
+ * <p>
+ * The companion class of a class is located in the same package. Its name is the binary name of the class within the
+ * package, with each {@code $} replaced by {@code _}, followed by {@value #COMPANION_CLASS_NAME_SUFFIX}. It has a
+ * public constructor taking the {@link BaseFunctionsDispatcher} providing the {@link ToStringEngine}.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the objects
+ *
+ * @author Igor Akkerman
+ */
+public interface GeneratedBaseFunctions<Obj>
+    extends Equals<Obj>, HashCode<Obj>, ToString<Obj> {
+
+    String COMPANION_CLASS_NAME_SUFFIX = "_BaseFunctions";
+
+    /**
+     * Returns the binary name of the companion class of the specified class.
+     *
+     * @param binaryClassName
+     *        {@link String} specifying the binary name of the class
+     *
+     * @return {@link String} specifying the binary name of the companion class
+     */
+    static String getCompanionClassName(final String binaryClassName) {
+        final int packageNameEnd = binaryClassName.lastIndexOf('.') + 1;
+
+        return binaryClassName.substring(0, packageNameEnd) +
+               binaryClassName.substring(packageNameEnd).replace('$', '_') +
+               COMPANION_CLASS_NAME_SUFFIX;
+    }
+}
@@ -21,9 +21,94 @@
 
 package org.jlib.basefunctions;
 
+/**
+ * <p>
+ * Engine computing the hash code of an object from its values added one after the other.
+ * </p>
+ * <p>
+ * Values of primitive types and primitive arrays are added by specialized overloads, avoiding the boxing of the
+ * generic {@link #add(Object)}. Primitive values are hashed like their boxed values.
+ * </p>
+ * <p>
+ * As the {@code null} literal matches each primitive array overload, it must be cast to the type of the hashed value,
+ * for instance, {@code add((Object) null)}. References declared by their type, like fields, select the matching
+ * overload even if they are {@code null}.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
 public interface HashCodeEngine<Obj> {
 
     <Value> HashCodeEngine<Obj> add(final Value value);
 
+    // primitive specializations, boxing by default, to be overridden by the implementations
+
+    default HashCodeEngine<Obj> add(final boolean value) {
+        return add(Boolean.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final byte value) {
+        return add(Byte.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final char value) {
+        return add(Character.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final short value) {
+        return add(Short.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final int value) {
+        return add(Integer.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final long value) {
+        return add(Long.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final float value) {
+        return add(Float.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final double value) {
+        return add(Double.valueOf(value));
+    }
+
+    default HashCodeEngine<Obj> add(final boolean[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final byte[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final char[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final short[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final int[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final long[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final float[] values) {
+        return add((Object) values);
+    }
+
+    default HashCodeEngine<Obj> add(final double[] values) {
+        return add((Object) values);
+    }
+
     int toHashCode();
 }
@@ -0,0 +1,116 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.io.IOException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.graph.GraphHashCode;
+
+/**
+ * <p>
+ * {@link ApplicationObject} of which the compared, hashed and formatted fields never change after construction. The
+ * hash code is computed once per instance and cached. If {@link #isToStringCached()} is overridden to return
+ * {@code true}, the result of {@link #toString()} is cached as well.
+ * </p>
+ * <p>
+ * The cached values are published without synchronization, like the hash code of a {@link String}: a thread may see
+ * no cached value and compute it again, but every computation yields the same result, so no inconsistent value can be
+ * observed. The cache fields are transient and hence ignored by the generic strategies.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public abstract class ImmutableApplicationObject
+    extends ApplicationObject {
+
+    private transient int hashCode;
+    private transient boolean hashCodeIsZero;
+    @Nullable
+    private transient String toString;
+
+    protected ImmutableApplicationObject() {}
+
+    @Override
+    public int hashCode() {
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0 && ! hashCodeIsZero) {
+            hashCode = super.hashCode();
+
+            // nested hash codes computed within an object graph depend on the start of the computation
+            if (GraphHashCode.isComputing())
+                return hashCode;
+
+            if (hashCode == 0)
+                hashCodeIsZero = true;
+            else
+                this.hashCode = hashCode;
+        }
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        if (! isToStringCached())
+            return super.toString();
+
+        String toString = this.toString;
+
+        if (toString == null) {
+            toString = super.toString();
+            this.toString = toString;
+        }
+
+        return toString;
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder) {
+        if (! isToStringCached())
+            return super.appendTo(builder);
+
+        return builder.append(toString());
+    }
+
+    @Override
+    public Appendable appendTo(final Appendable appendable)
+        throws IOException {
+        if (! isToStringCached())
+            return super.appendTo(appendable);
+
+        return appendable.append(toString());
+    }
+
+    /**
+     * Specifies whether the result of {@link #toString()} is cached. The implementation in the class
+     * {@link ImmutableApplicationObject} returns {@code false}, since the cached {@link String} occupies memory for the
+     * lifetime of the instance. It may be overridden to return {@code true} for frequently formatted objects.
+     *
+     * @return {@code true} if the result of {@link #toString()} is cached; {@code false} otherwise
+     */
+    @SuppressWarnings("SameReturnValue")
+    protected boolean isToStringCached() {
+        return false;
+    }
+}
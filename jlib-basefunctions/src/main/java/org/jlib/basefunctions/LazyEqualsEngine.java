@@ -0,0 +1,64 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ * Equals engine reading the compared values by getters, evaluated lazily. The result is decided before any value is
+ * read if both objects are identical, if the other object is {@code null} or if its class differs from the class of
+ * this object. Once two values differ, no further value is read and no further comparison is evaluated.
+ * </p>
+ * <p>
+ * {@code char}, {@code short} and {@code byte} values may be added by {@link #addInt(ToIntFunction)}, {@code float}
+ * values by {@link #addDouble(ToDoubleFunction)} without changing the result.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public interface LazyEqualsEngine<Obj> {
+
+    <Value> LazyEqualsEngine<Obj> add(Function<? super Obj, Value> getter);
+
+    <Value> LazyEqualsEngine<Obj> add(Supplier<Value> thisValueSupplier, Supplier<Value> otherValueSupplier);
+
+    LazyEqualsEngine<Obj> addInt(ToIntFunction<? super Obj> getter);
+
+    LazyEqualsEngine<Obj> addLong(ToLongFunction<? super Obj> getter);
+
+    LazyEqualsEngine<Obj> addDouble(ToDoubleFunction<? super Obj> getter);
+
+    LazyEqualsEngine<Obj> addBoolean(Predicate<? super Obj> getter);
+
+    LazyEqualsEngine<Obj> addSuper(Predicate<Object> superEquals);
+
+    boolean equal();
+}
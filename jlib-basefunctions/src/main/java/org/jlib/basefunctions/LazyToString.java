@@ -0,0 +1,106 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.function.Supplier;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * <p>
+ * Lightweight handle of the {@link String} representation of an object, rendered by a {@link ToString} only when it
+ * is first consumed by {@link #toString()}, {@link #get()} or one of the {@link CharSequence} methods. The rendered
+ * {@link String} is cached for repeated use.
+ * </p>
+ * <p>
+ * A {@link LazyToString} is intended to be passed to logging frameworks formatting their arguments only for enabled
+ * levels, for instance, {@code log.debug("processing {}", dispatcher.lazyToString(order))}. A disabled log statement
+ * costs the allocation of the handle only.
+ * </p>
+ * <p>
+ * Like the cached values of an {@link ImmutableApplicationObject}, the cached {@link String} is published without
+ * synchronization: concurrent first consumers may render the object more than once. The object should hence not be
+ * modified until the handle is consumed.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the object
+ *
+ * @author Igor Akkerman
+ */
+public final class LazyToString<Obj>
+    implements CharSequence, Supplier<String> {
+
+    private final ToString<Obj> toStringStrategy;
+    @Nullable
+    private final Obj object;
+    @Nullable
+    private String toString;
+
+    /**
+     * Creates a new {@link LazyToString}.
+     *
+     * @param toStringStrategy
+     *        {@link ToString} rendering {@code object}
+     *
+     * @param object
+     *        {@link Object} to render; {@code null} is rendered as {@code "null"}
+     */
+    public LazyToString(final ToString<Obj> toStringStrategy, @Nullable final Obj object) {
+        this.toStringStrategy = toStringStrategy;
+        this.object = object;
+    }
+
+    @Override
+    public String toString() {
+        String toString = this.toString;
+
+        if (toString == null) {
+            toString = object != null ?
+                       toStringStrategy.toString(object) :
+                       String.valueOf((Object) null);
+            this.toString = toString;
+        }
+
+        return toString;
+    }
+
+    @Override
+    public String get() {
+        return toString();
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return toString().subSequence(start, end);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+/**
+ * Strategy computing a 64 bit hash code of an object, for instance, for large hash tables or probabilistic data
+ * structures like Bloom filters. Like {@link Object#hashCode()}, equal objects must have equal hash codes.
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+@FunctionalInterface
+public interface LongHashCode<Obj> {
+
+    long longHashCode(Obj object);
+}
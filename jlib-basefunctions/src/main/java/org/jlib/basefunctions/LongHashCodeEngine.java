@@ -0,0 +1,72 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+/**
+ * Engine computing a 64 bit hash code from the values added in order, the 64 bit counterpart of the
+ * {@link HashCodeEngine}.
+ *
+ * @param <Obj>
+ *        type of the hashed object
+ *
+ * @author Igor Akkerman
+ */
+public interface LongHashCodeEngine<Obj> {
+
+    <Value> LongHashCodeEngine<Obj> add(final Value value);
+
+    // primitive specializations, boxing by default, to be overridden by the implementations
+
+    default LongHashCodeEngine<Obj> add(final boolean value) {
+        return add(Boolean.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final byte value) {
+        return add(Byte.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final char value) {
+        return add(Character.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final short value) {
+        return add(Short.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final int value) {
+        return add(Integer.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final long value) {
+        return add(Long.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final float value) {
+        return add(Float.valueOf(value));
+    }
+
+    default LongHashCodeEngine<Obj> add(final double value) {
+        return add(Double.valueOf(value));
+    }
+
+    long toLongHashCode();
+}
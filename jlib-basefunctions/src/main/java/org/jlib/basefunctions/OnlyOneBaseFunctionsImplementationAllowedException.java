@@ -36,4 +36,11 @@ public class OnlyOneBaseFunctionsImplementationAllowedException
 
         super(message().with("objectMethodForwarders", baseFunctionsDispatchers));
     }
+
+    public OnlyOneBaseFunctionsImplementationAllowedException /*
+     */(final Collection<Class<? extends BaseFunctionsDispatcher>> baseFunctionsDispatcherClasses, final int priority) {
+
+        super(message().with("baseFunctionsDispatcherClasses", baseFunctionsDispatcherClasses)
+                       .with("priority", priority));
+    }
 }
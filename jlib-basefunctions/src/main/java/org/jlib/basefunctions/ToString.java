@@ -21,7 +21,46 @@
 
 package org.jlib.basefunctions;
 
+import java.io.IOException;
+
 public interface ToString<Obj> {
 
     String toString(final Obj object);
+
+    /**
+     * Appends the {@link String} representation of the specified {@link Object} to the specified {@link StringBuilder}.
+     * The default implementation appends the result of {@link #toString(Object)}. Implementations rendering directly
+     * into the {@link StringBuilder} avoid the intermediate {@link String}.
+     *
+     * @param builder
+     *        {@link StringBuilder} to which the representation is appended
+     *
+     * @param object
+     *        {@link Object} to represent
+     *
+     * @return {@code builder}
+     */
+    default StringBuilder appendTo(final StringBuilder builder, final Obj object) {
+        return builder.append(toString(object));
+    }
+
+    /**
+     * Appends the {@link String} representation of the specified {@link Object} to the specified {@link Appendable}.
+     * The default implementation appends the result of {@link #toString(Object)}.
+     *
+     * @param appendable
+     *        {@link Appendable} to which the representation is appended
+     *
+     * @param object
+     *        {@link Object} to represent
+     *
+     * @return {@code appendable}
+     *
+     * @throws IOException
+     *         if {@code appendable} throws an {@link IOException}
+     */
+    default Appendable appendTo(final Appendable appendable, final Obj object)
+        throws IOException {
+        return appendable.append(toString(object));
+    }
 }
@@ -21,9 +21,42 @@
 
 package org.jlib.basefunctions;
 
+import java.io.IOException;
+
 public interface ToStringEngine<Obj> {
 
     ToStringEngine<Obj> add(String valueName, Object value);
 
     String toString();
+
+    /**
+     * Appends the completed {@link String} representation to the specified {@link StringBuilder}. The default
+     * implementation appends the result of {@link #toString()}. Like {@link #toString()}, this method completes the
+     * representation, so no further values may be added.
+     *
+     * @param builder
+     *        {@link StringBuilder} to which the representation is appended
+     *
+     * @return {@code builder}
+     */
+    default StringBuilder appendTo(final StringBuilder builder) {
+        return builder.append(toString());
+    }
+
+    /**
+     * Appends the completed {@link String} representation to the specified {@link Appendable}. The default
+     * implementation appends the result of {@link #toString()}.
+     *
+     * @param appendable
+     *        {@link Appendable} to which the representation is appended
+     *
+     * @return {@code appendable}
+     *
+     * @throws IOException
+     *         if {@code appendable} throws an {@link IOException}
+     */
+    default Appendable appendTo(final Appendable appendable)
+        throws IOException {
+        return appendable.append(toString());
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compare;
+
+import org.jlib.basefunctions.CompareEngine;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link CompareEngine} comparing the added values by the ordering functions of the {@link FieldHandles}. Once a pair
+ * of different values has been added, the subsequent pairs are not compared. Primitive values are compared without
+ * boxing.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class ShortCircuitCompareEngine<Obj>
+    implements CompareEngine<Obj> {
+
+    private int comparison;
+
+    @Override
+    public <Value> CompareEngine<Obj> add(final Value thisValue, final Value otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final boolean thisValue, final boolean otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final byte thisValue, final byte otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final char thisValue, final char otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final short thisValue, final short otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final int thisValue, final int otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final long thisValue, final long otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final float thisValue, final float otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public CompareEngine<Obj> add(final double thisValue, final double otherValue) {
+        if (comparison == 0)
+            comparison = FieldHandles.compare(thisValue, otherValue);
+
+        return this;
+    }
+
+    @Override
+    public int toComparison() {
+        return comparison;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.filterArguments;
+import static java.lang.invoke.MethodHandles.foldArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodHandles.identity;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * <p>
+ * Compiled ordering of a {@link Class} by a sequence of fields. The fields are specified by name and looked up in the
+ * class and its superclasses. If no field name is specified, the {@link FieldPlan#getEqualsFields() equals fields} of
+ * the {@link FieldPlan} of the class are compared, in the order of the plan.
+ * </p>
+ * <p>
+ * The fields are compared in order until the first difference, like by a handwritten comparator. The reflective work
+ * is done exactly once per class and field order: each field getter is unreflected to a {@link MethodHandle} and
+ * composed with the comparison function matching the field type into one {@link MethodHandle} chain. Primitive field
+ * values are neither boxed nor accessed reflectively when a plan is executed. Arrays are ordered like by the
+ * compare-to builder: by their lengths first, then element by element. All other field values must be
+ * {@link Comparable}.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class ComparePlan {
+
+    private static final ClassValue<ConcurrentMap<List<String>, ComparePlan>> PLANS =
+        new ClassValue<ConcurrentMap<List<String>, ComparePlan>>() {
+
+            @Override
+            protected ConcurrentMap<List<String>, ComparePlan> computeValue(final Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private static final MethodHandle ALL_EQUAL =
+        dropArguments(constant(int.class, 0), 0, Object.class, Object.class);
+
+    private static final MethodHandle IS_ZERO;
+
+    // (int, Object, Object)int, returning the field comparison result
+    private static final MethodHandle FIELD_RESULT = dropArguments(identity(int.class), 1, Object.class, Object.class);
+
+    static {
+        try {
+            IS_ZERO = dropArguments(MethodHandles.lookup().findStatic(ComparePlan.class, "isZero",
+                                                                      methodType(boolean.class, int.class)),
+                                    1, Object.class, Object.class);
+        }
+        catch (final NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    private final Class<?> type;
+    private final List<Field> fields;
+    private final MethodHandle compareHandle;
+
+    private ComparePlan(final Class<?> type, final List<Field> fields) {
+        this.type = type;
+        this.fields = Collections.unmodifiableList(fields);
+
+        try {
+            compareHandle = composeCompareHandle(fields);
+        }
+        catch (final IllegalAccessException exception) {
+            throw new FieldPlanException(exception);
+        }
+    }
+
+    /**
+     * Returns the {@link ComparePlan} of the specified {@link Class}, comparing the specified fields. The plan is
+     * created on the first request and cached for all subsequent requests.
+     *
+     * @param type
+     *        {@link Class} of the objects
+     *
+     * @param fieldOrder
+     *        comma separated sequence of {@link String}s specifying the names of the compared fields in the order of
+     *        comparison; none for the equals fields of the {@link FieldPlan} of {@code type}
+     *
+     * @return {@link ComparePlan} of {@code type}
+     *
+     * @throws FieldPlanException
+     *         if a field of {@code type} cannot be found or accessed
+     */
+    public static ComparePlan of(final Class<?> type, final String... fieldOrder)
+        throws FieldPlanException {
+
+        final ConcurrentMap<List<String>, ComparePlan> plans = PLANS.get(type);
+
+        final ComparePlan plan = plans.get(Arrays.asList(fieldOrder));
+        if (plan != null)
+            return plan;
+
+        final List<String> fieldOrderKey = Arrays.asList(fieldOrder.clone());
+        final ComparePlan newPlan = new ComparePlan(type, collectFields(type, fieldOrderKey));
+        final ComparePlan concurrentPlan = plans.putIfAbsent(fieldOrderKey, newPlan);
+
+        return concurrentPlan != null ?
+               concurrentPlan :
+               newPlan;
+    }
+
+    private static List<Field> collectFields(final Class<?> type, final List<String> fieldOrder) {
+        if (fieldOrder.isEmpty())
+            return FieldPlan.of(type).getEqualsFields();
+
+        final List<Field> fields = new ArrayList<>(fieldOrder.size());
+
+        for (final String fieldName : fieldOrder)
+            fields.add(findField(type, fieldName));
+
+        return fields;
+    }
+
+    private static Field findField(final Class<?> type, final String fieldName) {
+        for (Class<?> currentClass = type; currentClass != null; currentClass = currentClass.getSuperclass())
+            try {
+                final Field field = currentClass.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return field;
+            }
+            catch (final NoSuchFieldException exception) {
+                // continue with superclass
+            }
+
+        throw new FieldPlanException(new NoSuchFieldException(type.getName() + "." + fieldName));
+    }
+
+    private static boolean isZero(final int comparison) {
+        return comparison == 0;
+    }
+
+    // (Object, Object)int, evaluating the fields in order and returning the first non-zero comparison
+    private static MethodHandle composeCompareHandle(final List<Field> fields)
+        throws IllegalAccessException {
+        MethodHandle compareHandle = ALL_EQUAL;
+
+        for (int index = fields.size() - 1; index >= 0; index--) {
+            final MethodHandle getter = getter(fields.get(index));
+            final MethodHandle fieldCompare =
+                filterArguments(FieldHandles.compareHandle(getter.type().returnType()), 0, getter, getter);
+            final MethodHandle resultOrNextField =
+                guardWithTest(IS_ZERO, dropArguments(compareHandle, 0, int.class), FIELD_RESULT);
+
+            compareHandle = foldArguments(resultOrNextField, fieldCompare);
+        }
+
+        return compareHandle;
+    }
+
+    private static MethodHandle getter(final Field field)
+        throws IllegalAccessException {
+        final Class<?> valueType = FieldHandles.hasTypedFunctions(field.getType()) ?
+                                   field.getType() :
+                                   Object.class;
+
+        return MethodHandles.lookup().unreflectGetter(field).asType(methodType(valueType, Object.class));
+    }
+
+    /**
+     * Compares the specified objects by the fields of this plan. Both objects must be instances of all classes
+     * declaring the fields of this plan.
+     *
+     * @param object1
+     *        first {@link Object}
+     *
+     * @param object2
+     *        second {@link Object}
+     *
+     * @return negative integer, zero or positive integer if {@code object1} is less than, equal to or greater than
+     *         {@code object2}
+     *
+     * @throws ClassCastException
+     *         if a field value is neither an array nor {@link Comparable} or an object lacks a field of this plan
+     */
+    public int compare(final Object object1, final Object object2) {
+        try {
+            return (int) compareHandle.invokeExact(object1, object2);
+        }
+        catch (final RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (final Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.Compare;
+
+/**
+ * {@link Compare} executing the {@link ComparePlan} of the first compared object. {@code null} is ordered before all
+ * other objects.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class CompiledCompare<Obj>
+    implements Compare<Obj> {
+
+    private final String[] fieldOrder;
+    @Nullable
+    private final ComparePlan typePlan;
+
+    public CompiledCompare(final String... fieldOrder) {
+        this.fieldOrder = fieldOrder.clone();
+        typePlan = null;
+    }
+
+    /**
+     * Creates a new {@link CompiledCompare} resolving the {@link ComparePlan} of the specified {@link Class} in
+     * advance. Comparing instances of exactly this class requires no plan lookup.
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param fieldOrder
+     *        comma separated sequence of {@link String}s specifying the names of the compared fields in the order of
+     *        comparison; none for all equals fields
+     */
+    public CompiledCompare(final Class<?> type, final String... fieldOrder) {
+        this.fieldOrder = fieldOrder.clone();
+        typePlan = ComparePlan.of(type, fieldOrder);
+    }
+
+    @Override
+    public int compare(final Obj object1, final Obj object2) {
+        if (object1 == object2)
+            return 0;
+
+        if (object1 == null)
+            return - 1;
+
+        if (object2 == null)
+            return 1;
+
+        final Class<?> type = object1.getClass();
+
+        if (typePlan != null && type == typePlan.getType())
+            return typePlan.compare(object1, object2);
+
+        return ComparePlan.of(type, fieldOrder).compare(object1, object2);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.reflect.Field;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jlib.basefunctions.ApplicationObject;
+import org.jlib.basefunctions.Diff;
+import org.jlib.basefunctions.FieldDifference;
+import static org.jlib.basefunctions.FieldDifference.ROOT_PATH;
+import org.jlib.basefunctions.graph.IdentityPair;
+
+/**
+ * <p>
+ * {@link Diff} walking the {@link FieldPlan} of the compared objects, the plan also executed by the
+ * {@link CompiledEquals}. Each field is compared by the same compiled function as in equals, so no field value is read
+ * reflectively or boxed unless it differs. The differences are reported in the order of the plan, the walk stops as
+ * soon as the maximum number of differences has been found.
+ * </p>
+ * <p>
+ * Objects of different classes, and {@code null} compared to an object, differ at the {@link FieldDifference#ROOT_PATH
+ * root path}. Differing field values which are {@link ApplicationObject}s of the same class are walked recursively by
+ * their {@link FieldPlan}s, excluding the fields excluded by the nested objects themselves, reporting the paths of the
+ * differing nested fields. A pair of nested objects already being walked on the path to the field, as in a
+ * bidirectional object graph, is reported as a difference at the field instead of being walked again.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class CompiledDiff<Obj>
+    implements Diff<Obj> {
+
+    private final int maximumDifferenceCount;
+    private final String[] excludedFieldNames;
+
+    /**
+     * Creates a new {@link CompiledDiff}.
+     *
+     * @param maximumDifferenceCount
+     *        integer specifying the maximum number of reported differences; {@link Diff#UNLIMITED} for all
+     *        differences
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @throws IllegalArgumentException
+     *         if {@code maximumDifferenceCount} is not positive
+     */
+    public CompiledDiff(final int maximumDifferenceCount, final String... excludedFieldNames) {
+        if (maximumDifferenceCount <= 0)
+            throw new IllegalArgumentException("maximumDifferenceCount " + maximumDifferenceCount +
+                                               " is not positive");
+
+        this.maximumDifferenceCount = maximumDifferenceCount;
+        this.excludedFieldNames = excludedFieldNames.clone();
+    }
+
+    @Override
+    public List<FieldDifference> diff(final Obj object1, final Obj object2) {
+        if (object1 == object2)
+            return Collections.emptyList();
+
+        final List<FieldDifference> differences = new ArrayList<>();
+
+        addDifferences(ROOT_PATH, object1, object2, excludedFieldNames, new HashSet<>(), differences);
+
+        return differences;
+    }
+
+    private void addDifferences(final String path, final Object object1, final Object object2,
+                                final String[] objectExcludedFieldNames, final Set<IdentityPair> pathPairs,
+                                final List<FieldDifference> differences) {
+        if (object1 == null || object2 == null || object1.getClass() != object2.getClass()) {
+            differences.add(new FieldDifference(path, object1, object2));
+            return;
+        }
+
+        final FieldPlan plan = FieldPlan.of(object1.getClass(), objectExcludedFieldNames);
+        final List<Field> fields = plan.getEqualsFields();
+        final IdentityPair pair = new IdentityPair(object1, object2);
+
+        pathPairs.add(pair);
+
+        for (int fieldIndex = 0; fieldIndex < fields.size() && differences.size() < maximumDifferenceCount;
+             fieldIndex++)
+            if (! plan.isFieldEqual(fieldIndex, object1, object2))
+                addFieldDifferences(path, fields.get(fieldIndex), object1, object2, pathPairs, differences);
+
+        pathPairs.remove(pair);
+    }
+
+    private void addFieldDifferences(final String path, final Field field, final Object object1,
+                                     final Object object2, final Set<IdentityPair> pathPairs,
+                                     final List<FieldDifference> differences) {
+        final String fieldPath = path.isEmpty() ?
+                                 field.getName() :
+                                 path + '.' + field.getName();
+        final Object value1 = fieldValue(field, object1);
+        final Object value2 = fieldValue(field, object2);
+
+        if (value1 instanceof ApplicationObject && value2 != null && value1.getClass() == value2.getClass() &&
+            ! pathPairs.contains(new IdentityPair(value1, value2))) {
+            final int previousDifferenceCount = differences.size();
+
+            addDifferences(fieldPath, value1, value2,
+                           ApplicationObject.excludedFieldNamesOf((ApplicationObject) value1), pathPairs, differences);
+
+            if (differences.size() > previousDifferenceCount)
+                return;
+
+            // no nested difference found: the values differ by a custom equals method
+        }
+
+        differences.add(new FieldDifference(fieldPath, value1, value2));
+    }
+
+    private static Object fieldValue(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        }
+        catch (final IllegalAccessException exception) {
+            throw new FieldPlanException(exception);
+        }
+    }
+}
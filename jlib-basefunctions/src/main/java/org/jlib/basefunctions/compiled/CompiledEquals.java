@@ -0,0 +1,121 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.Equals;
+
+/**
+ * <p>
+ * {@link Equals} executing the {@link FieldPlan} of the compared objects.
+ * </p>
+ * <p>
+ * The results equal those of the reflective equals builders: two objects are equal if they are identical or if one is
+ * an instance of the other's class, the more specific class declares no additional compared fields and all compared
+ * fields are equal.
+ * </p>
+ * <p>
+ * The plans are cached per {@link Class} by each {@link CompiledEquals}, so looking them up allocates nothing.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class CompiledEquals<Obj>
+    implements Equals<Obj> {
+
+    private final String[] excludedFieldNames;
+    @Nullable
+    private final FieldPlan typePlan;
+
+    private final ClassValue<FieldPlan> plans = new ClassValue<FieldPlan>() {
+
+        @Override
+        protected FieldPlan computeValue(final Class<?> type) {
+            return FieldPlan.of(type, excludedFieldNames);
+        }
+    };
+
+    public CompiledEquals(final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        typePlan = null;
+    }
+
+    /**
+     * Creates a new {@link CompiledEquals} resolving the {@link FieldPlan} of the specified {@link Class} in advance.
+     * Comparing two instances of exactly this class requires no plan lookup.
+     *
+     * @param type
+     *        {@link Class} of the objects usually compared
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     */
+    public CompiledEquals(final Class<?> type, final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        typePlan = type.isArray() ?
+                   null :
+                   FieldPlan.of(type, excludedFieldNames);
+    }
+
+    @Override
+    public boolean areEqual(final Obj object1, @Nullable final Object object2) {
+        if (object1 == object2)
+            return true;
+
+        if (object1 == null || object2 == null)
+            return false;
+
+        final Class<?> class1 = object1.getClass();
+        final Class<?> class2 = object2.getClass();
+
+        if (typePlan != null && class1 == typePlan.getType() && class2 == class1)
+            return typePlan.areEqual(object1, object2);
+
+        if (class1 == class2)
+            return areEqual(class1, object1, object2);
+
+        if (class1.isInstance(object2))
+            return areEqual(class2, class1, object1, object2);
+
+        if (class2.isInstance(object1))
+            return areEqual(class1, class2, object1, object2);
+
+        return false;
+    }
+
+    private boolean areEqual(final Class<?> type, final Object object1, final Object object2) {
+        if (type.isArray())
+            return FieldHandles.equal(object1, object2);
+
+        return plans.get(type).areEqual(object1, object2);
+    }
+
+    private boolean areEqual(final Class<?> subclass, final Class<?> superclass, final Object object1,
+                             final Object object2) {
+        final FieldPlan plan = plans.get(subclass);
+
+        return plan.isApplicableTo(superclass) && plan.areEqual(object1, object2);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.HashCode;
+
+/**
+ * {@link HashCode} executing the {@link FieldPlan} of the hashed object. The results equal those of the reflective hash
+ * code builders using the initial value 17 and the multiplier 37.
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+public class CompiledHashCode<Obj>
+    implements HashCode<Obj> {
+
+    private final String[] excludedFieldNames;
+    @Nullable
+    private final FieldPlan typePlan;
+
+    private final ClassValue<FieldPlan> plans = new ClassValue<FieldPlan>() {
+
+        @Override
+        protected FieldPlan computeValue(final Class<?> type) {
+            return FieldPlan.of(type, excludedFieldNames);
+        }
+    };
+
+    public CompiledHashCode(final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        typePlan = null;
+    }
+
+    /**
+     * Creates a new {@link CompiledHashCode} resolving the {@link FieldPlan} of the specified {@link Class} in
+     * advance. Hashing an instance of exactly this class requires no plan lookup.
+     *
+     * @param type
+     *        {@link Class} of the hashed objects
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     */
+    public CompiledHashCode(final Class<?> type, final String... excludedFieldNames) {
+        this.excludedFieldNames = excludedFieldNames;
+        typePlan = FieldPlan.of(type, excludedFieldNames);
+    }
+
+    @Override
+    public int hashCode(final Obj object) {
+        final Class<?> type = object.getClass();
+
+        if (typePlan != null && type == typePlan.getType())
+            return typePlan.hashCode(object);
+
+        return plans.get(type).hashCode(object);
+    }
+}
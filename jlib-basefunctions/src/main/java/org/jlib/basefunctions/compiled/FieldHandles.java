@@ -0,0 +1,652 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * <p>
+ * Static comparison and hash code accumulation functions composed by a {@link FieldPlan} and called by generated base
+ * functions code. The semantics mirror the reflective equals and hash code builders: primitive field values behave
+ * like their boxed counterparts, arrays are compared and hashed deeply, element by element. The ordering functions,
+ * composed by a {@link ComparePlan}, order primitive values like their boxed counterparts and {@code null} objects
+ * before all other objects. Like by the compare-to builder, arrays are ordered by their lengths first, then element by
+ * element.
+ * </p>
+ * <p>
+ * Primitive arrays are compared by {@link Arrays#equals(long[], long[])} and its overloads, which the JVM may compile
+ * to vectorized intrinsics. The overloads accepting primitive arrays are used for fields declared with a primitive
+ * array type, avoiding the type dispatch of {@link #equal(Object, Object)}. Primitive arrays are hashed by tight
+ * loops with the hash code builder semantics rather than by {@link Arrays#hashCode(long[])}, so the hash codes stay
+ * equal to those of the reflective builders.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class FieldHandles {
+
+    public static final int INITIAL_HASH_CODE = 17;
+    public static final int HASH_CODE_MULTIPLIER = 37;
+
+    private static final Map<Class<?>, MethodHandle> EQUALS_HANDLES = new HashMap<>();
+    private static final Map<Class<?>, MethodHandle> HASH_CODE_HANDLES = new HashMap<>();
+    private static final Map<Class<?>, MethodHandle> COMPARE_HANDLES = new HashMap<>();
+
+    static {
+        final Class<?>[] valueTypes = { boolean.class, byte.class, char.class, short.class, int.class, long.class,
+                                        float.class, double.class, Object.class,
+                                        boolean[].class, byte[].class, char[].class, short[].class, int[].class,
+                                        long[].class, float[].class, double[].class };
+
+        for (final Class<?> valueType : valueTypes) {
+            EQUALS_HANDLES.put(valueType, findStatic("equal", methodType(boolean.class, valueType, valueType)));
+            HASH_CODE_HANDLES.put(valueType, findStatic("appendHashCode", methodType(int.class, int.class, valueType)));
+        }
+
+        for (final Class<?> valueType : valueTypes)
+            COMPARE_HANDLES.put(valueType, findStatic("compare", methodType(int.class, valueType, valueType)));
+    }
+
+    private FieldHandles() {}
+
+    /**
+     * Verifies whether values of the specified {@link Class} have dedicated comparison and hash code functions.
+     *
+     * @param type
+     *        {@link Class} to verify
+     *
+     * @return {@code true} if {@code type} is a primitive or primitive array type; {@code false} otherwise
+     */
+    static boolean hasTypedFunctions(final Class<?> type) {
+        return type != Object.class && EQUALS_HANDLES.containsKey(type);
+    }
+
+    /**
+     * Returns the {@link MethodHandle} of type {@code (valueType, valueType)boolean} comparing two values.
+     *
+     * @param valueType
+     *        primitive {@link Class}, primitive array {@link Class} or {@link Object}{@code .class}
+     *
+     * @return equality {@link MethodHandle}
+     */
+    static MethodHandle equalsHandle(final Class<?> valueType) {
+        return EQUALS_HANDLES.get(valueType);
+    }
+
+    /**
+     * Returns the {@link MethodHandle} of type {@code (int, valueType)int} appending a value to a hash code total.
+     *
+     * @param valueType
+     *        primitive {@link Class}, primitive array {@link Class} or {@link Object}{@code .class}
+     *
+     * @return hash code accumulation {@link MethodHandle}
+     */
+    static MethodHandle hashCodeHandle(final Class<?> valueType) {
+        return HASH_CODE_HANDLES.get(valueType);
+    }
+
+    /**
+     * Returns the {@link MethodHandle} of type {@code (valueType, valueType)int} comparing two values.
+     *
+     * @param valueType
+     *        primitive {@link Class}, primitive array {@link Class} or {@link Object}{@code .class}
+     *
+     * @return comparison {@link MethodHandle}
+     */
+    static MethodHandle compareHandle(final Class<?> valueType) {
+        return COMPARE_HANDLES.get(valueType);
+    }
+
+    private static MethodHandle findStatic(final String name, final MethodType type) {
+        try {
+            return MethodHandles.lookup().findStatic(FieldHandles.class, name, type);
+        }
+        catch (final NoSuchMethodException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    public static boolean equal(final boolean value1, final boolean value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final byte value1, final byte value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final char value1, final char value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final short value1, final short value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final int value1, final int value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final long value1, final long value2) {
+        return value1 == value2;
+    }
+
+    public static boolean equal(final float value1, final float value2) {
+        return Float.floatToIntBits(value1) == Float.floatToIntBits(value2);
+    }
+
+    public static boolean equal(final double value1, final double value2) {
+        return Double.doubleToLongBits(value1) == Double.doubleToLongBits(value2);
+    }
+
+    public static boolean equal(final Object value1, final Object value2) {
+        if (value1 == value2)
+            return true;
+
+        if (value1 == null || value2 == null)
+            return false;
+
+        if (! value1.getClass().isArray())
+            return value1.equals(value2);
+
+        return value1.getClass() == value2.getClass() && equalArrays(value1, value2);
+    }
+
+    private static boolean equalArrays(final Object array1, final Object array2) {
+        if (array1 instanceof long[])
+            return equal((long[]) array1, (long[]) array2);
+        if (array1 instanceof int[])
+            return equal((int[]) array1, (int[]) array2);
+        if (array1 instanceof short[])
+            return equal((short[]) array1, (short[]) array2);
+        if (array1 instanceof char[])
+            return equal((char[]) array1, (char[]) array2);
+        if (array1 instanceof byte[])
+            return equal((byte[]) array1, (byte[]) array2);
+        if (array1 instanceof double[])
+            return equal((double[]) array1, (double[]) array2);
+        if (array1 instanceof float[])
+            return equal((float[]) array1, (float[]) array2);
+        if (array1 instanceof boolean[])
+            return equal((boolean[]) array1, (boolean[]) array2);
+
+        final Object[] objects1 = (Object[]) array1;
+        final Object[] objects2 = (Object[]) array2;
+
+        if (objects1.length != objects2.length)
+            return false;
+
+        for (int index = 0; index < objects1.length; index++)
+            if (! equal(objects1[index], objects2[index]))
+                return false;
+
+        return true;
+    }
+
+    public static boolean equal(final boolean[] array1, final boolean[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final byte[] array1, final byte[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final char[] array1, final char[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final short[] array1, final short[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final int[] array1, final int[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final long[] array1, final long[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final float[] array1, final float[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static boolean equal(final double[] array1, final double[] array2) {
+        return Arrays.equals(array1, array2);
+    }
+
+    public static int appendHashCode(final int total, final boolean value) {
+        return total * HASH_CODE_MULTIPLIER + Boolean.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final byte value) {
+        return total * HASH_CODE_MULTIPLIER + Byte.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final char value) {
+        return total * HASH_CODE_MULTIPLIER + Character.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final short value) {
+        return total * HASH_CODE_MULTIPLIER + Short.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final int value) {
+        return total * HASH_CODE_MULTIPLIER + Integer.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final long value) {
+        return total * HASH_CODE_MULTIPLIER + Long.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final float value) {
+        return total * HASH_CODE_MULTIPLIER + Float.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final double value) {
+        return total * HASH_CODE_MULTIPLIER + Double.hashCode(value);
+    }
+
+    public static int appendHashCode(final int total, final Object value) {
+        if (value == null)
+            return total * HASH_CODE_MULTIPLIER;
+
+        if (! value.getClass().isArray())
+            return total * HASH_CODE_MULTIPLIER + value.hashCode();
+
+        return appendArrayHashCode(total, value);
+    }
+
+    // array elements are appended like the primitive values of the hash code builders, not like their boxed versions
+    private static int appendArrayHashCode(final int total, final Object array) {
+        if (array instanceof long[])
+            return appendHashCode(total, (long[]) array);
+        if (array instanceof int[])
+            return appendHashCode(total, (int[]) array);
+        if (array instanceof short[])
+            return appendHashCode(total, (short[]) array);
+        if (array instanceof char[])
+            return appendHashCode(total, (char[]) array);
+        if (array instanceof byte[])
+            return appendHashCode(total, (byte[]) array);
+        if (array instanceof double[])
+            return appendHashCode(total, (double[]) array);
+        if (array instanceof float[])
+            return appendHashCode(total, (float[]) array);
+        if (array instanceof boolean[])
+            return appendHashCode(total, (boolean[]) array);
+
+        int objectsTotal = total;
+        for (final Object element : (Object[]) array)
+            objectsTotal = appendHashCode(objectsTotal, element);
+
+        return objectsTotal;
+    }
+
+    // a null array is appended like a null object, an empty array leaves the total unchanged
+
+    public static int appendHashCode(final int initialTotal, final boolean[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final boolean element : array)
+            total = total * HASH_CODE_MULTIPLIER + (element ? 0 : 1);
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final byte[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final byte element : array)
+            total = total * HASH_CODE_MULTIPLIER + element;
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final char[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final char element : array)
+            total = total * HASH_CODE_MULTIPLIER + element;
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final short[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final short element : array)
+            total = total * HASH_CODE_MULTIPLIER + element;
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final int[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final int element : array)
+            total = total * HASH_CODE_MULTIPLIER + element;
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final long[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final long element : array)
+            total = total * HASH_CODE_MULTIPLIER + (int) (element ^ (element >> 32));
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final float[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final float element : array)
+            total = total * HASH_CODE_MULTIPLIER + Float.floatToIntBits(element);
+
+        return total;
+    }
+
+    public static int appendHashCode(final int initialTotal, final double[] array) {
+        if (array == null)
+            return initialTotal * HASH_CODE_MULTIPLIER;
+
+        int total = initialTotal;
+        for (final double element : array) {
+            final long bits = Double.doubleToLongBits(element);
+            total = total * HASH_CODE_MULTIPLIER + (int) (bits ^ (bits >> 32));
+        }
+
+        return total;
+    }
+
+    // primitive values are ordered like their boxed counterparts, null objects before all other objects
+
+    public static int compare(final boolean value1, final boolean value2) {
+        return Boolean.compare(value1, value2);
+    }
+
+    public static int compare(final byte value1, final byte value2) {
+        return Byte.compare(value1, value2);
+    }
+
+    public static int compare(final char value1, final char value2) {
+        return Character.compare(value1, value2);
+    }
+
+    public static int compare(final short value1, final short value2) {
+        return Short.compare(value1, value2);
+    }
+
+    public static int compare(final int value1, final int value2) {
+        return Integer.compare(value1, value2);
+    }
+
+    public static int compare(final long value1, final long value2) {
+        return Long.compare(value1, value2);
+    }
+
+    public static int compare(final float value1, final float value2) {
+        return Float.compare(value1, value2);
+    }
+
+    public static int compare(final double value1, final double value2) {
+        return Double.compare(value1, value2);
+    }
+
+    /**
+     * Compares the specified values, which must be arrays or {@link Comparable} to each other.
+     *
+     * @param value1
+     *        first {@link Object}; {@code null} is allowed
+     *
+     * @param value2
+     *        second {@link Object}; {@code null} is allowed
+     *
+     * @return negative integer, zero or positive integer if {@code value1} is less than, equal to or greater than
+     *         {@code value2}
+     *
+     * @throws ClassCastException
+     *         if the values are neither arrays nor {@link Comparable} to each other
+     */
+    @SuppressWarnings("unchecked")
+    public static int compare(final Object value1, final Object value2) {
+        if (value1 == value2)
+            return 0;
+
+        if (value1 == null)
+            return - 1;
+
+        if (value2 == null)
+            return 1;
+
+        if (! value1.getClass().isArray())
+            return ((Comparable<Object>) value1).compareTo(value2);
+
+        return compareArrays(value1, value2);
+    }
+
+    private static int compareArrays(final Object array1, final Object array2) {
+        if (array1 instanceof long[])
+            return compare((long[]) array1, (long[]) array2);
+        if (array1 instanceof int[])
+            return compare((int[]) array1, (int[]) array2);
+        if (array1 instanceof short[])
+            return compare((short[]) array1, (short[]) array2);
+        if (array1 instanceof char[])
+            return compare((char[]) array1, (char[]) array2);
+        if (array1 instanceof byte[])
+            return compare((byte[]) array1, (byte[]) array2);
+        if (array1 instanceof double[])
+            return compare((double[]) array1, (double[]) array2);
+        if (array1 instanceof float[])
+            return compare((float[]) array1, (float[]) array2);
+        if (array1 instanceof boolean[])
+            return compare((boolean[]) array1, (boolean[]) array2);
+
+        final Object[] objects1 = (Object[]) array1;
+        final Object[] objects2 = (Object[]) array2;
+
+        if (objects1.length != objects2.length)
+            return objects1.length < objects2.length ?
+                   - 1 :
+                   1;
+
+        for (int index = 0; index < objects1.length; index++) {
+            final int comparison = compare(objects1[index], objects2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    // arrays are ordered by their lengths first, then element by element; a null array before all other arrays
+
+    private static int compareNullsOrLengths(final Object array1, final int length1,
+                                             final Object array2, final int length2) {
+        if (array1 == null)
+            return - 1;
+
+        if (array2 == null)
+            return 1;
+
+        return Integer.compare(length1, length2);
+    }
+
+    public static int compare(final boolean[] array1, final boolean[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Boolean.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final byte[] array1, final byte[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Byte.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final char[] array1, final char[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Character.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final short[] array1, final short[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Short.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final int[] array1, final int[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Integer.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final long[] array1, final long[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Long.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final float[] array1, final float[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Float.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    public static int compare(final double[] array1, final double[] array2) {
+        if (array1 == array2)
+            return 0;
+
+        if (array1 == null || array2 == null || array1.length != array2.length)
+            return compareNullsOrLengths(array1, length(array1), array2, length(array2));
+
+        for (int index = 0; index < array1.length; index++) {
+            final int comparison = Double.compare(array1[index], array2[index]);
+            if (comparison != 0)
+                return comparison;
+        }
+
+        return 0;
+    }
+
+    private static int length(final Object array) {
+        return array != null ?
+               Array.getLength(array) :
+               0;
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.invoke.MethodHandles.constant;
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.filterArguments;
+import static java.lang.invoke.MethodHandles.foldArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodType.methodType;
+import org.jlib.basefunctions.ExcludeFromEquals;
+import org.jlib.basefunctions.ExcludeFromHashCode;
+import org.jlib.basefunctions.ExcludeFromToString;
+import static org.jlib.basefunctions.compiled.FieldHandles.INITIAL_HASH_CODE;
+
+/**
+ * <p>
+ * Compiled equals and hash code plan of a {@link Class}. The plan covers the non-static, non-transient fields declared
+ * by the class and all of its superclasses, excluding the specified field names and the synthetic fields containing a
+ * {@code $} in their names, in the order used by the reflective builders: fields of the class itself first, then the
+ * fields of each superclass.
+ * </p>
+ * <p>
+ * Fields annotated by {@link ExcludeFromEquals} are excluded from both operations, fields annotated by
+ * {@link ExcludeFromHashCode} only from the hash code. Fields annotated by {@link ExcludeFromToString} are excluded
+ * from the {@link #getToStringFields() toString fields}, offered to generated code. The annotations are read when the
+ * plan is created, so no field name or annotation is matched when the plan is executed.
+ * </p>
+ * <p>
+ * The reflective work is done exactly once per class and set of excluded field names: each field getter is
+ * unreflected to a {@link MethodHandle} and composed with the comparison and hash code functions matching the field
+ * type into one {@link MethodHandle} chain per operation. Primitive field values are neither boxed nor accessed
+ * reflectively when a plan is executed, primitive array fields are compared by the bulk functions of
+ * {@link java.util.Arrays} without dispatching on the array type.
+ * </p>
+ * <p>
+ * Unlike the reflective builders, a plan keeps no registry of the objects being processed. Like in handwritten
+ * implementations, cyclic object graphs are not detected.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class FieldPlan {
+
+    private static final ClassValue<ConcurrentMap<List<String>, FieldPlan>> PLANS =
+        new ClassValue<ConcurrentMap<List<String>, FieldPlan>>() {
+
+            @Override
+            protected ConcurrentMap<List<String>, FieldPlan> computeValue(final Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private static final MethodHandle ALL_EQUAL =
+        dropArguments(constant(boolean.class, true), 0, Object.class, Object.class);
+
+    private static final MethodHandle NOT_EQUAL =
+        dropArguments(constant(boolean.class, false), 0, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final List<Field> equalsFields;
+    private final List<Field> hashCodeFields;
+    private final List<Field> toStringFields;
+    private final List<MethodHandle> fieldEqualsHandles;
+    private final MethodHandle equalsHandle;
+    private final MethodHandle hashCodeHandle;
+
+    private FieldPlan(final Class<?> type, final List<Field> fields) {
+        this.type = type;
+        equalsFields = Collections.unmodifiableList(without(fields, ExcludeFromEquals.class));
+        hashCodeFields = Collections.unmodifiableList(without(equalsFields, ExcludeFromHashCode.class));
+        toStringFields = Collections.unmodifiableList(without(fields, ExcludeFromToString.class));
+
+        try {
+            fieldEqualsHandles = fieldEqualsHandles(getters(equalsFields));
+            equalsHandle = composeEqualsHandle(fieldEqualsHandles);
+            hashCodeHandle = composeHashCodeHandle(getters(hashCodeFields));
+        }
+        catch (final IllegalAccessException exception) {
+            throw new FieldPlanException(exception);
+        }
+    }
+
+    /**
+     * Returns the {@link FieldPlan} of the specified {@link Class}, excluding the specified fields. The plan is created
+     * on the first request and cached for all subsequent requests.
+     *
+     * @param type
+     *        {@link Class} of the objects
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @return {@link FieldPlan} of {@code type}
+     *
+     * @throws FieldPlanException
+     *         if a field of {@code type} cannot be accessed
+     */
+    public static FieldPlan of(final Class<?> type, final String... excludedFieldNames)
+        throws FieldPlanException {
+
+        final ConcurrentMap<List<String>, FieldPlan> plans = PLANS.get(type);
+
+        final FieldPlan plan = plans.get(Arrays.asList(excludedFieldNames));
+        if (plan != null)
+            return plan;
+
+        final List<String> excludedFieldNamesKey = Arrays.asList(excludedFieldNames.clone());
+        final FieldPlan newPlan = new FieldPlan(type, collectFields(type, excludedFieldNamesKey));
+        final FieldPlan concurrentPlan = plans.putIfAbsent(excludedFieldNamesKey, newPlan);
+
+        return concurrentPlan != null ?
+               concurrentPlan :
+               newPlan;
+    }
+
+    /**
+     * Verifies whether the specified {@link Class} or one of its superclasses declares a field annotated by
+     * {@link ExcludeFromEquals} or {@link ExcludeFromHashCode}.
+     *
+     * @param type
+     *        {@link Class} of the objects
+     *
+     * @return {@code true} if {@code type} excludes annotated fields from equals or hash code; {@code false} otherwise
+     */
+    public static boolean hasExcludedFieldAnnotations(final Class<?> type) {
+        for (Class<?> currentClass = type; currentClass != null; currentClass = currentClass.getSuperclass())
+            for (final Field field : currentClass.getDeclaredFields())
+                if (field.isAnnotationPresent(ExcludeFromEquals.class) ||
+                    field.isAnnotationPresent(ExcludeFromHashCode.class))
+                    return true;
+
+        return false;
+    }
+
+    private static List<Field> collectFields(final Class<?> type, final List<String> excludedFieldNames) {
+        final List<Field> fields = new ArrayList<>();
+
+        for (Class<?> currentClass = type; currentClass != null; currentClass = currentClass.getSuperclass())
+            for (final Field field : currentClass.getDeclaredFields())
+                if (isIncluded(field, excludedFieldNames)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+
+        return fields;
+    }
+
+    private static boolean isIncluded(final Field field, final List<String> excludedFieldNames) {
+        final int modifiers = field.getModifiers();
+
+        return ! Modifier.isStatic(modifiers) &&
+               ! Modifier.isTransient(modifiers) &&
+               field.getName().indexOf('$') == - 1 &&
+               ! excludedFieldNames.contains(field.getName());
+    }
+
+    private static List<Field> without(final List<Field> fields, final Class<? extends Annotation> annotationType) {
+        final List<Field> remainingFields = new ArrayList<>(fields.size());
+
+        for (final Field field : fields)
+            if (! field.isAnnotationPresent(annotationType))
+                remainingFields.add(field);
+
+        return remainingFields;
+    }
+
+    private static List<MethodHandle> getters(final List<Field> fields)
+        throws IllegalAccessException {
+        final List<MethodHandle> getters = new ArrayList<>(fields.size());
+
+        for (final Field field : fields)
+            getters.add(getter(field));
+
+        return getters;
+    }
+
+    private static MethodHandle getter(final Field field)
+        throws IllegalAccessException {
+        return MethodHandles.lookup().unreflectGetter(field)
+                            .asType(methodType(valueType(field), Object.class));
+    }
+
+    // primitive and primitive array fields use their typed functions, all other fields the Object functions
+    private static Class<?> valueType(final Field field) {
+        return FieldHandles.hasTypedFunctions(field.getType()) ?
+               field.getType() :
+               Object.class;
+    }
+
+    // (Object, Object)boolean per field
+    private static List<MethodHandle> fieldEqualsHandles(final List<MethodHandle> getters) {
+        final List<MethodHandle> fieldEqualsHandles = new ArrayList<>(getters.size());
+
+        for (final MethodHandle getter : getters)
+            fieldEqualsHandles.add(filterArguments(FieldHandles.equalsHandle(getter.type().returnType()), 0,
+                                                   getter, getter));
+
+        return Collections.unmodifiableList(fieldEqualsHandles);
+    }
+
+    // (Object, Object)boolean, evaluating the fields in order and stopping at the first difference
+    private static MethodHandle composeEqualsHandle(final List<MethodHandle> fieldEqualsHandles) {
+        MethodHandle equalsHandle = ALL_EQUAL;
+
+        for (int index = fieldEqualsHandles.size() - 1; index >= 0; index--)
+            equalsHandle = guardWithTest(fieldEqualsHandles.get(index), equalsHandle, NOT_EQUAL);
+
+        return equalsHandle;
+    }
+
+    // (Object)int, folding the field values into the hash code total
+    private static MethodHandle composeHashCodeHandle(final List<MethodHandle> getters) {
+        MethodHandle hashCodeHandle = dropArguments(constant(int.class, INITIAL_HASH_CODE), 0, Object.class);
+
+        for (final MethodHandle getter : getters) {
+            final MethodHandle appendField =
+                filterArguments(FieldHandles.hashCodeHandle(getter.type().returnType()), 1, getter);
+
+            hashCodeHandle = foldArguments(appendField, hashCodeHandle);
+        }
+
+        return hashCodeHandle;
+    }
+
+    /**
+     * Verifies whether all fields of this plan are equal in the specified objects. Both objects must be instances of
+     * all classes declaring the fields of this plan.
+     *
+     * @param object1
+     *        first {@link Object}
+     *
+     * @param object2
+     *        second {@link Object}
+     *
+     * @return {@code true} if all fields are equal; {@code false} otherwise
+     */
+    public boolean areEqual(final Object object1, final Object object2) {
+        try {
+            return (boolean) equalsHandle.invokeExact(object1, object2);
+        }
+        catch (final RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (final Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    /**
+     * Verifies whether the specified field of this plan is equal in the specified objects. Both objects must be
+     * instances of the class declaring the field.
+     *
+     * @param fieldIndex
+     *        integer specifying the index of the field in the {@link #getEqualsFields() equals fields}
+     *
+     * @param object1
+     *        first {@link Object}
+     *
+     * @param object2
+     *        second {@link Object}
+     *
+     * @return {@code true} if the field is equal; {@code false} otherwise
+     */
+    public boolean isFieldEqual(final int fieldIndex, final Object object1, final Object object2) {
+        try {
+            return (boolean) fieldEqualsHandles.get(fieldIndex).invokeExact(object1, object2);
+        }
+        catch (final RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (final Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    /**
+     * Computes the hash code of the fields of this plan in the specified {@link Object}.
+     *
+     * @param object
+     *        {@link Object} of which the hash code should be computed
+     *
+     * @return integer specifying the hash code
+     */
+    public int hashCode(final Object object) {
+        try {
+            return (int) hashCodeHandle.invokeExact(object);
+        }
+        catch (final RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (final Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    /**
+     * Verifies whether all fields of this plan are declared by the specified {@link Class} or one of its superclasses.
+     *
+     * @param otherType
+     *        {@link Class} to verify
+     *
+     * @return {@code true} if instances of {@code otherType} contain all fields of this plan; {@code false} otherwise
+     */
+    public boolean isApplicableTo(final Class<?> otherType) {
+        if (otherType == type)
+            return true;
+
+        for (final Field field : equalsFields)
+            if (! field.getDeclaringClass().isAssignableFrom(otherType))
+                return false;
+
+        return true;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public List<Field> getEqualsFields() {
+        return equalsFields;
+    }
+
+    public List<Field> getHashCodeFields() {
+        return hashCodeFields;
+    }
+
+    public List<Field> getToStringFields() {
+        return toStringFields;
+    }
+}
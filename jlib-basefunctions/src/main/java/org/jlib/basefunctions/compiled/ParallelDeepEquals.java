@@ -0,0 +1,301 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.reflect.Array;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * <p>
+ * Deep comparison of two values, splitting the comparison of large random access {@link List}s, arrays and
+ * {@link Map}s into {@link ForkJoinPool} tasks. Smaller values are compared sequentially by
+ * {@link FieldHandles#equal(Object, Object)}.
+ * </p>
+ * <p>
+ * The tasks share a mismatch flag: the first task detecting a difference sets it, all other tasks stop at their next
+ * check and tasks not yet started return immediately. The results equal those of the sequential comparison, provided
+ * the values are not modified concurrently.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+final class ParallelDeepEquals {
+
+    // number of elements compared between two checks of the mismatch flag
+    static final int CHECK_INTERVAL = 1024;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new {@link ParallelDeepEquals}.
+     *
+     * @param threshold
+     *        integer specifying the minimum size of a value compared in parallel; at least {@link #CHECK_INTERVAL}
+     *
+     * @param pool
+     *        {@link ForkJoinPool} executing the tasks
+     */
+    ParallelDeepEquals(final int threshold, final ForkJoinPool pool) {
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    boolean equal(@Nullable final Object value1, @Nullable final Object value2) {
+        if (value1 == value2)
+            return true;
+
+        if (value1 == null || value2 == null)
+            return false;
+
+        if (value1 instanceof List && value1 instanceof RandomAccess && value2 instanceof List &&
+            value2 instanceof RandomAccess && ((List<?>) value1).size() >= threshold)
+            return equalLists((List<?>) value1, (List<?>) value2);
+
+        if (value1 instanceof Map && value2 instanceof Map && ((Map<?, ?>) value1).size() >= threshold)
+            return equalMaps((Map<?, ?>) value1, (Map<?, ?>) value2);
+
+        if (value1.getClass().isArray() && value1.getClass() == value2.getClass() &&
+            Array.getLength(value1) >= threshold)
+            return equalArrays(value1, value2);
+
+        return FieldHandles.equal(value1, value2);
+    }
+
+    // List.equals semantics: elements are compared by their equals methods
+    private boolean equalLists(final List<?> list1, final List<?> list2) {
+        if (list1.size() != list2.size())
+            return false;
+
+        return equalInParallel(list1.size(), (from, to) -> {
+            for (int index = from; index < to; index++)
+                if (! Objects.equals(list1.get(index), list2.get(index)))
+                    return false;
+
+            return true;
+        });
+    }
+
+    // Map.equals semantics: every entry of the first map is contained in the second map of equal size
+    private boolean equalMaps(final Map<?, ?> map1, final Map<?, ?> map2) {
+        if (map1.size() != map2.size())
+            return false;
+
+        final Object[] entries = map1.entrySet().toArray();
+
+        return equalInParallel(entries.length, (from, to) -> {
+            try {
+                for (int index = from; index < to; index++) {
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entries[index];
+                    final Object value2 = map2.get(entry.getKey());
+
+                    if (value2 == null ?
+                        entry.getValue() != null || ! map2.containsKey(entry.getKey()) :
+                        ! value2.equals(entry.getValue()))
+                        return false;
+                }
+
+                return true;
+            }
+            catch (final ClassCastException | NullPointerException exception) {
+                // keys not supported by the second map, like in AbstractMap.equals
+                return false;
+            }
+        });
+    }
+
+    // element semantics of FieldHandles: primitive elements are compared like their boxed versions, others deeply
+    private boolean equalArrays(final Object array1, final Object array2) {
+        final int length = Array.getLength(array1);
+
+        if (length != Array.getLength(array2))
+            return false;
+
+        return equalInParallel(length, rangeComparison(array1, array2));
+    }
+
+    private static RangeComparison rangeComparison(final Object array1, final Object array2) {
+        if (array1 instanceof long[]) {
+            final long[] values1 = (long[]) array1;
+            final long[] values2 = (long[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof int[]) {
+            final int[] values1 = (int[]) array1;
+            final int[] values2 = (int[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof short[]) {
+            final short[] values1 = (short[]) array1;
+            final short[] values2 = (short[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof char[]) {
+            final char[] values1 = (char[]) array1;
+            final char[] values2 = (char[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof byte[]) {
+            final byte[] values1 = (byte[]) array1;
+            final byte[] values2 = (byte[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof double[]) {
+            final double[] values1 = (double[]) array1;
+            final double[] values2 = (double[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (! FieldHandles.equal(values1[index], values2[index]))
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof float[]) {
+            final float[] values1 = (float[]) array1;
+            final float[] values2 = (float[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (! FieldHandles.equal(values1[index], values2[index]))
+                        return false;
+                return true;
+            };
+        }
+        if (array1 instanceof boolean[]) {
+            final boolean[] values1 = (boolean[]) array1;
+            final boolean[] values2 = (boolean[]) array2;
+            return (from, to) -> {
+                for (int index = from; index < to; index++)
+                    if (values1[index] != values2[index])
+                        return false;
+                return true;
+            };
+        }
+
+        final Object[] values1 = (Object[]) array1;
+        final Object[] values2 = (Object[]) array2;
+        return (from, to) -> {
+            for (int index = from; index < to; index++)
+                if (! FieldHandles.equal(values1[index], values2[index]))
+                    return false;
+            return true;
+        };
+    }
+
+    private boolean equalInParallel(final int size, final RangeComparison comparison) {
+        final AtomicBoolean mismatch = new AtomicBoolean();
+        final int leafSize = Math.max(size / (pool.getParallelism() * 4), CHECK_INTERVAL);
+
+        pool.invoke(new RangeComparisonTask(comparison, 0, size, leafSize, mismatch));
+
+        return ! mismatch.get();
+    }
+
+    /**
+     * Comparison of the elements in a range of indices.
+     */
+    @FunctionalInterface
+    private interface RangeComparison {
+
+        boolean equal(int fromIndex, int toIndex);
+    }
+
+    /**
+     * {@link RecursiveAction} comparing a range of indices, split into halves down to the leaf size.
+     */
+    private static final class RangeComparisonTask
+        extends RecursiveAction {
+
+        private static final long serialVersionUID = 2913582349826120546L;
+
+        private final RangeComparison comparison;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int leafSize;
+        private final AtomicBoolean mismatch;
+
+        private RangeComparisonTask(final RangeComparison comparison, final int fromIndex, final int toIndex,
+                                    final int leafSize, final AtomicBoolean mismatch) {
+            this.comparison = comparison;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.leafSize = leafSize;
+            this.mismatch = mismatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (mismatch.get())
+                return;
+
+            if (toIndex - fromIndex <= leafSize) {
+                compareLeaf();
+                return;
+            }
+
+            final int middleIndex = (fromIndex + toIndex) >>> 1;
+            invokeAll(new RangeComparisonTask(comparison, fromIndex, middleIndex, leafSize, mismatch),
+                      new RangeComparisonTask(comparison, middleIndex, toIndex, leafSize, mismatch));
+        }
+
+        private void compareLeaf() {
+            for (int index = fromIndex; index < toIndex && ! mismatch.get(); index += CHECK_INTERVAL)
+                if (! comparison.equal(index, Math.min(index + CHECK_INTERVAL, toIndex))) {
+                    mismatch.set(true);
+                    return;
+                }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.lang.invoke.MethodType.methodType;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.Equals;
+
+/**
+ * <p>
+ * {@link Equals} comparing the {@link List}, {@link Map} and array fields of two instances of the same class in
+ * parallel if they reach a size threshold. The comparison of such a field is split into {@link ForkJoinPool} tasks,
+ * which are all cancelled on the first mismatch. Smaller fields are compared sequentially, so small objects pay no
+ * task overhead.
+ * </p>
+ * <p>
+ * The fields which may hold such values, the fields declared as {@link List}, {@link Map}, array or a supertype of
+ * these, are determined once per class. The remaining fields are compared first by a {@link FieldPlan} excluding
+ * them. Objects of classes without such fields and objects of different classes are compared by the delegate
+ * {@link Equals}. The results equal those of the generic strategies.
+ * </p>
+ * <p>
+ * Like the {@link FieldPlan}, the parallel comparison keeps no registry of the objects being compared. If the delegate
+ * {@link Equals} is a reflective builder registering the compared objects to detect cycles, instances of the same class
+ * with parallelizable fields lose this detection.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class ParallelEquals<Obj>
+    implements Equals<Obj> {
+
+    /**
+     * Minimum threshold, the number of elements compared sequentially between two checks for a mismatch found by
+     * another task.
+     */
+    public static final int MINIMUM_THRESHOLD = ParallelDeepEquals.CHECK_INTERVAL;
+
+    private final Equals<Obj> delegateEquals;
+    private final String[] excludedFieldNames;
+    private final ParallelDeepEquals deepEquals;
+
+    private final ClassValue<ParallelFields> parallelFields = new ClassValue<ParallelFields>() {
+
+        @Override
+        protected ParallelFields computeValue(final Class<?> type) {
+            return new ParallelFields(type, excludedFieldNames);
+        }
+    };
+
+    /**
+     * Creates a new {@link ParallelEquals}.
+     *
+     * @param delegateEquals
+     *        {@link Equals} comparing the objects without parallelizable fields
+     *
+     * @param threshold
+     *        integer specifying the minimum number of elements of a field compared in parallel; at least
+     *        {@value #MINIMUM_THRESHOLD}
+     *
+     * @param pool
+     *        {@link ForkJoinPool} executing the comparison tasks
+     *
+     * @param excludedFieldNames
+     *        comma separated sequence of {@link String}s specifying the names of the excluded fields
+     *
+     * @throws IllegalArgumentException
+     *         if {@code threshold} is less than {@value #MINIMUM_THRESHOLD}
+     */
+    public ParallelEquals(final Equals<Obj> delegateEquals, final int threshold, final ForkJoinPool pool,
+                          final String... excludedFieldNames) {
+        if (threshold < MINIMUM_THRESHOLD)
+            throw new IllegalArgumentException("threshold " + threshold + " is less than " + MINIMUM_THRESHOLD);
+
+        this.delegateEquals = delegateEquals;
+        this.excludedFieldNames = excludedFieldNames;
+        deepEquals = new ParallelDeepEquals(threshold, pool);
+    }
+
+    @Override
+    public boolean areEqual(final Obj object1, @Nullable final Object object2) {
+        if (object1 == object2)
+            return true;
+
+        if (object1 == null || object2 == null || object1.getClass() != object2.getClass() ||
+            object1.getClass().isArray())
+            return delegateEquals.areEqual(object1, object2);
+
+        final ParallelFields fields = parallelFields.get(object1.getClass());
+
+        if (fields.getters.isEmpty())
+            return delegateEquals.areEqual(object1, object2);
+
+        return fields.remainingFieldsPlan.areEqual(object1, object2) && areParallelFieldsEqual(fields, object1, object2);
+    }
+
+    private boolean areParallelFieldsEqual(final ParallelFields fields, final Object object1, final Object object2) {
+        try {
+            for (final MethodHandle getter : fields.getters)
+                if (! deepEquals.equal((Object) getter.invokeExact(object1), (Object) getter.invokeExact(object2)))
+                    return false;
+
+            return true;
+        }
+        catch (final RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (final Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
+
+    private static boolean mayHoldParallelValue(final Class<?> fieldType) {
+        return fieldType.isArray() ||
+               List.class.isAssignableFrom(fieldType) || fieldType.isAssignableFrom(List.class) ||
+               Map.class.isAssignableFrom(fieldType) || fieldType.isAssignableFrom(Map.class);
+    }
+
+    /**
+     * Fields of a class possibly compared in parallel and the {@link FieldPlan} of the remaining fields.
+     */
+    private static final class ParallelFields {
+
+        private final List<MethodHandle> getters;
+        private final FieldPlan remainingFieldsPlan;
+
+        private ParallelFields(final Class<?> type, final String[] excludedFieldNames)
+            throws FieldPlanException {
+            final List<Field> equalsFields = FieldPlan.of(type, excludedFieldNames).getEqualsFields();
+
+            // fields are excluded by name, hence, shadowed fields of the same name are compared in parallel as well
+            final Set<String> parallelFieldNames = new LinkedHashSet<>();
+            for (final Field field : equalsFields)
+                if (mayHoldParallelValue(field.getType()))
+                    parallelFieldNames.add(field.getName());
+
+            final List<MethodHandle> parallelGetters = new ArrayList<>(parallelFieldNames.size());
+            try {
+                for (final Field field : equalsFields)
+                    if (parallelFieldNames.contains(field.getName()))
+                        parallelGetters.add(MethodHandles.lookup().unreflectGetter(field)
+                                                         .asType(methodType(Object.class, Object.class)));
+            }
+            catch (final IllegalAccessException exception) {
+                throw new FieldPlanException(exception);
+            }
+
+            final List<String> remainingExcludedFieldNames = new ArrayList<>(parallelFieldNames);
+            Collections.addAll(remainingExcludedFieldNames, excludedFieldNames);
+
+            getters = parallelGetters;
+            remainingFieldsPlan =
+                FieldPlan.of(type, remainingExcludedFieldNames.toArray(new String[remainingExcludedFieldNames.size()]));
+        }
+    }
+}
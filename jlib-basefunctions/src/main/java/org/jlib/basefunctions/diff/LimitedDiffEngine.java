@@ -0,0 +1,146 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jlib.basefunctions.DiffEngine;
+import org.jlib.basefunctions.FieldDifference;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link DiffEngine} comparing the added values by the equality functions of the {@link FieldHandles}. Once the
+ * maximum number of differences has been found, the subsequent values are not compared. Primitive values are compared
+ * without boxing unless they differ.
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class LimitedDiffEngine<Obj>
+    implements DiffEngine<Obj> {
+
+    private final int maximumDifferenceCount;
+    private final List<FieldDifference> differences = new ArrayList<>();
+
+    /**
+     * Creates a new {@link LimitedDiffEngine}.
+     *
+     * @param maximumDifferenceCount
+     *        integer specifying the maximum number of reported differences;
+     *        {@link org.jlib.basefunctions.Diff#UNLIMITED} for all differences
+     *
+     * @throws IllegalArgumentException
+     *         if {@code maximumDifferenceCount} is not positive
+     */
+    public LimitedDiffEngine(final int maximumDifferenceCount) {
+        if (maximumDifferenceCount <= 0)
+            throw new IllegalArgumentException("maximumDifferenceCount " + maximumDifferenceCount +
+                                               " is not positive");
+
+        this.maximumDifferenceCount = maximumDifferenceCount;
+    }
+
+    private boolean isComplete() {
+        return differences.size() >= maximumDifferenceCount;
+    }
+
+    @Override
+    public <Value> DiffEngine<Obj> add(final String path, final Value thisValue, final Value otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final boolean thisValue, final boolean otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final byte thisValue, final byte otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final char thisValue, final char otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final short thisValue, final short otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final int thisValue, final int otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final long thisValue, final long otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final float thisValue, final float otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public DiffEngine<Obj> add(final String path, final double thisValue, final double otherValue) {
+        if (! isComplete() && ! FieldHandles.equal(thisValue, otherValue))
+            differences.add(new FieldDifference(path, thisValue, otherValue));
+
+        return this;
+    }
+
+    @Override
+    public List<FieldDifference> differences() {
+        return Collections.unmodifiableList(differences);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.Equals;
+
+/**
+ * <p>
+ * {@link Equals} comparing object graphs with cycles and shared sub-objects. Each top-level comparison on a thread
+ * opens an identity-keyed table of the compared pairs of objects, which is shared by all nested comparisons performed
+ * by {@link GraphEquals} instances on the same thread, and discarded when the top-level comparison completes.
+ * </p>
+ * <p>
+ * Each pair of objects is compared at most once by the delegate {@link Equals}; repeated comparisons return the
+ * recorded result. A pair compared again while its comparison is in progress is assumed to be equal, so cycles end
+ * deterministically: two graphs are equal if no difference is found in any of their paths. Comparisons of shared
+ * sub-objects, exponential in the depth of the graph without memoization, take linear time.
+ * </p>
+ * <p>
+ * Comparisons delegated to other threads, for instance by parallel strategies, start their own tables.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the compared objects
+ *
+ * @author Igor Akkerman
+ */
+public class GraphEquals<Obj>
+    implements Equals<Obj> {
+
+    private static final ThreadLocal<Map<IdentityPair, Boolean>> COMPARED_PAIRS = new ThreadLocal<>();
+
+    private final Equals<Obj> delegateEquals;
+
+    public GraphEquals(final Equals<Obj> delegateEquals) {
+        this.delegateEquals = delegateEquals;
+    }
+
+    @Override
+    public boolean areEqual(final Obj object1, @Nullable final Object object2) {
+        if (object1 == object2)
+            return true;
+
+        if (object1 == null || object2 == null)
+            return false;
+
+        final Map<IdentityPair, Boolean> comparedPairs = COMPARED_PAIRS.get();
+        if (comparedPairs != null)
+            return areEqual(comparedPairs, object1, object2);
+
+        final Map<IdentityPair, Boolean> newComparedPairs = new HashMap<>();
+        COMPARED_PAIRS.set(newComparedPairs);
+        try {
+            return areEqual(newComparedPairs, object1, object2);
+        }
+        finally {
+            COMPARED_PAIRS.remove();
+        }
+    }
+
+    private boolean areEqual(final Map<IdentityPair, Boolean> comparedPairs, final Obj object1, final Object object2) {
+        final IdentityPair pair = new IdentityPair(object1, object2);
+
+        final Boolean recordedResult = comparedPairs.putIfAbsent(pair, Boolean.TRUE);
+        if (recordedResult != null)
+            return recordedResult;
+
+        final boolean result = delegateEquals.areEqual(object1, object2);
+        if (! result)
+            comparedPairs.put(pair, Boolean.FALSE);
+
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.graph;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jlib.basefunctions.HashCode;
+
+/**
+ * <p>
+ * {@link HashCode} hashing object graphs with cycles and shared sub-objects. Each top-level computation on a thread
+ * opens an identity-keyed table of the hash codes of the visited objects, which is shared by all nested computations
+ * performed by {@link GraphHashCode} instances on the same thread, and discarded when the top-level computation
+ * completes.
+ * </p>
+ * <p>
+ * The hash code of each object is computed at most once per top-level computation by the delegate {@link HashCode}.
+ * An object reached again while its computation is in progress contributes {@value #CYCLE_HASH_CODE}, so cycles end
+ * deterministically and equal graphs have equal hash codes.
+ * </p>
+ * <p>
+ * The hash codes of nested objects on a cycle depend on the object at which the computation started. Hence, they
+ * must not be cached beyond the top-level computation; {@link #isComputing()} tells whether a computation is in
+ * progress on the current thread.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+public class GraphHashCode<Obj>
+    implements HashCode<Obj> {
+
+    public static final int CYCLE_HASH_CODE = 0;
+
+    private static final ThreadLocal<Map<Object, Integer>> HASH_CODES = new ThreadLocal<>();
+
+    private final HashCode<Obj> delegateHashCode;
+
+    public GraphHashCode(final HashCode<Obj> delegateHashCode) {
+        this.delegateHashCode = delegateHashCode;
+    }
+
+    /**
+     * Verifies whether a {@link GraphHashCode} computation is in progress on the current thread.
+     *
+     * @return {@code true} if a computation is in progress; {@code false} otherwise
+     */
+    public static boolean isComputing() {
+        return HASH_CODES.get() != null;
+    }
+
+    @Override
+    public int hashCode(final Obj object) {
+        final Map<Object, Integer> hashCodes = HASH_CODES.get();
+        if (hashCodes != null)
+            return hashCode(hashCodes, object);
+
+        final Map<Object, Integer> newHashCodes = new IdentityHashMap<>();
+        HASH_CODES.set(newHashCodes);
+        try {
+            return hashCode(newHashCodes, object);
+        }
+        finally {
+            HASH_CODES.remove();
+        }
+    }
+
+    private int hashCode(final Map<Object, Integer> hashCodes, final Obj object) {
+        final Integer recordedHashCode = hashCodes.putIfAbsent(object, CYCLE_HASH_CODE);
+        if (recordedHashCode != null)
+            return recordedHashCode;
+
+        final int hashCode = delegateHashCode.hashCode(object);
+        hashCodes.put(object, hashCode);
+
+        return hashCode;
+    }
+}
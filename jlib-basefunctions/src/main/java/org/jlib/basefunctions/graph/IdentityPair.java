@@ -0,0 +1,54 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.graph;
+
+/**
+ * Ordered pair of objects, equal to another pair if it holds the identical objects in the same order.
+ *
+ * @author Igor Akkerman
+ */
+public final class IdentityPair {
+
+    private final Object first;
+    private final Object second;
+
+    public IdentityPair(final Object first, final Object second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    @SuppressWarnings("ObjectEquality")
+    public boolean equals(final Object otherObject) {
+        if (! (otherObject instanceof IdentityPair))
+            return false;
+
+        final IdentityPair otherPair = (IdentityPair) otherObject;
+
+        return first == otherPair.first && second == otherPair.second;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(first) * 31 + System.identityHashCode(second);
+    }
+}
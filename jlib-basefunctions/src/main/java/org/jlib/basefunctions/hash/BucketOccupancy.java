@@ -0,0 +1,94 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+/**
+ * Occupancy of the buckets of a {@link java.util.HashMap} table of a given size by the hash codes of a sample,
+ * compared to the occupancy expected for uniformly distributed hash codes.
+ *
+ * @author Igor Akkerman
+ */
+public final class BucketOccupancy {
+
+    private final int tableSize;
+    private final int sampleSize;
+    private final int usedBucketCount;
+    private final int maximumBucketSize;
+
+    BucketOccupancy(final int tableSize, final int sampleSize, final int usedBucketCount,
+                    final int maximumBucketSize) {
+        this.tableSize = tableSize;
+        this.sampleSize = sampleSize;
+        this.usedBucketCount = usedBucketCount;
+        this.maximumBucketSize = maximumBucketSize;
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    public int getUsedBucketCount() {
+        return usedBucketCount;
+    }
+
+    public int getMaximumBucketSize() {
+        return maximumBucketSize;
+    }
+
+    /**
+     * Returns the mean number of sample objects per used bucket, the mean length of the chains traversed by a
+     * successful lookup.
+     *
+     * @return double specifying the mean size of the used buckets
+     */
+    public double getMeanUsedBucketSize() {
+        return usedBucketCount == 0 ?
+               0 :
+               (double) sampleSize / usedBucketCount;
+    }
+
+    /**
+     * Returns the number of buckets expected to be used by uniformly distributed hash codes of the same number of
+     * objects.
+     *
+     * @return double specifying the expected number of used buckets
+     */
+    public double getExpectedUsedBucketCount() {
+        return tableSize * (1 - Math.pow(1 - 1.0 / tableSize, sampleSize));
+    }
+
+    /**
+     * Returns the ratio of the used buckets to the expected number of used buckets. Values considerably below
+     * {@code 1} indicate clustering hash codes.
+     *
+     * @return double specifying the ratio
+     */
+    public double getUsedBucketRatio() {
+        return usedBucketCount / getExpectedUsedBucketCount();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tableSize=%d, usedBuckets=%d (expected %.1f), maximumBucketSize=%d", tableSize,
+                             usedBucketCount, getExpectedUsedBucketCount(), maximumBucketSize);
+    }
+}
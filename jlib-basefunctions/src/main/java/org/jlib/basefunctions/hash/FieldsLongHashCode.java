@@ -0,0 +1,92 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import java.lang.reflect.Field;
+
+import org.jlib.basefunctions.LongHashCode;
+import org.jlib.basefunctions.compiled.FieldPlan;
+import org.jlib.basefunctions.compiled.FieldPlanException;
+
+/**
+ * Generic {@link LongHashCode} combining the {@link FieldPlan#getHashCodeFields() hash code fields} of an object by a
+ * {@link HashMixer}, in the order of its {@link FieldPlan}. Primitive field values are read without boxing.
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+public class FieldsLongHashCode<Obj>
+    implements LongHashCode<Obj> {
+
+    private final HashMixer mixer;
+    private final String[] excludedFieldNames;
+
+    public FieldsLongHashCode(final HashMixer mixer, final String... excludedFieldNames) {
+        this.mixer = mixer;
+        this.excludedFieldNames = excludedFieldNames.clone();
+    }
+
+    @Override
+    public long longHashCode(final Obj object) {
+        if (object == null)
+            return LongHashValues.NULL_VALUE;
+
+        long hash = mixer.initialHash();
+        int valueCount = 0;
+
+        for (final Field field : FieldPlan.of(object.getClass(), excludedFieldNames).getHashCodeFields()) {
+            hash = mixer.combine(hash, fieldValue(field, object));
+            valueCount++;
+        }
+
+        return mixer.finish(hash, valueCount);
+    }
+
+    private long fieldValue(final Field field, final Object object) {
+        try {
+            final Class<?> fieldType = field.getType();
+
+            if (! fieldType.isPrimitive())
+                return LongHashValues.of(mixer, field.get(object));
+
+            if (fieldType == long.class)
+                return field.getLong(object);
+
+            if (fieldType == double.class)
+                return LongHashValues.of(field.getDouble(object));
+
+            if (fieldType == float.class)
+                return LongHashValues.of(field.getFloat(object));
+
+            if (fieldType == boolean.class)
+                return LongHashValues.of(field.getBoolean(object));
+
+            // byte, char, short and int are widened
+            return field.getInt(object);
+        }
+        catch (final IllegalAccessException exception) {
+            throw new FieldPlanException(exception);
+        }
+    }
+}
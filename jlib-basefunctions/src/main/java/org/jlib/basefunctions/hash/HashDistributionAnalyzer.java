@@ -0,0 +1,156 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jlib.basefunctions.HashCode;
+
+/**
+ * <p>
+ * Diagnostic tool analyzing the distribution of the hash codes computed by a {@link HashCode} strategy for a sample of
+ * objects, for instance, to detect clustering hash codes of similar keys before they degrade a
+ * {@link java.util.HashMap}. Strategies are compared by analyzing the same sample with each of them.
+ * </p>
+ * <p>
+ * The {@link HashDistributionReport} specifies the collision rate, the {@link BucketOccupancy} of tables of the
+ * specified sizes, indexed like by the {@link java.util.HashMap}, the balance of each hash code bit and
+ * its avalanche between consecutive sample objects. To measure the avalanche of small changes, the sample should be
+ * ordered so consecutive objects differ minimally, for instance, by consecutive identifiers. Equal sample objects
+ * count as collisions, so the sample objects should be distinct.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the sample objects
+ *
+ * @author Igor Akkerman
+ */
+public class HashDistributionAnalyzer<Obj> {
+
+    private final HashCode<? super Obj> hashCode;
+
+    public HashDistributionAnalyzer(final HashCode<? super Obj> hashCode) {
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Analyzes the hash codes of the specified sample.
+     *
+     * @param sample
+     *        {@link List} of the sample objects
+     *
+     * @param tableSizes
+     *        comma separated sequence of powers of two specifying the sizes of the analyzed tables
+     *
+     * @return {@link HashDistributionReport} of {@code sample}
+     *
+     * @throws IllegalArgumentException
+     *         if a table size is not a positive power of two
+     */
+    public HashDistributionReport analyze(final List<? extends Obj> sample, final int... tableSizes) {
+        for (final int tableSize : tableSizes)
+            if (tableSize <= 0 || Integer.bitCount(tableSize) != 1)
+                throw new IllegalArgumentException("table size " + tableSize + " is not a power of two");
+
+        final int[] hashCodes = new int[sample.size()];
+        for (int index = 0; index < hashCodes.length; index++)
+            hashCodes[index] = hashCode.hashCode(sample.get(index));
+
+        final List<BucketOccupancy> bucketOccupancies = new ArrayList<>(tableSizes.length);
+        for (final int tableSize : tableSizes)
+            bucketOccupancies.add(bucketOccupancy(hashCodes, tableSize));
+
+        return new HashDistributionReport(hashCodes.length, distinctCount(hashCodes), bucketOccupancies,
+                                          bitBalance(hashCodes), avalanche(hashCodes));
+    }
+
+    private static int distinctCount(final int[] hashCodes) {
+        if (hashCodes.length == 0)
+            return 0;
+
+        final int[] sortedHashCodes = hashCodes.clone();
+        Arrays.sort(sortedHashCodes);
+
+        int distinctCount = 1;
+        for (int index = 1; index < sortedHashCodes.length; index++)
+            if (sortedHashCodes[index] != sortedHashCodes[index - 1])
+                distinctCount++;
+
+        return distinctCount;
+    }
+
+    private static BucketOccupancy bucketOccupancy(final int[] hashCodes, final int tableSize) {
+        final int[] bucketSizes = new int[tableSize];
+        int usedBucketCount = 0;
+        int maximumBucketSize = 0;
+
+        for (final int hashCode : hashCodes) {
+            final int bucketIndex = bucketIndex(hashCode, tableSize);
+            bucketSizes[bucketIndex]++;
+
+            if (bucketSizes[bucketIndex] == 1)
+                usedBucketCount++;
+
+            maximumBucketSize = Math.max(maximumBucketSize, bucketSizes[bucketIndex]);
+        }
+
+        return new BucketOccupancy(tableSize, hashCodes.length, usedBucketCount, maximumBucketSize);
+    }
+
+    // spreads the higher bits downwards like java.util.HashMap
+    private static int bucketIndex(final int hashCode, final int tableSize) {
+        return (hashCode ^ hashCode >>> 16) & tableSize - 1;
+    }
+
+    private static double[] bitBalance(final int[] hashCodes) {
+        final double[] bitBalance = new double[Integer.SIZE];
+
+        for (final int hashCode : hashCodes)
+            for (int bit = 0; bit < Integer.SIZE; bit++)
+                bitBalance[bit] += hashCode >>> bit & 1;
+
+        return fractions(bitBalance, hashCodes.length);
+    }
+
+    private static double[] avalanche(final int[] hashCodes) {
+        final double[] avalanche = new double[Integer.SIZE];
+
+        for (int index = 1; index < hashCodes.length; index++) {
+            final int changedBits = hashCodes[index] ^ hashCodes[index - 1];
+
+            for (int bit = 0; bit < Integer.SIZE; bit++)
+                avalanche[bit] += changedBits >>> bit & 1;
+        }
+
+        return fractions(avalanche, hashCodes.length - 1);
+    }
+
+    private static double[] fractions(final double[] counts, final int total) {
+        if (total > 0)
+            for (int bit = 0; bit < counts.length; bit++)
+                counts[bit] /= total;
+
+        return counts;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Report of the {@link HashDistributionAnalyzer} on the hash codes of a sample of objects.
+ *
+ * @author Igor Akkerman
+ */
+public final class HashDistributionReport {
+
+    private static final double IDEAL_BIT_PROBABILITY = 0.5;
+
+    private final int sampleSize;
+    private final int distinctHashCodeCount;
+    private final List<BucketOccupancy> bucketOccupancies;
+    private final double[] bitBalance;
+    private final double[] avalanche;
+
+    HashDistributionReport(final int sampleSize, final int distinctHashCodeCount,
+                           final List<BucketOccupancy> bucketOccupancies, final double[] bitBalance,
+                           final double[] avalanche) {
+        this.sampleSize = sampleSize;
+        this.distinctHashCodeCount = distinctHashCodeCount;
+        this.bucketOccupancies = Collections.unmodifiableList(bucketOccupancies);
+        this.bitBalance = bitBalance;
+        this.avalanche = avalanche;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public int getDistinctHashCodeCount() {
+        return distinctHashCodeCount;
+    }
+
+    /**
+     * Returns the number of sample objects sharing their hash code with a preceding sample object.
+     *
+     * @return integer specifying the number of collisions
+     */
+    public int getCollisionCount() {
+        return sampleSize - distinctHashCodeCount;
+    }
+
+    public double getCollisionRate() {
+        return sampleSize == 0 ?
+               0 :
+               (double) getCollisionCount() / sampleSize;
+    }
+
+    public List<BucketOccupancy> getBucketOccupancies() {
+        return bucketOccupancies;
+    }
+
+    /**
+     * Returns the balance of each hash code bit: element {@code i} specifies the fraction of the sample hash codes
+     * having bit {@code i} set. Ideally, each fraction is close to {@code 0.5}.
+     *
+     * @return array of {@link Integer#SIZE} doubles specifying the fractions
+     */
+    public double[] getBitBalance() {
+        return bitBalance.clone();
+    }
+
+    /**
+     * Returns the avalanche of each hash code bit: element {@code i} specifies the fraction of pairs of consecutive
+     * sample objects whose hash codes differ in bit {@code i}. Ideally, each fraction is close to {@code 0.5}.
+     *
+     * @return array of {@link Integer#SIZE} doubles specifying the fractions
+     */
+    public double[] getAvalanche() {
+        return avalanche.clone();
+    }
+
+    /**
+     * Returns the largest deviation of an {@link #getAvalanche() avalanche} fraction from the ideal {@code 0.5}. A
+     * value of {@code 0.5} indicates a bit never or always changing between similar objects.
+     *
+     * @return double from {@code 0} to {@code 0.5} specifying the deviation
+     */
+    public double getMaximumAvalancheBias() {
+        return maximumBias(avalanche);
+    }
+
+    /**
+     * Returns the largest deviation of a {@link #getBitBalance() bit balance} fraction from the ideal {@code 0.5}.
+     *
+     * @return double from {@code 0} to {@code 0.5} specifying the deviation
+     */
+    public double getMaximumBitBalanceBias() {
+        return maximumBias(bitBalance);
+    }
+
+    private static double maximumBias(final double[] fractions) {
+        double maximumBias = 0;
+
+        for (final double fraction : fractions)
+            maximumBias = Math.max(maximumBias, Math.abs(fraction - IDEAL_BIT_PROBABILITY));
+
+        return maximumBias;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+
+        report.append(String.format("sampleSize=%d, collisions=%d (%.2f%%), maximumBitBalanceBias=%.3f, " +
+                                    "maximumAvalancheBias=%.3f", sampleSize, getCollisionCount(),
+                                    getCollisionRate() * 100, getMaximumBitBalanceBias(), getMaximumAvalancheBias()));
+
+        for (final BucketOccupancy bucketOccupancy : bucketOccupancies)
+            report.append(System.lineSeparator()).append(bucketOccupancy);
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+/**
+ * <p>
+ * Mixing function of 64 bit hash codes, combining a sequence of 64 bit values into a hash code with good avalanche
+ * behaviour: every input bit affects each output bit with a probability close to one half.
+ * </p>
+ * <p>
+ * The values are combined like the 8 byte blocks of the respective hash algorithm and the hash code is finished by
+ * its finalization step. As values are combined as numbers rather than bytes, the resulting hash codes do not equal
+ * the hash codes of the algorithms applied to the serialized values.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public enum HashMixer {
+
+    /**
+     * Block step of a single lane of MurmurHash3 x64 and its {@code fmix64} finalization; the 32 bit mixing uses
+     * {@code fmix32}.
+     */
+    MURMUR3 {
+        @Override
+        public long initialHash() {
+            return 0;
+        }
+
+        @Override
+        public long combine(final long hash, final long value) {
+            final long mixedValue = Long.rotateLeft(value * MURMUR3_C1, 31) * MURMUR3_C2;
+
+            return Long.rotateLeft(hash ^ mixedValue, 27) * 5 + MURMUR3_N1;
+        }
+
+        @Override
+        public long finish(final long hash, final int valueCount) {
+            return mix(hash ^ (long) valueCount * Long.BYTES);
+        }
+
+        @Override
+        public long mix(final long hash) {
+            long mixed = hash;
+            mixed ^= mixed >>> 33;
+            mixed *= 0xff51afd7ed558ccdL;
+            mixed ^= mixed >>> 33;
+            mixed *= 0xc4ceb9fe1a85ec53L;
+            return mixed ^ mixed >>> 33;
+        }
+
+        @Override
+        public int mix(final int hash) {
+            int mixed = hash;
+            mixed ^= mixed >>> 16;
+            mixed *= 0x85ebca6b;
+            mixed ^= mixed >>> 13;
+            mixed *= 0xc2b2ae35;
+            return mixed ^ mixed >>> 16;
+        }
+    },
+
+    /**
+     * Block step of xxHash64 with seed {@code 0} and its avalanche finalization; the 32 bit mixing uses the avalanche
+     * of xxHash32.
+     */
+    XXHASH64 {
+        @Override
+        public long initialHash() {
+            return XXHASH64_P5;
+        }
+
+        @Override
+        public long combine(final long hash, final long value) {
+            final long mixedValue = Long.rotateLeft(value * XXHASH64_P2, 31) * XXHASH64_P1;
+
+            return Long.rotateLeft(hash ^ mixedValue, 27) * XXHASH64_P1 + XXHASH64_P4;
+        }
+
+        @Override
+        public long finish(final long hash, final int valueCount) {
+            return mix(hash + (long) valueCount * Long.BYTES);
+        }
+
+        @Override
+        public long mix(final long hash) {
+            long mixed = hash;
+            mixed ^= mixed >>> 33;
+            mixed *= XXHASH64_P2;
+            mixed ^= mixed >>> 29;
+            mixed *= XXHASH64_P3;
+            return mixed ^ mixed >>> 32;
+        }
+
+        @Override
+        public int mix(final int hash) {
+            int mixed = hash;
+            mixed ^= mixed >>> 15;
+            mixed *= 0x85ebca77;
+            mixed ^= mixed >>> 13;
+            mixed *= 0xc2b2ae3d;
+            return mixed ^ mixed >>> 16;
+        }
+    };
+
+    public static final HashMixer DEFAULT_HASH_MIXER = MURMUR3;
+
+    private static final long MURMUR3_C1 = 0x87c37b91114253d5L;
+    private static final long MURMUR3_C2 = 0x4cf5ad432745937fL;
+    private static final long MURMUR3_N1 = 0x52dce729L;
+
+    private static final long XXHASH64_P1 = 0x9E3779B185EBCA87L;
+    private static final long XXHASH64_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XXHASH64_P3 = 0x165667B19E3779F9L;
+    private static final long XXHASH64_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XXHASH64_P5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * Returns the hash code before the first value is combined.
+     *
+     * @return long integer specifying the initial hash code
+     */
+    public abstract long initialHash();
+
+    /**
+     * Combines the specified value into the specified hash code.
+     *
+     * @param hash
+     *        long integer specifying the current hash code
+     *
+     * @param value
+     *        long integer specifying the value
+     *
+     * @return long integer specifying the combined hash code
+     */
+    public abstract long combine(long hash, long value);
+
+    /**
+     * Finishes the specified hash code combined from the specified number of values.
+     *
+     * @param hash
+     *        long integer specifying the combined hash code
+     *
+     * @param valueCount
+     *        integer specifying the number of combined values
+     *
+     * @return long integer specifying the final hash code
+     */
+    public abstract long finish(long hash, int valueCount);
+
+    /**
+     * Mixes the bits of the specified 64 bit hash code.
+     *
+     * @param hash
+     *        long integer specifying the hash code
+     *
+     * @return long integer specifying the mixed hash code
+     */
+    public abstract long mix(long hash);
+
+    /**
+     * Mixes the bits of the specified 32 bit hash code, for instance, the result of {@link Object#hashCode()}.
+     *
+     * @param hash
+     *        integer specifying the hash code
+     *
+     * @return integer specifying the mixed hash code
+     */
+    public abstract int mix(int hash);
+}
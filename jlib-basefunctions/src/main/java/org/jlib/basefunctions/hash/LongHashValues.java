@@ -0,0 +1,175 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.ApplicationObject;
+
+/**
+ * <p>
+ * 64 bit values of objects, combined by a {@link HashMixer} into a 64 bit hash code.
+ * </p>
+ * <p>
+ * {@link ApplicationObject}s are represented by their {@link ApplicationObject#longHashCode() 64 bit hash codes},
+ * {@link Long}s and {@link Double}s by all of their bits, {@link CharSequence}s and arrays by the hash code of their
+ * elements. All other objects are represented by their {@link Object#hashCode() hash codes}.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+final class LongHashValues {
+
+    static final long NULL_VALUE = 0;
+
+    static final long TRUE_VALUE = 1231;
+
+    static final long FALSE_VALUE = 1237;
+
+    private static final int CHARS_PER_VALUE = Long.SIZE / Character.SIZE;
+
+    private LongHashValues() {}
+
+    static long of(final boolean value) {
+        return value ?
+               TRUE_VALUE :
+               FALSE_VALUE;
+    }
+
+    static long of(final float value) {
+        return Float.floatToIntBits(value);
+    }
+
+    static long of(final double value) {
+        return Double.doubleToLongBits(value);
+    }
+
+    static long of(final HashMixer mixer, @Nullable final Object value) {
+        if (value == null)
+            return NULL_VALUE;
+
+        if (value instanceof ApplicationObject)
+            return ((ApplicationObject) value).longHashCode();
+
+        if (value instanceof Long)
+            return (Long) value;
+
+        if (value instanceof Double)
+            return of((double) (Double) value);
+
+        if (value instanceof Float)
+            return of((float) (Float) value);
+
+        if (value instanceof Boolean)
+            return of((boolean) (Boolean) value);
+
+        if (value instanceof CharSequence)
+            return of(mixer, (CharSequence) value);
+
+        if (value.getClass().isArray())
+            return ofArray(mixer, value);
+
+        return value.hashCode();
+    }
+
+    // combines the characters in blocks of four
+    private static long of(final HashMixer mixer, final CharSequence characters) {
+        final int length = characters.length();
+        long hash = mixer.initialHash();
+        long block = 0;
+
+        for (int index = 0; index < length; index++) {
+            block = block << Character.SIZE | characters.charAt(index);
+
+            if (index % CHARS_PER_VALUE == CHARS_PER_VALUE - 1) {
+                hash = mixer.combine(hash, block);
+                block = 0;
+            }
+        }
+
+        if (length % CHARS_PER_VALUE != 0)
+            hash = mixer.combine(hash, block);
+
+        return mixer.finish(hash, length);
+    }
+
+    private static long ofArray(final HashMixer mixer, final Object array) {
+        long hash = mixer.initialHash();
+        final int length;
+
+        if (array instanceof long[]) {
+            final long[] values = (long[]) array;
+            length = values.length;
+            for (final long value : values)
+                hash = mixer.combine(hash, value);
+        }
+        else if (array instanceof int[]) {
+            final int[] values = (int[]) array;
+            length = values.length;
+            for (final int value : values)
+                hash = mixer.combine(hash, value);
+        }
+        else if (array instanceof short[]) {
+            final short[] values = (short[]) array;
+            length = values.length;
+            for (final short value : values)
+                hash = mixer.combine(hash, value);
+        }
+        else if (array instanceof char[]) {
+            final char[] values = (char[]) array;
+            length = values.length;
+            for (final char value : values)
+                hash = mixer.combine(hash, value);
+        }
+        else if (array instanceof byte[]) {
+            final byte[] values = (byte[]) array;
+            length = values.length;
+            for (final byte value : values)
+                hash = mixer.combine(hash, value);
+        }
+        else if (array instanceof boolean[]) {
+            final boolean[] values = (boolean[]) array;
+            length = values.length;
+            for (final boolean value : values)
+                hash = mixer.combine(hash, of(value));
+        }
+        else if (array instanceof double[]) {
+            final double[] values = (double[]) array;
+            length = values.length;
+            for (final double value : values)
+                hash = mixer.combine(hash, of(value));
+        }
+        else if (array instanceof float[]) {
+            final float[] values = (float[]) array;
+            length = values.length;
+            for (final float value : values)
+                hash = mixer.combine(hash, of(value));
+        }
+        else {
+            final Object[] values = (Object[]) array;
+            length = values.length;
+            for (final Object value : values)
+                hash = mixer.combine(hash, of(mixer, value));
+        }
+
+        return mixer.finish(hash, length);
+    }
+}
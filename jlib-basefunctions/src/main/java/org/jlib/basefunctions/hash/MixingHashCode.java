@@ -0,0 +1,50 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import org.jlib.basefunctions.HashCode;
+
+/**
+ * {@link HashCode} mixing the bits of the hash codes computed by a delegate {@link HashCode} by a {@link HashMixer}.
+ * The mixed hash codes keep the consistency with equals, while similar objects get hash codes differing in many bits.
+ *
+ * @param <Obj>
+ *        type of the hashed objects
+ *
+ * @author Igor Akkerman
+ */
+public class MixingHashCode<Obj>
+    implements HashCode<Obj> {
+
+    private final HashCode<Obj> delegateHashCode;
+    private final HashMixer mixer;
+
+    public MixingHashCode(final HashCode<Obj> delegateHashCode, final HashMixer mixer) {
+        this.delegateHashCode = delegateHashCode;
+        this.mixer = mixer;
+    }
+
+    @Override
+    public int hashCode(final Obj object) {
+        return mixer.mix(delegateHashCode.hashCode(object));
+    }
+}
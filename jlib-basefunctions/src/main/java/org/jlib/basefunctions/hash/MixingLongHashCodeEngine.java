@@ -0,0 +1,102 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import org.jlib.basefunctions.LongHashCodeEngine;
+
+/**
+ * {@link LongHashCodeEngine} combining the added values by a {@link HashMixer}. Primitive values are combined without
+ * boxing.
+ *
+ * @param <Obj>
+ *        type of the hashed object
+ *
+ * @author Igor Akkerman
+ */
+public class MixingLongHashCodeEngine<Obj>
+    implements LongHashCodeEngine<Obj> {
+
+    private final HashMixer mixer;
+    private long hash;
+    private int valueCount;
+
+    public MixingLongHashCodeEngine(final HashMixer mixer) {
+        this.mixer = mixer;
+        hash = mixer.initialHash();
+    }
+
+    private LongHashCodeEngine<Obj> addValue(final long value) {
+        hash = mixer.combine(hash, value);
+        valueCount++;
+        return this;
+    }
+
+    @Override
+    public <Value> LongHashCodeEngine<Obj> add(final Value value) {
+        return addValue(LongHashValues.of(mixer, value));
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final boolean value) {
+        return addValue(LongHashValues.of(value));
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final byte value) {
+        return addValue(value);
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final char value) {
+        return addValue(value);
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final short value) {
+        return addValue(value);
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final int value) {
+        return addValue(value);
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final long value) {
+        return addValue(value);
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final float value) {
+        return addValue(LongHashValues.of(value));
+    }
+
+    @Override
+    public LongHashCodeEngine<Obj> add(final double value) {
+        return addValue(LongHashValues.of(value));
+    }
+
+    @Override
+    public long toLongHashCode() {
+        return mixer.finish(hash, valueCount);
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.intern;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+
+/**
+ * <p>
+ * Canonicalizing map replacing equal objects by one shared instance, for instance, to deduplicate large numbers of
+ * equal {@link org.jlib.basefunctions.ApplicationObject}s loaded as reference data. By default, objects are compared
+ * and hashed by their own {@link Object#equals(Object)} and {@link Object#hashCode()} methods, which use the generic
+ * strategies of the registered {@link org.jlib.basefunctions.BaseFunctionsDispatcher} for
+ * {@link org.jlib.basefunctions.ApplicationObject}s. Other {@link Equals} and {@link HashCode} strategies may be
+ * specified.
+ * </p>
+ * <p>
+ * The canonical instances are referenced weakly, so they are discarded when they are no longer used elsewhere. The
+ * entries of discarded instances are removed on subsequent calls. Optionally, the number of entries is bounded: when
+ * the bound is reached, objects not yet interned are returned unchanged and counted as rejections.
+ * </p>
+ * <p>
+ * The entries are kept in a {@link ConcurrentHashMap}: lookups do not lock, insertions lock a single bin. Hits,
+ * misses and rejections are counted by striped {@link LongAdder}s.
+ * </p>
+ * <p>
+ * Interned objects must not be modified in ways affecting their equality.
+ * </p>
+ *
+ * @param <Obj>
+ *        type of the interned objects
+ *
+ * @author Igor Akkerman
+ */
+public class Interner<Obj> {
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final Equals<? super Obj> equals;
+    private final HashCode<? super Obj> hashCode;
+    private final int maximumSize;
+
+    private final ConcurrentMap<Object, WeakKey> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Obj> discardedInstances = new ReferenceQueue<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    public Interner() {
+        this(Object::equals, Object::hashCode, UNBOUNDED);
+    }
+
+    /**
+     * Creates a new unbounded {@link Interner} using the specified strategies.
+     *
+     * @param equals
+     *        {@link Equals} comparing the interned objects
+     *
+     * @param hashCode
+     *        {@link HashCode} of the interned objects, consistent with {@code equals}
+     */
+    public Interner(final Equals<? super Obj> equals, final HashCode<? super Obj> hashCode) {
+        this(equals, hashCode, UNBOUNDED);
+    }
+
+    /**
+     * Creates a new {@link Interner} using the specified strategies.
+     *
+     * @param equals
+     *        {@link Equals} comparing the interned objects
+     *
+     * @param hashCode
+     *        {@link HashCode} of the interned objects, consistent with {@code equals}
+     *
+     * @param maximumSize
+     *        integer specifying the maximum number of entries; {@link #UNBOUNDED} for no bound
+     *
+     * @throws IllegalArgumentException
+     *         if {@code maximumSize} is not positive
+     */
+    public Interner(final Equals<? super Obj> equals, final HashCode<? super Obj> hashCode, final int maximumSize) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("maximumSize " + maximumSize + " is not positive");
+
+        this.equals = equals;
+        this.hashCode = hashCode;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the canonical instance equal to the specified object. If no equal object has been interned, the
+     * specified object becomes the canonical instance, unless the maximum size is reached.
+     *
+     * @param object
+     *        {@link Object} to intern
+     *
+     * @return canonical instance equal to {@code object}; {@code object} itself if it becomes the canonical instance
+     *         or the maximum size is reached
+     *
+     * @throws NullPointerException
+     *         if {@code object} is {@code null}
+     */
+    public Obj intern(final Obj object) {
+        if (object == null)
+            throw new NullPointerException("object");
+
+        removeDiscardedEntries();
+
+        final int objectHashCode = hashCode.hashCode(object);
+        WeakKey existingKey = entries.get(new LookupKey(object, objectHashCode));
+
+        while (true) {
+            if (existingKey != null) {
+                final Obj canonicalInstance = existingKey.get();
+                if (canonicalInstance != null) {
+                    hitCount.increment();
+                    return canonicalInstance;
+                }
+
+                entries.remove(existingKey, existingKey);
+            }
+
+            if (entries.size() >= maximumSize) {
+                rejectionCount.increment();
+                return object;
+            }
+
+            final WeakKey newKey = new WeakKey(object, objectHashCode);
+            existingKey = entries.putIfAbsent(newKey, newKey);
+
+            if (existingKey == null) {
+                missCount.increment();
+                return object;
+            }
+        }
+    }
+
+    private void removeDiscardedEntries() {
+        for (Reference<? extends Obj> discardedKey = discardedInstances.poll(); discardedKey != null;
+             discardedKey = discardedInstances.poll())
+            entries.remove(discardedKey, discardedKey);
+    }
+
+    // clears and enqueues the reference to the canonical instance equal to the object, as the garbage collector does
+    // when the instance is discarded; for tests, which cannot rely on the garbage collector running
+    void discardCanonicalInstance(final Obj object) {
+        final WeakKey key = entries.get(new LookupKey(object, hashCode.hashCode(object)));
+        if (key == null)
+            return;
+
+        key.clear();
+        key.enqueue();
+    }
+
+    /**
+     * Returns the number of entries, including the entries of discarded instances not yet removed.
+     *
+     * @return integer specifying the number of entries
+     */
+    public int size() {
+        removeDiscardedEntries();
+
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * Returns the fraction of the calls of {@link #intern(Object)} returning a previously interned instance.
+     *
+     * @return double from {@code 0} to {@code 1} specifying the hit rate; {@code 0} if no object has been interned
+     */
+    public double getHitRate() {
+        final long hits = hitCount.sum();
+        final long calls = hits + missCount.sum() + rejectionCount.sum();
+
+        return calls == 0 ?
+               0 :
+               (double) hits / calls;
+    }
+
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        rejectionCount.reset();
+    }
+
+    // key looking up an entry, referencing the object strongly
+    private final class LookupKey {
+
+        private final Obj object;
+        private final int objectHashCode;
+
+        private LookupKey(final Obj object, final int objectHashCode) {
+            this.object = object;
+            this.objectHashCode = objectHashCode;
+        }
+
+        @Override
+        @SuppressWarnings({ "unchecked", "EqualsWhichDoesntCheckParameterClass" })
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof Interner.WeakKey))
+                return false;
+
+            final WeakKey other = (WeakKey) otherObject;
+            final Obj otherInstance = other.get();
+
+            return objectHashCode == other.objectHashCode &&
+                   otherInstance != null &&
+                   equals.areEqual(object, otherInstance);
+        }
+
+        @Override
+        public int hashCode() {
+            return objectHashCode;
+        }
+    }
+
+    // key and value of an entry, referencing the canonical instance weakly
+    private final class WeakKey
+        extends WeakReference<Obj> {
+
+        private final int objectHashCode;
+
+        private WeakKey(final Obj object, final int objectHashCode) {
+            super(object, discardedInstances);
+            this.objectHashCode = objectHashCode;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof Interner.WeakKey))
+                return false;
+
+            final WeakKey other = (WeakKey) otherObject;
+            final Obj instance = get();
+            final Obj otherInstance = other.get();
+
+            return objectHashCode == other.objectHashCode &&
+                   instance != null &&
+                   otherInstance != null &&
+                   equals.areEqual(instance, otherInstance);
+        }
+
+        @Override
+        public int hashCode() {
+            return objectHashCode;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples the bytes allocated by the current thread using the {@link com.sun.management.ThreadMXBean}. If the
+ * {@link ThreadMXBean} of the platform does not support measuring allocations, no call is sampled.
+ *
+ * @author Igor Akkerman
+ */
+final class AllocationMeter {
+
+    static final long NOT_SAMPLED = - 1;
+
+    static final int NEVER = 0;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = allocationMeasuringThreadMXBean();
+
+    private final int samplingInterval;
+
+    /**
+     * Creates a new {@link AllocationMeter}.
+     *
+     * @param samplingInterval
+     *        integer specifying the mean number of calls per sampled call; {@link #NEVER} to sample no call
+     */
+    AllocationMeter(final int samplingInterval) {
+        this.samplingInterval = THREAD_MX_BEAN != null ?
+                                samplingInterval :
+                                NEVER;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMeasuringThreadMXBean() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if (! (threadMXBean instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+        final com.sun.management.ThreadMXBean allocationThreadMXBean =
+            (com.sun.management.ThreadMXBean) threadMXBean;
+
+        if (! allocationThreadMXBean.isThreadAllocatedMemorySupported())
+            return null;
+
+        if (! allocationThreadMXBean.isThreadAllocatedMemoryEnabled())
+            allocationThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        return allocationThreadMXBean;
+    }
+
+    /**
+     * Decides randomly whether the current call is sampled and, if so, returns the number of bytes allocated by the
+     * current thread so far. The random decision keeps the sampling free of shared state.
+     *
+     * @return long integer specifying the allocated bytes if the call is sampled; {@link #NOT_SAMPLED} otherwise
+     */
+    long sampleStart() {
+        if (samplingInterval == NEVER || ThreadLocalRandom.current().nextInt(samplingInterval) != 0)
+            return NOT_SAMPLED;
+
+        return allocatedBytes();
+    }
+
+    long allocatedBytes() {
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
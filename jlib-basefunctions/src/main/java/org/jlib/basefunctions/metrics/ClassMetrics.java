@@ -0,0 +1,92 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.EQUALS;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.HASH_CODE;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.TO_STRING;
+
+/**
+ * {@link OperationMetrics} of each {@link BaseFunctionsOperation} on the objects of one class. The class is referenced
+ * weakly, so registered metrics do not prevent the class and its {@link ClassLoader} from being unloaded.
+ *
+ * @author Igor Akkerman
+ */
+public final class ClassMetrics
+    implements ClassMetricsMXBean {
+
+    private final Reference<Class<?>> type;
+    private final String className;
+    private final OperationMetrics[] operationMetrics = new OperationMetrics[BaseFunctionsOperation.values().length];
+
+    ClassMetrics(final Class<?> type, final AllocationMeter allocationMeter) {
+        this.type = new WeakReference<>(type);
+        className = type.getName();
+
+        for (int index = 0; index < operationMetrics.length; index++)
+            operationMetrics[index] = new OperationMetrics(allocationMeter);
+    }
+
+    /**
+     * Returns the {@link Class} of the processed objects.
+     *
+     * @return {@link Class} of the processed objects; {@code null} if it has been unloaded
+     */
+    @Nullable
+    public Class<?> getType() {
+        return type.get();
+    }
+
+    public OperationMetrics of(final BaseFunctionsOperation operation) {
+        return operationMetrics[operation.ordinal()];
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public OperationMetricsSnapshot getEquals() {
+        return of(EQUALS).snapshot();
+    }
+
+    @Override
+    public OperationMetricsSnapshot getHashCode() {
+        return of(HASH_CODE).snapshot();
+    }
+
+    @Override
+    public OperationMetricsSnapshot getToString() {
+        return of(TO_STRING).snapshot();
+    }
+
+    @Override
+    public void reset() {
+        for (final OperationMetrics metrics : operationMetrics)
+            metrics.reset();
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.Compare;
+import org.jlib.basefunctions.CompareEngine;
+import org.jlib.basefunctions.Diff;
+import org.jlib.basefunctions.DiffEngine;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.EqualsEngine;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.HashCodeEngine;
+import org.jlib.basefunctions.LazyEqualsEngine;
+import org.jlib.basefunctions.LongHashCode;
+import org.jlib.basefunctions.LongHashCodeEngine;
+import org.jlib.basefunctions.ToString;
+import org.jlib.basefunctions.ToStringEngine;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.EQUALS;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.HASH_CODE;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.TO_STRING;
+
+/**
+ * <p>
+ * {@link BaseFunctionsDispatcher} decorating a delegate {@link BaseFunctionsDispatcher} and recording
+ * {@link ClassMetrics} of the generic {@link Equals}, {@link HashCode} and {@link ToString} strategies per class of
+ * the processed objects: the number of calls, a latency histogram and the bytes allocated by a random sample of the
+ * calls. Latencies are inclusive: the time spent on a nested object counts for the nested and the enclosing class.
+ * </p>
+ * <p>
+ * The metrics of a class are created on its first call and, if an {@link MBeanServer} is specified, registered as a
+ * {@link ClassMetricsMXBean} named {@value #OBJECT_NAME_DOMAIN}{@code :type=ClassMetrics,dispatcher=<name>,class=<class
+ * name>}. Classes are looked up in a {@link ClassValue}, and all values are recorded by striped counters.
+ * </p>
+ * <p>
+ * Neither the metrics nor the registered MBeans keep the processed classes reachable, so classes loaded by
+ * redeployable {@link ClassLoader}s can be unloaded. The MBeans themselves remain registered until they are removed by
+ * {@link #unregister(Class)} or {@link #close()}.
+ * </p>
+ * <p>
+ * The engines are handed out by the delegate without instrumentation, since their work is performed by the calling
+ * code. The {@link LongHashCode}, {@link Compare} and {@link Diff} strategies are not instrumented either.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public class InstrumentedBaseFunctionsDispatcher
+    implements BaseFunctionsDispatcher, AutoCloseable {
+
+    public static final String OBJECT_NAME_DOMAIN = "org.jlib.basefunctions";
+
+    public static final String DEFAULT_NAME = "default";
+
+    public static final int DEFAULT_ALLOCATION_SAMPLING_INTERVAL = 64;
+
+    private final BaseFunctionsDispatcher delegateBaseFunctionsDispatcher;
+    private final String name;
+    @Nullable
+    private final MBeanServer mBeanServer;
+    private final AllocationMeter allocationMeter;
+
+    // weakly keyed, since the ClassMetrics reference their classes weakly as well
+    private final Map<Class<?>, ClassMetrics> allClassMetrics = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<ObjectName> registeredObjectNames = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    private final ClassValue<ClassMetrics> classMetrics = new ClassValue<ClassMetrics>() {
+
+        @Override
+        protected ClassMetrics computeValue(final Class<?> type) {
+            return allClassMetrics.computeIfAbsent(type, InstrumentedBaseFunctionsDispatcher.this::createClassMetrics);
+        }
+    };
+
+    /**
+     * Creates a new {@link InstrumentedBaseFunctionsDispatcher} named {@value #DEFAULT_NAME}, registering its metrics
+     * in the platform {@link MBeanServer} and sampling the allocations of every
+     * {@value #DEFAULT_ALLOCATION_SAMPLING_INTERVAL}th call on average.
+     *
+     * @param delegateBaseFunctionsDispatcher
+     *        instrumented {@link BaseFunctionsDispatcher}
+     */
+    public InstrumentedBaseFunctionsDispatcher(final BaseFunctionsDispatcher delegateBaseFunctionsDispatcher) {
+        this(delegateBaseFunctionsDispatcher, DEFAULT_NAME, ManagementFactory.getPlatformMBeanServer(),
+             DEFAULT_ALLOCATION_SAMPLING_INTERVAL);
+    }
+
+    /**
+     * Creates a new {@link InstrumentedBaseFunctionsDispatcher}.
+     *
+     * @param delegateBaseFunctionsDispatcher
+     *        instrumented {@link BaseFunctionsDispatcher}
+     *
+     * @param name
+     *        {@link String} specifying the name of this dispatcher in the names of the registered MBeans
+     *
+     * @param mBeanServer
+     *        {@link MBeanServer} in which the metrics are registered; {@code null} to register no metrics
+     *
+     * @param allocationSamplingInterval
+     *        integer specifying the mean number of calls per call of which the allocations are measured;
+     *        {@code 0} to measure no allocations
+     */
+    public InstrumentedBaseFunctionsDispatcher(final BaseFunctionsDispatcher delegateBaseFunctionsDispatcher,
+                                               final String name, @Nullable final MBeanServer mBeanServer,
+                                               final int allocationSamplingInterval) {
+        this.delegateBaseFunctionsDispatcher = delegateBaseFunctionsDispatcher;
+        this.name = name;
+        this.mBeanServer = mBeanServer;
+        allocationMeter = new AllocationMeter(allocationSamplingInterval);
+    }
+
+    private ClassMetrics createClassMetrics(final Class<?> type) {
+        final ClassMetrics metrics = new ClassMetrics(type, allocationMeter);
+
+        if (mBeanServer != null && ! closed)
+            register(type, metrics, mBeanServer);
+
+        return metrics;
+    }
+
+    // a failed registration, for instance, by a concurrent dispatcher of the same name, does not affect the recording
+    private void register(final Class<?> type, final ClassMetrics metrics, final MBeanServer server) {
+        try {
+            final ObjectName objectName = objectName(type);
+            server.registerMBean(metrics, objectName);
+            registeredObjectNames.add(objectName);
+        }
+        catch (final JMException exception) {
+            // metrics remain available through metricsOf
+        }
+    }
+
+    /**
+     * Removes the {@link ClassMetrics} of the specified {@link Class} and their MBean. The metrics are created anew
+     * when the next object of the class is processed.
+     *
+     * @param type
+     *        {@link Class} of the processed objects
+     */
+    public void unregister(final Class<?> type) {
+        allClassMetrics.remove(type);
+        classMetrics.remove(type);
+
+        try {
+            unregister(objectName(type));
+        }
+        catch (final JMException exception) {
+            // the name of a class is always valid
+        }
+    }
+
+    /**
+     * Removes all MBeans registered by this {@link InstrumentedBaseFunctionsDispatcher}. The metrics are still
+     * recorded, but the metrics of further classes are not registered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        for (final ObjectName objectName : registeredObjectNames)
+            unregister(objectName);
+    }
+
+    private void unregister(final ObjectName objectName) {
+        if (mBeanServer == null || ! registeredObjectNames.remove(objectName))
+            return;
+
+        try {
+            mBeanServer.unregisterMBean(objectName);
+        }
+        catch (final JMException exception) {
+            // already unregistered by another party
+        }
+    }
+
+    /**
+     * Returns the {@link ObjectName} of the {@link ClassMetricsMXBean} of the specified {@link Class}.
+     *
+     * @param type
+     *        {@link Class} of the processed objects
+     *
+     * @return {@link ObjectName} of the metrics of {@code type}
+     *
+     * @throws JMException
+     *         if the name is not valid
+     */
+    public ObjectName objectName(final Class<?> type)
+        throws JMException {
+        return new ObjectName(OBJECT_NAME_DOMAIN + ":type=ClassMetrics" +
+                              ",dispatcher=" + ObjectName.quote(name) +
+                              ",class=" + ObjectName.quote(type.getName()));
+    }
+
+    /**
+     * Returns the {@link ClassMetrics} of the specified {@link Class}, creating them if no object of the class has
+     * been processed yet.
+     *
+     * @param type
+     *        {@link Class} of the processed objects
+     *
+     * @return {@link ClassMetrics} of {@code type}
+     */
+    public ClassMetrics metricsOf(final Class<?> type) {
+        return classMetrics.get(type);
+    }
+
+    public Collection<ClassMetrics> getAllClassMetrics() {
+        synchronized (allClassMetrics) {
+            return Collections.unmodifiableCollection(new ArrayList<>(allClassMetrics.values()));
+        }
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals() {
+        return instrumented(delegateBaseFunctionsDispatcher.genericEquals());
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final String... excludedFields) {
+        return instrumented(delegateBaseFunctionsDispatcher.genericEquals(excludedFields));
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        return instrumented(delegateBaseFunctionsDispatcher.genericEquals(type, excludedFields));
+    }
+
+    @Override
+    public <Obj> EqualsEngine<Obj> equalsEngine(final Obj thiz, final Object other) {
+        return delegateBaseFunctionsDispatcher.equalsEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> LazyEqualsEngine<Obj> lazyEqualsEngine(final Obj thiz, final Object other) {
+        return delegateBaseFunctionsDispatcher.lazyEqualsEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode() {
+        return instrumented(delegateBaseFunctionsDispatcher.genericHashCode());
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final String... excludedFields) {
+        return instrumented(delegateBaseFunctionsDispatcher.genericHashCode(excludedFields));
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        return instrumented(delegateBaseFunctionsDispatcher.genericHashCode(type, excludedFields));
+    }
+
+    @Override
+    public <Obj> HashCodeEngine<Obj> hashCodeEngine(final Obj object) {
+        return delegateBaseFunctionsDispatcher.hashCodeEngine(object);
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode() {
+        return delegateBaseFunctionsDispatcher.genericLongHashCode();
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode(final String... excludedFields) {
+        return delegateBaseFunctionsDispatcher.genericLongHashCode(excludedFields);
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode(final Class<? extends Obj> type,
+                                                       final String... excludedFields) {
+        return delegateBaseFunctionsDispatcher.genericLongHashCode(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> LongHashCodeEngine<Obj> longHashCodeEngine(final Obj object) {
+        return delegateBaseFunctionsDispatcher.longHashCodeEngine(object);
+    }
+
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final String... fieldOrder) {
+        return delegateBaseFunctionsDispatcher.genericCompare(fieldOrder);
+    }
+
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final Class<? extends Obj> type, final String... fieldOrder) {
+        return delegateBaseFunctionsDispatcher.genericCompare(type, fieldOrder);
+    }
+
+    @Override
+    public <Obj> CompareEngine<Obj> compareEngine(final Obj thiz, final Obj other) {
+        return delegateBaseFunctionsDispatcher.compareEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> Diff<Obj> genericDiff(final String... excludedFields) {
+        return delegateBaseFunctionsDispatcher.genericDiff(excludedFields);
+    }
+
+    @Override
+    public <Obj> Diff<Obj> genericDiff(final int maximumDifferenceCount, final String... excludedFields) {
+        return delegateBaseFunctionsDispatcher.genericDiff(maximumDifferenceCount, excludedFields);
+    }
+
+    @Override
+    public <Obj> DiffEngine<Obj> diffEngine(final Obj thiz, final Obj other, final int maximumDifferenceCount) {
+        return delegateBaseFunctionsDispatcher.diffEngine(thiz, other, maximumDifferenceCount);
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString() {
+        return instrumented(delegateBaseFunctionsDispatcher.genericToString());
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString(final Class<? extends Obj> type, final String... excludedFields) {
+        return instrumented(delegateBaseFunctionsDispatcher.genericToString(type, excludedFields));
+    }
+
+    @Override
+    public <Obj> ToStringEngine<Obj> toStringEngine(final Obj object) {
+        return delegateBaseFunctionsDispatcher.toStringEngine(object);
+    }
+
+    private <Obj> Equals<Obj> instrumented(final Equals<Obj> equals) {
+        return (object1, object2) -> {
+            if (object1 == null)
+                return equals.areEqual(object1, object2);
+
+            final OperationMetrics metrics = metricsOf(object1.getClass()).of(EQUALS);
+            final long allocationSampleStart = metrics.allocationSampleStart();
+            final long startNanos = System.nanoTime();
+            try {
+                return equals.areEqual(object1, object2);
+            }
+            finally {
+                metrics.record(startNanos, allocationSampleStart);
+            }
+        };
+    }
+
+    private <Obj> HashCode<Obj> instrumented(final HashCode<Obj> hashCode) {
+        return object -> {
+            if (object == null)
+                return hashCode.hashCode(object);
+
+            final OperationMetrics metrics = metricsOf(object.getClass()).of(HASH_CODE);
+            final long allocationSampleStart = metrics.allocationSampleStart();
+            final long startNanos = System.nanoTime();
+            try {
+                return hashCode.hashCode(object);
+            }
+            finally {
+                metrics.record(startNanos, allocationSampleStart);
+            }
+        };
+    }
+
+    private <Obj> ToString<Obj> instrumented(final ToString<Obj> toString) {
+        return new InstrumentedToString<>(toString);
+    }
+
+    private final class InstrumentedToString<Obj>
+        implements ToString<Obj> {
+
+        private final ToString<Obj> delegateToString;
+
+        private InstrumentedToString(final ToString<Obj> delegateToString) {
+            this.delegateToString = delegateToString;
+        }
+
+        @Override
+        public String toString(final Obj object) {
+            if (object == null)
+                return delegateToString.toString(object);
+
+            final OperationMetrics metrics = metricsOf(object.getClass()).of(TO_STRING);
+            final long allocationSampleStart = metrics.allocationSampleStart();
+            final long startNanos = System.nanoTime();
+            try {
+                return delegateToString.toString(object);
+            }
+            finally {
+                metrics.record(startNanos, allocationSampleStart);
+            }
+        }
+
+        @Override
+        public StringBuilder appendTo(final StringBuilder builder, final Obj object) {
+            if (object == null)
+                return delegateToString.appendTo(builder, object);
+
+            final OperationMetrics metrics = metricsOf(object.getClass()).of(TO_STRING);
+            final long allocationSampleStart = metrics.allocationSampleStart();
+            final long startNanos = System.nanoTime();
+            try {
+                return delegateToString.appendTo(builder, object);
+            }
+            finally {
+                metrics.record(startNanos, allocationSampleStart);
+            }
+        }
+
+        @Override
+        public Appendable appendTo(final Appendable appendable, final Obj object)
+            throws IOException {
+            if (object == null)
+                return delegateToString.appendTo(appendable, object);
+
+            final OperationMetrics metrics = metricsOf(object.getClass()).of(TO_STRING);
+            final long allocationSampleStart = metrics.allocationSampleStart();
+            final long startNanos = System.nanoTime();
+            try {
+                return delegateToString.appendTo(appendable, object);
+            }
+            finally {
+                metrics.record(startNanos, allocationSampleStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.jlib.basefunctions.metrics.AllocationMeter.NOT_SAMPLED;
+
+/**
+ * <p>
+ * Metrics of one {@link BaseFunctionsOperation} on the objects of one class: the number of calls, their latency in a
+ * histogram of power-of-two buckets and the bytes allocated by the sampled calls.
+ * </p>
+ * <p>
+ * All values are recorded by striped {@link LongAdder}s, so concurrent calls do not contend on a shared counter.
+ * Snapshots are not atomic: values recorded while a snapshot is taken may be contained partially.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public final class OperationMetrics {
+
+    /**
+     * Number of latency histogram buckets. Bucket {@code i} counts the calls taking from {@code 2^i} to
+     * {@code 2^(i + 1) - 1} nanoseconds; bucket {@code 0} also counts the calls measured as taking no time.
+     */
+    public static final int LATENCY_BUCKET_COUNT = Long.SIZE - 1;
+
+    private final AllocationMeter allocationMeter;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAdder[] latencyHistogram = new LongAdder[LATENCY_BUCKET_COUNT];
+    private final LongAdder allocationSamples = new LongAdder();
+    private final LongAdder sampledAllocatedBytes = new LongAdder();
+
+    OperationMetrics(final AllocationMeter allocationMeter) {
+        this.allocationMeter = allocationMeter;
+
+        for (int bucket = 0; bucket < LATENCY_BUCKET_COUNT; bucket++)
+            latencyHistogram[bucket] = new LongAdder();
+    }
+
+    long allocationSampleStart() {
+        return allocationMeter.sampleStart();
+    }
+
+    /**
+     * Records a completed call.
+     *
+     * @param startNanos
+     *        long integer specifying the {@link System#nanoTime()} at the start of the call
+     *
+     * @param allocationSampleStart
+     *        long integer specifying the value returned by {@link #allocationSampleStart()} at the start of the call
+     */
+    void record(final long startNanos, final long allocationSampleStart) {
+        final long latencyNanos = System.nanoTime() - startNanos;
+
+        calls.increment();
+        totalLatencyNanos.add(latencyNanos);
+        latencyHistogram[latencyBucket(latencyNanos)].increment();
+
+        if (allocationSampleStart != NOT_SAMPLED) {
+            allocationSamples.increment();
+            sampledAllocatedBytes.add(allocationMeter.allocatedBytes() - allocationSampleStart);
+        }
+    }
+
+    private static int latencyBucket(final long latencyNanos) {
+        return latencyNanos > 0 ?
+               Long.SIZE - 1 - Long.numberOfLeadingZeros(latencyNanos) :
+               0;
+    }
+
+    public OperationMetricsSnapshot snapshot() {
+        final long[] latencyHistogramSnapshot = new long[LATENCY_BUCKET_COUNT];
+
+        for (int bucket = 0; bucket < LATENCY_BUCKET_COUNT; bucket++)
+            latencyHistogramSnapshot[bucket] = latencyHistogram[bucket].sum();
+
+        return new OperationMetricsSnapshot(calls.sum(), totalLatencyNanos.sum(), latencyHistogramSnapshot,
+                                            allocationSamples.sum(), sampledAllocatedBytes.sum());
+    }
+
+    public void reset() {
+        calls.reset();
+        totalLatencyNanos.reset();
+
+        for (final LongAdder bucket : latencyHistogram)
+            bucket.reset();
+
+        allocationSamples.reset();
+        sampledAllocatedBytes.reset();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Snapshot of the {@link OperationMetrics} of one {@link BaseFunctionsOperation} on the objects of one class, exposed
+ * as composite data by the {@link ClassMetricsMXBean}.
+ *
+ * @author Igor Akkerman
+ */
+public final class OperationMetricsSnapshot {
+
+    private final long calls;
+    private final long totalLatencyNanos;
+    private final long[] latencyHistogram;
+    private final long allocationSamples;
+    private final long sampledAllocatedBytes;
+
+    @ConstructorProperties({ "calls", "totalLatencyNanos", "latencyHistogram", "allocationSamples",
+                             "sampledAllocatedBytes" })
+    public OperationMetricsSnapshot(final long calls, final long totalLatencyNanos, final long[] latencyHistogram,
+                                    final long allocationSamples, final long sampledAllocatedBytes) {
+        this.calls = calls;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.latencyHistogram = latencyHistogram.clone();
+        this.allocationSamples = allocationSamples;
+        this.sampledAllocatedBytes = sampledAllocatedBytes;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos;
+    }
+
+    /**
+     * Returns the latency histogram. Element {@code i} specifies the number of calls taking from {@code 2^i} to
+     * {@code 2^(i + 1) - 1} nanoseconds.
+     *
+     * @return array of long integers specifying the number of calls per bucket
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    public long getAllocationSamples() {
+        return allocationSamples;
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the sampled calls. Divided by the number of
+     * {@link #getAllocationSamples() samples}, it estimates the bytes allocated per call.
+     *
+     * @return long integer specifying the allocated bytes
+     */
+    public long getSampledAllocatedBytes() {
+        return sampledAllocatedBytes;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.routing;
+
+import java.util.function.Predicate;
+
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+
+/**
+ * Route of a {@link RoutingBaseFunctionsDispatcher}, assigning the classes matching a {@link Predicate} to a delegate
+ * {@link BaseFunctionsDispatcher}.
+ *
+ * @author Igor Akkerman
+ */
+public final class DispatcherRoute {
+
+    private static final char PACKAGE_SEPARATOR = '.';
+
+    private final Predicate<Class<?>> typePredicate;
+    private final BaseFunctionsDispatcher baseFunctionsDispatcher;
+
+    private DispatcherRoute(final Predicate<Class<?>> typePredicate,
+                            final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        this.typePredicate = typePredicate;
+        this.baseFunctionsDispatcher = baseFunctionsDispatcher;
+    }
+
+    /**
+     * Creates a {@link DispatcherRoute} assigning the specified {@link Class} and all of its subclasses and
+     * implementations to the specified {@link BaseFunctionsDispatcher}.
+     *
+     * @param hierarchyRoot
+     *        {@link Class} at the root of the routed class hierarchy
+     *
+     * @param baseFunctionsDispatcher
+     *        delegate {@link BaseFunctionsDispatcher}
+     *
+     * @return new {@link DispatcherRoute}
+     */
+    public static DispatcherRoute hierarchy(final Class<?> hierarchyRoot,
+                                            final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        return new DispatcherRoute(hierarchyRoot::isAssignableFrom, baseFunctionsDispatcher);
+    }
+
+    /**
+     * Creates a {@link DispatcherRoute} assigning all classes of the specified package and its subpackages to the
+     * specified {@link BaseFunctionsDispatcher}.
+     *
+     * @param packageName
+     *        {@link String} specifying the fully qualified name of the package
+     *
+     * @param baseFunctionsDispatcher
+     *        delegate {@link BaseFunctionsDispatcher}
+     *
+     * @return new {@link DispatcherRoute}
+     */
+    public static DispatcherRoute packageTree(final String packageName,
+                                              final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        final String packagePrefix = packageName + PACKAGE_SEPARATOR;
+
+        return new DispatcherRoute(type -> type.getName().startsWith(packagePrefix), baseFunctionsDispatcher);
+    }
+
+    /**
+     * Creates a {@link DispatcherRoute} assigning all classes matching the specified {@link Predicate} to the
+     * specified {@link BaseFunctionsDispatcher}.
+     *
+     * @param typePredicate
+     *        {@link Predicate} matching the routed classes
+     *
+     * @param baseFunctionsDispatcher
+     *        delegate {@link BaseFunctionsDispatcher}
+     *
+     * @return new {@link DispatcherRoute}
+     */
+    public static DispatcherRoute matching(final Predicate<Class<?>> typePredicate,
+                                           final BaseFunctionsDispatcher baseFunctionsDispatcher) {
+        return new DispatcherRoute(typePredicate, baseFunctionsDispatcher);
+    }
+
+    boolean matches(final Class<?> type) {
+        return typePredicate.test(type);
+    }
+
+    BaseFunctionsDispatcher getBaseFunctionsDispatcher() {
+        return baseFunctionsDispatcher;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.Compare;
+import org.jlib.basefunctions.CompareEngine;
+import org.jlib.basefunctions.Diff;
+import org.jlib.basefunctions.DiffEngine;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.EqualsEngine;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.HashCodeEngine;
+import org.jlib.basefunctions.LazyEqualsEngine;
+import org.jlib.basefunctions.LazyToString;
+import org.jlib.basefunctions.LongHashCode;
+import org.jlib.basefunctions.LongHashCodeEngine;
+import org.jlib.basefunctions.ToString;
+import org.jlib.basefunctions.ToStringEngine;
+
+/**
+ * <p>
+ * {@link BaseFunctionsDispatcher} routing each class to a delegate {@link BaseFunctionsDispatcher}, for instance,
+ * frequently compared value types to a generating implementation while all other classes keep a reflective one.
+ * </p>
+ * <p>
+ * The delegate of a class is the one of the first {@link DispatcherRoute} matching the class, or the default delegate
+ * if no route matches. It is resolved once per class and cached in a {@link ClassValue}. Requests specifying a
+ * {@link Class} or an object are routed by that class; requests specifying neither, like {@link #genericEquals()},
+ * are handled by the default delegate.
+ * </p>
+ * <p>
+ * To register the routing as the implementation of the {@link org.jlib.basefunctions.BaseFunctionsService}, extend
+ * this class by a class with a public no-argument constructor specifying the routes, and register it with a higher
+ * {@link org.jlib.basefunctions.BaseFunctionsPriority} than its delegates.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public class RoutingBaseFunctionsDispatcher
+    implements BaseFunctionsDispatcher {
+
+    private final BaseFunctionsDispatcher defaultBaseFunctionsDispatcher;
+    private final List<DispatcherRoute> routes;
+
+    private final ClassValue<BaseFunctionsDispatcher> delegates = new ClassValue<BaseFunctionsDispatcher>() {
+
+        @Override
+        protected BaseFunctionsDispatcher computeValue(final Class<?> type) {
+            for (final DispatcherRoute route : routes)
+                if (route.matches(type))
+                    return route.getBaseFunctionsDispatcher();
+
+            return defaultBaseFunctionsDispatcher;
+        }
+    };
+
+    /**
+     * Creates a new {@link RoutingBaseFunctionsDispatcher}.
+     *
+     * @param defaultBaseFunctionsDispatcher
+     *        {@link BaseFunctionsDispatcher} handling the classes not matched by any route
+     *
+     * @param routes
+     *        {@link List} of {@link DispatcherRoute}s in the order they are tried
+     */
+    public RoutingBaseFunctionsDispatcher(final BaseFunctionsDispatcher defaultBaseFunctionsDispatcher,
+                                          final List<DispatcherRoute> routes) {
+        this.defaultBaseFunctionsDispatcher = defaultBaseFunctionsDispatcher;
+        this.routes = new ArrayList<>(routes);
+    }
+
+    /**
+     * Returns the delegate {@link BaseFunctionsDispatcher} of the specified {@link Class}.
+     *
+     * @param type
+     *        {@link Class} of the processed objects
+     *
+     * @return delegate {@link BaseFunctionsDispatcher} of {@code type}
+     */
+    public BaseFunctionsDispatcher delegateOf(final Class<?> type) {
+        return delegates.get(type);
+    }
+
+    private BaseFunctionsDispatcher objectDelegate(@Nullable final Object object) {
+        return object != null ?
+               delegates.get(object.getClass()) :
+               defaultBaseFunctionsDispatcher;
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals() {
+        return defaultBaseFunctionsDispatcher.genericEquals();
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final String... excludedFields) {
+        return defaultBaseFunctionsDispatcher.genericEquals(excludedFields);
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        return delegateOf(type).genericEquals(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> EqualsEngine<Obj> equalsEngine(final Obj thiz, final Object other) {
+        return objectDelegate(thiz).equalsEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> LazyEqualsEngine<Obj> lazyEqualsEngine(final Obj thiz, final Object other) {
+        return objectDelegate(thiz).lazyEqualsEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode() {
+        return defaultBaseFunctionsDispatcher.genericHashCode();
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final String... excludedFields) {
+        return defaultBaseFunctionsDispatcher.genericHashCode(excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        return delegateOf(type).genericHashCode(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCodeEngine<Obj> hashCodeEngine(final Obj object) {
+        return objectDelegate(object).hashCodeEngine(object);
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode() {
+        return defaultBaseFunctionsDispatcher.genericLongHashCode();
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode(final String... excludedFields) {
+        return defaultBaseFunctionsDispatcher.genericLongHashCode(excludedFields);
+    }
+
+    @Override
+    public <Obj> LongHashCode<Obj> genericLongHashCode(final Class<? extends Obj> type,
+                                                       final String... excludedFields) {
+        return delegateOf(type).genericLongHashCode(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> LongHashCodeEngine<Obj> longHashCodeEngine(final Obj object) {
+        return objectDelegate(object).longHashCodeEngine(object);
+    }
+
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final String... fieldOrder) {
+        return defaultBaseFunctionsDispatcher.genericCompare(fieldOrder);
+    }
+
+    @Override
+    public <Obj> Compare<Obj> genericCompare(final Class<? extends Obj> type, final String... fieldOrder) {
+        return delegateOf(type).genericCompare(type, fieldOrder);
+    }
+
+    @Override
+    public <Obj> CompareEngine<Obj> compareEngine(final Obj thiz, final Obj other) {
+        return objectDelegate(thiz).compareEngine(thiz, other);
+    }
+
+    @Override
+    public <Obj> Diff<Obj> genericDiff(final String... excludedFields) {
+        return defaultBaseFunctionsDispatcher.genericDiff(excludedFields);
+    }
+
+    @Override
+    public <Obj> Diff<Obj> genericDiff(final int maximumDifferenceCount, final String... excludedFields) {
+        return defaultBaseFunctionsDispatcher.genericDiff(maximumDifferenceCount, excludedFields);
+    }
+
+    @Override
+    public <Obj> DiffEngine<Obj> diffEngine(final Obj thiz, final Obj other, final int maximumDifferenceCount) {
+        return objectDelegate(thiz).diffEngine(thiz, other, maximumDifferenceCount);
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString() {
+        return defaultBaseFunctionsDispatcher.genericToString();
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString(final Class<? extends Obj> type, final String... excludedFields) {
+        return delegateOf(type).genericToString(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> ToStringEngine<Obj> toStringEngine(final Obj object) {
+        return objectDelegate(object).toStringEngine(object);
+    }
+
+    @Override
+    public <Obj> LazyToString<Obj> lazyToString(final Obj object) {
+        return objectDelegate(object).lazyToString(object);
+    }
+}
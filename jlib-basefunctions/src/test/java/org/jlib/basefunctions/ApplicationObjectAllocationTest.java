@@ -0,0 +1,97 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class ApplicationObjectAllocationTest {
+
+    private static final int WARM_UP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Value value1 = new Value(1, 2L, 3.0, "four", true);
+    private final Value value2 = new Value(1, 2L, 3.0, "four", true);
+    private final Value value3 = new Value(1, 2L, 3.0, "five", true);
+
+    private int sink;
+
+    @Test
+    public void steadyStateEqualsAndHashCodeShouldNotAllocate() {
+        exerciseEqualsAndHashCode(WARM_UP_ITERATIONS);
+
+        final long baselineBytes = allocatedBytes(0);
+        final long measuredBytes = allocatedBytes(MEASURED_ITERATIONS);
+
+        assertThat(measuredBytes).isLessThanOrEqualTo(baselineBytes);
+    }
+
+    @Test
+    public void equalsAndHashCodeShouldUseResolvedStrategies() {
+        assertThat(value1).isEqualTo(value2).isNotEqualTo(value3);
+        assertThat(value1.hashCode()).isEqualTo(value2.hashCode());
+    }
+
+    private long allocatedBytes(final int iterations) {
+        final long threadId = Thread.currentThread().getId();
+
+        final long bytesBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        exerciseEqualsAndHashCode(iterations);
+        final long bytesAfter = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        return bytesAfter - bytesBefore;
+    }
+
+    private void exerciseEqualsAndHashCode(final int iterations) {
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (value1.equals(value2))
+                sink += value1.hashCode();
+            if (value1.equals(value3))
+                sink -= value3.hashCode();
+        }
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Value
+        extends ApplicationObject {
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final String string;
+        private final boolean booleanValue;
+
+        Value(final int intValue, final long longValue, final double doubleValue, final String string,
+              final boolean booleanValue) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.string = string;
+            this.booleanValue = booleanValue;
+        }
+    }
+}
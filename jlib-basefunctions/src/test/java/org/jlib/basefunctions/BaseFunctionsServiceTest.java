@@ -0,0 +1,126 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.util.Arrays;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BaseFunctionsServiceTest {
+
+    @BaseFunctionsPriority(5)
+    public static class HighPriorityDispatcher
+        extends CompiledTestBaseFunctionsDispatcher {}
+
+    @BaseFunctionsPriority(5)
+    public static class OtherHighPriorityDispatcher
+        extends CompiledTestBaseFunctionsDispatcher {}
+
+    @BaseFunctionsPriority(- 1)
+    public static class LowPriorityDispatcher
+        extends CompiledTestBaseFunctionsDispatcher {
+
+        private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+        public LowPriorityDispatcher() {
+            INSTANCE_COUNT.incrementAndGet();
+        }
+    }
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ClassLoader testClassLoader = getClass().getClassLoader();
+
+    @Test
+    public void registeredDispatcherShouldBeSelected() {
+        final BaseFunctionsService service = new BaseFunctionsService(testClassLoader, null);
+
+        assertThat(service.getBaseFunctionsDispatcher()).isExactlyInstanceOf(CompiledTestBaseFunctionsDispatcher.class);
+        assertThat(service.getBootstrapDurationNanos()).isPositive();
+    }
+
+    @Test
+    public void namedDispatcherShouldBeSelected() {
+        final BaseFunctionsService service =
+            new BaseFunctionsService(testClassLoader, HighPriorityDispatcher.class.getName());
+
+        assertThat(service.getBaseFunctionsDispatcher()).isExactlyInstanceOf(HighPriorityDispatcher.class);
+    }
+
+    @Test
+    public void highestPriorityDispatcherShouldBeSelectedAndOnlyOneInstantiated()
+        throws IOException {
+        final int lowPriorityInstanceCount = LowPriorityDispatcher.INSTANCE_COUNT.get();
+
+        final BaseFunctionsService service =
+            new BaseFunctionsService(classLoaderRegistering(LowPriorityDispatcher.class, HighPriorityDispatcher.class),
+                                     null);
+
+        assertThat(service.getBaseFunctionsDispatcher()).isExactlyInstanceOf(HighPriorityDispatcher.class);
+        assertThat(LowPriorityDispatcher.INSTANCE_COUNT.get()).isEqualTo(lowPriorityInstanceCount);
+    }
+
+    @Test
+    public void dispatchersOfEqualHighestPriorityShouldBeRejected()
+        throws IOException {
+        final ClassLoader classLoader =
+            classLoaderRegistering(HighPriorityDispatcher.class, OtherHighPriorityDispatcher.class);
+
+        assertThatThrownBy(() -> new BaseFunctionsService(classLoader, null))
+            .isInstanceOf(OnlyOneBaseFunctionsImplementationAllowedException.class);
+    }
+
+    @Test
+    public void unknownNamedDispatcherShouldBeRejected() {
+        assertThatThrownBy(() -> new BaseFunctionsService(testClassLoader, "org.jlib.basefunctions.Unknown"))
+            .isInstanceOf(ServiceConfigurationError.class);
+    }
+
+    private ClassLoader classLoaderRegistering(final Class<?>... dispatcherClasses)
+        throws IOException {
+        final File root = temporaryFolder.newFolder();
+        final File configurationFile =
+            new File(root, "META-INF/services/" + BaseFunctionsDispatcher.class.getName());
+
+        assertThat(configurationFile.getParentFile().mkdirs()).isTrue();
+
+        final StringBuilder configuration = new StringBuilder("# test dispatchers\n");
+        Arrays.stream(dispatcherClasses).forEach(type -> configuration.append(type.getName()).append('\n'));
+        Files.write(configurationFile.toPath(), configuration.toString().getBytes(StandardCharsets.UTF_8));
+
+        return new URLClassLoader(new URL[] { root.toURI().toURL() }, testClassLoader);
+    }
+}
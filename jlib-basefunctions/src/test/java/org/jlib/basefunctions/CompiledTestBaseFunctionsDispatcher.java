@@ -0,0 +1,153 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.CompiledHashCode;
+import org.jlib.basefunctions.compiled.FieldHandles;
+
+/**
+ * {@link BaseFunctionsDispatcher} registered for the tests of this module, providing the compiled generic strategies.
+ * The engines compare and hash the values by {@link FieldHandles}.
+ */
+public class CompiledTestBaseFunctionsDispatcher
+    implements BaseFunctionsDispatcher {
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals() {
+        return new CompiledEquals<>();
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final String... excludedFields) {
+        return new CompiledEquals<>(excludedFields);
+    }
+
+    @Override
+    public <Obj> Equals<Obj> genericEquals(final Class<? extends Obj> type, final String... excludedFields) {
+        return new CompiledEquals<>(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> EqualsEngine<Obj> equalsEngine(final Obj thiz, final Object other) {
+        return new FieldHandlesEqualsEngine<>(other);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode() {
+        return new CompiledHashCode<>();
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final String... excludedFields) {
+        return new CompiledHashCode<>(excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+        return new CompiledHashCode<>(type, excludedFields);
+    }
+
+    @Override
+    public <Obj> HashCodeEngine<Obj> hashCodeEngine(final Obj object) {
+        return new FieldHandlesHashCodeEngine<>();
+    }
+
+    @Override
+    public <Obj> ToString<Obj> genericToString() {
+        return object -> object.getClass().getName();
+    }
+
+    @Override
+    public <Obj> ToStringEngine<Obj> toStringEngine(final Obj object) {
+        return new JoiningToStringEngine<>(object);
+    }
+
+    private static class FieldHandlesEqualsEngine<Obj>
+        implements EqualsEngine<Obj> {
+
+        private final Object other;
+        private boolean equal = true;
+
+        FieldHandlesEqualsEngine(final Object other) {
+            this.other = other;
+        }
+
+        @Override
+        public <Value> EqualsEngine<Obj> add(final Value thisValue, final Value otherValue) {
+            equal = equal && FieldHandles.equal(thisValue, otherValue);
+            return this;
+        }
+
+        @Override
+        public EqualsEngine<Obj> add(final Predicate<Object> superEquals) {
+            equal = equal && superEquals.test(other);
+            return this;
+        }
+
+        @Override
+        public boolean equal() {
+            return equal;
+        }
+    }
+
+    private static class FieldHandlesHashCodeEngine<Obj>
+        implements HashCodeEngine<Obj> {
+
+        private int hashCode = FieldHandles.INITIAL_HASH_CODE;
+
+        @Override
+        public <Value> HashCodeEngine<Obj> add(final Value value) {
+            hashCode = FieldHandles.appendHashCode(hashCode, value);
+            return this;
+        }
+
+        @Override
+        public int toHashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class JoiningToStringEngine<Obj>
+        implements ToStringEngine<Obj> {
+
+        private final StringJoiner joiner;
+
+        JoiningToStringEngine(final Obj object) {
+            joiner = new StringJoiner(",", object.getClass().getSimpleName() + '[', "]");
+        }
+
+        @Override
+        public ToStringEngine<Obj> add(final String valueName, final Object value) {
+            joiner.add(valueName + '=' + value);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return joiner.toString();
+        }
+    }
+}
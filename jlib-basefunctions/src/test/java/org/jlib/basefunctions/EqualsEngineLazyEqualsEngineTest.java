@@ -0,0 +1,87 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class EqualsEngineLazyEqualsEngineTest {
+
+    private static final class Point {
+
+        private final int x;
+        private final String label;
+
+        private Point(final int x, final String label) {
+            this.x = x;
+            this.label = label;
+        }
+
+        private String getLabel() {
+            return label;
+        }
+    }
+
+    private final AtomicInteger equalsEngineCount = new AtomicInteger();
+
+    private final BaseFunctionsDispatcher dispatcher = new CompiledTestBaseFunctionsDispatcher() {
+
+        @Override
+        public <Obj> EqualsEngine<Obj> equalsEngine(final Obj thiz, final Object other) {
+            equalsEngineCount.incrementAndGet();
+            return super.equalsEngine(thiz, other);
+        }
+    };
+
+    @Test
+    public void defaultLazyEqualsEngineShouldCompareByEqualsEngine() {
+        final Point point = new Point(1, "a");
+
+        assertThat(dispatcher.lazyEqualsEngine(point, new Point(1, "a"))
+                             .addInt(p -> p.x)
+                             .add(Point::getLabel)
+                             .equal()).isTrue();
+        assertThat(dispatcher.lazyEqualsEngine(point, new Point(1, "b"))
+                             .addInt(p -> p.x)
+                             .add(Point::getLabel)
+                             .equal()).isFalse();
+        assertThat(equalsEngineCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void equalsEngineShouldNotBeRequestedIfDecidedByClassChecks() {
+        final Point point = new Point(1, "a");
+
+        assertThat(dispatcher.lazyEqualsEngine(point, point)
+                             .add(Point::getLabel)
+                             .equal()).isTrue();
+        assertThat(dispatcher.lazyEqualsEngine(point, null)
+                             .add(Point::getLabel)
+                             .equal()).isFalse();
+        assertThat(dispatcher.lazyEqualsEngine(point, "a")
+                             .add(Point::getLabel)
+                             .equal()).isFalse();
+        assertThat(equalsEngineCount.get()).isZero();
+    }
+}
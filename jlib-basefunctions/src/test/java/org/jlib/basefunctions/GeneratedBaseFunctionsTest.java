@@ -0,0 +1,35 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class GeneratedBaseFunctionsTest {
+
+    @Test
+    public void companionClassNameShouldFlattenNestedClasses() {
+        assertThat(GeneratedBaseFunctions.getCompanionClassName("org.example.Outer$Inner"))
+            .isEqualTo("org.example.Outer_Inner_BaseFunctions");
+        assertThat(GeneratedBaseFunctions.getCompanionClassName("Unnamed")).isEqualTo("Unnamed_BaseFunctions");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class ImmutableApplicationObjectTest {
+
+    @Test
+    public void hashCodeShouldBeComputedOnce() {
+        final CountingValue value = new CountingValue(42, 7, false);
+
+        assertThat(value.hashCode()).isEqualTo(42);
+        assertThat(value.hashCode()).isEqualTo(42);
+        assertThat(value.hashCodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void zeroHashCodeShouldBeComputedOnce() {
+        final CountingValue value = new CountingValue(0, 7, false);
+
+        assertThat(value.hashCode()).isZero();
+        assertThat(value.hashCode()).isZero();
+        assertThat(value.hashCodeCount).isEqualTo(1);
+    }
+
+    @Test
+    public void toStringShouldNotBeCachedByDefault() {
+        final CountingValue value = new CountingValue(42, 7, false);
+
+        assertThat(value.toString()).isEqualTo("value 1");
+        assertThat(value.toString()).isEqualTo("value 2");
+    }
+
+    @Test
+    public void toStringShouldBeCachedWhenConfigured() {
+        final CountingValue value = new CountingValue(42, 7, true);
+
+        assertThat(value.toString()).isSameAs(value.toString());
+        assertThat(value.toStringCount).isEqualTo(1);
+    }
+
+    @Test
+    public void equalsShouldIgnoreCacheFields() {
+        final Value value = new Value(7);
+        value.hashCode();
+
+        assertThat(value).isEqualTo(new Value(7))
+                         .isNotEqualTo(new Value(8));
+        assertThat(value.hashCode()).isEqualTo(new Value(7).hashCode());
+    }
+
+    private static class Value
+        extends ImmutableApplicationObject {
+
+        @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+        private final int number;
+
+        Value(final int number) {
+            this.number = number;
+        }
+    }
+
+    private static class CountingValue
+        extends Value {
+
+        private final transient int hashCode;
+        private final transient boolean toStringCached;
+        private transient int hashCodeCount;
+        private transient int toStringCount;
+
+        CountingValue(final int hashCode, final int number, final boolean toStringCached) {
+            super(number);
+            this.hashCode = hashCode;
+            this.toStringCached = toStringCached;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <Obj> HashCode<Obj> hashCodeStrategy() {
+            return object -> {
+                hashCodeCount++;
+                return hashCode;
+            };
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <Obj> ToString<Obj> toStringStrategy() {
+            return object -> "value " + ++toStringCount;
+        }
+
+        @Override
+        protected boolean isToStringCached() {
+            return toStringCached;
+        }
+    }
+}
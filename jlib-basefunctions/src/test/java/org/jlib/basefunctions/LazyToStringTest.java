@@ -0,0 +1,62 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class LazyToStringTest {
+
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    private final ToString<Integer> countingToString = number -> {
+        renderCount.incrementAndGet();
+        return "number " + number;
+    };
+
+    @Test
+    public void objectShouldNotBeRenderedUntilConsumed() {
+        new LazyToString<>(countingToString, 42);
+
+        assertThat(renderCount.get()).isZero();
+    }
+
+    @Test
+    public void objectShouldBeRenderedOnce() {
+        final LazyToString<Integer> lazyToString = new LazyToString<>(countingToString, 42);
+
+        assertThat(lazyToString.toString()).isEqualTo("number 42");
+        assertThat(lazyToString.get()).isSameAs(lazyToString.toString());
+        assertThat(lazyToString.length()).isEqualTo(9);
+        assertThat(lazyToString.charAt(7)).isEqualTo('4');
+        assertThat(lazyToString.subSequence(0, 6)).isEqualTo("number");
+        assertThat(renderCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void nullShouldBeRenderedAsNull() {
+        assertThat(new LazyToString<>(countingToString, null).toString()).isEqualTo("null");
+        assertThat(renderCount.get()).isZero();
+    }
+}
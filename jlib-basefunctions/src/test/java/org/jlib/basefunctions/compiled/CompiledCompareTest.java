@@ -0,0 +1,142 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.jlib.basefunctions.Compare;
+import org.jlib.basefunctions.compare.ShortCircuitCompareEngine;
+import org.junit.Test;
+
+public class CompiledCompareTest {
+
+    private static class Person {
+
+        private final String name;
+        private final int age;
+        private final double score;
+
+        private Person(final String name, final int age, final double score) {
+            this.name = name;
+            this.age = age;
+            this.score = score;
+        }
+    }
+
+    private static class Employee
+        extends Person {
+
+        private final long staffNumber;
+
+        private Employee(final String name, final int age, final long staffNumber) {
+            super(name, age, 0);
+            this.staffNumber = staffNumber;
+        }
+    }
+
+    private static class Measurement {
+
+        private final int[] values;
+        private final String[] labels;
+
+        private Measurement(final int[] values, final String[] labels) {
+            this.values = values;
+            this.labels = labels;
+        }
+    }
+
+    @Test
+    public void fieldsShouldBeComparedInSpecifiedOrder() {
+        final Compare<Person> compare = new CompiledCompare<>(Person.class, "age", "name");
+
+        assertThat(compare.compare(new Person("b", 30, 0), new Person("a", 40, 0))).isNegative();
+        assertThat(compare.compare(new Person("b", 30, 0), new Person("a", 30, 0))).isPositive();
+        assertThat(compare.compare(new Person("a", 30, 1), new Person("a", 30, 2))).isZero();
+    }
+
+    @Test
+    public void allEqualsFieldsShouldBeComparedIfNoFieldOrderIsSpecified() {
+        final Compare<Person> compare = new CompiledCompare<>();
+
+        assertThat(compare.compare(new Person("a", 30, 1), new Person("a", 30, 2))).isNegative();
+        assertThat(compare.compare(new Person("a", 30, 1), new Person("a", 30, 1))).isZero();
+    }
+
+    @Test
+    public void nullShouldBeOrderedFirst() {
+        final Compare<Person> compare = new CompiledCompare<>("name");
+
+        assertThat(compare.compare(null, new Person("a", 30, 0))).isNegative();
+        assertThat(compare.compare(new Person(null, 30, 0), new Person("a", 30, 0))).isNegative();
+        assertThat(compare.compare(new Person("a", 30, 0), new Person(null, 30, 0))).isPositive();
+    }
+
+    @Test
+    public void superclassFieldsShouldBeFound() {
+        final Compare<Employee> compare = new CompiledCompare<>(Employee.class, "name", "staffNumber");
+
+        assertThat(compare.compare(new Employee("a", 30, 2), new Employee("a", 20, 1))).isPositive();
+    }
+
+    @Test
+    public void comparatorShouldSortObjects() {
+        final List<Person> persons = new ArrayList<>(Arrays.asList(new Person("c", 20, 0), new Person("a", 30, 0),
+                                                                   new Person("b", 20, 0)));
+
+        persons.sort(new CompiledCompare<Person>("age", "name").toComparator());
+
+        assertThat(persons).extracting(person -> person.name).containsExactly("b", "c", "a");
+    }
+
+    @Test
+    public void unknownFieldShouldBeRejected() {
+        assertThatThrownBy(() -> new CompiledCompare<>(Person.class, "unknown"))
+            .isInstanceOf(FieldPlanException.class);
+    }
+
+    @Test
+    public void arraysShouldBeComparedByLengthThenElements() {
+        final Compare<Measurement> compare = new CompiledCompare<>(Measurement.class, "values", "labels");
+
+        assertThat(compare.compare(new Measurement(new int[] { 9 }, new String[0]),
+                                   new Measurement(new int[] { 1, 2 }, new String[0]))).isNegative();
+        assertThat(compare.compare(new Measurement(new int[] { 1, 3 }, new String[0]),
+                                   new Measurement(new int[] { 1, 2 }, new String[0]))).isPositive();
+        assertThat(compare.compare(new Measurement(null, new String[0]),
+                                   new Measurement(new int[0], new String[0]))).isNegative();
+        assertThat(compare.compare(new Measurement(new int[] { 1 }, new String[] { "a", "b" }),
+                                   new Measurement(new int[] { 1 }, new String[] { "a", "c" }))).isNegative();
+        assertThat(compare.compare(new Measurement(new int[] { 1 }, new String[] { "a" }),
+                                   new Measurement(new int[] { 1 }, new String[] { "a" }))).isZero();
+    }
+
+    @Test
+    public void compareEngineShouldReturnFirstDifference() {
+        assertThat(new ShortCircuitCompareEngine<Person>().add(1, 1).add("b", "a").add(1.0, 2.0).toComparison())
+            .isPositive();
+        assertThat(new ShortCircuitCompareEngine<Person>().add(1L, 1L).add(true, true).toComparison()).isZero();
+    }
+}
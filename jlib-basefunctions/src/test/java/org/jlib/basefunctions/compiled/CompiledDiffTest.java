@@ -0,0 +1,188 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ApplicationObject;
+import org.jlib.basefunctions.Diff;
+import org.jlib.basefunctions.FieldDifference;
+import static org.jlib.basefunctions.FieldDifference.ROOT_PATH;
+import org.junit.Test;
+
+public class CompiledDiffTest {
+
+    private static class Address
+        extends ApplicationObject {
+
+        private final String street;
+        private final String city;
+
+        private Address(final String street, final String city) {
+            this.street = street;
+            this.city = city;
+        }
+    }
+
+    private static class Customer {
+
+        private final String name;
+        private final int age;
+        private final long[] orderIds;
+        private final Address address;
+
+        private Customer(final String name, final int age, final long[] orderIds, final Address address) {
+            this.name = name;
+            this.age = age;
+            this.orderIds = orderIds;
+            this.address = address;
+        }
+    }
+
+    private static class Contact
+        extends ApplicationObject {
+
+        private final String email;
+        private final int revision;
+
+        private Contact(final String email, final int revision) {
+            this.email = email;
+            this.revision = revision;
+        }
+
+        @Override
+        protected String[] getExcludedFieldNames() {
+            return new String[] { "revision" };
+        }
+    }
+
+    private static class Account {
+
+        private final Contact contact;
+
+        private Account(final Contact contact) {
+            this.contact = contact;
+        }
+    }
+
+    // equal by name only, so equals terminates on cyclic peers
+    private static class Node
+        extends ApplicationObject {
+
+        private final String name;
+        private Node peer;
+
+        private Node(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            return otherObject instanceof Node && name.equals(((Node) otherObject).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final Customer customer = new Customer("Jane", 42, new long[] { 1, 2 }, new Address("Main", "Berlin"));
+
+    @Test
+    public void equalObjectsShouldHaveNoDifferences() {
+        final Customer equalCustomer =
+            new Customer("Jane", 42, new long[] { 1, 2 }, new Address("Main", "Berlin"));
+
+        assertThat(new CompiledDiff<Customer>(Diff.UNLIMITED).diff(customer, equalCustomer)).isEmpty();
+    }
+
+    @Test
+    public void differingFieldsShouldBeReportedInPlanOrder() {
+        final Customer otherCustomer = new Customer("John", 43, new long[] { 1, 3 }, new Address("Main", "Berlin"));
+
+        assertThat(new CompiledDiff<Customer>(Diff.UNLIMITED).diff(customer, otherCustomer))
+            .containsExactly(new FieldDifference("name", "Jane", "John"),
+                             new FieldDifference("age", 42, 43),
+                             new FieldDifference("orderIds", new long[] { 1, 2 }, new long[] { 1, 3 }));
+    }
+
+    @Test
+    public void nestedApplicationObjectsShouldBeWalked() {
+        final Customer movedCustomer = new Customer("Jane", 42, new long[] { 1, 2 }, new Address("Main", "Munich"));
+
+        assertThat(new CompiledDiff<Customer>(Diff.UNLIMITED).diff(customer, movedCustomer))
+            .containsExactly(new FieldDifference("address.city", "Berlin", "Munich"));
+    }
+
+    @Test
+    public void fieldsExcludedByNestedApplicationObjectsShouldBeIgnored() {
+        final Account account = new Account(new Contact("jane@example.org", 1));
+        final Account otherAccount = new Account(new Contact("john@example.org", 2));
+
+        assertThat(new CompiledDiff<Account>(Diff.UNLIMITED).diff(account, otherAccount))
+            .containsExactly(new FieldDifference("contact.email", "jane@example.org", "john@example.org"));
+    }
+
+    @Test
+    public void walkShouldStopAtMaximumDifferenceCount() {
+        final Customer otherCustomer = new Customer("John", 43, new long[] { 1, 3 }, new Address("Side", "Munich"));
+
+        assertThat(new CompiledDiff<Customer>(2).diff(customer, otherCustomer))
+            .extracting(FieldDifference::getPath)
+            .containsExactly("name", "age");
+    }
+
+    @Test
+    public void excludedFieldsShouldBeIgnored() {
+        final Customer olderCustomer = new Customer("Jane", 43, new long[] { 1, 2 }, new Address("Main", "Berlin"));
+
+        assertThat(new CompiledDiff<Customer>(Diff.UNLIMITED, "age").diff(customer, olderCustomer)).isEmpty();
+    }
+
+    @Test
+    public void pairOnPathShouldBeReportedInsteadOfWalkedAgain() {
+        final Node node1 = new Node("a");
+        final Node node2 = new Node("b");
+        final Node peer1 = new Node("c");
+        final Node peer2 = new Node("d");
+        node1.peer = peer1;
+        peer1.peer = node1;
+        node2.peer = peer2;
+        peer2.peer = node2;
+
+        assertThat(new CompiledDiff<Node>(Diff.UNLIMITED).diff(node1, node2))
+            .containsExactly(new FieldDifference("name", "a", "b"),
+                             new FieldDifference("peer.name", "c", "d"),
+                             new FieldDifference("peer.peer", node1, node2));
+    }
+
+    @Test
+    public void nullShouldDifferAtRootPath() {
+        assertThat(new CompiledDiff<Customer>(Diff.UNLIMITED).diff(customer, null))
+            .containsExactly(new FieldDifference(ROOT_PATH, customer, null));
+    }
+}
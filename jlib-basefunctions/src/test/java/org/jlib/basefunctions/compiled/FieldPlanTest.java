@@ -0,0 +1,108 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.lang.reflect.Field;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.ExcludeFromEquals;
+import org.jlib.basefunctions.ExcludeFromHashCode;
+import org.junit.Test;
+
+public class FieldPlanTest {
+
+    @Test
+    public void planShouldContainFieldsOfClassBeforeFieldsOfSuperclass() {
+        assertThat(names(FieldPlan.of(B.class).getEqualsFields())).containsExactly("b", "a1", "a2", "a3");
+    }
+
+    @Test
+    public void planShouldOmitStaticTransientAndNamedFields() {
+        assertThat(names(FieldPlan.of(B.class, "a2").getEqualsFields())).containsExactly("b", "a1", "a3");
+    }
+
+    @Test
+    public void planShouldOmitAnnotatedFields() {
+        final FieldPlan plan = FieldPlan.of(C.class);
+
+        assertThat(names(plan.getEqualsFields())).containsExactly("compared", "notHashCodeRelevant");
+        assertThat(names(plan.getHashCodeFields())).containsExactly("compared");
+    }
+
+    @Test
+    public void planShouldBeCachedPerClassAndExcludedFieldNames() {
+        assertThat(FieldPlan.of(B.class, "a1")).isSameAs(FieldPlan.of(B.class, "a1"))
+                                               .isNotSameAs(FieldPlan.of(B.class, "a2"));
+    }
+
+    @Test
+    public void annotatedFieldsShouldBeIgnoredByEqualsAndHashCode() {
+        final FieldPlan plan = FieldPlan.of(C.class);
+
+        assertThat(plan.areEqual(new C(1, 2, 3), new C(1, 20, 3))).isTrue();
+        assertThat(plan.areEqual(new C(1, 2, 3), new C(1, 2, 30))).isFalse();
+        assertThat(plan.hashCode(new C(1, 2, 3))).isEqualTo(plan.hashCode(new C(1, 20, 30)));
+    }
+
+    private static List<String> names(final List<Field> fields) {
+        return fields.stream().map(Field::getName).collect(toList());
+    }
+
+    @SuppressWarnings("unused")
+    private static class A {
+
+        private static int staticValue;
+
+        private int a1;
+        private String a2;
+        private transient int transientValue;
+        private long[] a3;
+    }
+
+    @SuppressWarnings("unused")
+    private static class B
+        extends A {
+
+        private double b;
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class C {
+
+        private final int compared;
+
+        @ExcludeFromEquals
+        private final int notEqualsRelevant;
+
+        @ExcludeFromHashCode
+        private final int notHashCodeRelevant;
+
+        C(final int compared, final int notEqualsRelevant, final int notHashCodeRelevant) {
+            this.compared = compared;
+            this.notEqualsRelevant = notEqualsRelevant;
+            this.notHashCodeRelevant = notHashCodeRelevant;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.compiled;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.Equals;
+import org.junit.Test;
+
+public class ParallelEqualsTest {
+
+    private static final int SIZE = 100_000;
+
+    private final Equals<Object> parallelEquals = 
+        new ParallelEquals<>(new CompiledEquals<>(), ParallelEquals.MINIMUM_THRESHOLD, new ForkJoinPool(4));
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thresholdBelowMinimumShouldBeRejected() {
+        new ParallelEquals<>(new CompiledEquals<>(), ParallelEquals.MINIMUM_THRESHOLD - 1, new ForkJoinPool(4));
+    }
+
+    @Test
+    public void equalSnapshotsShouldBeEqual() {
+        assertThat(parallelEquals.areEqual(new Snapshot(), new Snapshot())).isTrue();
+    }
+
+    @Test
+    public void differentListElementShouldBeDetected() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.list.set(SIZE - 1, - 1);
+
+        assertThat(parallelEquals.areEqual(new Snapshot(), snapshot)).isFalse();
+    }
+
+    @Test
+    public void differentArrayElementShouldBeDetected() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.doubles[SIZE / 2] = - 0.0;
+
+        assertThat(parallelEquals.areEqual(new Snapshot(), snapshot)).isFalse();
+    }
+
+    @Test
+    public void differentMapValueShouldBeDetected() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.map.put(7, "changed");
+
+        assertThat(parallelEquals.areEqual(new Snapshot(), snapshot)).isFalse();
+    }
+
+    @Test
+    public void differentRemainingFieldShouldBeDetected() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.version = 2;
+
+        assertThat(parallelEquals.areEqual(new Snapshot(), snapshot)).isFalse();
+    }
+
+    @Test
+    public void resultsShouldEqualSequentialResults() {
+        final Snapshot snapshot1 = new Snapshot();
+        final Snapshot snapshot2 = new Snapshot();
+        snapshot2.objects[3] = new long[] { 3 };
+
+        assertThat(parallelEquals.areEqual(snapshot1, snapshot2)).isEqualTo(
+            new CompiledEquals<>().areEqual(snapshot1, snapshot2)).isTrue();
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Snapshot {
+
+        private int version = 1;
+        private final List<Integer> list = new ArrayList<>(SIZE);
+        private final double[] doubles = new double[SIZE];
+        private final Object[] objects = new Object[SIZE];
+        private final Map<Integer, String> map = new HashMap<>();
+
+        Snapshot() {
+            for (int index = 0; index < SIZE; index++) {
+                list.add(index);
+                doubles[index] = index;
+                objects[index] = new long[] { index };
+                map.put(index, String.valueOf(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.graph;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+import org.jlib.basefunctions.compiled.CompiledEquals;
+import org.jlib.basefunctions.compiled.CompiledHashCode;
+import org.junit.Test;
+
+public class GraphEqualsTest {
+
+    private static final AtomicInteger COMPARISON_COUNT = new AtomicInteger();
+    private static final AtomicInteger HASH_CODE_COUNT = new AtomicInteger();
+
+    private static final Equals<Object> COMPILED_EQUALS = new CompiledEquals<>();
+    private static final HashCode<Object> COMPILED_HASH_CODE = new CompiledHashCode<>();
+
+    private static final Equals<Object> GRAPH_EQUALS = new GraphEquals<>((object1, object2) -> {
+        COMPARISON_COUNT.incrementAndGet();
+        return COMPILED_EQUALS.areEqual(object1, object2);
+    });
+
+    private static final HashCode<Object> GRAPH_HASH_CODE = new GraphHashCode<>(object -> {
+        HASH_CODE_COUNT.incrementAndGet();
+        return COMPILED_HASH_CODE.hashCode(object);
+    });
+
+    @Test
+    public void cyclicGraphsShouldBeComparedAndHashed() {
+        final Node graph1 = cycle(1, 2, 3);
+        final Node graph2 = cycle(1, 2, 3);
+
+        assertThat(graph1).isEqualTo(graph2)
+                          .isNotEqualTo(cycle(1, 2, 4));
+        assertThat(graph1.hashCode()).isEqualTo(graph2.hashCode());
+        assertThat(GraphHashCode.isComputing()).isFalse();
+    }
+
+    @Test
+    public void sharedNodesShouldBeComparedOnce() {
+        final Node chain1 = diamondChain(40);
+        final Node chain2 = diamondChain(40);
+
+        COMPARISON_COUNT.set(0);
+        assertThat(chain1).isEqualTo(chain2);
+        assertThat(COMPARISON_COUNT.get()).isEqualTo(41);
+    }
+
+    @Test
+    public void sharedNodesShouldBeHashedOnce() {
+        final Node chain = diamondChain(40);
+
+        HASH_CODE_COUNT.set(0);
+        chain.hashCode();
+        assertThat(HASH_CODE_COUNT.get()).isEqualTo(41);
+    }
+
+    private static Node cycle(final int... values) {
+        final Node first = new Node(values[0], null, null);
+        Node current = first;
+
+        for (int index = 1; index < values.length; index++) {
+            final Node next = new Node(values[index], null, null);
+            current.left = next;
+            current = next;
+        }
+
+        current.left = first;
+
+        return first;
+    }
+
+    // each node references the next node twice, so a naive comparison visits 2^length paths
+    private static Node diamondChain(final int length) {
+        Node node = new Node(0, null, null);
+
+        for (int value = 1; value <= length; value++)
+            node = new Node(value, node, node);
+
+        return node;
+    }
+
+    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
+    private static class Node {
+
+        private final int value;
+        private Node left;
+        private Node right;
+
+        Node(final int value, final Node left, final Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+        public boolean equals(final Object otherObject) {
+            return GRAPH_EQUALS.areEqual(this, otherObject);
+        }
+
+        @Override
+        public int hashCode() {
+            return GRAPH_HASH_CODE.hashCode(this);
+        }
+    }
+}
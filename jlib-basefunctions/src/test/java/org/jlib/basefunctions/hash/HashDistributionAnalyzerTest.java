@@ -0,0 +1,82 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.jlib.basefunctions.HashCode;
+import org.junit.Test;
+
+public class HashDistributionAnalyzerTest {
+
+    private static final int SAMPLE_SIZE = 4096;
+
+    private final List<Integer> consecutiveSample =
+        IntStream.range(0, SAMPLE_SIZE).boxed().collect(Collectors.toList());
+
+    // shifts the significant bits above the bucket index bits, like poorly designed composite keys
+    private final HashCode<Integer> clusteringHashCode = value -> value << 20;
+
+    @Test
+    public void constantHashCodeShouldCollideForAllButOneObject() {
+        final HashDistributionReport report =
+            new HashDistributionAnalyzer<Integer>(value -> 42).analyze(consecutiveSample, 1024);
+
+        assertThat(report.getCollisionCount()).isEqualTo(SAMPLE_SIZE - 1);
+        assertThat(report.getBucketOccupancies().get(0).getUsedBucketCount()).isEqualTo(1);
+        assertThat(report.getBucketOccupancies().get(0).getMaximumBucketSize()).isEqualTo(SAMPLE_SIZE);
+        assertThat(report.getMaximumAvalancheBias()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void clusteringHashCodeShouldBeDetected() {
+        final HashDistributionReport report =
+            new HashDistributionAnalyzer<>(clusteringHashCode).analyze(consecutiveSample, 1024);
+
+        assertThat(report.getCollisionCount()).isZero();
+        assertThat(report.getBucketOccupancies().get(0).getUsedBucketRatio()).isLessThan(0.5);
+        assertThat(report.getMaximumAvalancheBias()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void mixedHashCodeShouldBeDistributedUniformly() {
+        final HashDistributionReport report =
+            new HashDistributionAnalyzer<>(new MixingHashCode<>(clusteringHashCode, HashMixer.MURMUR3))
+                .analyze(consecutiveSample, 1024, 65536);
+
+        assertThat(report.getCollisionCount()).isZero();
+        assertThat(report.getBucketOccupancies().get(0).getUsedBucketRatio()).isGreaterThan(0.95);
+        assertThat(report.getBucketOccupancies().get(1).getUsedBucketRatio()).isGreaterThan(0.95);
+        assertThat(report.getMaximumAvalancheBias()).isLessThan(0.05);
+        assertThat(report.getMaximumBitBalanceBias()).isLessThan(0.05);
+    }
+
+    @Test
+    public void tableSizeOtherThanPowerOfTwoShouldBeRejected() {
+        assertThatThrownBy(() -> new HashDistributionAnalyzer<>(clusteringHashCode).analyze(consecutiveSample, 1000))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
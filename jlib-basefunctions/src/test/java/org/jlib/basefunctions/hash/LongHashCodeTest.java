@@ -0,0 +1,138 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.hash;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.LongHashCode;
+import org.jlib.basefunctions.LongHashCodeEngine;
+import org.junit.Test;
+
+public class LongHashCodeTest {
+
+    private static final int SAMPLE_COUNT = 1000;
+
+    @SuppressWarnings("unused")
+    private static final class Sample {
+
+        private final int id;
+        private final double weight;
+        private final String name;
+        private final long[] codes;
+
+        private Sample(final int id, final double weight, final String name, final long... codes) {
+            this.id = id;
+            this.weight = weight;
+            this.name = name;
+            this.codes = codes;
+        }
+    }
+
+    @Test
+    public void equalObjectsShouldHaveEqualLongHashCodes() {
+        for (final HashMixer mixer : HashMixer.values()) {
+            final LongHashCode<Sample> longHashCode = new FieldsLongHashCode<>(mixer);
+
+            assertThat(longHashCode.longHashCode(new Sample(1, 2.5, "sample", 3, 4)))
+                .isEqualTo(longHashCode.longHashCode(new Sample(1, 2.5, new String("sample"), 3, 4)));
+        }
+    }
+
+    @Test
+    public void fieldOrderAndExclusionShouldBeRespected() {
+        final LongHashCode<Sample> longHashCode = new FieldsLongHashCode<>(HashMixer.MURMUR3);
+        final LongHashCode<Sample> excludingLongHashCode = new FieldsLongHashCode<>(HashMixer.MURMUR3, "name");
+
+        assertThat(longHashCode.longHashCode(new Sample(1, 2.5, "ab")))
+            .isNotEqualTo(longHashCode.longHashCode(new Sample(1, 2.5, "ba")));
+        assertThat(excludingLongHashCode.longHashCode(new Sample(1, 2.5, "ab")))
+            .isEqualTo(excludingLongHashCode.longHashCode(new Sample(1, 2.5, "ba")));
+    }
+
+    @Test
+    public void primitiveAndBoxedValuesShouldHashEqually() {
+        for (final HashMixer mixer : HashMixer.values()) {
+            final LongHashCodeEngine<Object> primitiveEngine = new MixingLongHashCodeEngine<>(mixer);
+            final LongHashCodeEngine<Object> boxedEngine = new MixingLongHashCodeEngine<>(mixer);
+
+            primitiveEngine.add(true).add((byte) 1).add('c').add((short) 2).add(3).add(4L).add(5.5f).add(6.5);
+            boxedEngine.add((Object) true).add((Object) (byte) 1).add((Object) 'c').add((Object) (short) 2)
+                       .add((Object) 3).add((Object) 4L).add((Object) 5.5f).add((Object) 6.5);
+
+            assertThat(primitiveEngine.toLongHashCode()).isEqualTo(boxedEngine.toLongHashCode());
+        }
+    }
+
+    @Test
+    public void singleBitChangeShouldFlipAboutHalfOfTheLongHashCodeBits() {
+        final Random random = new Random(42);
+
+        for (final HashMixer mixer : HashMixer.values()) {
+            long flippedBitCount = 0;
+
+            for (int sample = 0; sample < SAMPLE_COUNT; sample++) {
+                final long value = random.nextLong();
+                final long changedValue = value ^ 1L << random.nextInt(Long.SIZE);
+
+                flippedBitCount += Long.bitCount(longHashCode(mixer, value) ^ longHashCode(mixer, changedValue));
+            }
+
+            assertThat((double) flippedBitCount / SAMPLE_COUNT).isBetween(30.0, 34.0);
+        }
+    }
+
+    @Test
+    public void mixedHashCodeShouldFlipAboutHalfOfTheBitsOfConsecutiveHashCodes() {
+        final Random random = new Random(42);
+
+        for (final HashMixer mixer : HashMixer.values()) {
+            final MixingHashCode<Integer> hashCode = new MixingHashCode<>(Integer::intValue, mixer);
+            long flippedBitCount = 0;
+
+            for (int sample = 0; sample < SAMPLE_COUNT; sample++) {
+                final int value = random.nextInt();
+
+                flippedBitCount += Integer.bitCount(hashCode.hashCode(value) ^ hashCode.hashCode(value + 1));
+            }
+
+            assertThat((double) flippedBitCount / SAMPLE_COUNT).isBetween(14.0, 18.0);
+        }
+    }
+
+    @Test
+    public void arraysShouldBeHashedByContent() {
+        final LongHashCodeEngine<Object> engine1 = new MixingLongHashCodeEngine<>(HashMixer.XXHASH64);
+        final LongHashCodeEngine<Object> engine2 = new MixingLongHashCodeEngine<>(HashMixer.XXHASH64);
+
+        engine1.add(new int[] { 1, 2, 3 }).add(Arrays.asList("a", "b").toArray());
+        engine2.add(new int[] { 1, 2, 3 }).add(new Object[] { "a", "b" });
+
+        assertThat(engine1.toLongHashCode()).isEqualTo(engine2.toLongHashCode());
+    }
+
+    private static long longHashCode(final HashMixer mixer, final long value) {
+        return new MixingLongHashCodeEngine<>(mixer).add(value)
+                                                    .toLongHashCode();
+    }
+}
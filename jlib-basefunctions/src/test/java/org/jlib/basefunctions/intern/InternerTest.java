@@ -0,0 +1,106 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.intern;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Test;
+
+public class InternerTest {
+
+    private final Interner<String> interner = new Interner<>();
+
+    @Test
+    public void equalObjectsShouldBeReplacedByCanonicalInstance() {
+        final String canonicalValue = new String("value");
+        final String duplicateValue = new String("value");
+
+        assertThat(interner.intern(canonicalValue)).isSameAs(canonicalValue);
+        assertThat(interner.intern(duplicateValue)).isSameAs(canonicalValue);
+        assertThat(interner.intern(new String("other"))).isNotSameAs(canonicalValue);
+        assertThat(interner.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void statisticsShouldCountHitsAndMisses() {
+        interner.intern(new String("value"));
+        interner.intern(new String("value"));
+        interner.intern(new String("value"));
+        interner.intern(new String("other"));
+
+        assertThat(interner.getHitCount()).isEqualTo(2);
+        assertThat(interner.getMissCount()).isEqualTo(2);
+        assertThat(interner.getRejectionCount()).isZero();
+        assertThat(interner.getHitRate()).isEqualTo(0.5);
+
+        interner.resetStatistics();
+
+        assertThat(interner.getHitCount()).isZero();
+        assertThat(interner.getHitRate()).isZero();
+    }
+
+    @Test
+    public void specifiedStrategiesShouldBeUsed() {
+        final Interner<String> caseInsensitiveInterner =
+            new Interner<>((value, other) -> other instanceof String && value.equalsIgnoreCase((String) other),
+                           value -> value.toLowerCase(Locale.ROOT).hashCode());
+
+        final String canonicalValue = caseInsensitiveInterner.intern("Value");
+
+        assertThat(caseInsensitiveInterner.intern("VALUE")).isSameAs(canonicalValue);
+    }
+
+    @Test
+    public void boundedInternerShouldRejectNewObjectsWhenFull() {
+        final Interner<String> boundedInterner = new Interner<>(Object::equals, Object::hashCode, 1);
+        final String canonicalValue = boundedInterner.intern(new String("value"));
+        final String otherValue = new String("other");
+
+        assertThat(boundedInterner.intern(otherValue)).isSameAs(otherValue);
+        assertThat(boundedInterner.intern(new String("value"))).isSameAs(canonicalValue);
+        assertThat(boundedInterner.getRejectionCount()).isEqualTo(1);
+        assertThat(boundedInterner.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void nonPositiveMaximumSizeShouldBeRejected() {
+        assertThatThrownBy(() -> new Interner<String>(Object::equals, Object::hashCode, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void discardedInstancesShouldBeRemoved() {
+        final String value = new String("value");
+        interner.intern(value);
+
+        interner.discardCanonicalInstance(value);
+
+        assertThat(interner.size()).isZero();
+
+        final String equalValue = new String("value");
+
+        assertThat(interner.intern(equalValue)).isSameAs(equalValue);
+        assertThat(interner.getMissCount()).isEqualTo(2);
+    }
+}
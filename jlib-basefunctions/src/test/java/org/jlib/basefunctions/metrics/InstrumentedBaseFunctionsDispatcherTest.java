@@ -0,0 +1,143 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.metrics;
+
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.openmbean.CompositeData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.CompiledTestBaseFunctionsDispatcher;
+import org.jlib.basefunctions.Equals;
+import org.jlib.basefunctions.HashCode;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.EQUALS;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.HASH_CODE;
+import static org.jlib.basefunctions.metrics.BaseFunctionsOperation.TO_STRING;
+import org.junit.Test;
+
+public class InstrumentedBaseFunctionsDispatcherTest {
+
+    private static final class Point {
+
+        private final int x;
+        private final int y;
+
+        private Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+    private final InstrumentedBaseFunctionsDispatcher dispatcher =
+        new InstrumentedBaseFunctionsDispatcher(new CompiledTestBaseFunctionsDispatcher(), "test", mBeanServer, 1);
+
+    @Test
+    public void callsShouldBeRecordedPerClassAndOperation() {
+        final Equals<Point> equals = dispatcher.genericEquals(Point.class);
+        final HashCode<Point> hashCode = dispatcher.genericHashCode(Point.class);
+
+        equals.areEqual(new Point(1, 2), new Point(1, 2));
+        equals.areEqual(new Point(1, 2), new Point(2, 1));
+        hashCode.hashCode(new Point(1, 2));
+
+        final ClassMetrics metrics = dispatcher.metricsOf(Point.class);
+
+        assertThat(metrics.getEquals().getCalls()).isEqualTo(2);
+        assertThat(metrics.getHashCode().getCalls()).isEqualTo(1);
+        assertThat(metrics.getToString().getCalls()).isZero();
+        assertThat(Arrays.stream(metrics.getEquals().getLatencyHistogram()).sum()).isEqualTo(2);
+    }
+
+    @Test
+    public void allocationsOfEachCallShouldBeSampledForSamplingIntervalOne() {
+        final HashCode<Point> hashCode = dispatcher.genericHashCode(Point.class);
+
+        hashCode.hashCode(new Point(1, 2));
+        hashCode.hashCode(new Point(3, 4));
+
+        final OperationMetricsSnapshot hashCodeMetrics = dispatcher.metricsOf(Point.class).getHashCode();
+
+        assertThat(hashCodeMetrics.getAllocationSamples()).isEqualTo(2);
+        assertThat(hashCodeMetrics.getSampledAllocatedBytes()).isNotNegative();
+    }
+
+    @Test
+    public void metricsShouldBeRegisteredAsMXBean()
+        throws JMException {
+        dispatcher.genericHashCode(Point.class).hashCode(new Point(1, 2));
+
+        final CompositeData hashCodeMetrics =
+            (CompositeData) mBeanServer.getAttribute(dispatcher.objectName(Point.class), "HashCode");
+
+        assertThat(hashCodeMetrics.get("calls")).isEqualTo(1L);
+        assertThat(mBeanServer.getAttribute(dispatcher.objectName(Point.class), "ClassName"))
+            .isEqualTo(Point.class.getName());
+    }
+
+    @Test
+    public void resetShouldClearMetrics() {
+        dispatcher.genericHashCode(Point.class).hashCode(new Point(1, 2));
+
+        dispatcher.metricsOf(Point.class).reset();
+
+        assertThat(dispatcher.metricsOf(Point.class).of(HASH_CODE).snapshot().getCalls()).isZero();
+        assertThat(dispatcher.metricsOf(Point.class).of(EQUALS).snapshot().getCalls()).isZero();
+        assertThat(dispatcher.metricsOf(Point.class).of(TO_STRING).snapshot().getCalls()).isZero();
+    }
+
+    @Test
+    public void unregisterShouldRemoveMetricsAndMBean()
+        throws JMException {
+        dispatcher.genericHashCode(Point.class).hashCode(new Point(1, 2));
+
+        dispatcher.unregister(Point.class);
+
+        assertThat(mBeanServer.isRegistered(dispatcher.objectName(Point.class))).isFalse();
+        assertThat(dispatcher.getAllClassMetrics()).isEmpty();
+
+        dispatcher.genericHashCode(Point.class).hashCode(new Point(1, 2));
+
+        assertThat(dispatcher.metricsOf(Point.class).getHashCode().getCalls()).isEqualTo(1);
+        assertThat(mBeanServer.isRegistered(dispatcher.objectName(Point.class))).isTrue();
+    }
+
+    @Test
+    public void closeShouldUnregisterAllMBeans()
+        throws JMException {
+        dispatcher.genericHashCode(Point.class).hashCode(new Point(1, 2));
+        dispatcher.genericHashCode(String.class).hashCode("text");
+
+        dispatcher.close();
+
+        assertThat(mBeanServer.isRegistered(dispatcher.objectName(Point.class))).isFalse();
+        assertThat(mBeanServer.isRegistered(dispatcher.objectName(String.class))).isFalse();
+
+        dispatcher.genericHashCode(Integer.class).hashCode(1);
+
+        assertThat(mBeanServer.isRegistered(dispatcher.objectName(Integer.class))).isFalse();
+        assertThat(dispatcher.metricsOf(Integer.class).getHashCode().getCalls()).isEqualTo(1);
+    }
+}
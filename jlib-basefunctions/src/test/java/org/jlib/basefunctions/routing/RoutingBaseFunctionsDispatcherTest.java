@@ -0,0 +1,93 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.basefunctions.routing;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.CompiledTestBaseFunctionsDispatcher;
+import org.jlib.basefunctions.HashCode;
+import static org.jlib.basefunctions.routing.DispatcherRoute.hierarchy;
+import static org.jlib.basefunctions.routing.DispatcherRoute.packageTree;
+import org.junit.Test;
+
+public class RoutingBaseFunctionsDispatcherTest {
+
+    private static final int FIXED_HASH_CODE = 42;
+
+    private static class FixedHashCodeDispatcher
+        extends CompiledTestBaseFunctionsDispatcher {
+
+        @Override
+        public <Obj> HashCode<Obj> genericHashCode(final Class<? extends Obj> type, final String... excludedFields) {
+            return object -> FIXED_HASH_CODE;
+        }
+    }
+
+    private final BaseFunctionsDispatcher defaultDispatcher = new CompiledTestBaseFunctionsDispatcher();
+    private final BaseFunctionsDispatcher listDispatcher = new FixedHashCodeDispatcher();
+    private final BaseFunctionsDispatcher concurrentDispatcher = new CompiledTestBaseFunctionsDispatcher();
+
+    private final RoutingBaseFunctionsDispatcher routingDispatcher =
+        new RoutingBaseFunctionsDispatcher(defaultDispatcher,
+                                           Arrays.asList(hierarchy(AbstractList.class, listDispatcher),
+                                                         packageTree("java.util.concurrent", concurrentDispatcher),
+                                                         packageTree("java.util", defaultDispatcher)));
+
+    @Test
+    public void hierarchyRouteShouldMatchSubclasses() {
+        assertThat(routingDispatcher.delegateOf(AbstractList.class)).isSameAs(listDispatcher);
+        assertThat(routingDispatcher.delegateOf(ArrayList.class)).isSameAs(listDispatcher);
+    }
+
+    @Test
+    public void packageRouteShouldMatchClassesOfPackageAndSubpackages() {
+        assertThat(routingDispatcher.delegateOf(ConcurrentHashMap.class)).isSameAs(concurrentDispatcher);
+        assertThat(routingDispatcher.delegateOf(ConcurrentHashMap.KeySetView.class)).isSameAs(concurrentDispatcher);
+    }
+
+    @Test
+    public void packageRouteShouldNotMatchPackagesSharingNamePrefix() {
+        final RoutingBaseFunctionsDispatcher prefixDispatcher =
+            new RoutingBaseFunctionsDispatcher(defaultDispatcher,
+                                               Collections.singletonList(packageTree("java.uti", listDispatcher)));
+
+        assertThat(prefixDispatcher.delegateOf(ArrayList.class)).isSameAs(defaultDispatcher);
+    }
+
+    @Test
+    public void unmatchedClassShouldUseDefaultDispatcher() {
+        assertThat(routingDispatcher.delegateOf(String.class)).isSameAs(defaultDispatcher);
+    }
+
+    @Test
+    public void typedRequestShouldBeRoutedToDelegate() {
+        final HashCode<Object> listHashCode = routingDispatcher.genericHashCode(ArrayList.class);
+
+        assertThat(listHashCode.hashCode(new ArrayList<>())).isEqualTo(FIXED_HASH_CODE);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Throughput of {@link Object#equals(Object)}, {@link Object#hashCode()} and {@link Object#toString()} for each
+ * {@link Implementation}, {@link Dispatcher} and {@link Shape} of the processed objects. Equality is measured for
+ * equal objects and for objects differing in their first compared field. The {@link Implementation#GENERIC generic}
+ * and {@link Implementation#ENGINE engine} implementations use the base functions of the {@link Dispatcher}; the
+ * {@link Implementation#HANDWRITTEN handwritten} implementation is the baseline, independent of the
+ * {@link Dispatcher}.
+ * </p>
+ * <p>
+ * {@link #main(String[])} runs all benchmarks with the {@link GCProfiler}, reporting the allocation rates as well.
+ * From the packaged jar, the benchmarks are run by {@code java -jar benchmarks.jar -prof gc}; a subset may be
+ * selected, for instance, by {@code -p implementation=GENERIC,HANDWRITTEN -p dispatcher=COMPILED -p shape=ORDER}.
+ * The {@link Dispatcher} is selected once per JVM, so the benchmarks must run in forked JVMs. Further system
+ * properties configuring the base functions are passed to the forked JVMs by {@code -jvmArgsAppend}.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BaseFunctionsBenchmark {
+
+    @Param
+    public Implementation implementation;
+
+    @Param
+    public Dispatcher dispatcher;
+
+    @Param
+    public Shape shape;
+
+    private static Dispatcher configuredDispatcher;
+
+    private Object object;
+    private Object equalObject;
+    private Object unequalObject;
+
+    public static void main(final String... arguments)
+        throws RunnerException {
+        new Runner(new OptionsBuilder().include(BaseFunctionsBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        configureDispatcher();
+
+        object = implementation.create(shape, 0);
+        equalObject = implementation.create(shape, 0);
+        unequalObject = implementation.create(shape, 1);
+
+        if (! object.equals(equalObject) || object.hashCode() != equalObject.hashCode())
+            throw new IllegalStateException(implementation + " " + shape + ": " + object + " != " + equalObject);
+
+        if (object.equals(unequalObject))
+            throw new IllegalStateException(implementation + " " + shape + ": " + object + " == " + unequalObject);
+    }
+
+    // the dispatcher of the base functions cannot be replaced once selected
+    private void configureDispatcher() {
+        if (configuredDispatcher == null) {
+            dispatcher.configure();
+            configuredDispatcher = dispatcher;
+        }
+
+        if (dispatcher != configuredDispatcher)
+            throw new IllegalStateException(dispatcher + ": " + configuredDispatcher + " already configured");
+    }
+
+    @Benchmark
+    public boolean equalsOfEqualObjects() {
+        return object.equals(equalObject);
+    }
+
+    @Benchmark
+    public boolean equalsOfUnequalObjects() {
+        return object.equals(unequalObject);
+    }
+
+    @Benchmark
+    public int hashCodeOfObject() {
+        return object.hashCode();
+    }
+
+    @Benchmark
+    public String toStringOfObject() {
+        return object.toString();
+    }
+}
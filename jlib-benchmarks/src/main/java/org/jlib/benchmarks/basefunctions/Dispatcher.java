@@ -0,0 +1,86 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import org.jlib.basefunctions.BaseFunctionsDispatcher;
+import org.jlib.basefunctions.BaseFunctionsService;
+import org.jlib.basefunctions.apachecommons.service.ApacheCommonsBaseFunctionsDispatcher;
+import org.jlib.basefunctions.apachecommons.service.GenericStrategyMode;
+import org.jlib.basefunctions.bytecode.service.BytecodeBaseFunctionsDispatcher;
+
+import static org.jlib.basefunctions.BaseFunctionsService.DISPATCHER_PROPERTY_NAME;
+import static org.jlib.basefunctions.apachecommons.service.GenericStrategyMode.GENERIC_STRATEGY_MODE_PROPERTY_NAME;
+
+/**
+ * <p>
+ * {@link BaseFunctionsDispatcher} used by the benchmarked {@link org.jlib.basefunctions.ApplicationObject}s.
+ * </p>
+ * <p>
+ * The {@link BaseFunctionsService} selects its {@link BaseFunctionsDispatcher} once per JVM, so a {@link Dispatcher}
+ * must be {@link #configure() configured} before the first {@link org.jlib.basefunctions.ApplicationObject} is used,
+ * and each {@link Dispatcher} requires a JVM of its own.
+ * </p>
+ *
+ * @author Igor Akkerman
+ */
+public enum Dispatcher {
+
+    /** Apache Commons implementation in {@link GenericStrategyMode#REFLECTIVE reflective} mode */
+    REFLECTIVE(ApacheCommonsBaseFunctionsDispatcher.class, GenericStrategyMode.REFLECTIVE),
+
+    /** Apache Commons implementation in {@link GenericStrategyMode#COMPILED compiled} mode */
+    COMPILED(ApacheCommonsBaseFunctionsDispatcher.class, GenericStrategyMode.COMPILED),
+
+    /** bytecode implementation */
+    BYTECODE(BytecodeBaseFunctionsDispatcher.class, null);
+
+    private final Class<? extends BaseFunctionsDispatcher> dispatcherClass;
+    private final GenericStrategyMode genericStrategyMode;
+
+    Dispatcher(final Class<? extends BaseFunctionsDispatcher> dispatcherClass,
+               final GenericStrategyMode genericStrategyMode) {
+        this.dispatcherClass = dispatcherClass;
+        this.genericStrategyMode = genericStrategyMode;
+    }
+
+    /**
+     * Sets the system properties selecting this {@link Dispatcher} and verifies that the {@link BaseFunctionsService}
+     * uses it.
+     *
+     * @throws IllegalStateException
+     *         if the {@link BaseFunctionsService} has already selected another {@link BaseFunctionsDispatcher}
+     */
+    public void configure()
+        throws IllegalStateException {
+
+        System.setProperty(DISPATCHER_PROPERTY_NAME, dispatcherClass.getName());
+
+        if (genericStrategyMode != null)
+            System.setProperty(GENERIC_STRATEGY_MODE_PROPERTY_NAME, genericStrategyMode.name());
+
+        final BaseFunctionsDispatcher selectedDispatcher =
+            BaseFunctionsService.getInstance().getBaseFunctionsDispatcher();
+
+        if (selectedDispatcher.getClass() != dispatcherClass)
+            throw new IllegalStateException(this + ": " + selectedDispatcher.getClass().getName() + " selected");
+    }
+}
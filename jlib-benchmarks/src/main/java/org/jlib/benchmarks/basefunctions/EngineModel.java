@@ -0,0 +1,336 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import java.util.List;
+
+import org.jlib.basefunctions.ApplicationObject;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BOOLEAN;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BYTE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_CHAR;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_DOUBLE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_FLOAT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_INT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_LONG;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_SHORT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ORDER_NUMBER;
+import static org.jlib.benchmarks.basefunctions.ModelValues.X;
+import static org.jlib.benchmarks.basefunctions.ModelValues.Y;
+import static org.jlib.benchmarks.basefunctions.ModelValues.age;
+import static org.jlib.benchmarks.basefunctions.ModelValues.bytes;
+import static org.jlib.benchmarks.basefunctions.ModelValues.doubles;
+import static org.jlib.benchmarks.basefunctions.ModelValues.email;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ints;
+import static org.jlib.benchmarks.basefunctions.ModelValues.name;
+import static org.jlib.benchmarks.basefunctions.ModelValues.tags;
+
+/**
+ * Benchmarked {@link ApplicationObject}s implementing their base functions using the engines of the registered
+ * {@link org.jlib.basefunctions.BaseFunctionsDispatcher}.
+ *
+ * @author Igor Akkerman
+ */
+final class EngineModel {
+
+    static final class Point
+        extends ApplicationObject {
+
+        private final int x;
+        private final int y;
+
+        Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof Point))
+                return false;
+
+            final Point other = (Point) otherObject;
+
+            return equalsEngine(other).add(x, other.x)
+                                      .add(y, other.y)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(x)
+                                   .add(y)
+                                   .toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return toStringEngine().add("x", x)
+                                   .add("y", y)
+                                   .toString();
+        }
+    }
+
+    static final class Measurement
+        extends ApplicationObject {
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final float floatValue;
+        private final boolean booleanValue;
+        private final short shortValue;
+        private final byte byteValue;
+        private final char charValue;
+
+        // assigned in the constructor, not by constant initializers, to prevent the values from being inlined
+        Measurement(final int variant) {
+            intValue = MEASUREMENT_INT + variant;
+            longValue = MEASUREMENT_LONG;
+            doubleValue = MEASUREMENT_DOUBLE;
+            floatValue = MEASUREMENT_FLOAT;
+            booleanValue = MEASUREMENT_BOOLEAN;
+            shortValue = MEASUREMENT_SHORT;
+            byteValue = MEASUREMENT_BYTE;
+            charValue = MEASUREMENT_CHAR;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof Measurement))
+                return false;
+
+            final Measurement other = (Measurement) otherObject;
+
+            return equalsEngine(other).add(intValue, other.intValue)
+                                      .add(longValue, other.longValue)
+                                      .add(doubleValue, other.doubleValue)
+                                      .add(floatValue, other.floatValue)
+                                      .add(booleanValue, other.booleanValue)
+                                      .add(shortValue, other.shortValue)
+                                      .add(byteValue, other.byteValue)
+                                      .add(charValue, other.charValue)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(intValue)
+                                   .add(longValue)
+                                   .add(doubleValue)
+                                   .add(floatValue)
+                                   .add(booleanValue)
+                                   .add(shortValue)
+                                   .add(byteValue)
+                                   .add(charValue)
+                                   .toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return toStringEngine().add("intValue", intValue)
+                                   .add("longValue", longValue)
+                                   .add("doubleValue", doubleValue)
+                                   .add("floatValue", floatValue)
+                                   .add("booleanValue", booleanValue)
+                                   .add("shortValue", shortValue)
+                                   .add("byteValue", byteValue)
+                                   .add("charValue", charValue)
+                                   .toString();
+        }
+    }
+
+    static class Customer
+        extends ApplicationObject {
+
+        protected final String name;
+        protected final Integer age = age();
+        protected final List<String> tags = tags();
+        protected final String email = email();
+
+        Customer(final int variant) {
+            name = name(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (otherObject == null || otherObject.getClass() != getClass())
+                return false;
+
+            final Customer other = (Customer) otherObject;
+
+            return equalsEngine(other).add(name, other.name)
+                                      .add(age, other.age)
+                                      .add(tags, other.tags)
+                                      .add(email, other.email)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(name)
+                                   .add(age)
+                                   .add(tags)
+                                   .add(email)
+                                   .toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return toStringEngine().add("name", name)
+                                   .add("age", age)
+                                   .add("tags", tags)
+                                   .add("email", email)
+                                   .toString();
+        }
+    }
+
+    static final class ExcludingCustomer
+        extends Customer {
+
+        ExcludingCustomer(final int variant) {
+            super(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof ExcludingCustomer))
+                return false;
+
+            final ExcludingCustomer other = (ExcludingCustomer) otherObject;
+
+            return equalsEngine(other).add(name, other.name)
+                                      .add(age, other.age)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(name)
+                                   .add(age)
+                                   .toHashCode();
+        }
+    }
+
+    static final class Order
+        extends ApplicationObject {
+
+        private final Customer customer;
+        private final Point deliveryLocation = new Point(X, Y);
+        private final long number;
+
+        Order(final int variant) {
+            customer = new Customer(variant);
+            number = ORDER_NUMBER;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof Order))
+                return false;
+
+            final Order other = (Order) otherObject;
+
+            return equalsEngine(other).add(customer, other.customer)
+                                      .add(deliveryLocation, other.deliveryLocation)
+                                      .add(number, other.number)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(customer)
+                                   .add(deliveryLocation)
+                                   .add(number)
+                                   .toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return toStringEngine().add("customer", customer)
+                                   .add("deliveryLocation", deliveryLocation)
+                                   .add("number", number)
+                                   .toString();
+        }
+    }
+
+    static final class PrimitiveArrays
+        extends ApplicationObject {
+
+        private final int[] ints;
+        private final double[] doubles = doubles();
+        private final byte[] bytes = bytes();
+
+        PrimitiveArrays(final int variant) {
+            ints = ints(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (! (otherObject instanceof PrimitiveArrays))
+                return false;
+
+            final PrimitiveArrays other = (PrimitiveArrays) otherObject;
+
+            return equalsEngine(other).add(ints, other.ints)
+                                      .add(doubles, other.doubles)
+                                      .add(bytes, other.bytes)
+                                      .equal();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCodeEngine().add(ints)
+                                   .add(doubles)
+                                   .add(bytes)
+                                   .toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return toStringEngine().add("ints", ints)
+                                   .add("doubles", doubles)
+                                   .add("bytes", bytes)
+                                   .toString();
+        }
+    }
+
+    private EngineModel() {}
+
+    static Object create(final Shape shape, final int variant) {
+        switch (shape) {
+            case POINT:
+                return new Point(X + variant, Y);
+            case MEASUREMENT:
+                return new Measurement(variant);
+            case CUSTOMER:
+                return new Customer(variant);
+            case EXCLUDING_CUSTOMER:
+                return new ExcludingCustomer(variant);
+            case ORDER:
+                return new Order(variant);
+            case PRIMITIVE_ARRAYS:
+                return new PrimitiveArrays(variant);
+            default:
+                throw new IllegalArgumentException(shape.name());
+        }
+    }
+}
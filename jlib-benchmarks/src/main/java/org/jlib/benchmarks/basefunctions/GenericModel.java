@@ -0,0 +1,165 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import java.util.List;
+
+import org.jlib.basefunctions.ApplicationObject;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BOOLEAN;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BYTE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_CHAR;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_DOUBLE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_FLOAT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_INT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_LONG;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_SHORT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ORDER_NUMBER;
+import static org.jlib.benchmarks.basefunctions.ModelValues.X;
+import static org.jlib.benchmarks.basefunctions.ModelValues.Y;
+import static org.jlib.benchmarks.basefunctions.ModelValues.age;
+import static org.jlib.benchmarks.basefunctions.ModelValues.bytes;
+import static org.jlib.benchmarks.basefunctions.ModelValues.doubles;
+import static org.jlib.benchmarks.basefunctions.ModelValues.email;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ints;
+import static org.jlib.benchmarks.basefunctions.ModelValues.name;
+import static org.jlib.benchmarks.basefunctions.ModelValues.tags;
+
+/**
+ * Benchmarked {@link ApplicationObject}s using the generic strategies of the registered
+ * {@link org.jlib.basefunctions.BaseFunctionsDispatcher}.
+ *
+ * @author Igor Akkerman
+ */
+@SuppressWarnings({ "unused", "FieldCanBeLocal" })
+final class GenericModel {
+
+    static final class Point
+        extends ApplicationObject {
+
+        private final int x;
+        private final int y;
+
+        Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static final class Measurement
+        extends ApplicationObject {
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final float floatValue;
+        private final boolean booleanValue;
+        private final short shortValue;
+        private final byte byteValue;
+        private final char charValue;
+
+        // assigned in the constructor, not by constant initializers, to prevent the values from being inlined
+        Measurement(final int variant) {
+            intValue = MEASUREMENT_INT + variant;
+            longValue = MEASUREMENT_LONG;
+            doubleValue = MEASUREMENT_DOUBLE;
+            floatValue = MEASUREMENT_FLOAT;
+            booleanValue = MEASUREMENT_BOOLEAN;
+            shortValue = MEASUREMENT_SHORT;
+            byteValue = MEASUREMENT_BYTE;
+            charValue = MEASUREMENT_CHAR;
+        }
+    }
+
+    static class Customer
+        extends ApplicationObject {
+
+        private final String name;
+        private final Integer age = age();
+        private final List<String> tags = tags();
+        private final String email = email();
+
+        Customer(final int variant) {
+            name = name(variant);
+        }
+    }
+
+    static final class ExcludingCustomer
+        extends Customer {
+
+        private static final String[] EXCLUDED_FIELD_NAMES = { "tags", "email" };
+
+        ExcludingCustomer(final int variant) {
+            super(variant);
+        }
+
+        @Override
+        protected String[] getExcludedFieldNames() {
+            return EXCLUDED_FIELD_NAMES;
+        }
+    }
+
+    static final class Order
+        extends ApplicationObject {
+
+        private final Customer customer;
+        private final Point deliveryLocation = new Point(X, Y);
+        private final long number;
+
+        Order(final int variant) {
+            customer = new Customer(variant);
+            number = ORDER_NUMBER;
+        }
+    }
+
+    static final class PrimitiveArrays
+        extends ApplicationObject {
+
+        private final int[] ints;
+        private final double[] doubles = doubles();
+        private final byte[] bytes = bytes();
+
+        PrimitiveArrays(final int variant) {
+            ints = ints(variant);
+        }
+    }
+
+    private GenericModel() {}
+
+    static Object create(final Shape shape, final int variant) {
+        switch (shape) {
+            case POINT:
+                return new Point(X + variant, Y);
+            case MEASUREMENT:
+                return new Measurement(variant);
+            case CUSTOMER:
+                return new Customer(variant);
+            case EXCLUDING_CUSTOMER:
+                return new ExcludingCustomer(variant);
+            case ORDER:
+                return new Order(variant);
+            case PRIMITIVE_ARRAYS:
+                return new PrimitiveArrays(variant);
+            default:
+                throw new IllegalArgumentException(shape.name());
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BOOLEAN;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_BYTE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_CHAR;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_DOUBLE;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_FLOAT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_INT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_LONG;
+import static org.jlib.benchmarks.basefunctions.ModelValues.MEASUREMENT_SHORT;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ORDER_NUMBER;
+import static org.jlib.benchmarks.basefunctions.ModelValues.X;
+import static org.jlib.benchmarks.basefunctions.ModelValues.Y;
+import static org.jlib.benchmarks.basefunctions.ModelValues.age;
+import static org.jlib.benchmarks.basefunctions.ModelValues.bytes;
+import static org.jlib.benchmarks.basefunctions.ModelValues.doubles;
+import static org.jlib.benchmarks.basefunctions.ModelValues.email;
+import static org.jlib.benchmarks.basefunctions.ModelValues.ints;
+import static org.jlib.benchmarks.basefunctions.ModelValues.name;
+import static org.jlib.benchmarks.basefunctions.ModelValues.tags;
+
+/**
+ * Benchmarked objects implementing their base functions by handwritten code, as a baseline.
+ *
+ * @author Igor Akkerman
+ */
+final class HandwrittenModel {
+
+    static final class Point {
+
+        private final int x;
+        private final int y;
+
+        Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof Point))
+                return false;
+
+            final Point other = (Point) otherObject;
+
+            return x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+
+        @Override
+        public String toString() {
+            return "Point[x=" + x + ",y=" + y + "]";
+        }
+    }
+
+    static final class Measurement {
+
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final float floatValue;
+        private final boolean booleanValue;
+        private final short shortValue;
+        private final byte byteValue;
+        private final char charValue;
+
+        // assigned in the constructor, not by constant initializers, to prevent the values from being inlined
+        Measurement(final int variant) {
+            intValue = MEASUREMENT_INT + variant;
+            longValue = MEASUREMENT_LONG;
+            doubleValue = MEASUREMENT_DOUBLE;
+            floatValue = MEASUREMENT_FLOAT;
+            booleanValue = MEASUREMENT_BOOLEAN;
+            shortValue = MEASUREMENT_SHORT;
+            byteValue = MEASUREMENT_BYTE;
+            charValue = MEASUREMENT_CHAR;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof Measurement))
+                return false;
+
+            final Measurement other = (Measurement) otherObject;
+
+            return intValue == other.intValue &&
+                   longValue == other.longValue &&
+                   Double.compare(doubleValue, other.doubleValue) == 0 &&
+                   Float.compare(floatValue, other.floatValue) == 0 &&
+                   booleanValue == other.booleanValue &&
+                   shortValue == other.shortValue &&
+                   byteValue == other.byteValue &&
+                   charValue == other.charValue;
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = intValue;
+            hashCode = 31 * hashCode + Long.hashCode(longValue);
+            hashCode = 31 * hashCode + Double.hashCode(doubleValue);
+            hashCode = 31 * hashCode + Float.hashCode(floatValue);
+            hashCode = 31 * hashCode + Boolean.hashCode(booleanValue);
+            hashCode = 31 * hashCode + shortValue;
+            hashCode = 31 * hashCode + byteValue;
+            return 31 * hashCode + charValue;
+        }
+
+        @Override
+        public String toString() {
+            return "Measurement[intValue=" + intValue +
+                   ",longValue=" + longValue +
+                   ",doubleValue=" + doubleValue +
+                   ",floatValue=" + floatValue +
+                   ",booleanValue=" + booleanValue +
+                   ",shortValue=" + shortValue +
+                   ",byteValue=" + byteValue +
+                   ",charValue=" + charValue + "]";
+        }
+    }
+
+    static class Customer {
+
+        protected final String name;
+        protected final Integer age = age();
+        protected final List<String> tags = tags();
+        protected final String email = email();
+
+        Customer(final int variant) {
+            name = name(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (otherObject == null || otherObject.getClass() != getClass())
+                return false;
+
+            final Customer other = (Customer) otherObject;
+
+            return Objects.equals(name, other.name) &&
+                   Objects.equals(age, other.age) &&
+                   Objects.equals(tags, other.tags) &&
+                   Objects.equals(email, other.email);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, age, tags, email);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[name=" + name + ",age=" + age + ",tags=" + tags + ",email=" + email +
+                   "]";
+        }
+    }
+
+    static final class ExcludingCustomer
+        extends Customer {
+
+        ExcludingCustomer(final int variant) {
+            super(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof ExcludingCustomer))
+                return false;
+
+            final ExcludingCustomer other = (ExcludingCustomer) otherObject;
+
+            return Objects.equals(name, other.name) && Objects.equals(age, other.age);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, age);
+        }
+    }
+
+    static final class Order {
+
+        private final Customer customer;
+        private final Point deliveryLocation = new Point(X, Y);
+        private final long number;
+
+        Order(final int variant) {
+            customer = new Customer(variant);
+            number = ORDER_NUMBER;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof Order))
+                return false;
+
+            final Order other = (Order) otherObject;
+
+            return customer.equals(other.customer) &&
+                   deliveryLocation.equals(other.deliveryLocation) &&
+                   number == other.number;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * customer.hashCode() + deliveryLocation.hashCode()) + Long.hashCode(number);
+        }
+
+        @Override
+        public String toString() {
+            return "Order[customer=" + customer + ",deliveryLocation=" + deliveryLocation + ",number=" + number + "]";
+        }
+    }
+
+    static final class PrimitiveArrays {
+
+        private final int[] ints;
+        private final double[] doubles = doubles();
+        private final byte[] bytes = bytes();
+
+        PrimitiveArrays(final int variant) {
+            ints = ints(variant);
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject)
+                return true;
+
+            if (! (otherObject instanceof PrimitiveArrays))
+                return false;
+
+            final PrimitiveArrays other = (PrimitiveArrays) otherObject;
+
+            return Arrays.equals(ints, other.ints) &&
+                   Arrays.equals(doubles, other.doubles) &&
+                   Arrays.equals(bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(ints) + Arrays.hashCode(doubles)) + Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public String toString() {
+            return "PrimitiveArrays[ints=" + Arrays.toString(ints) +
+                   ",doubles=" + Arrays.toString(doubles) +
+                   ",bytes=" + Arrays.toString(bytes) + "]";
+        }
+    }
+
+    private HandwrittenModel() {}
+
+    static Object create(final Shape shape, final int variant) {
+        switch (shape) {
+            case POINT:
+                return new Point(X + variant, Y);
+            case MEASUREMENT:
+                return new Measurement(variant);
+            case CUSTOMER:
+                return new Customer(variant);
+            case EXCLUDING_CUSTOMER:
+                return new ExcludingCustomer(variant);
+            case ORDER:
+                return new Order(variant);
+            case PRIMITIVE_ARRAYS:
+                return new PrimitiveArrays(variant);
+            default:
+                throw new IllegalArgumentException(shape.name());
+        }
+    }
+}
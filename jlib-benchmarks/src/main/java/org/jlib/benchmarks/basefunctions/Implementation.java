@@ -0,0 +1,69 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+/**
+ * Implementation of the base functions of the objects processed by the {@link BaseFunctionsBenchmark}.
+ *
+ * @author Igor Akkerman
+ */
+public enum Implementation {
+
+    /** generic strategies of {@link org.jlib.basefunctions.ApplicationObject} */
+    GENERIC {
+        @Override
+        public Object create(final Shape shape, final int variant) {
+            return GenericModel.create(shape, variant);
+        }
+    },
+
+    /** {@link org.jlib.basefunctions.ApplicationObject} methods using the engines */
+    ENGINE {
+        @Override
+        public Object create(final Shape shape, final int variant) {
+            return EngineModel.create(shape, variant);
+        }
+    },
+
+    /** handwritten methods */
+    HANDWRITTEN {
+        @Override
+        public Object create(final Shape shape, final int variant) {
+            return HandwrittenModel.create(shape, variant);
+        }
+    };
+
+    /**
+     * Creates a new object of the specified {@link Shape}. All objects of a {@link Shape} and variant created by the
+     * same {@link Implementation} are equal, but share no field values except the cached boxed values. Objects of
+     * different variants differ in their first compared field.
+     *
+     * @param shape
+     *        {@link Shape} of the object
+     *
+     * @param variant
+     *        integer specifying the variant; {@code 0} or {@code 1}
+     *
+     * @return new {@link Object}
+     */
+    public abstract Object create(Shape shape, int variant);
+}
@@ -0,0 +1,98 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Field values of the benchmarked objects. Each call returns new instances, so equal objects do not share field
+ * values and equality is not decided by identity. The values of the first compared field of each object depend on a
+ * variant, so objects of different variants differ in that field.
+ *
+ * @author Igor Akkerman
+ */
+final class ModelValues {
+
+    static final int X = 3;
+    static final int Y = 4;
+
+    static final int MEASUREMENT_INT = 1;
+    static final long MEASUREMENT_LONG = 2L;
+    static final double MEASUREMENT_DOUBLE = 3.5;
+    static final float MEASUREMENT_FLOAT = 4.5f;
+    static final boolean MEASUREMENT_BOOLEAN = true;
+    static final short MEASUREMENT_SHORT = 6;
+    static final byte MEASUREMENT_BYTE = 7;
+    static final char MEASUREMENT_CHAR = 'c';
+
+    static final long ORDER_NUMBER = 4711L;
+
+    static final int ARRAY_LENGTH = 64;
+
+    private static final String[] NAMES = { "Jane Doe", "John Doe" };
+
+    private ModelValues() {}
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    static String name(final int variant) {
+        return new String(NAMES[variant]);
+    }
+
+    static Integer age() {
+        // outside of the Integer cache, creating a new instance
+        return Integer.valueOf(1042);
+    }
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    static List<String> tags() {
+        return new ArrayList<>(Arrays.asList(new String("premium"), new String("newsletter"), new String("b2b")));
+    }
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    static String email() {
+        return new String("jane.doe@example.org");
+    }
+
+    static int[] ints(final int variant) {
+        final int[] ints = new int[ARRAY_LENGTH];
+        Arrays.setAll(ints, index -> index + variant);
+
+        return ints;
+    }
+
+    static double[] doubles() {
+        final double[] doubles = new double[ARRAY_LENGTH];
+        Arrays.setAll(doubles, index -> index / 2.0);
+
+        return doubles;
+    }
+
+    static byte[] bytes() {
+        final byte[] bytes = new byte[ARRAY_LENGTH];
+        for (int index = 0; index < ARRAY_LENGTH; index++)
+            bytes[index] = (byte) index;
+
+        return bytes;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.benchmarks.basefunctions;
+
+/**
+ * Shape of the objects processed by the {@link BaseFunctionsBenchmark}.
+ *
+ * @author Igor Akkerman
+ */
+public enum Shape {
+
+    /** two {@code int} fields */
+    POINT,
+
+    /** eight primitive fields of all primitive types */
+    MEASUREMENT,
+
+    /** four object fields */
+    CUSTOMER,
+
+    /** four object fields, two of them excluded from equals and hash code */
+    EXCLUDING_CUSTOMER,
+
+    /** a nested customer, a nested point and a {@code long} field */
+    ORDER,
+
+    /** three primitive array fields of {@value ModelValues#ARRAY_LENGTH} elements */
+    PRIMITIVE_ARRAYS
+}
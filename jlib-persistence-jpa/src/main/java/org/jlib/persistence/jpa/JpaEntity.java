@@ -23,6 +23,7 @@ package org.jlib.persistence.jpa;
 
 import java.io.Serializable;
 
+import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
@@ -38,6 +39,20 @@ import org.jlib.persistence.IdEntity;
  * Annotate the entity class with
  * {@code @AttributeOverride(name = JpaEntity.FIELD_NAME_ID, column = @Column(name = "myentity_id"))}
  * </p>
+ * <p>
+ * Two entities are equal if they are instances of the same entity class and have the same non-null id. Entities
+ * without an id, not yet persisted, are only equal to themselves. The entity class is the topmost class annotated by
+ * {@link Entity}, the root of the entity hierarchy, whose entities share one id space. So lazy loading proxies,
+ * subclassing the class of the association, are equal to the entities they represent, even if these are instances of
+ * entity subclasses. The ids are read by {@link #getId()}, which lazy loading proxies answer without initialization,
+ * so neither {@link #equals(Object)} nor {@link #hashCode()} loads any lazy state.
+ * </p>
+ * <p>
+ * The hash code of a persisted entity is computed from its id, so entities spread over the buckets of hash based
+ * collections. A transient entity, only equal to itself, has its identity hash code. Hence, the hash code changes when
+ * the entity is persisted and the id is assigned: a transient entity must not be contained in a hash based collection
+ * while it is persisted, or it cannot be found there afterwards.
+ * </p>
 
  * @param <ID>
  *        type of the id
@@ -46,6 +61,20 @@ import org.jlib.persistence.IdEntity;
 public abstract class JpaEntity<ID extends Serializable>
     implements IdEntity<ID> {
 
+    private static final ClassValue<Class<?>> ENTITY_CLASSES = new ClassValue<Class<?>>() {
+
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+            Class<?> entityClass = type;
+
+            for (Class<?> currentClass = type; currentClass != null; currentClass = currentClass.getSuperclass())
+                if (currentClass.isAnnotationPresent(Entity.class))
+                    entityClass = currentClass;
+
+            return entityClass;
+        }
+    };
+
     @Id
     @GeneratedValue(strategy = AUTO)
     private ID id;
@@ -54,4 +83,31 @@ public abstract class JpaEntity<ID extends Serializable>
     public ID getId() {
         return id;
     }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject)
+            return true;
+
+        if (! (otherObject instanceof JpaEntity))
+            return false;
+
+        final JpaEntity<?> other = (JpaEntity<?>) otherObject;
+
+        if (ENTITY_CLASSES.get(getClass()) != ENTITY_CLASSES.get(other.getClass()))
+            return false;
+
+        final ID thisId = getId();
+
+        return thisId != null && thisId.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        final ID thisId = getId();
+
+        return thisId != null ?
+               31 * ENTITY_CLASSES.get(getClass()).hashCode() + thisId.hashCode() :
+               System.identityHashCode(this);
+    }
 }
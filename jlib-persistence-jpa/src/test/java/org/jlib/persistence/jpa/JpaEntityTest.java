@@ -0,0 +1,143 @@
+/*
+ * jlib - Open Source Java Library
+ *
+ *     www.jlib.org
+ *
+ *
+ *     Copyright 2005-2015 Igor Akkerman
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ */
+
+package org.jlib.persistence.jpa;
+
+import java.lang.reflect.Field;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.Entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class JpaEntityTest {
+
+    @Test
+    public void transientEntitiesShouldOnlyEqualThemselves() {
+        final Customer customer = new Customer();
+
+        assertThat(customer).isEqualTo(customer)
+                            .isNotEqualTo(new Customer());
+    }
+
+    @Test
+    public void persistedEntitiesShouldBeEqualByClassAndId()
+        throws ReflectiveOperationException {
+        assertThat(persisted(new Customer(), 1L)).isEqualTo(persisted(new Customer(), 1L))
+                                                  .isNotEqualTo(persisted(new Customer(), 2L))
+                                                  .isNotEqualTo(new Customer());
+        assertThat(new Customer()).isNotEqualTo(persisted(new Customer(), 1L));
+    }
+
+    @Test
+    public void proxyShouldEqualEntity()
+        throws ReflectiveOperationException {
+        final Customer customer = persisted(new Customer(), 1L);
+        final Customer proxy = persisted(new CustomerProxy(), 1L);
+
+        assertThat(proxy).isEqualTo(customer);
+        assertThat(customer).isEqualTo(proxy);
+        assertThat(proxy.hashCode()).isEqualTo(customer.hashCode());
+    }
+
+    @Test
+    public void entitiesOfDifferentClassesWithSameIdShouldNotBeEqual()
+        throws ReflectiveOperationException {
+        assertThat(persisted(new Customer(), 1L)).isNotEqualTo(persisted(new Order(), 1L));
+        assertThat(persisted(new Order(), 1L)).isNotEqualTo(persisted(new Customer(), 1L));
+    }
+
+    @Test
+    public void proxyOfEntitySuperclassShouldEqualEntityOfSubclass()
+        throws ReflectiveOperationException {
+        final Dog dog = persisted(new Dog(), 1L);
+        final Animal proxy = persisted(new AnimalProxy(), 1L);
+
+        assertThat(proxy).isEqualTo(dog);
+        assertThat(dog).isEqualTo(proxy);
+        assertThat(proxy.hashCode()).isEqualTo(dog.hashCode());
+    }
+
+    @Test
+    public void entitiesOfDifferentSubclassesOfSameHierarchyShouldBeEqualByIdOnly()
+        throws ReflectiveOperationException {
+        assertThat(persisted(new Dog(), 1L)).isNotEqualTo(persisted(new Cat(), 2L))
+                                             .isNotEqualTo(new Cat());
+        assertThat(persisted(new Cat(), 2L)).isNotEqualTo(persisted(new Dog(), 1L));
+    }
+
+    @Test
+    public void persistedEntitiesShouldHaveHashCodesOfTheirIds()
+        throws ReflectiveOperationException {
+        final Set<Integer> hashCodes = new HashSet<>();
+
+        for (long id = 0; id < 100; id++)
+            hashCodes.add(persisted(new Customer(), id).hashCode());
+
+        assertThat(hashCodes).hasSize(100);
+        assertThat(persisted(new Customer(), 1L).hashCode()).isEqualTo(persisted(new Customer(), 1L).hashCode());
+    }
+
+    @Test
+    public void transientEntityShouldHaveStableHashCode() {
+        final Customer customer = new Customer();
+
+        assertThat(customer.hashCode()).isEqualTo(customer.hashCode());
+    }
+
+    private static <Ent extends JpaEntity<Long>> Ent persisted(final Ent entity, final long id)
+        throws ReflectiveOperationException {
+        final Field idField = JpaEntity.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(entity, id);
+
+        return entity;
+    }
+
+    @Entity
+    private static class Customer
+        extends JpaEntity<Long> {}
+
+    private static class CustomerProxy
+        extends Customer {}
+
+    @Entity
+    private static class Order
+        extends JpaEntity<Long> {}
+
+    @Entity
+    private static class Animal
+        extends JpaEntity<Long> {}
+
+    private static class AnimalProxy
+        extends Animal {}
+
+    @Entity
+    private static class Dog
+        extends Animal {}
+
+    @Entity
+    private static class Cat
+        extends Animal {}
+}